@@ -16,8 +16,128 @@ dependencies {
 
     annotationProcessor("org.projectlombok:lombok:1.18.34")
 
+    testImplementation(platform("org.junit:junit-bom:5.10.3"))
+    testImplementation("org.junit.jupiter:junit-jupiter")
+    testRuntimeOnly("org.junit.platform:junit-platform-launcher")
 }
 
 tasks.test {
     useJUnitPlatform()
-}
\ No newline at end of file
+    // Testes de DAO usam o banco configurado em ConnectionConfig e só rodam com -PdatabaseTests
+    systemProperty("board.test.database", project.hasProperty("databaseTests"))
+}
+// Código de benchmarks, separado do código principal e executado por tarefas dedicadas
+sourceSets {
+    create("bench") {
+        compileClasspath += sourceSets.main.get().output
+        runtimeClasspath += sourceSets.main.get().output
+    }
+}
+
+configurations["benchImplementation"].extendsFrom(configurations.implementation.get())
+configurations["benchRuntimeOnly"].extendsFrom(configurations.runtimeOnly.get())
+
+// AppCDS: o treino e o launcher usam o mesmo classpath relativo (lib/*.jar) a partir
+// de build/appcds, pois o arquivo compartilhado só é aceito com o classpath do treino.
+val appCdsDir = layout.buildDirectory.dir("appcds")
+val javaExecutable = File(System.getProperty("java.home"), "bin/java").path
+
+fun appCdsClasspath(): String = appCdsDir.get().dir("lib").asFile.listFiles().orEmpty()
+    .map { it.name }
+    .sorted()
+    .joinToString(File.pathSeparator) { "lib/$it" }
+
+val appCdsLibs by tasks.registering(Sync::class) {
+    group = "appcds"
+    description = "Copia o jar da aplicação e suas dependências para build/appcds/lib."
+    from(tasks.jar)
+    from(configurations.runtimeClasspath)
+    into(appCdsDir.map { it.dir("lib") })
+}
+
+val appCdsTrain by tasks.registering(Exec::class) {
+    group = "appcds"
+    description = "Executa o treino da aplicação (até abrir o primeiro board) e gera build/appcds/board.jsa."
+    dependsOn(appCdsLibs)
+    workingDir(appCdsDir)
+    outputs.file(appCdsDir.map { it.file("board.jsa") })
+    doFirst {
+        commandLine(
+            javaExecutable,
+            "-XX:ArchiveClassesAtExit=board.jsa",
+            "-Dboard.startup.autorun=true",
+            "-cp", appCdsClasspath(),
+            "br.com.dio.Main"
+        )
+    }
+}
+
+val appCdsLauncher by tasks.registering {
+    group = "appcds"
+    description = "Gera o launcher da aplicação que utiliza o arquivo AppCDS do treino."
+    dependsOn(appCdsTrain)
+    doLast {
+        val dir = appCdsDir.get().asFile
+        val windows = System.getProperty("os.name").startsWith("Windows")
+        val launcher = File(dir, if (windows) "board.bat" else "board.sh")
+        val command = "\"$javaExecutable\" -XX:SharedArchiveFile=board.jsa -Xshare:auto -cp \"${appCdsClasspath()}\" br.com.dio.Main"
+        launcher.writeText(
+            if (windows) "@echo off\r\ncd /d \"%~dp0\"\r\n$command %*\r\n"
+            else "#!/bin/sh\ncd \"$(dirname \"$0\")\" || exit 1\nexec $command \"$@\"\n"
+        )
+        launcher.setExecutable(true)
+    }
+}
+
+tasks.register<JavaExec>("startupBenchmark") {
+    group = "benchmark"
+    description = "Mede time-to-first-window e time-to-board-loaded com e sem AppCDS."
+    dependsOn(appCdsTrain)
+    classpath = sourceSets["bench"].runtimeClasspath
+    mainClass.set("br.com.dio.bench.StartupBenchmark")
+    doFirst {
+        args(
+            appCdsDir.get().asFile.path,
+            javaExecutable,
+            appCdsClasspath(),
+            (project.findProperty("runs") ?: "5").toString()
+        )
+    }
+}
+
+tasks.register<JavaExec>("apiBenchmark") {
+    group = "benchmark"
+    description = "Mede requisições por segundo da API (--server) em leituras de board e movimentações de card."
+    classpath = sourceSets["bench"].runtimeClasspath
+    mainClass.set("br.com.dio.bench.ApiThroughputBenchmark")
+    args(
+        (project.findProperty("baseUrl") ?: "http://localhost:8080").toString(),
+        (project.findProperty("threads") ?: "32").toString(),
+        (project.findProperty("seconds") ?: "20").toString()
+    )
+}
+
+tasks.register<JavaExec>("claimBenchmark") {
+    group = "benchmark"
+    description = "Mede reservas por segundo do modo fila de trabalho (pullNext) com quantidades crescentes de workers."
+    classpath = sourceSets["bench"].runtimeClasspath
+    mainClass.set("br.com.dio.bench.ClaimThroughputBenchmark")
+    args(
+        (project.findProperty("workers") ?: "1,2,4,8,16").toString(),
+        (project.findProperty("cards") ?: "20000").toString(),
+        (project.findProperty("batch") ?: "10").toString(),
+        (project.findProperty("workMillis") ?: "0").toString()
+    )
+}
+
+tasks.register<JavaExec>("tagBenchmark") {
+    group = "benchmark"
+    description = "Mede a latência dos filtros por tags no índice em memória de um board, sem banco de dados."
+    classpath = sourceSets["bench"].runtimeClasspath
+    mainClass.set("br.com.dio.bench.TagFilterBenchmark")
+    args(
+        (project.findProperty("cards") ?: "100000").toString(),
+        (project.findProperty("tags") ?: "20").toString(),
+        (project.findProperty("runs") ?: "2000").toString()
+    )
+}
@@ -0,0 +1,187 @@
+package br.com.dio.bench;
+
+import br.com.dio.transfer.JsonLine;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+/**
+ * Benchmark de vazão sustentada da API HTTP ({@code Main --server}) em um único nó.
+ *
+ * <p>Cria um board com colunas pendentes e executa duas fases de duração fixa com
+ * várias threads cliente em laço fechado: leitura de detalhes do board
+ * ({@code GET /boards/{id}}) e movimentação de cards ({@code POST /cards/{id}/move}).
+ * Na fase de movimentação cada thread cria um card e o move até a coluna final,
+ * criando outro em seguida; as criações são contadas à parte. Reporta requisições
+ * por segundo e latências p50/p99 de cada fase.</p>
+ *
+ * <p>Argumentos: URL base da API, quantidade de threads cliente e duração de cada
+ * fase em segundos. O board criado é excluído ao final.</p>
+ */
+public class ApiThroughputBenchmark {
+
+    private static final int PENDING_COLUMNS = 8;
+
+    private static HttpClient client;
+    private static String baseUrl;
+
+    public static void main(String[] args) throws Exception {
+        baseUrl = args[0].replaceAll("/+$", "");
+        var threads = Integer.parseInt(args[1]);
+        var seconds = Integer.parseInt(args[2]);
+        client = HttpClient.newBuilder()
+                .executor(Executors.newFixedThreadPool(threads, runnable -> {
+                    var thread = new Thread(runnable);
+                    thread.setDaemon(true);
+                    return thread;
+                }))
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+
+        var pending = String.join(",", IntStream.range(0, PENDING_COLUMNS)
+                .mapToObj(i -> "Etapa " + (i + 1)).toList());
+        var board = JsonLine.parse(send("POST", "/boards",
+                "{\"name\":\"benchmark\",\"pendingColumns\":\"" + pending + "\"}", 201));
+        var boardId = board.get("id");
+
+        Task read = () -> {
+            send("GET", "/boards/" + boardId, null, 200);
+            return true;
+        };
+        try {
+            // Aquecimento do JIT, do servidor e do pool de conexões
+            run(threads, 3, read);
+
+            var reads = run(threads, seconds, read);
+            report("leitura de board", reads, seconds);
+
+            var creations = new AtomicLong();
+            var moves = run(threads, seconds, new MoveTask(boardId, creations));
+            report("movimentação de card", moves, seconds);
+            System.out.printf("%-22s %8d cards criados durante a fase%n", "", creations.get());
+        } finally {
+            send("DELETE", "/boards/" + boardId, null, 202);
+        }
+    }
+
+    /**
+     * Executa a tarefa em laço fechado pelas threads durante a duração informada.
+     * @return Latências, em microssegundos, de todas as requisições medidas
+     */
+    private static long[] run(int threads, int seconds, Task task) throws Exception {
+        var executor = Executors.newFixedThreadPool(threads);
+        var deadline = System.nanoTime() + Duration.ofSeconds(seconds).toNanos();
+        List<Future<long[]>> futures = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            futures.add(executor.submit(() -> {
+                var samples = new long[1024];
+                var count = 0;
+                while (System.nanoTime() < deadline) {
+                    var start = System.nanoTime();
+                    if (!task.execute()) {
+                        continue;
+                    }
+                    if (count == samples.length) {
+                        samples = Arrays.copyOf(samples, count * 2);
+                    }
+                    samples[count++] = (System.nanoTime() - start) / 1000;
+                }
+                return Arrays.copyOf(samples, count);
+            }));
+        }
+        var all = new long[0];
+        for (var future : futures) {
+            var samples = future.get();
+            var offset = all.length;
+            all = Arrays.copyOf(all, offset + samples.length);
+            System.arraycopy(samples, 0, all, offset, samples.length);
+        }
+        executor.shutdown();
+        Arrays.sort(all);
+        return all;
+    }
+
+    private static void report(String phase, long[] latencies, int seconds) {
+        if (latencies.length == 0) {
+            System.out.printf("%-22s nenhuma requisição concluída%n", phase);
+            return;
+        }
+        System.out.printf("%-22s %8.0f req/s | p50 %6d µs | p99 %6d µs | %d requisições%n",
+                phase, (double) latencies.length / seconds,
+                latencies[latencies.length / 2],
+                latencies[(int) Math.min(latencies.length - 1, Math.round(latencies.length * 0.99))],
+                latencies.length);
+    }
+
+    private static String send(String method, String path, String body, int expectedStatus)
+            throws IOException, InterruptedException {
+        var request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(Duration.ofSeconds(30))
+                .method(method, body == null
+                        ? HttpRequest.BodyPublishers.noBody()
+                        : HttpRequest.BodyPublishers.ofString(body))
+                .header("Content-Type", "application/json")
+                .build();
+        var response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != expectedStatus) {
+            throw new IllegalStateException("%s %s retornou %s: %s"
+                    .formatted(method, path, response.statusCode(), response.body()));
+        }
+        return response.body();
+    }
+
+    /**
+     * Requisição medida pelo benchmark.
+     */
+    @FunctionalInterface
+    private interface Task {
+        /**
+         * @return true se a requisição deve entrar na medição
+         */
+        boolean execute() throws Exception;
+    }
+
+    /**
+     * Move o card corrente da thread até a coluna final; ao finalizá-lo, cria outro
+     * (a criação não entra na medição).
+     */
+    private static final class MoveTask implements Task {
+
+        private final String boardId;
+        private final AtomicLong creations;
+        private final ThreadLocal<long[]> current = ThreadLocal.withInitial(() -> new long[]{-1, 0});
+
+        private MoveTask(String boardId, AtomicLong creations) {
+            this.boardId = boardId;
+            this.creations = creations;
+        }
+
+        @Override
+        public boolean execute() throws Exception {
+            var state = current.get();
+            // INITIAL -> cada PENDING -> FINAL
+            if (state[0] < 0 || state[1] == PENDING_COLUMNS + 1) {
+                var card = JsonLine.parse(send("POST", "/boards/" + boardId + "/cards",
+                        "{\"title\":\"card\",\"description\":\"benchmark\"}", 201));
+                state[0] = Long.parseLong(card.get("id"));
+                state[1] = 0;
+                creations.incrementAndGet();
+                return false;
+            }
+            send("POST", "/cards/" + state[0] + "/move", null, 204);
+            state[1]++;
+            return true;
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package br.com.dio.bench;
+
+import br.com.dio.persistence.config.ConnectionConfig;
+import br.com.dio.persistence.dao.CardDAO;
+import br.com.dio.persistence.entity.BoardColumnEntity;
+import br.com.dio.persistence.entity.BoardColumnKindEnum;
+import br.com.dio.persistence.entity.BoardEntity;
+import br.com.dio.persistence.entity.CardEntity;
+import br.com.dio.service.BoardService;
+import br.com.dio.service.CardService;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Teste de carga das reservas de cards no modo fila de trabalho
+ * ({@link CardService#pullNext(Long, String, int)}).
+ *
+ * <p>Para cada quantidade de workers, cria um board com uma coluna PENDING carregada de
+ * cards e dispara os workers ao mesmo tempo, cada um com sua própria conexão, reservando
+ * lotes até esvaziar a fila. Cada reserva pode ser seguida de um tempo de processamento
+ * simulado por card. Reporta reservas por segundo, aceleração e eficiência em relação a
+ * um worker, e falha se algum card for entregue a mais de um worker.</p>
+ *
+ * <p>Argumentos: quantidades de workers separadas por vírgula, cards por rodada, tamanho
+ * do lote e tempo de processamento por card em milissegundos. O banco configurado em
+ * {@link ConnectionConfig} precisa estar migrado; os boards criados são excluídos ao final.</p>
+ */
+public class ClaimThroughputBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        var levels = Arrays.stream(args[0].split(",")).mapToInt(Integer::parseInt).toArray();
+        var cards = Integer.parseInt(args[1]);
+        var batchSize = Integer.parseInt(args[2]);
+        var workMillis = Long.parseLong(args[3]);
+
+        // Rodada descartada para aquecer o JIT, o pool de buffers do banco e o driver
+        round(levels[0], Math.min(cards, 1000), batchSize, workMillis);
+
+        double baseline = 0;
+        for (var workers : levels) {
+            var claimsPerSecond = round(workers, cards, batchSize, workMillis);
+            if (baseline == 0) {
+                baseline = claimsPerSecond / workers;
+            }
+            var speedup = claimsPerSecond / baseline;
+            System.out.printf("%3d workers %10.0f reservas/s | aceleração %5.2fx | eficiência %5.1f%%%n",
+                    workers, claimsPerSecond, speedup, 100 * speedup / workers);
+        }
+    }
+
+    /**
+     * Executa uma rodada com a quantidade de workers informada.
+     * @return Reservas por segundo da rodada
+     */
+    private static double round(int workers, int cards, int batchSize, long workMillis) throws Exception {
+        var board = createBoard(cards);
+        var columnId = board.getBoardColumns().get(1).getId();
+        try {
+            Set<Long> claimed = ConcurrentHashMap.newKeySet();
+            var start = new CountDownLatch(1);
+            var executor = Executors.newFixedThreadPool(workers);
+            List<Future<Integer>> futures = new ArrayList<>();
+            for (int w = 0; w < workers; w++) {
+                var workerId = "bench-" + w;
+                futures.add(executor.submit(() -> {
+                    var total = 0;
+                    try (var connection = ConnectionConfig.getConnection()) {
+                        var service = new CardService(connection);
+                        start.await();
+                        while (true) {
+                            var batch = service.pullNext(columnId, workerId, batchSize);
+                            if (batch.isEmpty()) {
+                                return total;
+                            }
+                            for (var card : batch) {
+                                if (!claimed.add(card.getId())) {
+                                    throw new IllegalStateException("Card %s reservado por mais de um worker".formatted(card.getId()));
+                                }
+                            }
+                            total += batch.size();
+                            if (workMillis > 0) {
+                                Thread.sleep(workMillis * batch.size());
+                            }
+                        }
+                    }
+                }));
+            }
+            var begin = System.nanoTime();
+            start.countDown();
+            var total = 0;
+            for (var future : futures) {
+                total += future.get();
+            }
+            var seconds = (System.nanoTime() - begin) / 1e9;
+            executor.shutdown();
+            if (total != cards) {
+                throw new IllegalStateException("%s cards reservados de %s".formatted(total, cards));
+            }
+            return total / seconds;
+        } finally {
+            try (var connection = ConnectionConfig.getConnection()) {
+                new BoardService(connection).delete(board.getId());
+            }
+        }
+    }
+
+    private static BoardEntity createBoard(int cards) throws SQLException {
+        try (var connection = ConnectionConfig.getConnection()) {
+            var board = new BoardEntity();
+            board.setName("benchmark de reservas");
+            board.setBoardColumns(List.of(
+                    column("Inicial", BoardColumnKindEnum.INITIAL, 0),
+                    column("Fila", BoardColumnKindEnum.PENDING, 1),
+                    column("Final", BoardColumnKindEnum.FINAL, 2),
+                    column("Cancelado", BoardColumnKindEnum.CANCEL, 3)));
+            new BoardService(connection).insert(board);
+
+            var queue = board.getBoardColumns().get(1);
+            var dao = new CardDAO(connection);
+            for (int offset = 0; offset < cards; offset += 1000) {
+                List<CardEntity> chunk = new ArrayList<>();
+                for (int i = offset; i < Math.min(cards, offset + 1000); i++) {
+                    var card = new CardEntity();
+                    card.setTitle("card " + i);
+                    card.setDescription("benchmark");
+                    card.setBoardColumn(queue);
+                    chunk.add(card);
+                }
+                dao.insertBatch(chunk);
+                connection.commit();
+            }
+            return board;
+        }
+    }
+
+    private static BoardColumnEntity column(String name, BoardColumnKindEnum kind, int order) {
+        var column = new BoardColumnEntity();
+        column.setName(name);
+        column.setKind(kind);
+        column.setOrder(order);
+        return column;
+    }
+}
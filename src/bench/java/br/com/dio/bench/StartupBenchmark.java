@@ -0,0 +1,89 @@
+package br.com.dio.bench;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark de inicialização da aplicação desktop.
+ *
+ * <p>Executa a aplicação várias vezes em modo automático ({@code -Dboard.startup.autorun=true}),
+ * com e sem o arquivo AppCDS gerado pelo treino, e reporta mínimo, mediana e máximo
+ * de time-to-first-window e time-to-board-loaded.</p>
+ *
+ * <p>Argumentos: diretório de trabalho (build/appcds), executável java, classpath
+ * relativo ao diretório de trabalho e quantidade de execuções por modo.</p>
+ */
+public class StartupBenchmark {
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        var workDir = new File(args[0]);
+        var java = args[1];
+        var classpath = args[2];
+        var runs = Integer.parseInt(args[3]);
+
+        var modes = new LinkedHashMap<String, List<String>>();
+        modes.put("sem AppCDS", List.of("-Xshare:auto"));
+        modes.put("com AppCDS", List.of("-XX:SharedArchiveFile=board.jsa", "-Xshare:auto"));
+
+        for (var mode : modes.entrySet()) {
+            var command = new ArrayList<String>();
+            command.add(java);
+            command.addAll(mode.getValue());
+            command.add("-Dboard.startup.autorun=true");
+            command.add("-cp");
+            command.add(classpath);
+            command.add("br.com.dio.Main");
+
+            // Execução descartada para aquecer o cache de disco do sistema operacional
+            run(workDir, command);
+
+            Map<String, List<Long>> samples = new LinkedHashMap<>();
+            for (int i = 0; i < runs; i++) {
+                run(workDir, command).forEach((phase, ms) ->
+                        samples.computeIfAbsent(phase, k -> new ArrayList<>()).add(ms));
+            }
+
+            System.out.printf("== %s (%d execuções)%n", mode.getKey(), runs);
+            samples.forEach((phase, values) -> {
+                values.sort(Long::compare);
+                System.out.printf("%-14s min %5d ms | mediana %5d ms | máx %5d ms%n",
+                        phase, values.get(0), values.get(values.size() / 2), values.get(values.size() - 1));
+            });
+        }
+    }
+
+    /**
+     * Executa a aplicação uma vez e coleta os marcos {@code [startup] <fase> <ms>}.
+     * @param workDir Diretório de trabalho da execução
+     * @param command Linha de comando completa
+     * @return Tempo em milissegundos de cada fase
+     */
+    private static Map<String, Long> run(File workDir, List<String> command) throws IOException, InterruptedException {
+        var process = new ProcessBuilder(command)
+                .directory(workDir)
+                .redirectErrorStream(true)
+                .start();
+        Map<String, Long> phases = new LinkedHashMap<>();
+        try (var reader = new BufferedReader(new InputStreamReader(process.getInputStream()))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.startsWith("[startup] ")) {
+                    var parts = line.split(" ");
+                    phases.put(parts[1], Long.parseLong(parts[2]));
+                }
+            }
+        }
+        if (!process.waitFor(2, TimeUnit.MINUTES)) {
+            process.destroyForcibly();
+            throw new IllegalStateException("A aplicação não encerrou a execução automática");
+        }
+        return phases;
+    }
+}
@@ -0,0 +1,138 @@
+package br.com.dio.bench;
+
+import br.com.dio.tag.BoardTagIndex;
+import br.com.dio.tag.TagFilter;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Teste de desempenho dos filtros por tags resolvidos no índice em memória
+ * ({@link BoardTagIndex}), sem banco de dados.
+ *
+ * <p>Monta o índice de um board com a quantidade de cards informada e tags de densidades
+ * diferentes (de 50% a 0,1% dos cards), em dois formatos de ID: sequencial, como o
+ * AUTO_INCREMENT, e espalhado, como o gerador de IDs no cliente (milissegundos, nó e
+ * sequência). Para cada formato de filtro reporta as latências p50 e p99 em microssegundos
+ * e o tamanho do resultado, e falha se o resultado divergir de uma avaliação direta com
+ * conjuntos de IDs.</p>
+ *
+ * <p>Argumentos: quantidade de cards, quantidade de tags e execuções por filtro.</p>
+ */
+public class TagFilterBenchmark {
+
+    private static final double[] DENSITIES = {0.5, 0.2, 0.1, 0.05, 0.01, 0.001};
+
+    public static void main(String[] args) {
+        var cards = Integer.parseInt(args[0]);
+        var tags = Integer.parseInt(args[1]);
+        var runs = Integer.parseInt(args[2]);
+
+        var filters = List.of(
+                TagFilter.parse("+tag0"),
+                TagFilter.parse("+tag0 +tag1"),
+                TagFilter.parse("+tag1 +tag2 -tag3"),
+                TagFilter.parse("tag4 tag5 tag" + (tags - 1)),
+                TagFilter.parse("+tag0 tag2 tag4 -tag5"),
+                TagFilter.parse("-tag0"));
+
+        for (var layout : List.of("sequencial", "espalhado")) {
+            var ids = layout.equals("sequencial") ? sequentialIds(cards) : spreadIds(cards);
+            var random = new Random(42);
+            var index = new BoardTagIndex();
+            Map<String, Set<Long>> sets = new HashMap<>();
+            var start = System.nanoTime();
+            for (var id : ids) {
+                index.addCard(id);
+                for (int t = 0; t < tags; t++) {
+                    if (random.nextDouble() < DENSITIES[t % DENSITIES.length]) {
+                        index.tag(id, "tag" + t);
+                        sets.computeIfAbsent("tag" + t, k -> new HashSet<>()).add(id);
+                    }
+                }
+            }
+            System.out.printf("IDs %s: %d cards e %d tags indexados em %.1f ms%n",
+                    layout, cards, tags, (System.nanoTime() - start) / 1_000_000.0);
+
+            for (var filter : filters) {
+                var expected = evaluate(ids, sets, filter);
+                var result = index.filter(filter);
+                if (!Arrays.equals(result, expected)) {
+                    throw new IllegalStateException("Resultado divergente para o filtro " + filter);
+                }
+                var latencies = measure(index, filter, runs);
+                System.out.printf("  %-26s %8d cards | p50 %8.1f µs | p99 %8.1f µs%n",
+                        filter, result.length, percentile(latencies, 0.5), percentile(latencies, 0.99));
+            }
+        }
+    }
+
+    private static long[] sequentialIds(final int cards) {
+        var ids = new long[cards];
+        for (int i = 0; i < cards; i++) {
+            ids[i] = 1_000_000L + i;
+        }
+        return ids;
+    }
+
+    /**
+     * IDs no formato do gerador no cliente: rajadas de poucos cards por milissegundo, de um nó.
+     */
+    private static long[] spreadIds(final int cards) {
+        var random = new Random(7);
+        var ids = new long[cards];
+        long millis = 30L * 24 * 60 * 60 * 1000;
+        var sequence = 0;
+        for (int i = 0; i < cards; i++) {
+            if (sequence == 0 || random.nextInt(4) == 0) {
+                millis += 1 + random.nextInt(50);
+                sequence = 0;
+            }
+            ids[i] = millis << 22 | 3L << 12 | sequence++;
+        }
+        return ids;
+    }
+
+    private static long[] evaluate(final long[] ids, final Map<String, Set<Long>> sets, final TagFilter filter) {
+        List<Long> selected = new ArrayList<>();
+        for (var id : ids) {
+            var matches = filter.all().stream().allMatch(t -> sets.getOrDefault(t, Set.of()).contains(id))
+                    && (filter.any().isEmpty() || filter.any().stream().anyMatch(t -> sets.getOrDefault(t, Set.of()).contains(id)))
+                    && filter.none().stream().noneMatch(t -> sets.getOrDefault(t, Set.of()).contains(id));
+            if (matches) {
+                selected.add(id);
+            }
+        }
+        return selected.stream().mapToLong(Long::longValue).sorted().toArray();
+    }
+
+    private static double[] measure(final BoardTagIndex index, final TagFilter filter, final int runs) {
+        // Execuções descartadas para aquecer o JIT
+        long sink = 0;
+        for (int i = 0; i < runs; i++) {
+            sink += index.filter(filter).length;
+        }
+        var latencies = new double[runs];
+        for (int i = 0; i < runs; i++) {
+            var start = System.nanoTime();
+            var result = index.filter(filter);
+            latencies[i] = (System.nanoTime() - start) / 1_000.0;
+            sink += result.length;
+        }
+        if (sink < 0) {
+            System.out.println(sink);
+        }
+        Arrays.sort(latencies);
+        return latencies;
+    }
+
+    private static double percentile(final double[] sorted, final double fraction) {
+        return sorted[Math.min(sorted.length - 1, (int) (sorted.length * fraction))];
+    }
+}
@@ -1,11 +1,22 @@
 package br.com.dio;
 
+import static br.com.dio.persistence.config.ConnectionConfig.getConnection;
+
+import java.io.IOException;
+import java.nio.file.Path;
 import java.sql.SQLException;
 import javax.swing.SwingUtilities;
-import br.com.dio.persistence.config.ConnectionConfig;
+import br.com.dio.monitoring.StartupMetrics;
+import br.com.dio.persistence.config.ConnectionPool;
 import br.com.dio.persistence.migration.MigrationStrategy;
+import br.com.dio.server.BoardApiServer;
+import br.com.dio.service.BoardDeletionWorker;
+import br.com.dio.service.BoardSnapshotService;
+import br.com.dio.service.CardArchiveJob;
 import br.com.dio.ui.InitialModeSelectionWindow;
 import br.com.dio.ui.MainMenu;
+import br.com.dio.ui.ScriptRunner;
+import br.com.dio.ui.StartupPrewarmer;
 
 /**
  * Classe principal que inicia a aplicação de gerenciamento de boards.
@@ -17,29 +28,72 @@ public class Main {
      * Ponto de entrada principal da aplicação.
      *
      * @param args Argumentos da linha de comando. Aceita "--console" para iniciar
-     *             diretamente no modo texto. Se nenhum argumento for fornecido,
-     *             exibe a interface gráfica de seleção de modo.
+     *             diretamente no modo texto, ou "--snapshot &lt;id&gt; &lt;arquivo&gt;" e
+     *             "--restore-snapshot &lt;arquivo&gt; [nome]" para backups agendados, ou
+     *             "--server [porta]" para iniciar a API HTTP/JSON sem interface, ou
+     *             "--script &lt;arquivo&gt; [--batch N]" para executar um arquivo de comandos.
+     *             Se nenhum argumento for fornecido, exibe a interface gráfica de seleção de modo.
      * @throws SQLException Se ocorrer um erro durante a conexão com o banco de dados
      *                     ou execução das migrações.
+     * @throws IOException Se ocorrer um erro na leitura ou escrita de um snapshot.
      */
-    public static void main(String[] args) throws SQLException {
-        // Estabelece conexão com o banco de dados usando try-with-resources
-        // para garantir o fechamento automático da conexão
-        try (var connection = ConnectionConfig.getConnection()) {
-            // Executa as migrações do banco de dados necessárias
-            new MigrationStrategy(connection).executeMigration();
-        }
+    public static void main(String[] args) throws SQLException, IOException {
+        var migrationStrategy = new MigrationStrategy();
 
-        // Verifica se foi solicitado o modo console via argumento
-        if (args.length > 0 && args[0].equals("--console")) {
+        if (args.length >= 3 && args[0].equals("--snapshot")) {
+            // Backup não interativo de um board, para execução agendada
+            migrationStrategy.executeMigration();
+            try (var connection = getConnection()) {
+                var result = new BoardSnapshotService(connection).snapshot(Long.parseLong(args[1]), Path.of(args[2]));
+                System.out.printf("Snapshot do board %s gravado em %s ms: %s cards, %s bloqueios%n",
+                        result.boardId(), result.elapsedMillis(), result.cards(), result.blocks());
+            }
+        } else if (args.length >= 2 && args[0].equals("--restore-snapshot")) {
+            migrationStrategy.executeMigration();
+            try (var connection = getConnection()) {
+                var result = new BoardSnapshotService(connection).restore(Path.of(args[1]), args.length > 2 ? args[2] : null);
+                System.out.printf("Board restaurado com id %s em %s ms: %s cards, %s bloqueios%n",
+                        result.boardId(), result.elapsedMillis(), result.cards(), result.blocks());
+            }
+        } else if (args.length >= 2 && args[0].equals("--script")) {
+            // Execução não interativa de um arquivo de comandos
+            migrationStrategy.executeMigration();
+            var batch = args.length >= 4 && args[2].equals("--batch") ? Integer.parseInt(args[3]) : 1;
+            if (!new ScriptRunner(Path.of(args[1]), batch).execute()) {
+                System.exit(1);
+            }
+        } else if (args.length > 0 && args[0].equals("--server")) {
+            // Modo servidor sem interface: API HTTP/JSON com conexões em pool
+            migrationStrategy.executeMigration();
+            CardArchiveJob.start();
+            BoardDeletionWorker.start();
+            var port = args.length > 1 ? Integer.parseInt(args[1]) : Integer.getInteger("board.server.port", 8080);
+            var pool = new ConnectionPool(Integer.getInteger("board.pool.size", 20),
+                    Long.getLong("board.pool.timeout", 5000L));
+            var server = BoardApiServer.start(port, pool);
+            Runtime.getRuntime().addShutdownHook(new Thread(server::close, "board-api-shutdown"));
+            System.out.printf("API de boards escutando na porta %s%n", server.getPort());
+        } else if (args.length > 0 && args[0].equals("--console")) {
+            // Verifica se foi solicitado o modo console via argumento
+            // No console o menu depende do banco imediatamente, então migra antes
+            migrationStrategy.executeMigration();
+            CardArchiveJob.start();
+            BoardDeletionWorker.start();
             // Inicia diretamente o menu de console
             new MainMenu().execute();
         } else {
-            // Caso contrário, inicia a interface gráfica de seleção de modo
-            // usando a thread de despacho de eventos do Swing
+            // Caso contrário, exibe a interface gráfica de seleção de modo enquanto
+            // as migrações (quando necessárias) rodam em segundo plano
+            var migration = migrationStrategy.executeMigrationAsync();
+            // O arquivamento de cards e a remoção de boards marcados dependem do esquema atualizado
+            migration.thenRun(CardArchiveJob::start);
+            migration.thenRun(BoardDeletionWorker::start);
+            // Aquece conexão e metadados dos boards enquanto o usuário escolhe o modo
+            StartupPrewarmer.start(migration);
             SwingUtilities.invokeLater(() -> {
-                new InitialModeSelectionWindow().setVisible(true);
+                new InitialModeSelectionWindow(migration).setVisible(true);
+                StartupMetrics.mark(StartupMetrics.FIRST_WINDOW);
             });
         }
     }
-}
\ No newline at end of file
+}
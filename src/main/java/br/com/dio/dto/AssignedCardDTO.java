@@ -0,0 +1,22 @@
+package br.com.dio.dto;
+
+import br.com.dio.persistence.entity.BoardColumnKindEnum;
+
+/**
+ * DTO (Data Transfer Object) com o resumo de um Card atribuído a um usuário, usado nas
+ * listas de cards de um usuário e nas raias de um board.
+ *
+ * @param id Identificador único do Card
+ * @param title Título do Card
+ * @param boardId ID do Board do Card
+ * @param columnId ID da coluna onde o Card está
+ * @param columnName Nome da coluna onde o Card está
+ * @param columnKind Tipo da coluna onde o Card está
+ */
+public record AssignedCardDTO(Long id,
+                              String title,
+                              Long boardId,
+                              Long columnId,
+                              String columnName,
+                              BoardColumnKindEnum columnKind) {
+}
@@ -0,0 +1,21 @@
+package br.com.dio.dto;
+
+/**
+ * DTO (Data Transfer Object) com a duração dos bloqueios já encerrados de uma coluna.
+ *
+ * @param boardId Identificador do Board da coluna
+ * @param boardName Nome do Board da coluna
+ * @param columnId Identificador da coluna em que os Cards foram bloqueados
+ * @param columnName Nome da coluna
+ * @param blocks Quantidade de bloqueios encerrados (ativos e arquivados)
+ * @param meanSeconds Duração média dos bloqueios, em segundos
+ * @param p95Seconds Percentil 95 da duração dos bloqueios, em segundos
+ */
+public record BlockDurationStatsDTO(Long boardId,
+                                    String boardName,
+                                    Long columnId,
+                                    String columnName,
+                                    long blocks,
+                                    double meanSeconds,
+                                    long p95Seconds) {
+}
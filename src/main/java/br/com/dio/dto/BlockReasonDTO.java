@@ -0,0 +1,11 @@
+package br.com.dio.dto;
+
+/**
+ * DTO (Data Transfer Object) com a frequência de um motivo de bloqueio.
+ *
+ * @param reason Motivo do bloqueio
+ * @param blocks Quantidade de bloqueios com o motivo (ativos e arquivados)
+ * @param rank Posição no ranking de motivos (motivos empatados têm a mesma posição)
+ */
+public record BlockReasonDTO(String reason, long blocks, int rank) {
+}
@@ -0,0 +1,15 @@
+package br.com.dio.dto;
+
+import java.util.List;
+
+/**
+ * DTO (Data Transfer Object) do relatório de bloqueios de todos os Boards.
+ *
+ * @param blockedCards Cards atualmente bloqueados, do bloqueio mais antigo para o mais recente
+ * @param columns Duração dos bloqueios encerrados por coluna
+ * @param reasons Motivos de bloqueio mais frequentes
+ */
+public record BlockReportDTO(List<BlockedCardDTO> blockedCards,
+                             List<BlockDurationStatsDTO> columns,
+                             List<BlockReasonDTO> reasons) {
+}
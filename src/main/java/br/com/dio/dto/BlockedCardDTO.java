@@ -0,0 +1,25 @@
+package br.com.dio.dto;
+
+import java.time.OffsetDateTime;
+
+/**
+ * DTO (Data Transfer Object) de um Card atualmente bloqueado, usado no relatório de bloqueios.
+ *
+ * @param cardId Identificador do Card
+ * @param title Título do Card
+ * @param boardId Identificador do Board do Card
+ * @param boardName Nome do Board do Card
+ * @param columnName Nome da coluna onde o Card está
+ * @param reason Motivo do bloqueio em aberto
+ * @param blockedAt Data/hora do bloqueio
+ * @param ageSeconds Tempo, em segundos, desde o bloqueio
+ */
+public record BlockedCardDTO(Long cardId,
+                             String title,
+                             Long boardId,
+                             String boardName,
+                             String columnName,
+                             String reason,
+                             OffsetDateTime blockedAt,
+                             long ageSeconds) {
+}
@@ -7,8 +7,9 @@ import br.com.dio.persistence.entity.BoardColumnKindEnum;
  * Utilizado principalmente para validações de fluxo e operações de movimentação de Cards.
  *
  * @param id Identificador único da coluna
- * @param order Posição/ordem da coluna no fluxo do Board (0-based)
+ * @param order Ordem da coluna no fluxo do Board (crescente e espaçada; a próxima coluna é a de menor ordem maior)
  * @param kind Tipo da coluna (INITIAL, PENDING, FINAL, CANCEL) que define seu papel no fluxo
+ * @param version Versão da estrutura de colunas do Board quando lida; movimentações de Cards são recusadas se ela mudou
  */
-public record BoardColumnInfoDTO(Long id, int order, BoardColumnKindEnum kind) {
+public record BoardColumnInfoDTO(Long id, int order, BoardColumnKindEnum kind, int version) {
 }
\ No newline at end of file
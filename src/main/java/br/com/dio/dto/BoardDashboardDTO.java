@@ -0,0 +1,25 @@
+package br.com.dio.dto;
+
+/**
+ * DTO (Data Transfer Object) com a visão consolidada de um Board no painel geral.
+ * As contagens de cards consideram apenas os cards ativos, agrupados pelo tipo
+ * da coluna em que estão; os cards arquivados são contados à parte.
+ *
+ * @param id Identificador único do Board
+ * @param name Nome do Board
+ * @param initialCards Cards em colunas INITIAL
+ * @param pendingCards Cards em colunas PENDING
+ * @param finalCards Cards em colunas FINAL
+ * @param cancelCards Cards em colunas CANCEL
+ * @param openBlocks Cards atualmente bloqueados
+ * @param archivedCards Cards movidos para o arquivo
+ */
+public record BoardDashboardDTO(Long id,
+                                String name,
+                                long initialCards,
+                                long pendingCards,
+                                long finalCards,
+                                long cancelCards,
+                                long openBlocks,
+                                long archivedCards) {
+}
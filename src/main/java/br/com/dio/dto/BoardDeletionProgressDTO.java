@@ -0,0 +1,15 @@
+package br.com.dio.dto;
+
+/**
+ * DTO (Data Transfer Object) com o andamento da remoção em segundo plano de um Board.
+ *
+ * @param boardId ID do Board marcado para exclusão
+ * @param deletedCards Cards (ativos e arquivados) removidos até o momento nesta execução
+ * @param totalCards Cards que restavam quando a remoção começou ou foi retomada
+ * @param finished Indica se o Board e todas as suas linhas já foram removidos
+ */
+public record BoardDeletionProgressDTO(Long boardId,
+                                       long deletedCards,
+                                       long totalCards,
+                                       boolean finished) {
+}
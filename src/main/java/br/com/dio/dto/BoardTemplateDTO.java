@@ -0,0 +1,13 @@
+package br.com.dio.dto;
+
+/**
+ * DTO (Data Transfer Object) que representa um template de Board.
+ *
+ * @param id Identificador do template
+ * @param name Nome do template
+ * @param columnsAmount Quantidade de colunas definidas pelo template
+ */
+public record BoardTemplateDTO(Long id,
+                               String name,
+                               int columnsAmount) {
+}
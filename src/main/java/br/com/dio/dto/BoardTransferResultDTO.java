@@ -0,0 +1,17 @@
+package br.com.dio.dto;
+
+/**
+ * DTO (Data Transfer Object) com o resumo da exportação ou restauração de um Board.
+ *
+ * @param boardId ID do Board exportado ou ID gerado para o Board restaurado
+ * @param columns Quantidade de colunas transferidas
+ * @param cards Quantidade de Cards transferidos
+ * @param blocks Quantidade de registros de bloqueio transferidos
+ * @param elapsedMillis Duração total da operação em milissegundos
+ */
+public record BoardTransferResultDTO(Long boardId,
+                                     int columns,
+                                     long cards,
+                                     long blocks,
+                                     long elapsedMillis) {
+}
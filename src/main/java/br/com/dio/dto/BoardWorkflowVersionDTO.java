@@ -0,0 +1,11 @@
+package br.com.dio.dto;
+
+/**
+ * DTO (Data Transfer Object) que identifica uma versão do fluxo de um Board.
+ *
+ * @param id Identificador da versão (BOARD_WORKFLOWS.id)
+ * @param version Número da versão no Board, a partir de 1
+ */
+public record BoardWorkflowVersionDTO(Long id,
+                                      int version) {
+}
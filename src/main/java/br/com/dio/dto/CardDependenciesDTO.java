@@ -0,0 +1,15 @@
+package br.com.dio.dto;
+
+import java.util.List;
+
+/**
+ * DTO (Data Transfer Object) com as dependências de um Card.
+ *
+ * @param cardId ID do Card
+ * @param dependsOn Cards dos quais ele depende diretamente
+ * @param unblocks Cards que dependem dele, direta ou indiretamente
+ */
+public record CardDependenciesDTO(Long cardId,
+                                  List<Long> dependsOn,
+                                  List<Long> unblocks) {
+}
@@ -0,0 +1,11 @@
+package br.com.dio.dto;
+
+/**
+ * DTO (Data Transfer Object) que representa uma dependência entre Cards.
+ *
+ * @param cardId Card dependente, bloqueado até a finalização do outro
+ * @param dependsOnId Card do qual ele depende
+ */
+public record CardDependencyDTO(Long cardId,
+                                Long dependsOnId) {
+}
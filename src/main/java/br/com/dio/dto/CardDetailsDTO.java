@@ -16,6 +16,9 @@ import java.time.OffsetDateTime;
  * @param blocksAmount Quantidade total de vezes que o Card foi bloqueado
  * @param columnId ID da coluna onde o Card está localizado
  * @param columnName Nome da coluna onde o Card está localizado
+ * @param boardId ID do Board ao qual a coluna do Card pertence
+ * @param version Versão do Card quando lido; alterações são condicionadas a ela
+ * @param assigneeName Nome do responsável pelo Card (null se não houver)
  */
 public record CardDetailsDTO(Long id,
                             String title,
@@ -25,5 +28,8 @@ public record CardDetailsDTO(Long id,
                             String blockReason,
                             int blocksAmount,
                             Long columnId,
-                            String columnName) {
+                            String columnName,
+                            Long boardId,
+                            int version,
+                            String assigneeName) {
 }
\ No newline at end of file
@@ -0,0 +1,15 @@
+package br.com.dio.dto;
+
+/**
+ * DTO (Data Transfer Object) com o resumo de uma importação de Cards.
+ *
+ * @param processed Quantidade de registros lidos do arquivo
+ * @param imported Quantidade de Cards gravados no banco
+ * @param rejected Quantidade de registros rejeitados
+ * @param elapsedMillis Duração total da importação em milissegundos
+ */
+public record CardImportResultDTO(long processed,
+                                  long imported,
+                                  long rejected,
+                                  long elapsedMillis) {
+}
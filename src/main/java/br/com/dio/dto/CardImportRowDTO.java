@@ -0,0 +1,21 @@
+package br.com.dio.dto;
+
+/**
+ * DTO (Data Transfer Object) que representa uma linha lida de um arquivo de importação de Cards.
+ * Os valores são mantidos como texto; a validação e o mapeamento para CardEntity
+ * ficam a cargo do serviço de importação.
+ *
+ * @param line Linha do arquivo onde o registro começa (para relatar rejeições)
+ * @param title Título do Card
+ * @param description Descrição do Card (opcional)
+ * @param column Nome ou ID da coluna inicial do Card (opcional, padrão: coluna INITIAL)
+ * @param blockReason Motivo de bloqueio inicial do Card (opcional)
+ * @param error Erro de leitura do registro (null se o registro foi lido corretamente)
+ */
+public record CardImportRowDTO(long line,
+                               String title,
+                               String description,
+                               String column,
+                               String blockReason,
+                               String error) {
+}
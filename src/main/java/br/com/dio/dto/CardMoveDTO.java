@@ -0,0 +1,16 @@
+package br.com.dio.dto;
+
+/**
+ * DTO (Data Transfer Object) com uma movimentação de Card já validada, condicionada
+ * às versões lidas do Card e das colunas.
+ *
+ * @param cardId ID do Card a ser movido
+ * @param cardVersion Versão do Card lida antes da movimentação
+ * @param source Coluna atual do Card, com a versão lida
+ * @param target Coluna de destino, com a versão lida
+ */
+public record CardMoveDTO(Long cardId,
+                          int cardVersion,
+                          BoardColumnInfoDTO source,
+                          BoardColumnInfoDTO target) {
+}
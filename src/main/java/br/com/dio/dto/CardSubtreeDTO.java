@@ -0,0 +1,30 @@
+package br.com.dio.dto;
+
+import java.util.List;
+
+/**
+ * DTO (Data Transfer Object) com a posição de um Card na hierarquia (épicos e subtarefas)
+ * e os totais da sua subárvore.
+ *
+ * @param cardId ID do Card
+ * @param parentId ID do Card pai ou null se o Card não tiver pai
+ * @param childIds IDs dos filhos diretos
+ * @param descendants Quantidade de descendentes, diretos e indiretos, inclusive os arquivados
+ * @param finishedDescendants Descendentes em coluna FINAL
+ * @param canceledDescendants Descendentes em coluna CANCEL
+ */
+public record CardSubtreeDTO(Long cardId,
+                             Long parentId,
+                             List<Long> childIds,
+                             int descendants,
+                             int finishedDescendants,
+                             int canceledDescendants) {
+
+    /**
+     * @return Percentual de descendentes finalizados, sem contar os cancelados (0 sem descendentes)
+     */
+    public int progress() {
+        var considered = descendants - canceledDescendants;
+        return considered == 0 ? 0 : finishedDescendants * 100 / considered;
+    }
+}
@@ -0,0 +1,15 @@
+package br.com.dio.dto;
+
+import java.util.List;
+
+/**
+ * DTO (Data Transfer Object) com uma raia de um board: os cards de um responsável.
+ *
+ * @param assigneeId ID do usuário ou null para os cards sem responsável
+ * @param assigneeName Nome do usuário ou null para os cards sem responsável
+ * @param cards Cards da raia, na ordem das colunas e, em cada coluna, na ordem da coluna
+ */
+public record SwimlaneDTO(Long assigneeId,
+                          String assigneeName,
+                          List<AssignedCardDTO> cards) {
+}
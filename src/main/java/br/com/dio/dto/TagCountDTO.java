@@ -0,0 +1,11 @@
+package br.com.dio.dto;
+
+/**
+ * DTO (Data Transfer Object) com uma tag de um board e a quantidade de Cards marcados com ela.
+ *
+ * @param name Nome normalizado da tag
+ * @param cards Cards do board com a tag
+ */
+public record TagCountDTO(String name,
+                          long cards) {
+}
@@ -0,0 +1,21 @@
+package br.com.dio.dto;
+
+/**
+ * DTO (Data Transfer Object) com os contadores de transações do processo desde o início.
+ *
+ * @param transactions Transações executadas (cada execução conta uma vez, com ou sem repetições)
+ * @param deadlocks Tentativas desfeitas por deadlock (erro 1213)
+ * @param lockTimeouts Tentativas desfeitas por tempo de espera de bloqueio (erro 1205)
+ * @param rankConflicts Tentativas que usaram uma chave de ordenação já gravada por outra transação (erro 1062)
+ * @param retries Tentativas repetidas
+ * @param exhausted Transações que falharam após todas as tentativas
+ * @param budgetDenied Repetições recusadas por falta de orçamento
+ */
+public record TransactionMetricsDTO(long transactions,
+                                    long deadlocks,
+                                    long lockTimeouts,
+                                    long rankConflicts,
+                                    long retries,
+                                    long exhausted,
+                                    long budgetDenied) {
+}
@@ -0,0 +1,14 @@
+package br.com.dio.dto;
+
+/**
+ * DTO (Data Transfer Object) com o trabalho em andamento (WIP) de um usuário em todos
+ * os boards ativos.
+ *
+ * @param userId ID do usuário
+ * @param initialCards Cards do usuário em colunas INITIAL
+ * @param pendingCards Cards do usuário em colunas PENDING
+ */
+public record UserWipDTO(Long userId,
+                         long initialCards,
+                         long pendingCards) {
+}
@@ -0,0 +1,11 @@
+package br.com.dio.dto;
+
+/**
+ * DTO (Data Transfer Object) que representa uma transição permitida no fluxo de um Board.
+ *
+ * @param fromColumnId Coluna de origem do Card
+ * @param toColumnId Coluna para a qual o Card pode ser movido
+ */
+public record WorkflowTransitionDTO(Long fromColumnId,
+                                    Long toColumnId) {
+}
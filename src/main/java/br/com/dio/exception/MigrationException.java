@@ -0,0 +1,18 @@
+package br.com.dio.exception;
+
+/**
+ * Exceção lançada quando as migrações do banco de dados não puderam ser aplicadas.
+ * O esquema pode estar parcialmente migrado, então a aplicação não deve seguir usando o banco.
+ */
+public class MigrationException extends RuntimeException {
+
+    /**
+     * Cria uma nova instância da exceção com a falha original do Liquibase.
+     *
+     * @param message Mensagem descritiva da falha
+     * @param cause Exceção que interrompeu a migração
+     */
+    public MigrationException(final String message, final Throwable cause) {
+        super(message, cause);
+    }
+}
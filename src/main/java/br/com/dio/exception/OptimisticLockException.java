@@ -0,0 +1,22 @@
+package br.com.dio.exception;
+
+/**
+ * Exceção lançada quando uma alteração é recusada porque o Card ou as colunas do Board
+ * foram alterados por outra operação depois de lidos.
+ *
+ * <p>As alterações de Cards são condicionadas à versão lida (coluna {@code version});
+ * quando outra operação grava antes, nenhuma linha é alterada e esta exceção é lançada
+ * em vez de sobrescrever a alteração concorrente. A operação pode ser repetida depois
+ * de recarregar o Board.</p>
+ */
+public class OptimisticLockException extends RuntimeException {
+
+    /**
+     * Cria uma nova instância da exceção com uma mensagem descritiva.
+     *
+     * @param message Mensagem detalhada com o Card ou a coluna em conflito
+     */
+    public OptimisticLockException(final String message) {
+        super(message);
+    }
+}
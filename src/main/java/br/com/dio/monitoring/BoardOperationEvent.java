@@ -0,0 +1,83 @@
+package br.com.dio.monitoring;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Evento do JDK Flight Recorder emitido a cada operação do BoardService.
+ *
+ * <p>Desabilitado por padrão: só é gravado quando uma gravação habilita
+ * explicitamente {@code br.com.dio.BoardOperation}.</p>
+ */
+@Name("br.com.dio.BoardOperation")
+@Label("Operação de Board")
+@Description("Criação ou remoção de um board e suas colunas")
+@Category({"Board", "Serviço"})
+@Enabled(false)
+@StackTrace(false)
+public class BoardOperationEvent extends Event {
+
+    @Label("Operação")
+    public String operation;
+
+    @Label("Board")
+    public long boardId;
+
+    @Label("Colunas")
+    public int columns;
+
+    @Label("Sucesso")
+    public boolean success;
+
+    /**
+     * Cria o evento e inicia a medição de duração.
+     * @param operation Nome da operação executada
+     * @param boardId ID do board envolvido (null quando ainda não foi gerado)
+     * @return Evento iniciado
+     */
+    public static BoardOperationEvent start(final String operation, final Long boardId) {
+        var event = new BoardOperationEvent();
+        event.operation = operation;
+        event.boardId = boardId == null ? 0 : boardId;
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Registra a quantidade de colunas afetadas, para operações que só a conhecem
+     * dentro da transação.
+     * @param columns Quantidade de colunas afetadas
+     */
+    public void columns(final int columns) {
+        this.columns = columns;
+    }
+
+    /**
+     * Finaliza a medição com a quantidade de colunas registrada por {@link #columns(int)}.
+     * @param boardId ID final do board (relevante quando gerado pela própria operação)
+     * @param success Indica se a operação foi concluída com commit
+     */
+    public void finish(final Long boardId, final boolean success) {
+        finish(boardId, columns, success);
+    }
+
+    /**
+     * Finaliza a medição e grava o evento caso a gravação o tenha habilitado.
+     * @param boardId ID final do board (relevante quando gerado pela própria operação)
+     * @param columns Quantidade de colunas afetadas
+     * @param success Indica se a operação foi concluída com commit
+     */
+    public void finish(final Long boardId, final int columns, final boolean success) {
+        if (shouldCommit()) {
+            this.boardId = boardId == null ? this.boardId : boardId;
+            this.columns = columns;
+            this.success = success;
+            commit();
+        }
+    }
+}
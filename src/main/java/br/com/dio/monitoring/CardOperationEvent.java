@@ -0,0 +1,83 @@
+package br.com.dio.monitoring;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Evento do JDK Flight Recorder emitido a cada operação do CardService.
+ * Permite correlacionar a latência de criação, movimentação e bloqueio de cards
+ * com GC, contenção de locks e leituras de socket em uma mesma gravação.
+ *
+ * <p>Desabilitado por padrão: só é gravado quando uma gravação habilita
+ * explicitamente {@code br.com.dio.CardOperation}.</p>
+ */
+@Name("br.com.dio.CardOperation")
+@Label("Operação de Card")
+@Description("Criação, movimentação, cancelamento, bloqueio ou desbloqueio de um card")
+@Category({"Board", "Serviço"})
+@Enabled(false)
+@StackTrace(false)
+public class CardOperationEvent extends Event {
+
+    @Label("Operação")
+    public String operation;
+
+    @Label("Board")
+    public long boardId;
+
+    @Label("Card")
+    public long cardId;
+
+    @Label("Coluna de origem")
+    public long fromColumnId;
+
+    @Label("Coluna de destino")
+    public long toColumnId;
+
+    @Label("Sucesso")
+    public boolean success;
+
+    /**
+     * Cria o evento e inicia a medição de duração.
+     * @param operation Nome da operação executada
+     * @param cardId ID do card envolvido (null quando ainda não foi gerado)
+     * @return Evento iniciado
+     */
+    public static CardOperationEvent start(final String operation, final Long cardId) {
+        var event = new CardOperationEvent();
+        event.operation = operation;
+        event.cardId = cardId == null ? 0 : cardId;
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Registra a transição de colunas realizada pela operação.
+     * @param boardId ID do board do card
+     * @param fromColumnId ID da coluna de origem
+     * @param toColumnId ID da coluna de destino
+     */
+    public void transition(final Long boardId, final Long fromColumnId, final Long toColumnId) {
+        this.boardId = boardId == null ? 0 : boardId;
+        this.fromColumnId = fromColumnId == null ? 0 : fromColumnId;
+        this.toColumnId = toColumnId == null ? 0 : toColumnId;
+    }
+
+    /**
+     * Finaliza a medição e grava o evento caso a gravação o tenha habilitado.
+     * @param cardId ID final do card (relevante quando gerado pela própria operação)
+     * @param success Indica se a operação foi concluída com commit
+     */
+    public void finish(final Long cardId, final boolean success) {
+        if (shouldCommit()) {
+            this.cardId = cardId == null ? this.cardId : cardId;
+            this.success = success;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package br.com.dio.monitoring;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Evento do JDK Flight Recorder emitido a cada comando SQL executado pelos DAOs.
+ * A duração do evento corresponde ao tempo de execução do comando no banco
+ * (incluindo a leitura do ResultSet, no caso de consultas).
+ *
+ * <p>Desabilitado por padrão: só é gravado quando uma gravação habilita
+ * explicitamente {@code br.com.dio.SqlStatement}.</p>
+ */
+@Name("br.com.dio.SqlStatement")
+@Label("Comando SQL")
+@Description("Execução de um comando SQL por um DAO")
+@Category({"Board", "Persistência"})
+@Enabled(false)
+@StackTrace(false)
+public class SqlStatementEvent extends Event {
+
+    @Label("Comando")
+    @Description("DAO e método que executou o comando")
+    public String statement;
+
+    @Label("SQL")
+    public String sql;
+
+    @Label("Linhas")
+    @Description("Linhas afetadas ou lidas")
+    public int rows;
+
+    /**
+     * Cria o evento e inicia a medição de duração.
+     * @param statement Identificação do comando, no formato {@code DAO.metodo}
+     * @param sql Texto SQL executado
+     * @return Evento iniciado
+     */
+    public static SqlStatementEvent start(final String statement, final String sql) {
+        var event = new SqlStatementEvent();
+        event.statement = statement;
+        event.sql = sql;
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Finaliza a medição e grava o evento caso a gravação o tenha habilitado.
+     * @param rows Quantidade de linhas afetadas ou lidas pelo comando
+     */
+    public void finish(final int rows) {
+        if (shouldCommit()) {
+            this.rows = rows;
+            commit();
+        }
+    }
+}
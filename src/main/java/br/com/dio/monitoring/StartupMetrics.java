@@ -0,0 +1,61 @@
+package br.com.dio.monitoring;
+
+import lombok.NoArgsConstructor;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import static lombok.AccessLevel.PRIVATE;
+
+/**
+ * Marcos de tempo da inicialização da aplicação desktop.
+ *
+ * <p>Com {@code -Dboard.startup.metrics=true}, cada marco é impresso como
+ * {@code [startup] <fase> <ms>}, medido a partir do início do processo da JVM.
+ * Com {@code -Dboard.startup.autorun=true}, a aplicação percorre sozinha o caminho
+ * até abrir o primeiro board e encerra em seguida; esse modo é usado pelo
+ * treinamento do arquivo AppCDS e pelo benchmark de inicialização.</p>
+ */
+@NoArgsConstructor(access = PRIVATE)
+public final class StartupMetrics {
+
+    // Fase marcada quando a primeira janela fica visível
+    public static final String FIRST_WINDOW = "first-window";
+
+    // Fase marcada quando a janela de um board termina de carregar
+    public static final String BOARD_LOADED = "board-loaded";
+
+    private static final boolean AUTORUN = Boolean.getBoolean("board.startup.autorun");
+    private static final boolean ENABLED = AUTORUN || Boolean.getBoolean("board.startup.metrics");
+
+    /**
+     * Indica se a aplicação deve percorrer a inicialização sem interação do usuário.
+     * @return true no modo de execução automática
+     */
+    public static boolean isAutorun() {
+        return AUTORUN;
+    }
+
+    /**
+     * Registra um marco da inicialização, caso as métricas estejam habilitadas.
+     * @param phase Nome da fase concluída
+     */
+    public static void mark(final String phase) {
+        if (!ENABLED) {
+            return;
+        }
+        var start = ProcessHandle.current().info().startInstant().orElse(Instant.now());
+        System.out.printf("[startup] %s %d%n", phase, Duration.between(start, Instant.now()).toMillis());
+    }
+
+    /**
+     * Encerra a aplicação ao final da execução automática.
+     * Não faz nada fora do modo de execução automática.
+     */
+    public static void finishAutorun() {
+        if (AUTORUN) {
+            System.out.flush();
+            System.exit(0);
+        }
+    }
+}
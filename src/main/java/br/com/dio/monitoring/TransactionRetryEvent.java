@@ -0,0 +1,60 @@
+package br.com.dio.monitoring;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Evento do JDK Flight Recorder emitido a cada transação desfeita por deadlock,
+ * tempo de espera de bloqueio ou chave de ordenação duplicada, indicando se ela foi repetida.
+ *
+ * <p>Habilitado por padrão, já que só ocorre sob contenção: uma gravação comum
+ * mostra quais operações disputam as mesmas linhas.</p>
+ */
+@Name("br.com.dio.TransactionRetry")
+@Label("Repetição de Transação")
+@Description("Transação desfeita por deadlock (1213), espera de bloqueio (1205) ou chave de ordenação duplicada (1062)")
+@Category({"Board", "Serviço"})
+@StackTrace(false)
+public class TransactionRetryEvent extends Event {
+
+    @Label("Operação")
+    public String operation;
+
+    @Label("Tentativa")
+    public int attempt;
+
+    @Label("Código de erro")
+    public int errorCode;
+
+    @Label("Espera (ms)")
+    public long backoffMillis;
+
+    @Label("Repetida")
+    public boolean retried;
+
+    /**
+     * Grava o evento de uma transação desfeita.
+     * @param operation Nome da operação
+     * @param attempt Tentativa que falhou, a partir de 1
+     * @param errorCode Código de erro do MySQL
+     * @param backoffMillis Espera antes da próxima tentativa (0 se não for repetida)
+     * @param retried Indica se a transação será repetida
+     */
+    public static void record(final String operation, final int attempt, final int errorCode,
+                              final long backoffMillis, final boolean retried) {
+        var event = new TransactionRetryEvent();
+        if (event.shouldCommit()) {
+            event.operation = operation;
+            event.attempt = attempt;
+            event.errorCode = errorCode;
+            event.backoffMillis = backoffMillis;
+            event.retried = retried;
+            event.commit();
+        }
+    }
+}
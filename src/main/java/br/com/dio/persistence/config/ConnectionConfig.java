@@ -15,6 +15,12 @@ import static lombok.AccessLevel.PRIVATE;
 @NoArgsConstructor(access = PRIVATE)
 public final class ConnectionConfig {
 
+    // Configurações de conexão
+    // rewriteBatchedStatements faz o driver enviar lotes de INSERT como um único comando multi-valores
+    private static final String URL = "jdbc:mysql://localhost/board?rewriteBatchedStatements=true";
+    private static final String USER = "board";
+    private static final String PASSWORD = "board";
+
     /**
      * Obtém uma nova conexão com o banco de dados configurado.
      * A conexão é criada com auto-commit desativado para permitir
@@ -24,17 +30,20 @@ public final class ConnectionConfig {
      * @throws SQLException Em caso de falha na conexão com o banco
      */
     public static Connection getConnection() throws SQLException {
-        // Configurações de conexão
-        var url = "jdbc:mysql://localhost/board";
-        var user = "board";
-        var password = "board";
-        
         // Estabelece a conexão
-        var connection = DriverManager.getConnection(url, user, password);
+        var connection = DriverManager.getConnection(URL, USER, PASSWORD);
         
         // Desativa auto-commit para gerenciamento manual de transações
         connection.setAutoCommit(false);
         
         return connection;
     }
-}
\ No newline at end of file
+
+    /**
+     * Retorna a URL JDBC do banco de dados configurado.
+     * @return URL de conexão
+     */
+    public static String getUrl() {
+        return URL;
+    }
+}
@@ -0,0 +1,155 @@
+package br.com.dio.persistence.config;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pool simples de conexões JDBC, para uso por vários clientes simultâneos
+ * (por exemplo, o modo servidor).
+ *
+ * <p>As conexões entregues são criadas por {@link ConnectionConfig#getConnection()}
+ * (auto-commit desativado) e devolvidas ao pool em {@link Connection#close()}.
+ * Na devolução é feito rollback do que não foi confirmado, de modo que a próxima
+ * requisição não herde a transação (nem o snapshot de leitura) da anterior.
+ * Conexões que falham no rollback são descartadas.</p>
+ *
+ * <p>O pool limita a quantidade de conexões em uso; quem não consegue uma conexão
+ * dentro do tempo limite recebe {@link SQLTransientConnectionException}.</p>
+ */
+public final class ConnectionPool implements AutoCloseable {
+
+    private final Semaphore permits;
+    private final long timeoutMillis;
+
+    // Conexões físicas livres, reutilizadas da mais recente para a mais antiga
+    private final ConcurrentLinkedDeque<Connection> idle = new ConcurrentLinkedDeque<>();
+
+    private volatile boolean closed;
+
+    /**
+     * Cria o pool; as conexões são abertas sob demanda.
+     * @param size Quantidade máxima de conexões em uso
+     * @param timeoutMillis Tempo máximo de espera por uma conexão livre
+     */
+    public ConnectionPool(final int size, final long timeoutMillis) {
+        if (size < 1) {
+            throw new IllegalArgumentException("O pool precisa de ao menos uma conexão");
+        }
+        this.permits = new Semaphore(size, true);
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    /**
+     * Obtém uma conexão do pool, aguardando se todas estiverem em uso.
+     * @return Conexão que volta ao pool ao ser fechada
+     * @throws SQLTransientConnectionException Se nenhuma conexão ficar livre no tempo limite
+     * @throws SQLException Em caso de falha ao abrir uma nova conexão
+     */
+    public Connection getConnection() throws SQLException {
+        if (closed) {
+            throw new SQLException("O pool de conexões foi encerrado");
+        }
+        try {
+            if (!permits.tryAcquire(timeoutMillis, TimeUnit.MILLISECONDS)) {
+                throw new SQLTransientConnectionException(
+                        "Nenhuma conexão livre em %s ms".formatted(timeoutMillis));
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new SQLTransientConnectionException("Interrompido aguardando uma conexão", ex);
+        }
+        try {
+            var physical = idle.pollFirst();
+            if (physical == null || physical.isClosed()) {
+                physical = ConnectionConfig.getConnection();
+            }
+            return lease(physical);
+        } catch (SQLException | RuntimeException ex) {
+            permits.release();
+            throw ex;
+        }
+    }
+
+    /**
+     * Encerra o pool e fecha as conexões livres. Conexões em uso são fechadas
+     * quando devolvidas.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        Connection connection;
+        while ((connection = idle.pollFirst()) != null) {
+            closeQuietly(connection);
+        }
+    }
+
+    /**
+     * Envolve a conexão física em um proxy cujo close() a devolve ao pool uma única vez.
+     */
+    private Connection lease(final Connection physical) {
+        var released = new boolean[1];
+        return (Connection) Proxy.newProxyInstance(
+                Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "close" -> {
+                            if (!released[0]) {
+                                released[0] = true;
+                                release(physical);
+                            }
+                            return null;
+                        }
+                        case "isClosed" -> {
+                            return released[0] || physical.isClosed();
+                        }
+                        case "equals" -> {
+                            return proxy == args[0];
+                        }
+                        case "hashCode" -> {
+                            return System.identityHashCode(proxy);
+                        }
+                        default -> {
+                            if (released[0]) {
+                                throw new SQLException("A conexão já foi devolvida ao pool");
+                            }
+                        }
+                    }
+                    try {
+                        return method.invoke(physical, args);
+                    } catch (InvocationTargetException ex) {
+                        throw ex.getCause();
+                    }
+                });
+    }
+
+    private void release(final Connection physical) {
+        try {
+            physical.rollback();
+            if (closed) {
+                closeQuietly(physical);
+            } else {
+                idle.offerFirst(physical);
+            }
+        } catch (SQLException ex) {
+            // Conexão quebrada: descarta, uma nova será aberta sob demanda
+            closeQuietly(physical);
+        } finally {
+            permits.release();
+        }
+    }
+
+    private static void closeQuietly(final Connection connection) {
+        try {
+            connection.close();
+        } catch (SQLException ignored) {
+            // Conexão já inutilizada
+        }
+    }
+}
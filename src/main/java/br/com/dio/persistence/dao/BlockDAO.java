@@ -1,10 +1,16 @@
 package br.com.dio.persistence.dao;
 
+import br.com.dio.exception.OptimisticLockException;
+import br.com.dio.monitoring.SqlStatementEvent;
+import br.com.dio.persistence.entity.BlockEntity;
 import lombok.AllArgsConstructor;
 
 import java.sql.Connection;
 import java.sql.SQLException;
 import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 
 import static br.com.dio.persistence.converter.OffsetDateTimeConverter.toTimestamp;
 
@@ -15,35 +21,128 @@ import static br.com.dio.persistence.converter.OffsetDateTimeConverter.toTimesta
 @AllArgsConstructor
 public class BlockDAO {
 
+    // Coluna atual do Card, registrada em cada bloqueio para os relatórios por coluna
+    private static final String CARD_COLUMN = "(SELECT c.board_column_id FROM CARDS c WHERE c.id = ?)";
+
     // Conexão JDBC com o banco de dados
     private final Connection connection;
 
     /**
-     * Registra um novo bloqueio para um Card.
+     * Registra um novo bloqueio para um Card, guardando a coluna em que ele está.
+     * O bloqueio só é registrado se o Card ainda estiver na versão lida, que é incrementada.
      * @param reason Motivo do bloqueio
      * @param cardId ID do Card a ser bloqueado
+     * @param cardVersion Versão do Card lida antes do bloqueio
      * @throws SQLException Em caso de erro no banco de dados
+     * @throws OptimisticLockException Se o Card foi alterado desde a leitura
      */
-    public void block(final String reason, final Long cardId) throws SQLException {
-        var sql = "INSERT INTO BLOCKS (blocked_at, block_reason, card_id) VALUES (?, ?, ?);";
+    public void block(final String reason, final Long cardId, final int cardVersion) throws SQLException {
+        insertBlock("BlockDAO.block", reason, cardId, cardVersion, false);
+    }
+
+    /**
+     * Registra o bloqueio de um Card que aguarda a finalização de outro Card. O bloqueio
+     * é marcado como de dependência, para ser desfeito automaticamente quando todas as
+     * dependências do Card chegarem à coluna FINAL.
+     * @param reason Motivo do bloqueio
+     * @param cardId ID do Card a ser bloqueado
+     * @param cardVersion Versão do Card lida antes do bloqueio
+     * @throws SQLException Em caso de erro no banco de dados
+     * @throws OptimisticLockException Se o Card foi alterado desde a leitura
+     */
+    public void blockForDependency(final String reason, final Long cardId, final int cardVersion) throws SQLException {
+        insertBlock("BlockDAO.blockForDependency", reason, cardId, cardVersion, true);
+    }
+
+    private void insertBlock(final String name, final String reason, final Long cardId,
+                             final int cardVersion, final boolean dependency) throws SQLException {
+        incrementCardVersion(name, cardId, cardVersion);
+        var sql = "INSERT INTO BLOCKS (blocked_at, block_reason, card_id, board_column_id, dependency) VALUES (?, ?, ?, " + CARD_COLUMN + ", ?);";
         try(var statement = connection.prepareStatement(sql)){
             var i = 1;
             // Registra o momento atual do bloqueio
             statement.setTimestamp(i++, toTimestamp(OffsetDateTime.now()));
             statement.setString(i++, reason);
-            statement.setLong(i, cardId);
-            statement.executeUpdate();
+            statement.setLong(i++, cardId);
+            statement.setLong(i++, cardId);
+            statement.setBoolean(i, dependency);
+            var event = SqlStatementEvent.start(name, sql);
+            event.finish(statement.executeUpdate());
+        }
+    }
+
+    /**
+     * Registra bloqueios para vários Cards em um único lote de comandos.
+     * @param reasonsByCardId Motivo do bloqueio indexado pelo ID do Card
+     * @throws SQLException Em caso de erro no banco de dados
+     */
+    public void blockBatch(final Map<Long, String> reasonsByCardId) throws SQLException {
+        if (reasonsByCardId.isEmpty()) {
+            return;
+        }
+        var sql = "INSERT INTO BLOCKS (blocked_at, block_reason, card_id, board_column_id) VALUES (?, ?, ?, " + CARD_COLUMN + ")";
+        try(var statement = connection.prepareStatement(sql)){
+            var now = toTimestamp(OffsetDateTime.now());
+            for (var entry : reasonsByCardId.entrySet()) {
+                var i = 1;
+                statement.setTimestamp(i++, now);
+                statement.setString(i++, entry.getValue());
+                statement.setLong(i++, entry.getKey());
+                statement.setLong(i, entry.getKey());
+                statement.addBatch();
+            }
+            var event = SqlStatementEvent.start("BlockDAO.blockBatch", sql);
+            statement.executeBatch();
+            event.finish(reasonsByCardId.size());
+        }
+    }
+
+    /**
+     * Insere registros históricos de bloqueio, preservando datas e motivos originais.
+     * Utilizado na restauração de boards exportados; como os arquivos não guardam a
+     * coluna de cada bloqueio, é registrada a coluna atual do Card restaurado.
+     * @param blocksByCardId Bloqueios indexados pelo ID (já restaurado) do Card
+     * @throws SQLException Em caso de erro no banco de dados
+     */
+    public void insertHistoryBatch(final Map<Long, List<BlockEntity>> blocksByCardId) throws SQLException {
+        if (blocksByCardId.isEmpty()) {
+            return;
+        }
+        var sql = "INSERT INTO BLOCKS (blocked_at, block_reason, unblocked_at, unblock_reason, card_id, board_column_id) " +
+                "VALUES (?, ?, ?, ?, ?, " + CARD_COLUMN + ")";
+        try(var statement = connection.prepareStatement(sql)){
+            var rows = 0;
+            for (var entry : blocksByCardId.entrySet()) {
+                for (var block : entry.getValue()) {
+                    var i = 1;
+                    statement.setTimestamp(i++, toTimestamp(block.getBlockedAt()));
+                    statement.setString(i++, block.getBlockReason());
+                    statement.setTimestamp(i++, toTimestamp(block.getUnblockedAt()));
+                    statement.setString(i++, block.getUnblockReason());
+                    statement.setLong(i++, entry.getKey());
+                    statement.setLong(i, entry.getKey());
+                    statement.addBatch();
+                    rows++;
+                }
+            }
+            var event = SqlStatementEvent.start("BlockDAO.insertHistoryBatch", sql);
+            statement.executeBatch();
+            event.finish(rows);
         }
     }
 
     /**
      * Registra o desbloqueio de um Card previamente bloqueado.
-     * Atualiza apenas registros que ainda não possuem data de desbloqueio.
+     * Atualiza apenas registros que ainda não possuem data de desbloqueio, e só se o Card
+     * ainda estiver na versão lida, que é incrementada.
      * @param reason Motivo do desbloqueio
      * @param cardId ID do Card a ser desbloqueado
+     * @param cardVersion Versão do Card lida antes do desbloqueio
      * @throws SQLException Em caso de erro no banco de dados
+     * @throws OptimisticLockException Se o Card foi alterado desde a leitura
      */
-    public void unblock(final String reason, final Long cardId) throws SQLException {
+    public void unblock(final String reason, final Long cardId, final int cardVersion) throws SQLException {
+        incrementCardVersion("BlockDAO.unblock", cardId, cardVersion);
         var sql = "UPDATE BLOCKS SET unblocked_at = ?, unblock_reason = ? WHERE card_id = ? AND unblock_reason IS NULL;";
         try(var statement = connection.prepareStatement(sql)){
             var i = 1;
@@ -51,7 +150,85 @@ public class BlockDAO {
             statement.setTimestamp(i++, toTimestamp(OffsetDateTime.now()));
             statement.setString(i++, reason);
             statement.setLong(i, cardId);
-            statement.executeUpdate();
+            var event = SqlStatementEvent.start("BlockDAO.unblock", sql);
+            event.finish(statement.executeUpdate());
+        }
+    }
+
+    /**
+     * Registra o desbloqueio de vários Cards em um único lote de comandos.
+     * @param reasonsByCardId Motivo do desbloqueio indexado pelo ID do Card
+     * @throws SQLException Em caso de erro no banco de dados
+     */
+    public void unblockBatch(final Map<Long, String> reasonsByCardId) throws SQLException {
+        if (reasonsByCardId.isEmpty()) {
+            return;
+        }
+        var sql = "UPDATE BLOCKS SET unblocked_at = ?, unblock_reason = ? WHERE card_id = ? AND unblock_reason IS NULL";
+        try(var statement = connection.prepareStatement(sql)){
+            var now = toTimestamp(OffsetDateTime.now());
+            for (var entry : reasonsByCardId.entrySet()) {
+                var i = 1;
+                statement.setTimestamp(i++, now);
+                statement.setString(i++, entry.getValue());
+                statement.setLong(i, entry.getKey());
+                statement.addBatch();
+            }
+            var event = SqlStatementEvent.start("BlockDAO.unblockBatch", sql);
+            statement.executeBatch();
+            event.finish(reasonsByCardId.size());
+        }
+    }
+
+    /**
+     * Incrementa, em um único lote de comandos, a versão de vários Cards que ainda
+     * estiverem nas versões lidas. Usado antes de {@link #blockBatch(Map)} e
+     * {@link #unblockBatch(Map)} para Cards existentes.
+     * @param versionsByCardId Versão lida indexada pelo ID do Card
+     * @throws SQLException Em caso de erro no banco de dados
+     * @throws OptimisticLockException Se algum Card foi alterado desde a leitura
+     */
+    public void incrementCardVersions(final Map<Long, Integer> versionsByCardId) throws SQLException {
+        if (versionsByCardId.isEmpty()) {
+            return;
+        }
+        var sql = "UPDATE CARDS SET version = version + 1 WHERE id = ? AND version = ?";
+        try(var statement = connection.prepareStatement(sql)){
+            var cardIds = new ArrayList<Long>();
+            for (var entry : versionsByCardId.entrySet()) {
+                var i = 1;
+                statement.setLong(i++, entry.getKey());
+                statement.setInt(i, entry.getValue());
+                statement.addBatch();
+                cardIds.add(entry.getKey());
+            }
+            var event = SqlStatementEvent.start("BlockDAO.incrementCardVersions", sql);
+            var rows = statement.executeBatch();
+            event.finish(versionsByCardId.size());
+            for (int i = 0; i < rows.length; i++) {
+                if (rows[i] == 0) {
+                    throw CardDAO.conflict(cardIds.get(i));
+                }
+            }
+        }
+    }
+
+    /**
+     * Incrementa a versão do Card se ela ainda for a lida. A linha do Card fica bloqueada
+     * até o fim da transação, serializando bloqueios e desbloqueios concorrentes.
+     */
+    private void incrementCardVersion(final String name, final Long cardId, final int cardVersion) throws SQLException {
+        var sql = "UPDATE CARDS SET version = version + 1 WHERE id = ? AND version = ?;";
+        try(var statement = connection.prepareStatement(sql)){
+            var i = 1;
+            statement.setLong(i++, cardId);
+            statement.setInt(i, cardVersion);
+            var event = SqlStatementEvent.start(name, sql);
+            var rows = statement.executeUpdate();
+            event.finish(rows);
+            if (rows == 0) {
+                throw CardDAO.conflict(cardId);
+            }
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,314 @@
+package br.com.dio.persistence.dao;
+
+import br.com.dio.dto.BlockDurationStatsDTO;
+import br.com.dio.dto.BlockReasonDTO;
+import br.com.dio.dto.BlockedCardDTO;
+import br.com.dio.monitoring.SqlStatementEvent;
+import lombok.AllArgsConstructor;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static br.com.dio.persistence.converter.OffsetDateTimeConverter.toOffsetDateTime;
+import static br.com.dio.persistence.converter.OffsetDateTimeConverter.toTimestamp;
+
+/**
+ * Data Access Object (DAO) para o relatório de bloqueios: Cards bloqueados,
+ * duração dos bloqueios por coluna e motivos mais frequentes.
+ *
+ * <p>A duração por coluna (média e percentil 95) é calculada com funções de janela
+ * sobre BLOCKS e BLOCKS_ARCHIVE e materializada em BLOCK_DURATION_STATS. A
+ * atualização é incremental: apenas as colunas com desbloqueios desde a última
+ * atualização (marca em BLOCK_STATS_REFRESH) são recalculadas.</p>
+ */
+@AllArgsConstructor
+public class BlockReportDAO {
+
+    // Conexão JDBC com o banco de dados
+    private Connection connection;
+
+    /**
+     * Busca os Cards atualmente bloqueados de todos os Boards não excluídos.
+     * @return Cards bloqueados, do bloqueio mais antigo para o mais recente
+     * @throws SQLException Em caso de erro no banco de dados
+     */
+    public List<BlockedCardDTO> findBlockedCards() throws SQLException {
+        var sql =
+                """
+                SELECT c.id,
+                       c.title,
+                       bo.id,
+                       bo.name,
+                       bc.name,
+                       b.block_reason,
+                       b.blocked_at
+                  FROM BLOCKS b
+                 INNER JOIN CARDS c
+                    ON c.id = b.card_id
+                 INNER JOIN BOARDS_COLUMNS bc
+                    ON bc.id = c.board_column_id
+                 INNER JOIN BOARDS bo
+                    ON bo.id = bc.board_id
+                 WHERE b.unblocked_at IS NULL
+                   AND bo.deleted_at IS NULL
+                 ORDER BY b.blocked_at;
+                """;
+        try(var statement = connection.prepareStatement(sql)){
+            var event = SqlStatementEvent.start("BlockReportDAO.findBlockedCards", sql);
+            var now = OffsetDateTime.now();
+            List<BlockedCardDTO> cards = new ArrayList<>();
+            try(var resultSet = statement.executeQuery()){
+                while (resultSet.next()){
+                    var blockedAt = toOffsetDateTime(resultSet.getTimestamp("b.blocked_at"));
+                    cards.add(new BlockedCardDTO(
+                            resultSet.getLong("c.id"),
+                            resultSet.getString("c.title"),
+                            resultSet.getLong("bo.id"),
+                            resultSet.getString("bo.name"),
+                            resultSet.getString("bc.name"),
+                            resultSet.getString("b.block_reason"),
+                            blockedAt,
+                            blockedAt == null ? 0 : Math.max(0, Duration.between(blockedAt, now).toSeconds())
+                    ));
+                }
+            }
+            event.finish(cards.size());
+            return cards;
+        }
+    }
+
+    /**
+     * Classifica os motivos de bloqueio pela quantidade de ocorrências (ativos e arquivados).
+     * @param limit Última posição do ranking incluída (motivos empatados são todos incluídos)
+     * @return Motivos ordenados do mais frequente para o menos frequente
+     * @throws SQLException Em caso de erro no banco de dados
+     */
+    public List<BlockReasonDTO> findTopReasons(final int limit) throws SQLException {
+        var sql =
+                """
+                SELECT reason,
+                       blocks,
+                       reason_rank
+                  FROM (SELECT r.block_reason reason,
+                               SUM(r.blocks) blocks,
+                               RANK() OVER (ORDER BY SUM(r.blocks) DESC) reason_rank
+                          FROM (SELECT block_reason, COUNT(*) blocks
+                                  FROM BLOCKS
+                                 GROUP BY block_reason
+                                UNION ALL
+                                SELECT block_reason, COUNT(*) blocks
+                                  FROM BLOCKS_ARCHIVE
+                                 GROUP BY block_reason) r
+                         GROUP BY r.block_reason) ranked
+                 WHERE reason_rank <= ?
+                 ORDER BY reason_rank, reason;
+                """;
+        try(var statement = connection.prepareStatement(sql)){
+            statement.setInt(1, limit);
+            var event = SqlStatementEvent.start("BlockReportDAO.findTopReasons", sql);
+            List<BlockReasonDTO> reasons = new ArrayList<>();
+            try(var resultSet = statement.executeQuery()){
+                while (resultSet.next()){
+                    reasons.add(new BlockReasonDTO(
+                            resultSet.getString("reason"),
+                            resultSet.getLong("blocks"),
+                            resultSet.getInt("reason_rank")
+                    ));
+                }
+            }
+            event.finish(reasons.size());
+            return reasons;
+        }
+    }
+
+    /**
+     * Busca a duração materializada dos bloqueios por coluna dos Boards não excluídos.
+     * @return Estatísticas ordenadas por Board e pela ordem das colunas
+     * @throws SQLException Em caso de erro no banco de dados
+     */
+    public List<BlockDurationStatsDTO> findDurationStats() throws SQLException {
+        var sql =
+                """
+                SELECT bo.id,
+                       bo.name,
+                       bc.id,
+                       bc.name,
+                       s.blocks,
+                       s.mean_seconds,
+                       s.p95_seconds
+                  FROM BLOCK_DURATION_STATS s
+                 INNER JOIN BOARDS_COLUMNS bc
+                    ON bc.id = s.board_column_id
+                 INNER JOIN BOARDS bo
+                    ON bo.id = bc.board_id
+                 WHERE bo.deleted_at IS NULL
+                 ORDER BY bo.id, bc.`order`;
+                """;
+        try(var statement = connection.prepareStatement(sql)){
+            var event = SqlStatementEvent.start("BlockReportDAO.findDurationStats", sql);
+            List<BlockDurationStatsDTO> stats = new ArrayList<>();
+            try(var resultSet = statement.executeQuery()){
+                while (resultSet.next()){
+                    stats.add(new BlockDurationStatsDTO(
+                            resultSet.getLong("bo.id"),
+                            resultSet.getString("bo.name"),
+                            resultSet.getLong("bc.id"),
+                            resultSet.getString("bc.name"),
+                            resultSet.getLong("s.blocks"),
+                            resultSet.getDouble("s.mean_seconds"),
+                            resultSet.getLong("s.p95_seconds")
+                    ));
+                }
+            }
+            event.finish(stats.size());
+            return stats;
+        }
+    }
+
+    /**
+     * Lê a marca da última atualização do resumo sem bloqueá-la.
+     * @return Instante até o qual os desbloqueios já foram considerados
+     * @throws SQLException Em caso de erro no banco de dados
+     */
+    public OffsetDateTime findRefreshedUntil() throws SQLException {
+        var sql = "SELECT refreshed_until FROM BLOCK_STATS_REFRESH WHERE id = 1;";
+        try(var statement = connection.prepareStatement(sql)){
+            var event = SqlStatementEvent.start("BlockReportDAO.findRefreshedUntil", sql);
+            try(var resultSet = statement.executeQuery()){
+                resultSet.next();
+                event.finish(1);
+                return toOffsetDateTime(resultSet.getTimestamp("refreshed_until"));
+            }
+        }
+    }
+
+    /**
+     * Lê e bloqueia a marca da última atualização do resumo, serializando atualizações concorrentes.
+     * @return Instante até o qual os desbloqueios já foram considerados
+     * @throws SQLException Em caso de erro no banco de dados
+     */
+    public OffsetDateTime lockRefreshedUntil() throws SQLException {
+        var sql = "SELECT refreshed_until FROM BLOCK_STATS_REFRESH WHERE id = 1 FOR UPDATE;";
+        try(var statement = connection.prepareStatement(sql)){
+            var event = SqlStatementEvent.start("BlockReportDAO.lockRefreshedUntil", sql);
+            try(var resultSet = statement.executeQuery()){
+                resultSet.next();
+                event.finish(1);
+                return toOffsetDateTime(resultSet.getTimestamp("refreshed_until"));
+            }
+        }
+    }
+
+    /**
+     * Atualiza a marca da última atualização do resumo.
+     * @param refreshedUntil Instante até o qual os desbloqueios foram considerados
+     * @throws SQLException Em caso de erro no banco de dados
+     */
+    public void updateRefreshedUntil(final OffsetDateTime refreshedUntil) throws SQLException {
+        var sql = "UPDATE BLOCK_STATS_REFRESH SET refreshed_until = ? WHERE id = 1;";
+        try(var statement = connection.prepareStatement(sql)){
+            statement.setTimestamp(1, toTimestamp(refreshedUntil));
+            var event = SqlStatementEvent.start("BlockReportDAO.updateRefreshedUntil", sql);
+            event.finish(statement.executeUpdate());
+        }
+    }
+
+    /**
+     * Busca as colunas com bloqueios encerrados no intervalo informado.
+     * @param after Início do intervalo (exclusivo)
+     * @param until Fim do intervalo (inclusivo)
+     * @return IDs das colunas
+     * @throws SQLException Em caso de erro no banco de dados
+     */
+    public List<Long> findColumnsUnblockedBetween(final OffsetDateTime after, final OffsetDateTime until) throws SQLException {
+        var sql =
+                """
+                SELECT board_column_id
+                  FROM BLOCKS
+                 WHERE unblocked_at > ?
+                   AND unblocked_at <= ?
+                UNION
+                SELECT board_column_id
+                  FROM BLOCKS_ARCHIVE
+                 WHERE unblocked_at > ?
+                   AND unblocked_at <= ?;
+                """;
+        try(var statement = connection.prepareStatement(sql)){
+            var i = 1;
+            for (var table = 0; table < 2; table++) {
+                statement.setTimestamp(i++, toTimestamp(after));
+                statement.setTimestamp(i++, toTimestamp(until));
+            }
+            var event = SqlStatementEvent.start("BlockReportDAO.findColumnsUnblockedBetween", sql);
+            List<Long> ids = new ArrayList<>();
+            try(var resultSet = statement.executeQuery()){
+                while (resultSet.next()){
+                    ids.add(resultSet.getLong("board_column_id"));
+                }
+            }
+            event.finish(ids.size());
+            return ids;
+        }
+    }
+
+    /**
+     * Recalcula a duração dos bloqueios encerrados até o limite informado nas colunas
+     * indicadas e grava o resultado em BLOCK_DURATION_STATS. O percentil 95 é o menor
+     * valor cuja distribuição acumulada (CUME_DIST) atinge 0,95.
+     * @param columnIds IDs das colunas a recalcular
+     * @param until Desbloqueios posteriores a este instante são ignorados
+     * @return Quantidade de linhas afetadas
+     * @throws SQLException Em caso de erro no banco de dados
+     */
+    public int refreshDurationStats(final List<Long> columnIds, final OffsetDateTime until) throws SQLException {
+        if (columnIds.isEmpty()) {
+            return 0;
+        }
+        var placeholders = String.join(", ", Collections.nCopies(columnIds.size(), "?"));
+        var sql =
+                """
+                INSERT INTO BLOCK_DURATION_STATS (board_column_id, blocks, mean_seconds, p95_seconds)
+                SELECT *
+                  FROM (SELECT w.board_column_id,
+                               COUNT(*) blocks,
+                               AVG(w.duration) mean_seconds,
+                               MIN(CASE WHEN w.cume >= 0.95 THEN w.duration END) p95_seconds
+                          FROM (SELECT d.board_column_id,
+                                       d.duration,
+                                       CUME_DIST() OVER (PARTITION BY d.board_column_id ORDER BY d.duration) cume
+                                  FROM (SELECT board_column_id,
+                                               TIMESTAMPDIFF(SECOND, blocked_at, unblocked_at) duration
+                                          FROM BLOCKS
+                                         WHERE board_column_id IN (%1$s)
+                                           AND unblocked_at <= ?
+                                        UNION ALL
+                                        SELECT board_column_id,
+                                               TIMESTAMPDIFF(SECOND, blocked_at, unblocked_at) duration
+                                          FROM BLOCKS_ARCHIVE
+                                         WHERE board_column_id IN (%1$s)
+                                           AND unblocked_at <= ?) d) w
+                         GROUP BY w.board_column_id) s
+                    ON DUPLICATE KEY UPDATE blocks = s.blocks,
+                                            mean_seconds = s.mean_seconds,
+                                            p95_seconds = s.p95_seconds;
+                """.formatted(placeholders);
+        try(var statement = connection.prepareStatement(sql)){
+            var i = 1;
+            for (var table = 0; table < 2; table++) {
+                for (var id : columnIds) {
+                    statement.setLong(i++, id);
+                }
+                statement.setTimestamp(i++, toTimestamp(until));
+            }
+            var event = SqlStatementEvent.start("BlockReportDAO.refreshDurationStats", sql);
+            var rows = statement.executeUpdate();
+            event.finish(rows);
+            return rows;
+        }
+    }
+}
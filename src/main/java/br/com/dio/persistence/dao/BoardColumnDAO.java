@@ -1,13 +1,17 @@
 package br.com.dio.persistence.dao;
 
 import br.com.dio.dto.BoardColumnDTO;
+import br.com.dio.monitoring.SqlStatementEvent;
 import br.com.dio.persistence.entity.BoardColumnEntity;
 import br.com.dio.persistence.entity.CardEntity;
+import br.com.dio.persistence.id.IdGenerator;
 import com.mysql.cj.jdbc.StatementImpl;
 import lombok.RequiredArgsConstructor;
 
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
@@ -18,31 +22,45 @@ import static java.util.Objects.isNull;
 /**
  * Data Access Object (DAO) para operações com colunas de boards no banco de dados.
  * Responsável pela persistência de BoardColumnEntity e suas relações.
+ *
+ * <p>As ordens das colunas são espaçadas de {@link #ORDER_GAP}: inserir ou mover uma
+ * coluna usa uma ordem livre entre as vizinhas e altera uma única linha. Só quando não
+ * há ordem livre as colunas do board são reespaçadas ({@link #respace(Long)}).</p>
  */
 @RequiredArgsConstructor
 public class BoardColumnDAO {
 
+    /**
+     * Distância entre as ordens de colunas consecutivas de um board novo ou reespaçado.
+     */
+    public static final int ORDER_GAP = 1024;
+
     // Conexão JDBC com o banco de dados
     private final Connection connection;
 
     /**
      * Insere uma nova coluna no banco de dados.
      * @param entity Entidade BoardColumnEntity a ser persistida
-     * @return A entidade inserida com o ID gerado
+     * @return A entidade inserida com o ID gerado (pelo {@link IdGenerator}, se ativo, ou pelo banco)
      * @throws SQLException Em caso de erro no banco de dados
      */
     public BoardColumnEntity insert(final BoardColumnEntity entity) throws SQLException {
-        var sql = "INSERT INTO BOARDS_COLUMNS (name, `order`, kind, board_id) VALUES (?, ?, ?, ?);";
+        var id = IdGenerator.nextOrNull();
+        var sql = "INSERT INTO BOARDS_COLUMNS (id, name, `order`, kind, board_id) VALUES (?, ?, ?, ?, ?);";
         try(var statement = connection.prepareStatement(sql)){
             var i = 1;
+            statement.setObject(i++, id, Types.BIGINT);
             statement.setString(i++, entity.getName());
             statement.setInt(i++, entity.getOrder());
             statement.setString(i++, entity.getKind().name());
             statement.setLong(i, entity.getBoard().getId());
-            statement.executeUpdate();
+            var event = SqlStatementEvent.start("BoardColumnDAO.insert", sql);
+            event.finish(statement.executeUpdate());
             
             // Recupera o ID gerado (implementação específica para MySQL)
-            if (statement instanceof StatementImpl impl){
+            if (id != null) {
+                entity.setId(id);
+            } else if (statement instanceof StatementImpl impl){
                 entity.setId(impl.getLastInsertID());
             }
             return entity;
@@ -50,30 +68,267 @@ public class BoardColumnDAO {
     }
 
     /**
-     * Busca todas as colunas de um board pelo ID do board.
+     * Insere várias colunas em um único lote de comandos (um INSERT multi-valores
+     * com {@code rewriteBatchedStatements}), em vez de uma ida ao banco por coluna.
+     * Com o {@link IdGenerator} ativo os IDs são atribuídos antes do envio e as chaves
+     * geradas não são lidas.
+     * @param entities Colunas a serem persistidas, já associadas ao board
+     * @return As mesmas entidades com os IDs gerados, na mesma ordem
+     * @throws SQLException Em caso de erro no banco de dados
+     */
+    public List<BoardColumnEntity> insertBatch(final List<BoardColumnEntity> entities) throws SQLException {
+        var generated = IdGenerator.isEnabled();
+        var sql = "INSERT INTO BOARDS_COLUMNS (id, name, `order`, kind, board_id) VALUES (?, ?, ?, ?, ?)";
+        try(var statement = generated
+                ? connection.prepareStatement(sql)
+                : connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)){
+            for (var entity : entities) {
+                var i = 1;
+                var id = IdGenerator.nextOrNull();
+                entity.setId(id);
+                statement.setObject(i++, id, Types.BIGINT);
+                statement.setString(i++, entity.getName());
+                statement.setInt(i++, entity.getOrder());
+                statement.setString(i++, entity.getKind().name());
+                statement.setLong(i, entity.getBoard().getId());
+                statement.addBatch();
+            }
+            var event = SqlStatementEvent.start("BoardColumnDAO.insertBatch", sql);
+            statement.executeBatch();
+            event.finish(entities.size());
+            if (generated) {
+                return entities;
+            }
+
+            // IDs gerados retornam na mesma ordem das linhas do lote
+            try(var keys = statement.getGeneratedKeys()){
+                var iterator = entities.iterator();
+                while (keys.next() && iterator.hasNext()) {
+                    iterator.next().setId(keys.getLong(1));
+                }
+            }
+        }
+        return entities;
+    }
+
+    /**
+     * Copia no servidor a estrutura de colunas de um board para outro.
+     * @param sourceBoardId ID do board de origem
+     * @param targetBoardId ID do board de destino (sem colunas)
+     * @return Quantidade de colunas copiadas
+     * @throws SQLException Em caso de erro no banco de dados
+     */
+    public int copyFromBoard(final Long sourceBoardId, final Long targetBoardId) throws SQLException {
+        var sql =
+                """
+                INSERT INTO BOARDS_COLUMNS (id, name, `order`, kind, board_id)
+                SELECT %s, name, `order`, kind, ?
+                  FROM BOARDS_COLUMNS
+                 WHERE board_id = ?
+                 ORDER BY `order`;
+                """.formatted(IdGenerator.blockId("ROW_NUMBER() OVER (ORDER BY `order`)"));
+        var countSql = "SELECT COUNT(*) FROM BOARDS_COLUMNS WHERE board_id = ? FOR SHARE;";
+        return copy("BoardColumnDAO.copyFromBoard", sql, countSql, targetBoardId, sourceBoardId);
+    }
+
+    /**
+     * Cria no servidor as colunas de um board a partir de um template.
+     * @param templateId ID do template
+     * @param targetBoardId ID do board de destino (sem colunas)
+     * @return Quantidade de colunas criadas
+     * @throws SQLException Em caso de erro no banco de dados
+     */
+    public int copyFromTemplate(final Long templateId, final Long targetBoardId) throws SQLException {
+        var sql =
+                """
+                INSERT INTO BOARDS_COLUMNS (id, name, `order`, kind, board_id)
+                SELECT %s, name, `order`, kind, ?
+                  FROM BOARD_TEMPLATES_COLUMNS
+                 WHERE template_id = ?
+                 ORDER BY `order`;
+                """.formatted(IdGenerator.blockId("ROW_NUMBER() OVER (ORDER BY `order`)"));
+        var countSql = "SELECT COUNT(*) FROM BOARD_TEMPLATES_COLUMNS WHERE template_id = ? FOR SHARE;";
+        return copy("BoardColumnDAO.copyFromTemplate", sql, countSql, targetBoardId, templateId);
+    }
+
+    /**
+     * Executa uma cópia no servidor. Com o {@link IdGenerator} ativo, as linhas de origem
+     * são contadas e bloqueadas (para que a cópia veja as mesmas linhas) e um bloco de
+     * IDs é reservado para numerá-las.
+     */
+    private int copy(final String name, final String sql, final String countSql,
+                     final Long targetBoardId, final Long sourceId) throws SQLException {
+        var block = IdGenerator.isEnabled() ? IdGenerator.reserveBlock(count(name, countSql, sourceId)) : null;
+        try(var statement = connection.prepareStatement(sql)){
+            var i = IdGenerator.bindBlock(statement, 1, block);
+            statement.setLong(i++, targetBoardId);
+            statement.setLong(i, sourceId);
+            var event = SqlStatementEvent.start(name, sql);
+            var rows = statement.executeUpdate();
+            event.finish(rows);
+            return rows;
+        }
+    }
+
+    private long count(final String name, final String sql, final Long sourceId) throws SQLException {
+        try(var statement = connection.prepareStatement(sql)){
+            statement.setLong(1, sourceId);
+            var event = SqlStatementEvent.start(name, sql);
+            try(var resultSet = statement.executeQuery()){
+                event.finish(1);
+                resultSet.next();
+                return resultSet.getLong(1);
+            }
+        }
+    }
+
+    /**
+     * Busca todas as colunas de um board pelo ID do board, com a versão da estrutura do board.
      * @param boardId ID do board pai
      * @return Lista de BoardColumnEntity ordenadas pela propriedade 'order'
      * @throws SQLException Em caso de erro no banco de dados
      */
     public List<BoardColumnEntity> findByBoardId(final Long boardId) throws SQLException {
         List<BoardColumnEntity> entities = new ArrayList<>();
-        var sql = "SELECT id, name, `order`, kind FROM BOARDS_COLUMNS WHERE board_id = ? ORDER BY `order`";
+        var sql =
+                """
+                SELECT bc.id, bc.name, bc.`order`, bc.kind, b.structure_version
+                  FROM BOARDS_COLUMNS bc
+                 INNER JOIN BOARDS b
+                    ON b.id = bc.board_id
+                 WHERE bc.board_id = ?
+                 ORDER BY bc.`order`
+                """;
         try(var statement = connection.prepareStatement(sql)){
             statement.setLong(1, boardId);
+            var event = SqlStatementEvent.start("BoardColumnDAO.findByBoardId", sql);
             statement.executeQuery();
             var resultSet = statement.getResultSet();
             while (resultSet.next()){
                 var entity = new BoardColumnEntity();
-                entity.setId(resultSet.getLong("id"));
-                entity.setName(resultSet.getString("name"));
-                entity.setOrder(resultSet.getInt("order"));
-                entity.setKind(findByName(resultSet.getString("kind")));
+                entity.setId(resultSet.getLong("bc.id"));
+                entity.setName(resultSet.getString("bc.name"));
+                entity.setOrder(resultSet.getInt("bc.order"));
+                entity.setKind(findByName(resultSet.getString("bc.kind")));
+                entity.setVersion(resultSet.getInt("b.structure_version"));
                 entities.add(entity);
             }
+            event.finish(entities.size());
             return entities;
         }
     }
 
+    /**
+     * Busca o board de uma coluna.
+     * @param id ID da coluna
+     * @return ID do board ou vazio se a coluna não existir
+     * @throws SQLException Em caso de erro no banco de dados
+     */
+    public Optional<Long> findBoardId(final Long id) throws SQLException {
+        var sql = "SELECT board_id FROM BOARDS_COLUMNS WHERE id = ?;";
+        try(var statement = connection.prepareStatement(sql)){
+            statement.setLong(1, id);
+            var event = SqlStatementEvent.start("BoardColumnDAO.findBoardId", sql);
+            try(var resultSet = statement.executeQuery()){
+                if (resultSet.next()){
+                    event.finish(1);
+                    return Optional.of(resultSet.getLong("board_id"));
+                }
+            }
+            event.finish(0);
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Altera a ordem de uma coluna.
+     * @param id ID da coluna
+     * @param order Nova ordem, livre no board
+     * @throws SQLException Em caso de erro no banco de dados
+     */
+    public void updateOrder(final Long id, final int order) throws SQLException {
+        var sql = "UPDATE BOARDS_COLUMNS SET `order` = ? WHERE id = ?;";
+        try(var statement = connection.prepareStatement(sql)){
+            var i = 1;
+            statement.setInt(i++, order);
+            statement.setLong(i, id);
+            var event = SqlStatementEvent.start("BoardColumnDAO.updateOrder", sql);
+            event.finish(statement.executeUpdate());
+        }
+    }
+
+    /**
+     * Reespaça as ordens das colunas de um board em múltiplos de {@link #ORDER_GAP},
+     * mantendo a sequência. As ordens passam primeiro para valores negativos, para que
+     * nenhuma linha colida com a chave única (board_id, `order`) durante a atualização.
+     * @param boardId ID do board
+     * @return Quantidade de colunas reespaçadas
+     * @throws SQLException Em caso de erro no banco de dados
+     */
+    public int respace(final Long boardId) throws SQLException {
+        var negate = "UPDATE BOARDS_COLUMNS SET `order` = -`order` - 1 WHERE board_id = ?;";
+        var spread =
+                """
+                UPDATE BOARDS_COLUMNS bc
+                 INNER JOIN (SELECT id,
+                                    ROW_NUMBER() OVER (ORDER BY `order` DESC) - 1 position
+                               FROM BOARDS_COLUMNS
+                              WHERE board_id = ?) r
+                    ON r.id = bc.id
+                   SET bc.`order` = r.position * ?;
+                """;
+        try(var statement = connection.prepareStatement(negate)){
+            statement.setLong(1, boardId);
+            var event = SqlStatementEvent.start("BoardColumnDAO.respace", negate);
+            event.finish(statement.executeUpdate());
+        }
+        try(var statement = connection.prepareStatement(spread)){
+            var i = 1;
+            statement.setLong(i++, boardId);
+            statement.setInt(i, ORDER_GAP);
+            var event = SqlStatementEvent.start("BoardColumnDAO.respace", spread);
+            var rows = statement.executeUpdate();
+            event.finish(rows);
+            return rows;
+        }
+    }
+
+    /**
+     * Verifica se uma coluna contém Cards.
+     * @param id ID da coluna
+     * @return true se houver ao menos um Card na coluna
+     * @throws SQLException Em caso de erro no banco de dados
+     */
+    public boolean hasCards(final Long id) throws SQLException {
+        var sql = "SELECT 1 FROM CARDS WHERE board_column_id = ? LIMIT 1;";
+        try(var statement = connection.prepareStatement(sql)){
+            statement.setLong(1, id);
+            var event = SqlStatementEvent.start("BoardColumnDAO.hasCards", sql);
+            try(var resultSet = statement.executeQuery()){
+                var found = resultSet.next();
+                event.finish(found ? 1 : 0);
+                return found;
+            }
+        }
+    }
+
+    /**
+     * Remove uma coluna.
+     * @param id ID da coluna
+     * @return true se a coluna foi removida
+     * @throws SQLException Em caso de erro no banco de dados
+     */
+    public boolean delete(final Long id) throws SQLException {
+        var sql = "DELETE FROM BOARDS_COLUMNS WHERE id = ?;";
+        try(var statement = connection.prepareStatement(sql)){
+            statement.setLong(1, id);
+            var event = SqlStatementEvent.start("BoardColumnDAO.delete", sql);
+            var rows = statement.executeUpdate();
+            event.finish(rows);
+            return rows > 0;
+        }
+    }
+
     /**
      * Busca colunas de um board com informações resumidas de cards.
      * @param boardId ID do board pai
@@ -96,6 +351,7 @@ public class BoardColumnDAO {
                 """;
         try(var statement = connection.prepareStatement(sql)){
             statement.setLong(1, boardId);
+            var event = SqlStatementEvent.start("BoardColumnDAO.findByBoardIdWithDetails", sql);
             statement.executeQuery();
             var resultSet = statement.getResultSet();
             while (resultSet.next()){
@@ -107,6 +363,7 @@ public class BoardColumnDAO {
                 );
                 dtos.add(dto);
             }
+            event.finish(dtos.size());
             return dtos;
         }
     }
@@ -114,7 +371,7 @@ public class BoardColumnDAO {
     /**
      * Busca uma coluna pelo ID incluindo seus cards associados.
      * @param boardId ID da coluna a ser buscada
-     * @return Optional contendo a BoardColumnEntity com cards se encontrada
+     * @return Optional contendo a BoardColumnEntity com cards, na ordem da coluna, se encontrada
      * @throws SQLException Em caso de erro no banco de dados
      */
     public Optional<BoardColumnEntity> findById(final Long boardId) throws SQLException {
@@ -128,10 +385,12 @@ public class BoardColumnDAO {
           FROM BOARDS_COLUMNS bc
           LEFT JOIN CARDS c
             ON c.board_column_id = bc.id
-         WHERE bc.id = ?;
+         WHERE bc.id = ?
+         ORDER BY c.card_rank;
         """;
         try(var statement = connection.prepareStatement(sql)){
             statement.setLong(1, boardId);
+            var event = SqlStatementEvent.start("BoardColumnDAO.findById", sql);
             statement.executeQuery();
             var resultSet = statement.getResultSet();
             if (resultSet.next()){
@@ -148,8 +407,10 @@ public class BoardColumnDAO {
                     card.setDescription(resultSet.getString("c.description"));
                     entity.getCards().add(card);
                 } while (resultSet.next());
+                event.finish(entity.getCards().size());
                 return Optional.of(entity);
             }
+            event.finish(0);
             return Optional.empty();
         }
     }
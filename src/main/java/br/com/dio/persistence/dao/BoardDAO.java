@@ -1,11 +1,17 @@
 package br.com.dio.persistence.dao;
 
+import br.com.dio.dto.BoardDashboardDTO;
+import br.com.dio.monitoring.SqlStatementEvent;
 import br.com.dio.persistence.entity.BoardEntity;
+import br.com.dio.persistence.id.IdGenerator;
 import com.mysql.cj.jdbc.StatementImpl;
 import lombok.AllArgsConstructor;
 
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -21,17 +27,23 @@ public class BoardDAO {
     /**
      * Insere um novo Board no banco de dados.
      * @param entity Entidade Board a ser persistida
-     * @return A mesma entidade com o ID gerado
+     * @return A mesma entidade com o ID gerado (pelo {@link IdGenerator}, se ativo, ou pelo banco)
      * @throws SQLException Em caso de erro no banco de dados
      */
     public BoardEntity insert(final BoardEntity entity) throws SQLException {
-        var sql = "INSERT INTO BOARDS (name) values (?);";
+        var id = IdGenerator.nextOrNull();
+        var sql = "INSERT INTO BOARDS (id, name) values (?, ?);";
         try(var statement = connection.prepareStatement(sql)){
-            statement.setString(1, entity.getName());
-            statement.executeUpdate();
+            var i = 1;
+            statement.setObject(i++, id, Types.BIGINT);
+            statement.setString(i, entity.getName());
+            var event = SqlStatementEvent.start("BoardDAO.insert", sql);
+            event.finish(statement.executeUpdate());
             
             // Recupera o ID gerado (implementação específica para MySQL)
-            if (statement instanceof StatementImpl impl){
+            if (id != null) {
+                entity.setId(id);
+            } else if (statement instanceof StatementImpl impl){
                 entity.setId(impl.getLastInsertID());
             }
         }
@@ -47,20 +59,60 @@ public class BoardDAO {
         var sql = "DELETE FROM BOARDS WHERE id = ?;";
         try(var statement = connection.prepareStatement(sql)){
             statement.setLong(1, id);
-            statement.executeUpdate();
+            var event = SqlStatementEvent.start("BoardDAO.delete", sql);
+            event.finish(statement.executeUpdate());
         }
     }
 
     /**
-     * Busca um Board pelo seu ID.
+     * Marca um Board como excluído. O Board deixa de ser visível imediatamente;
+     * suas colunas, Cards e bloqueios são removidos depois, em lotes.
+     * @param id ID do Board
+     * @return true se o Board existia e ainda não estava marcado
+     * @throws SQLException Em caso de erro no banco de dados
+     */
+    public boolean markDeleted(final Long id) throws SQLException {
+        var sql = "UPDATE BOARDS SET deleted_at = CURRENT_TIMESTAMP WHERE id = ? AND deleted_at IS NULL;";
+        try(var statement = connection.prepareStatement(sql)){
+            statement.setLong(1, id);
+            var event = SqlStatementEvent.start("BoardDAO.markDeleted", sql);
+            var rows = statement.executeUpdate();
+            event.finish(rows);
+            return rows > 0;
+        }
+    }
+
+    /**
+     * Lista os Boards marcados para exclusão cuja remoção ainda não terminou.
+     * @return IDs dos Boards, na ordem em que foram marcados
+     * @throws SQLException Em caso de erro no banco de dados
+     */
+    public List<Long> findDeletedIds() throws SQLException {
+        var sql = "SELECT id FROM BOARDS WHERE deleted_at IS NOT NULL ORDER BY deleted_at, id;";
+        try(var statement = connection.prepareStatement(sql)){
+            var event = SqlStatementEvent.start("BoardDAO.findDeletedIds", sql);
+            List<Long> ids = new ArrayList<>();
+            try(var resultSet = statement.executeQuery()){
+                while (resultSet.next()){
+                    ids.add(resultSet.getLong("id"));
+                }
+            }
+            event.finish(ids.size());
+            return ids;
+        }
+    }
+
+    /**
+     * Busca um Board pelo seu ID, ignorando Boards marcados para exclusão.
      * @param id ID do Board a ser recuperado
      * @return Optional contendo o Board se encontrado, ou vazio caso contrário
      * @throws SQLException Em caso de erro no banco de dados
      */
     public Optional<BoardEntity> findById(final Long id) throws SQLException {
-        var sql = "SELECT id, name FROM BOARDS WHERE id = ?;";
+        var sql = "SELECT id, name FROM BOARDS WHERE id = ? AND deleted_at IS NULL;";
         try(var statement = connection.prepareStatement(sql)){
             statement.setLong(1, id);
+            var event = SqlStatementEvent.start("BoardDAO.findById", sql);
             statement.executeQuery();
             var resultSet = statement.getResultSet();
             
@@ -68,24 +120,131 @@ public class BoardDAO {
                 var entity = new BoardEntity();
                 entity.setId(resultSet.getLong("id"));
                 entity.setName(resultSet.getString("name"));
+                event.finish(1);
                 return Optional.of(entity);
             }
+            event.finish(0);
             return Optional.empty();
         }
     }
 
     /**
-     * Verifica se um Board existe no banco de dados.
+     * Verifica se um Board existe no banco de dados e não foi marcado para exclusão.
      * @param id ID do Board a ser verificado
      * @return true se o Board existe, false caso contrário
      * @throws SQLException Em caso de erro no banco de dados
      */
     public boolean exists(final Long id) throws SQLException {
-        var sql = "SELECT 1 FROM BOARDS WHERE id = ?;";
+        var sql = "SELECT 1 FROM BOARDS WHERE id = ? AND deleted_at IS NULL;";
         try(var statement = connection.prepareStatement(sql)){
             statement.setLong(1, id);
+            var event = SqlStatementEvent.start("BoardDAO.exists", sql);
             statement.executeQuery();
-            return statement.getResultSet().next();
+            var exists = statement.getResultSet().next();
+            event.finish(exists ? 1 : 0);
+            return exists;
+        }
+    }
+
+    /**
+     * Lê, bloqueando a linha do Board, a versão da sua estrutura de colunas. O bloqueio
+     * serializa as edições de colunas e as gravações de fluxo do Board; como nenhuma
+     * leitura precisa ser feita antes dele, as colunas lidas depois já incluem as
+     * edições confirmadas por outras transações.
+     * @param id ID do Board
+     * @return Versão da estrutura ou vazio se o Board não existir
+     * @throws SQLException Em caso de erro no banco de dados
+     */
+    public Optional<Integer> lockStructureVersion(final Long id) throws SQLException {
+        var sql = "SELECT structure_version FROM BOARDS WHERE id = ? AND deleted_at IS NULL FOR UPDATE;";
+        try(var statement = connection.prepareStatement(sql)){
+            statement.setLong(1, id);
+            var event = SqlStatementEvent.start("BoardDAO.lockStructureVersion", sql);
+            try(var resultSet = statement.executeQuery()){
+                if (resultSet.next()){
+                    event.finish(1);
+                    return Optional.of(resultSet.getInt("structure_version"));
+                }
+            }
+            event.finish(0);
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Incrementa a versão da estrutura de colunas de um Board, invalidando as listas de
+     * colunas lidas antes de uma edição: movimentações de Cards feitas com essas listas
+     * passam a ser recusadas com {@link br.com.dio.exception.OptimisticLockException}.
+     * @param id ID do Board
+     * @throws SQLException Em caso de erro no banco de dados
+     */
+    public void incrementStructureVersion(final Long id) throws SQLException {
+        var sql = "UPDATE BOARDS SET structure_version = structure_version + 1 WHERE id = ?;";
+        try(var statement = connection.prepareStatement(sql)){
+            statement.setLong(1, id);
+            var event = SqlStatementEvent.start("BoardDAO.incrementStructureVersion", sql);
+            event.finish(statement.executeUpdate());
+        }
+    }
+
+    /**
+     * Calcula o painel de todos os Boards não excluídos em uma única consulta.
+     * Cards e bloqueios em aberto são agregados por coluna em uma passada pelas
+     * tabelas e depois somados por Board conforme o tipo da coluna.
+     * @return Linhas do painel ordenadas pelo ID do Board
+     * @throws SQLException Em caso de erro no banco de dados
+     */
+    public List<BoardDashboardDTO> findDashboard() throws SQLException {
+        var sql =
+                """
+                SELECT b.id,
+                       b.name,
+                       COALESCE(SUM(CASE WHEN bc.kind = 'INITIAL' THEN cc.cards END), 0) initial_cards,
+                       COALESCE(SUM(CASE WHEN bc.kind = 'PENDING' THEN cc.cards END), 0) pending_cards,
+                       COALESCE(SUM(CASE WHEN bc.kind = 'FINAL' THEN cc.cards END), 0) final_cards,
+                       COALESCE(SUM(CASE WHEN bc.kind = 'CANCEL' THEN cc.cards END), 0) cancel_cards,
+                       COALESCE(SUM(cc.open_blocks), 0) open_blocks,
+                       COALESCE(SUM(ca.cards), 0) archived_cards
+                  FROM BOARDS b
+                  LEFT JOIN BOARDS_COLUMNS bc
+                    ON bc.board_id = b.id
+                  LEFT JOIN (SELECT c.board_column_id,
+                                    COUNT(*) cards,
+                                    COUNT(ob.id) open_blocks
+                               FROM CARDS c
+                               LEFT JOIN BLOCKS ob
+                                 ON ob.card_id = c.id
+                                AND ob.unblocked_at IS NULL
+                              GROUP BY c.board_column_id) cc
+                    ON cc.board_column_id = bc.id
+                  LEFT JOIN (SELECT board_column_id,
+                                    COUNT(*) cards
+                               FROM CARDS_ARCHIVE
+                              GROUP BY board_column_id) ca
+                    ON ca.board_column_id = bc.id
+                 WHERE b.deleted_at IS NULL
+                 GROUP BY b.id, b.name
+                 ORDER BY b.id;
+                """;
+        try(var statement = connection.prepareStatement(sql)){
+            var event = SqlStatementEvent.start("BoardDAO.findDashboard", sql);
+            List<BoardDashboardDTO> rows = new ArrayList<>();
+            try(var resultSet = statement.executeQuery()){
+                while (resultSet.next()){
+                    rows.add(new BoardDashboardDTO(
+                            resultSet.getLong("b.id"),
+                            resultSet.getString("b.name"),
+                            resultSet.getLong("initial_cards"),
+                            resultSet.getLong("pending_cards"),
+                            resultSet.getLong("final_cards"),
+                            resultSet.getLong("cancel_cards"),
+                            resultSet.getLong("open_blocks"),
+                            resultSet.getLong("archived_cards")
+                    ));
+                }
+            }
+            event.finish(rows.size());
+            return rows;
         }
     }
-}
\ No newline at end of file
+}
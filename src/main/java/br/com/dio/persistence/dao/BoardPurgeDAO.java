@@ -0,0 +1,112 @@
+package br.com.dio.persistence.dao;
+
+import br.com.dio.monitoring.SqlStatementEvent;
+import lombok.AllArgsConstructor;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Data Access Object (DAO) para a remoção em lotes dos dados de Boards
+ * marcados para exclusão. Cada chamada remove no máximo {@code limit} Cards
+ * (e, pela cascata, seus bloqueios), mantendo as transações pequenas.
+ */
+@AllArgsConstructor
+public class BoardPurgeDAO {
+
+    // Conexão JDBC com o banco de dados
+    private Connection connection;
+
+    /**
+     * Conta os Cards (ativos e arquivados) que ainda pertencem ao Board.
+     * @param boardId ID do Board
+     * @return Quantidade de Cards restantes
+     * @throws SQLException Em caso de erro no banco de dados
+     */
+    public long countCards(final Long boardId) throws SQLException {
+        var sql =
+                """
+                SELECT (SELECT COUNT(*)
+                          FROM CARDS c
+                         INNER JOIN BOARDS_COLUMNS bc
+                            ON bc.id = c.board_column_id
+                         WHERE bc.board_id = ?)
+                     + (SELECT COUNT(*)
+                          FROM CARDS_ARCHIVE ca
+                         INNER JOIN BOARDS_COLUMNS bc
+                            ON bc.id = ca.board_column_id
+                         WHERE bc.board_id = ?) total;
+                """;
+        try(var statement = connection.prepareStatement(sql)){
+            var i = 1;
+            statement.setLong(i++, boardId);
+            statement.setLong(i, boardId);
+            var event = SqlStatementEvent.start("BoardPurgeDAO.countCards", sql);
+            try(var resultSet = statement.executeQuery()){
+                resultSet.next();
+                event.finish(1);
+                return resultSet.getLong("total");
+            }
+        }
+    }
+
+    /**
+     * Remove um lote de Cards ativos do Board; os bloqueios são removidos pela cascata.
+     * @param boardId ID do Board
+     * @param limit Quantidade máxima de Cards removidos
+     * @return Quantidade de Cards removidos
+     * @throws SQLException Em caso de erro no banco de dados
+     */
+    public int deleteCards(final Long boardId, final int limit) throws SQLException {
+        var sql =
+                """
+                DELETE c
+                  FROM CARDS c
+                 INNER JOIN (SELECT c2.id
+                               FROM CARDS c2
+                              INNER JOIN BOARDS_COLUMNS bc
+                                 ON bc.id = c2.board_column_id
+                              WHERE bc.board_id = ?
+                              ORDER BY c2.id
+                              LIMIT ?) chunk
+                    ON chunk.id = c.id;
+                """;
+        return deleteChunk("BoardPurgeDAO.deleteCards", sql, boardId, limit);
+    }
+
+    /**
+     * Remove um lote de Cards arquivados do Board; os bloqueios arquivados são removidos pela cascata.
+     * @param boardId ID do Board
+     * @param limit Quantidade máxima de Cards removidos
+     * @return Quantidade de Cards removidos
+     * @throws SQLException Em caso de erro no banco de dados
+     */
+    public int deleteArchivedCards(final Long boardId, final int limit) throws SQLException {
+        var sql =
+                """
+                DELETE ca
+                  FROM CARDS_ARCHIVE ca
+                 INNER JOIN (SELECT ca2.id
+                               FROM CARDS_ARCHIVE ca2
+                              INNER JOIN BOARDS_COLUMNS bc
+                                 ON bc.id = ca2.board_column_id
+                              WHERE bc.board_id = ?
+                              ORDER BY ca2.id
+                              LIMIT ?) chunk
+                    ON chunk.id = ca.id;
+                """;
+        return deleteChunk("BoardPurgeDAO.deleteArchivedCards", sql, boardId, limit);
+    }
+
+    private int deleteChunk(final String name, final String sql, final Long boardId, final int limit) throws SQLException {
+        try(var statement = connection.prepareStatement(sql)){
+            var i = 1;
+            statement.setLong(i++, boardId);
+            statement.setInt(i, limit);
+            var event = SqlStatementEvent.start(name, sql);
+            var rows = statement.executeUpdate();
+            event.finish(rows);
+            return rows;
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package br.com.dio.persistence.dao;
+
+import br.com.dio.dto.BoardTemplateDTO;
+import br.com.dio.monitoring.SqlStatementEvent;
+import com.mysql.cj.jdbc.StatementImpl;
+import lombok.AllArgsConstructor;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Data Access Object (DAO) para templates de Boards: estruturas de colunas
+ * reutilizáveis na criação de novos Boards.
+ */
+@AllArgsConstructor
+public class BoardTemplateDAO {
+
+    // Conexão JDBC com o banco de dados
+    private Connection connection;
+
+    /**
+     * Insere um novo template, ainda sem colunas.
+     * @param name Nome do template (único)
+     * @return ID gerado
+     * @throws SQLException Em caso de erro no banco de dados ou nome repetido
+     */
+    public Long insert(final String name) throws SQLException {
+        var sql = "INSERT INTO BOARD_TEMPLATES (name) VALUES (?);";
+        try(var statement = connection.prepareStatement(sql)){
+            statement.setString(1, name);
+            var event = SqlStatementEvent.start("BoardTemplateDAO.insert", sql);
+            event.finish(statement.executeUpdate());
+
+            // Recupera o ID gerado (implementação específica para MySQL)
+            Long id = null;
+            if (statement instanceof StatementImpl impl){
+                id = impl.getLastInsertID();
+            }
+            return id;
+        }
+    }
+
+    /**
+     * Copia no servidor a estrutura de colunas de um Board para o template.
+     * @param templateId ID do template (sem colunas)
+     * @param boardId ID do Board de origem
+     * @return Quantidade de colunas copiadas
+     * @throws SQLException Em caso de erro no banco de dados
+     */
+    public int copyColumnsFromBoard(final Long templateId, final Long boardId) throws SQLException {
+        var sql =
+                """
+                INSERT INTO BOARD_TEMPLATES_COLUMNS (name, `order`, kind, template_id)
+                SELECT name, `order`, kind, ?
+                  FROM BOARDS_COLUMNS
+                 WHERE board_id = ?
+                 ORDER BY `order`;
+                """;
+        try(var statement = connection.prepareStatement(sql)){
+            var i = 1;
+            statement.setLong(i++, templateId);
+            statement.setLong(i, boardId);
+            var event = SqlStatementEvent.start("BoardTemplateDAO.copyColumnsFromBoard", sql);
+            var rows = statement.executeUpdate();
+            event.finish(rows);
+            return rows;
+        }
+    }
+
+    /**
+     * Lista todos os templates com a quantidade de colunas de cada um.
+     * @return Templates ordenados por nome
+     * @throws SQLException Em caso de erro no banco de dados
+     */
+    public List<BoardTemplateDTO> findAll() throws SQLException {
+        var sql =
+                """
+                SELECT t.id,
+                       t.name,
+                       COUNT(tc.id) columns_amount
+                  FROM BOARD_TEMPLATES t
+                  LEFT JOIN BOARD_TEMPLATES_COLUMNS tc
+                    ON tc.template_id = t.id
+                 GROUP BY t.id, t.name
+                 ORDER BY t.name;
+                """;
+        try(var statement = connection.prepareStatement(sql)){
+            var event = SqlStatementEvent.start("BoardTemplateDAO.findAll", sql);
+            List<BoardTemplateDTO> templates = new ArrayList<>();
+            try(var resultSet = statement.executeQuery()){
+                while (resultSet.next()){
+                    templates.add(new BoardTemplateDTO(
+                            resultSet.getLong("t.id"),
+                            resultSet.getString("t.name"),
+                            resultSet.getInt("columns_amount")
+                    ));
+                }
+            }
+            event.finish(templates.size());
+            return templates;
+        }
+    }
+
+    /**
+     * Remove um template e suas colunas.
+     * @param id ID do template
+     * @return true se o template existia
+     * @throws SQLException Em caso de erro no banco de dados
+     */
+    public boolean delete(final Long id) throws SQLException {
+        var sql = "DELETE FROM BOARD_TEMPLATES WHERE id = ?;";
+        try(var statement = connection.prepareStatement(sql)){
+            statement.setLong(1, id);
+            var event = SqlStatementEvent.start("BoardTemplateDAO.delete", sql);
+            var rows = statement.executeUpdate();
+            event.finish(rows);
+            return rows > 0;
+        }
+    }
+}
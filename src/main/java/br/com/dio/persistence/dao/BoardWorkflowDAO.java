@@ -0,0 +1,170 @@
+package br.com.dio.persistence.dao;
+
+import br.com.dio.dto.BoardWorkflowVersionDTO;
+import br.com.dio.dto.WorkflowTransitionDTO;
+import br.com.dio.monitoring.SqlStatementEvent;
+import com.mysql.cj.jdbc.StatementImpl;
+import lombok.AllArgsConstructor;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Data Access Object (DAO) para as versões do fluxo de Boards.
+ *
+ * <p>Cada alteração do fluxo grava uma nova versão em BOARD_WORKFLOWS com suas
+ * transições em BOARD_WORKFLOW_TRANSITIONS; versões gravadas não são alteradas, nem
+ * quando uma coluna é removida, e a versão ativa de um Board é a de maior número.</p>
+ */
+@AllArgsConstructor
+public class BoardWorkflowDAO {
+
+    // Conexão JDBC com o banco de dados
+    private Connection connection;
+
+    /**
+     * Busca a versão ativa do fluxo de um Board.
+     * @param boardId ID do Board
+     * @return Versão ativa ou vazio se o Board usa o fluxo linear padrão
+     * @throws SQLException Em caso de erro no banco de dados
+     */
+    public Optional<BoardWorkflowVersionDTO> findActive(final Long boardId) throws SQLException {
+        var sql = "SELECT id, version FROM BOARD_WORKFLOWS WHERE board_id = ? ORDER BY version DESC LIMIT 1;";
+        try(var statement = connection.prepareStatement(sql)){
+            statement.setLong(1, boardId);
+            var event = SqlStatementEvent.start("BoardWorkflowDAO.findActive", sql);
+            try(var resultSet = statement.executeQuery()){
+                if (resultSet.next()){
+                    event.finish(1);
+                    return Optional.of(new BoardWorkflowVersionDTO(resultSet.getLong("id"), resultSet.getInt("version")));
+                }
+            }
+            event.finish(0);
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Bloqueia as versões do fluxo de um Board e busca o maior número de versão,
+     * serializando gravações concorrentes.
+     * @param boardId ID do Board
+     * @return Maior número de versão ou 0 se o Board não tiver versões
+     * @throws SQLException Em caso de erro no banco de dados
+     */
+    public int lockLatestVersion(final Long boardId) throws SQLException {
+        var sql = "SELECT version FROM BOARD_WORKFLOWS WHERE board_id = ? ORDER BY version DESC LIMIT 1 FOR UPDATE;";
+        try(var statement = connection.prepareStatement(sql)){
+            statement.setLong(1, boardId);
+            var event = SqlStatementEvent.start("BoardWorkflowDAO.lockLatestVersion", sql);
+            try(var resultSet = statement.executeQuery()){
+                var found = resultSet.next();
+                event.finish(found ? 1 : 0);
+                return found ? resultSet.getInt("version") : 0;
+            }
+        }
+    }
+
+    /**
+     * Insere uma nova versão do fluxo de um Board.
+     * @param boardId ID do Board
+     * @param version Número da versão
+     * @return ID gerado da versão
+     * @throws SQLException Em caso de erro no banco de dados
+     */
+    public Long insert(final Long boardId, final int version) throws SQLException {
+        var sql = "INSERT INTO BOARD_WORKFLOWS (board_id, version) VALUES (?, ?);";
+        try(var statement = connection.prepareStatement(sql)){
+            var i = 1;
+            statement.setLong(i++, boardId);
+            statement.setInt(i, version);
+            var event = SqlStatementEvent.start("BoardWorkflowDAO.insert", sql);
+            event.finish(statement.executeUpdate());
+            return statement instanceof StatementImpl impl ? impl.getLastInsertID() : null;
+        }
+    }
+
+    /**
+     * Insere as transições de uma versão em um único lote de comandos.
+     * @param workflowId ID da versão
+     * @param transitions Transições permitidas
+     * @throws SQLException Em caso de erro no banco de dados
+     */
+    public void insertTransitions(final Long workflowId, final List<WorkflowTransitionDTO> transitions) throws SQLException {
+        var sql = "INSERT INTO BOARD_WORKFLOW_TRANSITIONS (workflow_id, from_column_id, to_column_id) VALUES (?, ?, ?)";
+        try(var statement = connection.prepareStatement(sql)){
+            for (var transition : transitions) {
+                var i = 1;
+                statement.setLong(i++, workflowId);
+                statement.setLong(i++, transition.fromColumnId());
+                statement.setLong(i, transition.toColumnId());
+                statement.addBatch();
+            }
+            var event = SqlStatementEvent.start("BoardWorkflowDAO.insertTransitions", sql);
+            statement.executeBatch();
+            event.finish(transitions.size());
+        }
+    }
+
+    /**
+     * Busca as transições de uma versão.
+     * @param workflowId ID da versão
+     * @return Transições permitidas
+     * @throws SQLException Em caso de erro no banco de dados
+     */
+    public List<WorkflowTransitionDTO> findTransitions(final Long workflowId) throws SQLException {
+        var sql = "SELECT from_column_id, to_column_id FROM BOARD_WORKFLOW_TRANSITIONS WHERE workflow_id = ?;";
+        try(var statement = connection.prepareStatement(sql)){
+            statement.setLong(1, workflowId);
+            var event = SqlStatementEvent.start("BoardWorkflowDAO.findTransitions", sql);
+            List<WorkflowTransitionDTO> transitions = new ArrayList<>();
+            try(var resultSet = statement.executeQuery()){
+                while (resultSet.next()){
+                    transitions.add(new WorkflowTransitionDTO(
+                            resultSet.getLong("from_column_id"),
+                            resultSet.getLong("to_column_id")
+                    ));
+                }
+            }
+            event.finish(transitions.size());
+            return transitions;
+        }
+    }
+
+    /**
+     * Verifica se uma coluna é usada pela versão ativa do fluxo do seu Board.
+     * @param columnId ID da coluna
+     * @return true se alguma transição da versão ativa parte da coluna ou chega a ela
+     * @throws SQLException Em caso de erro no banco de dados
+     */
+    public boolean isUsedByActiveVersion(final Long columnId) throws SQLException {
+        var sql =
+                """
+                SELECT 1
+                  FROM BOARD_WORKFLOW_TRANSITIONS t
+                 WHERE t.workflow_id = (SELECT w.id
+                                          FROM BOARD_WORKFLOWS w
+                                         INNER JOIN BOARDS_COLUMNS bc
+                                            ON bc.board_id = w.board_id
+                                         WHERE bc.id = ?
+                                         ORDER BY w.version DESC
+                                         LIMIT 1)
+                   AND (t.from_column_id = ? OR t.to_column_id = ?)
+                 LIMIT 1;
+                """;
+        try(var statement = connection.prepareStatement(sql)){
+            var i = 1;
+            statement.setLong(i++, columnId);
+            statement.setLong(i++, columnId);
+            statement.setLong(i, columnId);
+            var event = SqlStatementEvent.start("BoardWorkflowDAO.isUsedByActiveVersion", sql);
+            try(var resultSet = statement.executeQuery()){
+                var found = resultSet.next();
+                event.finish(found ? 1 : 0);
+                return found;
+            }
+        }
+    }
+}
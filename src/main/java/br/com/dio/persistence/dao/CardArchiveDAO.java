@@ -0,0 +1,177 @@
+package br.com.dio.persistence.dao;
+
+import br.com.dio.dto.CardDetailsDTO;
+import br.com.dio.monitoring.SqlStatementEvent;
+import lombok.AllArgsConstructor;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+import static br.com.dio.persistence.converter.OffsetDateTimeConverter.toOffsetDateTime;
+import static br.com.dio.persistence.converter.OffsetDateTimeConverter.toTimestamp;
+import static java.util.Objects.nonNull;
+
+/**
+ * Data Access Object (DAO) para o arquivo de Cards finalizados ou cancelados.
+ * Move Cards, seus bloqueios e suas tags de CARDS/BLOCKS/CARD_TAGS para
+ * CARDS_ARCHIVE/BLOCKS_ARCHIVE/CARD_TAGS_ARCHIVE, mantendo os IDs originais, o
+ * responsável, a posição na coluna e a versão, e consulta Cards já arquivados.
+ */
+@AllArgsConstructor
+public class CardArchiveDAO {
+
+    // Conexão JDBC com o banco de dados
+    private Connection connection;
+
+    /**
+     * Seleciona e bloqueia os Cards em colunas FINAL ou CANCEL que entraram na
+     * coluna antes do limite informado. Cards bloqueados por outras transações
+     * (sendo movidos, por exemplo) são ignorados e ficam para a próxima execução, e
+     * Cards com filhos na hierarquia esperam o arquivamento dos filhos.
+     * @param movedBefore Limite da data de entrada na coluna
+     * @param limit Quantidade máxima de Cards
+     * @return IDs dos Cards selecionados, em ordem crescente
+     * @throws SQLException Em caso de erro no banco de dados
+     */
+    public List<Long> lockArchivable(final OffsetDateTime movedBefore, final int limit) throws SQLException {
+        var sql =
+                """
+                SELECT c.id
+                  FROM CARDS c
+                 INNER JOIN BOARDS_COLUMNS bc
+                    ON bc.id = c.board_column_id
+                 WHERE bc.kind IN ('FINAL', 'CANCEL')
+                   AND c.moved_at < ?
+                   AND NOT EXISTS (SELECT 1
+                                     FROM CARD_TREE t
+                                    WHERE t.ancestor_id = c.id
+                                      AND t.depth = 1)
+                 ORDER BY c.id
+                 LIMIT ?
+                   FOR UPDATE OF c SKIP LOCKED;
+                """;
+        try(var statement = connection.prepareStatement(sql)){
+            var i = 1;
+            statement.setTimestamp(i++, toTimestamp(movedBefore));
+            statement.setInt(i, limit);
+            var event = SqlStatementEvent.start("CardArchiveDAO.lockArchivable", sql);
+            List<Long> ids = new ArrayList<>();
+            try(var resultSet = statement.executeQuery()){
+                while (resultSet.next()){
+                    ids.add(resultSet.getLong("c.id"));
+                }
+            }
+            event.finish(ids.size());
+            return ids;
+        }
+    }
+
+    /**
+     * Copia os Cards informados, seus bloqueios e suas tags para as tabelas de arquivo e os
+     * remove das tabelas principais. Deve ser executado na mesma transação de
+     * {@link #lockArchivable(OffsetDateTime, int)}.
+     * @param ids IDs dos Cards a arquivar
+     * @return Quantidade de Cards arquivados
+     * @throws SQLException Em caso de erro no banco de dados
+     */
+    public int archive(final List<Long> ids) throws SQLException {
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        var placeholders = String.join(", ", Collections.nCopies(ids.size(), "?"));
+        execute("CardArchiveDAO.archiveCards",
+                "INSERT INTO CARDS_ARCHIVE (id, title, description, board_column_id, moved_at, assignee_id, card_rank, version) " +
+                "SELECT id, title, description, board_column_id, moved_at, assignee_id, card_rank, version FROM CARDS WHERE id IN (" + placeholders + ")",
+                ids);
+        execute("CardArchiveDAO.archiveBlocks",
+                "INSERT INTO BLOCKS_ARCHIVE (id, blocked_at, block_reason, unblocked_at, unblock_reason, card_id, board_column_id) " +
+                "SELECT id, blocked_at, block_reason, unblocked_at, unblock_reason, card_id, board_column_id FROM BLOCKS WHERE card_id IN (" + placeholders + ")",
+                ids);
+        execute("CardArchiveDAO.archiveTags",
+                "INSERT INTO CARD_TAGS_ARCHIVE (tag_id, card_id) " +
+                "SELECT tag_id, card_id FROM CARD_TAGS WHERE card_id IN (" + placeholders + ")",
+                ids);
+        // Os bloqueios e as tags são removidos pela cascata da chave estrangeira
+        return execute("CardArchiveDAO.deleteCards",
+                "DELETE FROM CARDS WHERE id IN (" + placeholders + ")",
+                ids);
+    }
+
+    /**
+     * Busca um Card arquivado pelo ID com todos os seus detalhes.
+     * @param id ID do Card
+     * @return Optional contendo CardDetailsDTO se encontrado no arquivo, vazio caso contrário
+     * @throws SQLException Em caso de erro no banco de dados
+     */
+    public Optional<CardDetailsDTO> findById(final Long id) throws SQLException {
+        var sql =
+                """
+                SELECT c.id,
+                       c.title,
+                       c.description,
+                       b.blocked_at,
+                       b.block_reason,
+                       c.board_column_id,
+                       bc.name,
+                       bc.board_id,
+                       c.version,
+                       u.name,
+                       (SELECT COUNT(sub_b.id)
+                               FROM BLOCKS_ARCHIVE sub_b
+                              WHERE sub_b.card_id = c.id) blocks_amount
+                  FROM CARDS_ARCHIVE c
+                  LEFT JOIN BLOCKS_ARCHIVE b
+                    ON c.id = b.card_id
+                   AND b.unblocked_at IS NULL
+                 INNER JOIN BOARDS_COLUMNS bc
+                    ON bc.id = c.board_column_id
+                  LEFT JOIN USERS u
+                    ON u.id = c.assignee_id
+                  WHERE c.id = ?;
+                """;
+        try(var statement = connection.prepareStatement(sql)){
+            statement.setLong(1, id);
+            var event = SqlStatementEvent.start("CardArchiveDAO.findById", sql);
+            try(var resultSet = statement.executeQuery()){
+                if (resultSet.next()){
+                    var dto = new CardDetailsDTO(
+                            resultSet.getLong("c.id"),
+                            resultSet.getString("c.title"),
+                            resultSet.getString("c.description"),
+                            nonNull(resultSet.getString("b.block_reason")),
+                            toOffsetDateTime(resultSet.getTimestamp("b.blocked_at")),
+                            resultSet.getString("b.block_reason"),
+                            resultSet.getInt("blocks_amount"),
+                            resultSet.getLong("c.board_column_id"),
+                            resultSet.getString("bc.name"),
+                            resultSet.getLong("bc.board_id"),
+                            resultSet.getInt("c.version"),
+                            resultSet.getString("u.name")
+                    );
+                    event.finish(1);
+                    return Optional.of(dto);
+                }
+            }
+            event.finish(0);
+        }
+        return Optional.empty();
+    }
+
+    private int execute(final String name, final String sql, final List<Long> ids) throws SQLException {
+        try(var statement = connection.prepareStatement(sql)){
+            var i = 1;
+            for (var id : ids) {
+                statement.setLong(i++, id);
+            }
+            var event = SqlStatementEvent.start(name, sql);
+            var rows = statement.executeUpdate();
+            event.finish(rows);
+            return rows;
+        }
+    }
+}
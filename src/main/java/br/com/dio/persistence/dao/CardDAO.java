@@ -1,44 +1,125 @@
 package br.com.dio.persistence.dao;
 
+import br.com.dio.dto.BoardColumnInfoDTO;
 import br.com.dio.dto.CardDetailsDTO;
+import br.com.dio.dto.CardMoveDTO;
+import br.com.dio.exception.OptimisticLockException;
+import br.com.dio.monitoring.SqlStatementEvent;
+import br.com.dio.persistence.entity.BlockEntity;
 import br.com.dio.persistence.entity.CardEntity;
+import br.com.dio.persistence.id.IdGenerator;
+import br.com.dio.persistence.rank.CardRank;
 import com.mysql.cj.jdbc.StatementImpl;
 import lombok.AllArgsConstructor;
 
+import java.io.IOException;
 import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Optional;
 
 import static br.com.dio.persistence.converter.OffsetDateTimeConverter.toOffsetDateTime;
+import static br.com.dio.persistence.converter.OffsetDateTimeConverter.toTimestamp;
 import static java.util.Objects.nonNull;
 
 /**
  * Data Access Object (DAO) para operações com Cards no banco de dados.
  * Responsável por todas as operações de persistência relacionadas a Cards.
+ *
+ * <p>A ordem dos Cards dentro de uma coluna é dada por {@code card_rank}, uma chave
+ * fracionária ({@link CardRank}) única por coluna. Cards inseridos ou movidos entram
+ * no fim da coluna de destino, após a maior chave lida sem bloqueios. Duas transações
+ * que escolhem a mesma chave na mesma coluna esbarram no índice único
+ * {@value #RANK_INDEX}, e a que perde é repetida pelo
+ * {@link br.com.dio.service.TransactionTemplate} com uma nova leitura.</p>
+ *
+ * <p>Alterações de Cards existentes usam controle de concorrência otimista: a coluna
+ * {@code version} é incrementada a cada alteração e o UPDATE só atinge a linha se a
+ * versão ainda for a lida. Se outra operação gravou antes, nada é sobrescrito e é
+ * lançada {@link OptimisticLockException}.</p>
  */
 @AllArgsConstructor
 public class CardDAO {
 
+    /**
+     * Índice único de coluna e chave de ordenação, cuja violação indica uma chave
+     * escolhida também por uma transação concorrente.
+     */
+    public static final String RANK_INDEX = "cards_board_column_id_card_rank_uk";
+
+    // Movimentação condicionada às versões do Card e da estrutura de colunas do board
+    private static final String MOVE_SQL =
+            """
+            UPDATE CARDS c
+             INNER JOIN BOARDS_COLUMNS source
+                ON source.id = c.board_column_id
+               AND source.id = ?
+             INNER JOIN BOARDS_COLUMNS target
+                ON target.id = ?
+               AND target.board_id = source.board_id
+             INNER JOIN BOARDS b
+                ON b.id = source.board_id
+               AND b.structure_version = ?
+               SET c.board_column_id = target.id,
+                   c.card_rank = ?,
+                   c.moved_at = CURRENT_TIMESTAMP,
+                   c.claimed_by = NULL,
+                   c.claimed_at = NULL,
+                   c.version = c.version + 1
+             WHERE c.id = ?
+               AND c.version = ?
+            """;
+
     // Conexão com o banco de dados
     private Connection connection;
 
+    /**
+     * Receptor das linhas lidas em fluxo por {@link #streamByBoardId(Long, CardRowHandler)}.
+     */
+    @FunctionalInterface
+    public interface CardRowHandler {
+
+        /**
+         * Recebe uma linha do fluxo.
+         * @param card Card da linha (uma nova instância por linha)
+         * @param block Registro de bloqueio da linha ou null se o card nunca foi bloqueado
+         * @throws IOException Em caso de erro ao processar a linha
+         */
+        void accept(CardEntity card, BlockEntity block) throws IOException;
+    }
+
     /**
      * Insere um novo Card no banco de dados.
      * @param entity Entidade Card a ser persistida
-     * @return A mesma entidade com o ID gerado
+     * @return A mesma entidade com o ID gerado (pelo {@link IdGenerator}, se ativo, ou pelo banco)
      * @throws SQLException Em caso de erro no banco de dados
      */
     public CardEntity insert(final CardEntity entity) throws SQLException {
-        var sql = "INSERT INTO CARDS (title, description, board_column_id) values (?, ?, ?);";
+        var rank = CardRank.after(findLastRank(entity.getBoardColumn().getId()));
+        var id = IdGenerator.nextOrNull();
+        var sql = "INSERT INTO CARDS (id, title, description, board_column_id, card_rank) values (?, ?, ?, ?, ?);";
         try(var statement = connection.prepareStatement(sql)){
             var i = 1;
+            statement.setObject(i++, id, Types.BIGINT);
             statement.setString(i++, entity.getTitle());
             statement.setString(i++, entity.getDescription());
-            statement.setLong(i, entity.getBoardColumn().getId());
-            statement.executeUpdate();
+            statement.setLong(i++, entity.getBoardColumn().getId());
+            statement.setString(i, rank);
+            var event = SqlStatementEvent.start("CardDAO.insert", sql);
+            event.finish(statement.executeUpdate());
             
             // Recupera o ID gerado (específico para MySQL)
-            if (statement instanceof StatementImpl impl){
+            if (id != null) {
+                entity.setId(id);
+            } else if (statement instanceof StatementImpl impl){
                 entity.setId(impl.getLastInsertID());
             }
         }
@@ -46,18 +127,506 @@ public class CardDAO {
     }
 
     /**
-     * Move um Card para uma nova coluna.
-     * @param columnId ID da coluna de destino
+     * Insere vários Cards em um único lote de comandos.
+     * Com {@code rewriteBatchedStatements} o driver envia um único INSERT multi-valores.
+     * Os Cards entram no fim de suas colunas, na ordem da lista. Com o {@link IdGenerator}
+     * ativo os IDs são atribuídos antes do envio e as chaves geradas não são lidas.
+     * @param entities Entidades a serem persistidas
+     * @return As mesmas entidades com os IDs gerados, na mesma ordem
+     * @throws SQLException Em caso de erro no banco de dados
+     */
+    public List<CardEntity> insertBatch(final List<CardEntity> entities) throws SQLException {
+        var lastRanks = new HashMap<Long, String>();
+        for (var entity : entities) {
+            var columnId = entity.getBoardColumn().getId();
+            if (!lastRanks.containsKey(columnId)) {
+                lastRanks.put(columnId, findLastRank(columnId));
+            }
+        }
+        var generated = IdGenerator.isEnabled();
+        var sql = "INSERT INTO CARDS (id, title, description, board_column_id, card_rank) values (?, ?, ?, ?, ?)";
+        try(var statement = generated
+                ? connection.prepareStatement(sql)
+                : connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)){
+            for (var entity : entities) {
+                var columnId = entity.getBoardColumn().getId();
+                var rank = CardRank.after(lastRanks.get(columnId));
+                lastRanks.put(columnId, rank);
+                var id = IdGenerator.nextOrNull();
+                entity.setId(id);
+                var i = 1;
+                statement.setObject(i++, id, Types.BIGINT);
+                statement.setString(i++, entity.getTitle());
+                statement.setString(i++, entity.getDescription());
+                statement.setLong(i++, columnId);
+                statement.setString(i, rank);
+                statement.addBatch();
+            }
+            var event = SqlStatementEvent.start("CardDAO.insertBatch", sql);
+            statement.executeBatch();
+            event.finish(entities.size());
+            if (generated) {
+                return entities;
+            }
+
+            // IDs gerados retornam na mesma ordem das linhas do lote
+            try(var keys = statement.getGeneratedKeys()){
+                var iterator = entities.iterator();
+                while (keys.next() && iterator.hasNext()) {
+                    iterator.next().setId(keys.getLong(1));
+                }
+            }
+        }
+        return entities;
+    }
+
+    /**
+     * Copia no servidor os Cards abertos (fora das colunas FINAL e CANCEL) de um board
+     * para as colunas de mesma ordem de outro board, como feito na clonagem.
+     * A ordem e os responsáveis dos Cards são mantidos e o histórico de bloqueios não é copiado.
+     * @param sourceBoardId ID do board de origem
+     * @param targetBoardId ID do board de destino, com a mesma estrutura de colunas
+     * @return Quantidade de Cards copiados
+     * @throws SQLException Em caso de erro no banco de dados
+     */
+    public int copyOpenCards(final Long sourceBoardId, final Long targetBoardId) throws SQLException {
+        var sql =
+                """
+                INSERT INTO CARDS (id, title, description, board_column_id, card_rank, assignee_id)
+                SELECT %s, c.title, c.description, target.id, c.card_rank, c.assignee_id
+                  FROM CARDS c
+                 INNER JOIN BOARDS_COLUMNS source
+                    ON source.id = c.board_column_id
+                 INNER JOIN BOARDS_COLUMNS target
+                    ON target.board_id = ?
+                   AND target.`order` = source.`order`
+                 WHERE source.board_id = ?
+                   AND source.kind NOT IN ('FINAL', 'CANCEL')
+                 ORDER BY c.id;
+                """.formatted(IdGenerator.blockId("ROW_NUMBER() OVER (ORDER BY c.id)"));
+        var block = IdGenerator.isEnabled() ? IdGenerator.reserveBlock(lockOpenCards(sourceBoardId)) : null;
+        try(var statement = connection.prepareStatement(sql)){
+            var i = IdGenerator.bindBlock(statement, 1, block);
+            statement.setLong(i++, targetBoardId);
+            statement.setLong(i, sourceBoardId);
+            var event = SqlStatementEvent.start("CardDAO.copyOpenCards", sql);
+            var rows = statement.executeUpdate();
+            event.finish(rows);
+            return rows;
+        }
+    }
+
+    /**
+     * Conta e bloqueia os Cards abertos de um board, para reservar os IDs da cópia:
+     * com as linhas bloqueadas a cópia vê exatamente os Cards contados.
+     */
+    private long lockOpenCards(final Long boardId) throws SQLException {
+        var sql =
+                """
+                SELECT COUNT(*)
+                  FROM CARDS c
+                 INNER JOIN BOARDS_COLUMNS source
+                    ON source.id = c.board_column_id
+                 WHERE source.board_id = ?
+                   AND source.kind NOT IN ('FINAL', 'CANCEL')
+                   FOR SHARE OF c;
+                """;
+        try(var statement = connection.prepareStatement(sql)){
+            statement.setLong(1, boardId);
+            var event = SqlStatementEvent.start("CardDAO.lockOpenCards", sql);
+            try(var resultSet = statement.executeQuery()){
+                event.finish(1);
+                resultSet.next();
+                return resultSet.getLong(1);
+            }
+        }
+    }
+
+    /**
+     * Move um Card para o fim de uma nova coluna, registrando o momento da entrada na
+     * coluna (usado pelo arquivamento de Cards finalizados e cancelados) e liberando a
+     * reserva do Card, que pertencia à coluna de origem.
+     * A alteração só é feita se o Card e a estrutura de colunas do board ainda estiverem
+     * nas versões lidas; caso contrário nenhuma linha é alterada e o conflito é informado.
      * @param cardId ID do Card a ser movido
+     * @param cardVersion Versão do Card lida antes da movimentação
+     * @param source Coluna atual do Card, com a versão da estrutura lida
+     * @param target Coluna de destino, do mesmo board
+     * @throws SQLException Em caso de erro no banco de dados
+     * @throws OptimisticLockException Se o Card ou as colunas foram alterados desde a leitura
+     */
+    public void moveToColumn(final Long cardId, final int cardVersion,
+                             final BoardColumnInfoDTO source, final BoardColumnInfoDTO target) throws SQLException {
+        var rank = CardRank.after(findLastRank(target.id()));
+        try(var statement = connection.prepareStatement(MOVE_SQL)){
+            setMove(statement, new CardMoveDTO(cardId, cardVersion, source, target), rank);
+            var event = SqlStatementEvent.start("CardDAO.moveToColumn", MOVE_SQL);
+            var rows = statement.executeUpdate();
+            event.finish(rows);
+            if (rows == 0) {
+                throw conflict(cardId);
+            }
+        }
+    }
+
+    /**
+     * Executa várias movimentações em um único lote de comandos, com as mesmas
+     * condições de versão de {@link #moveToColumn(Long, int, BoardColumnInfoDTO, BoardColumnInfoDTO)}.
+     * Os Cards entram no fim das colunas de destino, na ordem da lista.
+     * @param moves Movimentações validadas
+     * @throws SQLException Em caso de erro no banco de dados
+     * @throws OptimisticLockException Se algum Card ou coluna foi alterado desde a leitura
+     */
+    public void moveBatch(final List<CardMoveDTO> moves) throws SQLException {
+        if (moves.isEmpty()) {
+            return;
+        }
+        var lastRanks = new HashMap<Long, String>();
+        for (var move : moves) {
+            if (!lastRanks.containsKey(move.target().id())) {
+                lastRanks.put(move.target().id(), findLastRank(move.target().id()));
+            }
+        }
+        try(var statement = connection.prepareStatement(MOVE_SQL)){
+            for (var move : moves) {
+                var rank = CardRank.after(lastRanks.get(move.target().id()));
+                lastRanks.put(move.target().id(), rank);
+                setMove(statement, move, rank);
+                statement.addBatch();
+            }
+            var event = SqlStatementEvent.start("CardDAO.moveBatch", MOVE_SQL);
+            var rows = statement.executeBatch();
+            event.finish(moves.size());
+            for (int i = 0; i < rows.length; i++) {
+                if (rows[i] == 0) {
+                    throw conflict(moves.get(i).cardId());
+                }
+            }
+        }
+    }
+
+    private static void setMove(final PreparedStatement statement, final CardMoveDTO move, final String rank) throws SQLException {
+        var i = 1;
+        statement.setLong(i++, move.source().id());
+        statement.setLong(i++, move.target().id());
+        statement.setInt(i++, move.source().version());
+        statement.setString(i++, rank);
+        statement.setLong(i++, move.cardId());
+        statement.setInt(i, move.cardVersion());
+    }
+
+    /**
+     * Percorre em fluxo todos os Cards de um board, inclusive os arquivados, com seu
+     * histórico completo de bloqueios.
+     * As linhas chegam ordenadas pela posição do card na coluna (os arquivados, sem
+     * posição, por último) e, dentro de cada card, por bloqueio, de forma que os
+     * bloqueios de um card sempre seguem imediatamente o próprio card e uma restauração
+     * que insira os Cards na ordem recebida preserva a ordem das colunas.
+     *
+     * <p>O ResultSet é lido em modo streaming do driver MySQL (fetch size
+     * {@code Integer.MIN_VALUE}): a memória usada independe do tamanho do board.
+     * Enquanto o fluxo estiver aberto, a conexão não pode executar outros comandos.</p>
+     * @param boardId ID do board
+     * @param handler Receptor de cada linha
      * @throws SQLException Em caso de erro no banco de dados
+     * @throws IOException Em caso de erro propagado pelo receptor
      */
-    public void moveToColumn(final Long columnId, final Long cardId) throws SQLException {
-        var sql = "UPDATE CARDS SET board_column_id = ? WHERE id = ?;";
+    public void streamByBoardId(final Long boardId, final CardRowHandler handler) throws SQLException, IOException {
+        var sql =
+                """
+                SELECT c.id card_id,
+                       c.title,
+                       c.description,
+                       c.board_column_id,
+                       c.card_rank,
+                       b.id block_id,
+                       b.blocked_at,
+                       b.block_reason,
+                       b.unblocked_at,
+                       b.unblock_reason
+                  FROM CARDS c
+                 INNER JOIN BOARDS_COLUMNS bc
+                    ON bc.id = c.board_column_id
+                  LEFT JOIN BLOCKS b
+                    ON b.card_id = c.id
+                 WHERE bc.board_id = ?
+                 UNION ALL
+                SELECT ca.id,
+                       ca.title,
+                       ca.description,
+                       ca.board_column_id,
+                       NULL,
+                       ba.id,
+                       ba.blocked_at,
+                       ba.block_reason,
+                       ba.unblocked_at,
+                       ba.unblock_reason
+                  FROM CARDS_ARCHIVE ca
+                 INNER JOIN BOARDS_COLUMNS bc
+                    ON bc.id = ca.board_column_id
+                  LEFT JOIN BLOCKS_ARCHIVE ba
+                    ON ba.card_id = ca.id
+                 WHERE bc.board_id = ?
+                 ORDER BY card_rank IS NULL, card_rank, card_id, block_id;
+                """;
+        try(var statement = connection.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)){
+            statement.setFetchSize(Integer.MIN_VALUE);
+            statement.setLong(1, boardId);
+            statement.setLong(2, boardId);
+            var event = SqlStatementEvent.start("CardDAO.streamByBoardId", sql);
+            var rows = 0;
+            try(var resultSet = statement.executeQuery()){
+                while (resultSet.next()){
+                    var card = new CardEntity();
+                    card.setId(resultSet.getLong("card_id"));
+                    card.setTitle(resultSet.getString("title"));
+                    card.setDescription(resultSet.getString("description"));
+                    card.getBoardColumn().setId(resultSet.getLong("board_column_id"));
+
+                    BlockEntity block = null;
+                    var blockId = resultSet.getLong("block_id");
+                    if (!resultSet.wasNull()){
+                        block = new BlockEntity();
+                        block.setId(blockId);
+                        block.setBlockedAt(toOffsetDateTime(resultSet.getTimestamp("blocked_at")));
+                        block.setBlockReason(resultSet.getString("block_reason"));
+                        block.setUnblockedAt(toOffsetDateTime(resultSet.getTimestamp("unblocked_at")));
+                        block.setUnblockReason(resultSet.getString("unblock_reason"));
+                    }
+                    handler.accept(card, block);
+                    rows++;
+                }
+            }
+            event.finish(rows);
+        }
+    }
+
+    /**
+     * Busca a chave de ordenação de um Card em uma coluna.
+     * @param columnId ID da coluna
+     * @param cardId ID do Card
+     * @return Chave do Card ou vazio se o Card não estiver na coluna
+     * @throws SQLException Em caso de erro no banco de dados
+     */
+    public Optional<String> findRank(final Long columnId, final Long cardId) throws SQLException {
+        var sql = "SELECT card_rank FROM CARDS WHERE id = ? AND board_column_id = ?;";
+        try(var statement = connection.prepareStatement(sql)){
+            var i = 1;
+            statement.setLong(i++, cardId);
+            statement.setLong(i, columnId);
+            var event = SqlStatementEvent.start("CardDAO.findRank", sql);
+            try(var resultSet = statement.executeQuery()){
+                if (resultSet.next()){
+                    event.finish(1);
+                    return Optional.of(resultSet.getString("card_rank"));
+                }
+            }
+            event.finish(0);
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Busca a menor chave de uma coluna maior que a chave informada (lida pelo índice
+     * único de coluna e chave, sem acessar as linhas).
+     * @param columnId ID da coluna
+     * @param rank Chave de referência ou null para buscar a primeira chave da coluna
+     * @return Chave seguinte ou null se não houver
+     * @throws SQLException Em caso de erro no banco de dados
+     */
+    public String findNextRank(final Long columnId, final String rank) throws SQLException {
+        var sql =
+                """
+                SELECT card_rank
+                  FROM CARDS
+                 WHERE board_column_id = ?
+                   AND card_rank > ?
+                 ORDER BY card_rank
+                 LIMIT 1;
+                """;
         try(var statement = connection.prepareStatement(sql)){
             var i = 1;
             statement.setLong(i++, columnId);
-            statement.setLong(i, cardId);
-            statement.executeUpdate();
+            statement.setString(i, rank == null ? "" : rank);
+            var event = SqlStatementEvent.start("CardDAO.findNextRank", sql);
+            try(var resultSet = statement.executeQuery()){
+                var found = resultSet.next();
+                event.finish(found ? 1 : 0);
+                return found ? resultSet.getString("card_rank") : null;
+            }
+        }
+    }
+
+    /**
+     * Altera a chave de ordenação de um Card, sem alterar os demais Cards da coluna.
+     * @param cardId ID do Card
+     * @param cardVersion Versão do Card lida antes da alteração
+     * @param rank Nova chave
+     * @throws SQLException Em caso de erro no banco de dados
+     * @throws OptimisticLockException Se o Card foi alterado desde a leitura
+     */
+    public void updateRank(final Long cardId, final int cardVersion, final String rank) throws SQLException {
+        var sql = "UPDATE CARDS SET card_rank = ?, version = version + 1 WHERE id = ? AND version = ?;";
+        try(var statement = connection.prepareStatement(sql)){
+            var i = 1;
+            statement.setString(i++, rank);
+            statement.setLong(i++, cardId);
+            statement.setInt(i, cardVersion);
+            var event = SqlStatementEvent.start("CardDAO.updateRank", sql);
+            var rows = statement.executeUpdate();
+            event.finish(rows);
+            if (rows == 0) {
+                throw conflict(cardId);
+            }
+        }
+    }
+
+    /**
+     * Atribui um Card a um usuário, se o Card ainda estiver na versão lida.
+     * @param cardId ID do Card
+     * @param cardVersion Versão do Card lida antes da alteração
+     * @param assigneeId ID do usuário ou null para deixar o Card sem responsável
+     * @throws SQLException Em caso de erro no banco de dados
+     * @throws OptimisticLockException Se o Card foi alterado desde a leitura
+     */
+    public void updateAssignee(final Long cardId, final int cardVersion, final Long assigneeId) throws SQLException {
+        var sql = "UPDATE CARDS SET assignee_id = ?, version = version + 1 WHERE id = ? AND version = ?;";
+        try(var statement = connection.prepareStatement(sql)){
+            var i = 1;
+            statement.setObject(i++, assigneeId, Types.BIGINT);
+            statement.setLong(i++, cardId);
+            statement.setInt(i, cardVersion);
+            var event = SqlStatementEvent.start("CardDAO.updateAssignee", sql);
+            var rows = statement.executeUpdate();
+            event.finish(rows);
+            if (rows == 0) {
+                throw conflict(cardId);
+            }
+        }
+    }
+
+    /**
+     * Busca, sem bloqueios, a maior chave de ordenação de uma coluna, lida pelo índice
+     * único de coluna e chave.
+     * @param columnId ID da coluna
+     * @return Maior chave ou null se a coluna estiver vazia
+     * @throws SQLException Em caso de erro no banco de dados
+     */
+    public String findLastRank(final Long columnId) throws SQLException {
+        var sql =
+                """
+                SELECT card_rank
+                  FROM CARDS
+                 WHERE board_column_id = ?
+                 ORDER BY card_rank DESC
+                 LIMIT 1;
+                """;
+        try(var statement = connection.prepareStatement(sql)){
+            statement.setLong(1, columnId);
+            var event = SqlStatementEvent.start("CardDAO.findLastRank", sql);
+            try(var resultSet = statement.executeQuery()){
+                var found = resultSet.next();
+                event.finish(found ? 1 : 0);
+                return found ? resultSet.getString("card_rank") : null;
+            }
+        }
+    }
+
+    /**
+     * Busca e bloqueia os primeiros Cards livres de uma coluna, na ordem da coluna.
+     * Cards bloqueados e Cards reservados (a menos que a reserva tenha expirado) são
+     * ignorados; com {@code SKIP LOCKED}, linhas já bloqueadas por outra transação são
+     * puladas em vez de aguardadas, de modo que transações concorrentes recebem Cards
+     * diferentes sem esperar umas pelas outras.
+     * @param columnId ID da coluna
+     * @param expiredBefore Reservas feitas antes deste momento são consideradas expiradas
+     * @param limit Quantidade máxima de Cards
+     * @return Cards bloqueados, na ordem da coluna
+     * @throws SQLException Em caso de erro no banco de dados
+     */
+    public List<CardEntity> lockClaimable(final Long columnId, final OffsetDateTime expiredBefore,
+                                          final int limit) throws SQLException {
+        var sql =
+                """
+                SELECT c.id,
+                       c.title,
+                       c.description
+                  FROM CARDS c
+                 WHERE c.board_column_id = ?
+                   AND (c.claimed_at IS NULL OR c.claimed_at < ?)
+                   AND NOT EXISTS (SELECT 1
+                                     FROM BLOCKS b
+                                    WHERE b.card_id = c.id
+                                      AND b.unblocked_at IS NULL)
+                 ORDER BY c.card_rank
+                 LIMIT ?
+                   FOR UPDATE OF c SKIP LOCKED;
+                """;
+        try(var statement = connection.prepareStatement(sql)){
+            var i = 1;
+            statement.setLong(i++, columnId);
+            statement.setTimestamp(i++, toTimestamp(expiredBefore));
+            statement.setInt(i, limit);
+            var event = SqlStatementEvent.start("CardDAO.lockClaimable", sql);
+            List<CardEntity> entities = new ArrayList<>();
+            try(var resultSet = statement.executeQuery()){
+                while (resultSet.next()){
+                    var entity = new CardEntity();
+                    entity.setId(resultSet.getLong("c.id"));
+                    entity.setTitle(resultSet.getString("c.title"));
+                    entity.setDescription(resultSet.getString("c.description"));
+                    entity.getBoardColumn().setId(columnId);
+                    entities.add(entity);
+                }
+            }
+            event.finish(entities.size());
+            return entities;
+        }
+    }
+
+    /**
+     * Reserva Cards para um worker. Os Cards devem ter sido bloqueados na mesma transação
+     * por {@link #lockClaimable(Long, OffsetDateTime, int)}.
+     * @param ids IDs dos Cards
+     * @param workerId Identificação do worker
+     * @param claimedAt Momento da reserva
+     * @throws SQLException Em caso de erro no banco de dados
+     */
+    public void claim(final List<Long> ids, final String workerId, final OffsetDateTime claimedAt) throws SQLException {
+        if (ids.isEmpty()) {
+            return;
+        }
+        var placeholders = String.join(", ", Collections.nCopies(ids.size(), "?"));
+        var sql = "UPDATE CARDS SET claimed_by = ?, claimed_at = ?, version = version + 1 WHERE id IN (" + placeholders + ");";
+        try(var statement = connection.prepareStatement(sql)){
+            var i = 1;
+            statement.setString(i++, workerId);
+            statement.setTimestamp(i++, toTimestamp(claimedAt));
+            for (var id : ids) {
+                statement.setLong(i++, id);
+            }
+            var event = SqlStatementEvent.start("CardDAO.claim", sql);
+            event.finish(statement.executeUpdate());
+        }
+    }
+
+    /**
+     * Libera a reserva de um Card, se ela pertencer ao worker informado.
+     * @param cardId ID do Card
+     * @param workerId Identificação do worker
+     * @return true se a reserva foi liberada
+     * @throws SQLException Em caso de erro no banco de dados
+     */
+    public boolean release(final Long cardId, final String workerId) throws SQLException {
+        var sql = "UPDATE CARDS SET claimed_by = NULL, claimed_at = NULL, version = version + 1 WHERE id = ? AND claimed_by = ?;";
+        try(var statement = connection.prepareStatement(sql)){
+            var i = 1;
+            statement.setLong(i++, cardId);
+            statement.setString(i, workerId);
+            var event = SqlStatementEvent.start("CardDAO.release", sql);
+            var rows = statement.executeUpdate();
+            event.finish(rows);
+            return rows > 0;
         }
     }
 
@@ -73,10 +642,13 @@ public class CardDAO {
                 SELECT c.id,
                        c.title,
                        c.description,
+                       c.version,
                        b.blocked_at,
                        b.block_reason,
                        c.board_column_id,
                        bc.name,
+                       bc.board_id,
+                       u.name,
                        (SELECT COUNT(sub_b.id)
                                FROM BLOCKS sub_b
                               WHERE sub_b.card_id = c.id) blocks_amount
@@ -86,10 +658,13 @@ public class CardDAO {
                    AND b.unblocked_at IS NULL
                  INNER JOIN BOARDS_COLUMNS bc
                     ON bc.id = c.board_column_id
+                  LEFT JOIN USERS u
+                    ON u.id = c.assignee_id
                   WHERE c.id = ?;
                 """;
         try(var statement = connection.prepareStatement(sql)){
             statement.setLong(1, id);
+            var event = SqlStatementEvent.start("CardDAO.findById", sql);
             statement.executeQuery();
             var resultSet = statement.getResultSet();
             
@@ -103,11 +678,27 @@ public class CardDAO {
                         resultSet.getString("b.block_reason"),
                         resultSet.getInt("blocks_amount"),
                         resultSet.getLong("c.board_column_id"),
-                        resultSet.getString("bc.name")
+                        resultSet.getString("bc.name"),
+                        resultSet.getLong("bc.board_id"),
+                        resultSet.getInt("c.version"),
+                        resultSet.getString("u.name")
                 );
+                event.finish(1);
                 return Optional.of(dto);
             }
+            event.finish(0);
         }
         return Optional.empty();
     }
-}
\ No newline at end of file
+
+    /**
+     * Cria a exceção de conflito de uma alteração condicionada à versão do Card.
+     * @param cardId ID do Card
+     * @return Exceção a ser lançada
+     */
+    static OptimisticLockException conflict(final Long cardId) {
+        return new OptimisticLockException(
+                "O card %s ou as colunas do board foram alterados por outra operação; recarregue o board e tente novamente"
+                        .formatted(cardId));
+    }
+}
@@ -0,0 +1,399 @@
+package br.com.dio.persistence.dao;
+
+import br.com.dio.dto.CardDependencyDTO;
+import br.com.dio.monitoring.SqlStatementEvent;
+import br.com.dio.persistence.entity.BoardColumnKindEnum;
+import lombok.AllArgsConstructor;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import static br.com.dio.persistence.entity.BoardColumnKindEnum.findByName;
+
+/**
+ * Data Access Object (DAO) para as dependências entre Cards e seu fecho transitivo.
+ *
+ * <p>CARD_DEPENDENCIES guarda as arestas (dependente, bloqueador). CARD_DEPENDENCY_CLOSURE
+ * guarda todos os pares (bloqueador, dependente) alcançáveis, com a quantidade de caminhos
+ * entre eles, e um par reflexivo com 1 caminho para cada Card participante. Assim,
+ * verificar se um par é alcançável (detecção de ciclos) é uma busca pela chave primária,
+ * e os Cards liberados por um Card são lidos por índice, sem percorrer o grafo.</p>
+ *
+ * <p>Incluir a aresta {@code a -> d} soma, para cada ancestral {@code x} de {@code a} e
+ * descendente {@code y} de {@code d}, o produto dos caminhos {@code x -> a} e {@code d -> y};
+ * remover subtrai o mesmo produto e apaga os pares que ficam sem caminhos. Como o grafo
+ * não tem ciclos, as linhas lidas nunca estão entre as alteradas.</p>
+ */
+@AllArgsConstructor
+public class CardDependencyDAO {
+
+    // Conexão JDBC com o banco de dados
+    private final Connection connection;
+
+    /**
+     * Lê, com bloqueio compartilhado da linha do Card, o tipo da coluna em que ele está.
+     * Uma movimentação concorrente do Card espera o fim desta transação, e então enxerga
+     * as dependências incluídas por ela.
+     * @param cardId ID do Card
+     * @return Tipo da coluna do Card ou vazio se ele não existir
+     * @throws SQLException Em caso de erro no banco de dados
+     */
+    public Optional<BoardColumnKindEnum> lockColumnKind(final Long cardId) throws SQLException {
+        var sql =
+                """
+                SELECT bc.kind
+                  FROM CARDS c
+                 INNER JOIN BOARDS_COLUMNS bc
+                    ON bc.id = c.board_column_id
+                 WHERE c.id = ?
+                   FOR SHARE OF c;
+                """;
+        try(var statement = connection.prepareStatement(sql)){
+            statement.setLong(1, cardId);
+            var event = SqlStatementEvent.start("CardDependencyDAO.lockColumnKind", sql);
+            try(var resultSet = statement.executeQuery()){
+                if (resultSet.next()) {
+                    event.finish(1);
+                    return Optional.of(findByName(resultSet.getString("bc.kind")));
+                }
+                event.finish(0);
+                return Optional.empty();
+            }
+        }
+    }
+
+    /**
+     * Garante os pares reflexivos de dois Cards no fecho.
+     * @param firstId ID de um Card
+     * @param secondId ID de outro Card
+     * @throws SQLException Em caso de erro no banco de dados
+     */
+    public void ensureNodes(final Long firstId, final Long secondId) throws SQLException {
+        var sql = "INSERT IGNORE INTO CARD_DEPENDENCY_CLOSURE (ancestor_id, descendant_id, paths) VALUES (?, ?, 1), (?, ?, 1);";
+        try(var statement = connection.prepareStatement(sql)){
+            var i = 1;
+            statement.setLong(i++, firstId);
+            statement.setLong(i++, firstId);
+            statement.setLong(i++, secondId);
+            statement.setLong(i, secondId);
+            var event = SqlStatementEvent.start("CardDependencyDAO.ensureNodes", sql);
+            event.finish(statement.executeUpdate());
+        }
+    }
+
+    /**
+     * Verifica, com leitura bloqueante, se um Card alcança outro no grafo de dependências.
+     * O bloqueio (inclusive do intervalo, se o par não existir) impede que uma transação
+     * concorrente crie o par antes do fim desta, o que fecharia um ciclo.
+     * @param ancestorId Card bloqueador
+     * @param descendantId Card dependente
+     * @return true se {@code descendantId} depende, direta ou indiretamente, de {@code ancestorId}
+     * @throws SQLException Em caso de erro no banco de dados
+     */
+    public boolean reaches(final Long ancestorId, final Long descendantId) throws SQLException {
+        var sql = "SELECT 1 FROM CARD_DEPENDENCY_CLOSURE WHERE ancestor_id = ? AND descendant_id = ? FOR SHARE;";
+        try(var statement = connection.prepareStatement(sql)){
+            var i = 1;
+            statement.setLong(i++, ancestorId);
+            statement.setLong(i, descendantId);
+            var event = SqlStatementEvent.start("CardDependencyDAO.reaches", sql);
+            try(var resultSet = statement.executeQuery()){
+                event.finish(1);
+                return resultSet.next();
+            }
+        }
+    }
+
+    /**
+     * Inclui uma aresta e atualiza o fecho. O chamador deve ter verificado que a aresta
+     * não fecha um ciclo.
+     * @param cardId Card dependente
+     * @param dependsOnId Card bloqueador
+     * @return false se a aresta já existia
+     * @throws SQLException Em caso de erro no banco de dados
+     */
+    public boolean insert(final Long cardId, final Long dependsOnId) throws SQLException {
+        var sql = "INSERT IGNORE INTO CARD_DEPENDENCIES (card_id, depends_on_id) VALUES (?, ?);";
+        try(var statement = connection.prepareStatement(sql)){
+            var i = 1;
+            statement.setLong(i++, cardId);
+            statement.setLong(i, dependsOnId);
+            var event = SqlStatementEvent.start("CardDependencyDAO.insert", sql);
+            var rows = statement.executeUpdate();
+            event.finish(rows);
+            if (rows == 0) {
+                return false;
+            }
+        }
+        var closureSql =
+                """
+                INSERT INTO CARD_DEPENDENCY_CLOSURE (ancestor_id, descendant_id, paths)
+                SELECT * FROM (SELECT a.ancestor_id, d.descendant_id, a.paths * d.paths paths
+                                 FROM CARD_DEPENDENCY_CLOSURE a
+                                INNER JOIN CARD_DEPENDENCY_CLOSURE d
+                                   ON d.ancestor_id = ?
+                                WHERE a.descendant_id = ?) added
+                    ON DUPLICATE KEY UPDATE paths = CARD_DEPENDENCY_CLOSURE.paths + added.paths;
+                """;
+        try(var statement = connection.prepareStatement(closureSql)){
+            var i = 1;
+            statement.setLong(i++, cardId);
+            statement.setLong(i, dependsOnId);
+            var event = SqlStatementEvent.start("CardDependencyDAO.insertClosure", closureSql);
+            event.finish(statement.executeUpdate());
+        }
+        return true;
+    }
+
+    /**
+     * Remove uma aresta e atualiza o fecho.
+     * @param cardId Card dependente
+     * @param dependsOnId Card bloqueador
+     * @return false se a aresta não existia
+     * @throws SQLException Em caso de erro no banco de dados
+     */
+    public boolean delete(final Long cardId, final Long dependsOnId) throws SQLException {
+        var sql = "DELETE FROM CARD_DEPENDENCIES WHERE card_id = ? AND depends_on_id = ?;";
+        try(var statement = connection.prepareStatement(sql)){
+            var i = 1;
+            statement.setLong(i++, cardId);
+            statement.setLong(i, dependsOnId);
+            var event = SqlStatementEvent.start("CardDependencyDAO.delete", sql);
+            var rows = statement.executeUpdate();
+            event.finish(rows);
+            if (rows == 0) {
+                return false;
+            }
+        }
+        var updateSql =
+                """
+                UPDATE CARD_DEPENDENCY_CLOSURE c
+                 INNER JOIN CARD_DEPENDENCY_CLOSURE a
+                    ON a.descendant_id = ?
+                   AND a.ancestor_id = c.ancestor_id
+                 INNER JOIN CARD_DEPENDENCY_CLOSURE d
+                    ON d.ancestor_id = ?
+                   AND d.descendant_id = c.descendant_id
+                   SET c.paths = c.paths - a.paths * d.paths;
+                """;
+        updateClosure("CardDependencyDAO.deleteClosure", updateSql, dependsOnId, cardId);
+        var deleteSql =
+                """
+                DELETE c
+                  FROM CARD_DEPENDENCY_CLOSURE c
+                 INNER JOIN CARD_DEPENDENCY_CLOSURE a
+                    ON a.descendant_id = ?
+                   AND a.ancestor_id = c.ancestor_id
+                 INNER JOIN CARD_DEPENDENCY_CLOSURE d
+                    ON d.ancestor_id = ?
+                   AND d.descendant_id = c.descendant_id
+                 WHERE c.paths = 0;
+                """;
+        updateClosure("CardDependencyDAO.deleteUnreachable", deleteSql, dependsOnId, cardId);
+        return true;
+    }
+
+    private void updateClosure(final String name, final String sql, final Long blockerId, final Long dependentId) throws SQLException {
+        try(var statement = connection.prepareStatement(sql)){
+            var i = 1;
+            statement.setLong(i++, blockerId);
+            statement.setLong(i, dependentId);
+            var event = SqlStatementEvent.start(name, sql);
+            event.finish(statement.executeUpdate());
+        }
+    }
+
+    /**
+     * Busca os Cards dos quais um Card depende diretamente.
+     * @param cardId ID do Card
+     * @return IDs dos bloqueadores, em ordem crescente
+     * @throws SQLException Em caso de erro no banco de dados
+     */
+    public List<Long> findDependencyIds(final Long cardId) throws SQLException {
+        return findIds("CardDependencyDAO.findDependencyIds",
+                "SELECT depends_on_id FROM CARD_DEPENDENCIES WHERE card_id = ? ORDER BY depends_on_id;", cardId);
+    }
+
+    /**
+     * Lê, com bloqueio compartilhado das arestas, as dependências diretas de um Card que
+     * ainda não chegaram à coluna FINAL. O bloqueio impede que uma dependência seja incluída
+     * por outra transação antes do fim desta.
+     * @param cardId ID do Card
+     * @return IDs dos bloqueadores pendentes, em ordem crescente
+     * @throws SQLException Em caso de erro no banco de dados
+     */
+    public List<Long> lockPendingDependencyIds(final Long cardId) throws SQLException {
+        var sql =
+                """
+                SELECT d.depends_on_id
+                  FROM CARD_DEPENDENCIES d
+                 INNER JOIN CARDS c
+                    ON c.id = d.depends_on_id
+                 INNER JOIN BOARDS_COLUMNS bc
+                    ON bc.id = c.board_column_id
+                 WHERE d.card_id = ?
+                   AND bc.kind <> 'FINAL'
+                 ORDER BY d.depends_on_id
+                   FOR SHARE OF d;
+                """;
+        return findIds("CardDependencyDAO.lockPendingDependencyIds", sql, cardId);
+    }
+
+    /**
+     * Busca, pelo fecho, os Cards que dependem direta ou indiretamente de um Card.
+     * @param cardId ID do Card
+     * @return IDs dos dependentes, em ordem crescente
+     * @throws SQLException Em caso de erro no banco de dados
+     */
+    public List<Long> findTransitiveDependentIds(final Long cardId) throws SQLException {
+        return findIds("CardDependencyDAO.findTransitiveDependentIds",
+                "SELECT descendant_id FROM CARD_DEPENDENCY_CLOSURE WHERE ancestor_id = ? AND descendant_id <> ancestor_id ORDER BY descendant_id;",
+                cardId);
+    }
+
+    private List<Long> findIds(final String name, final String sql, final Long cardId) throws SQLException {
+        try(var statement = connection.prepareStatement(sql)){
+            statement.setLong(1, cardId);
+            var event = SqlStatementEvent.start(name, sql);
+            try(var resultSet = statement.executeQuery()){
+                List<Long> ids = new ArrayList<>();
+                while (resultSet.next()) {
+                    ids.add(resultSet.getLong(1));
+                }
+                event.finish(ids.size());
+                return ids;
+            }
+        }
+    }
+
+    /**
+     * Busca as arestas que envolvem algum dos Cards informados.
+     * @param cardIds IDs dos Cards
+     * @return Arestas em que os Cards são dependentes ou bloqueadores
+     * @throws SQLException Em caso de erro no banco de dados
+     */
+    public List<CardDependencyDTO> findEdges(final List<Long> cardIds) throws SQLException {
+        if (cardIds.isEmpty()) {
+            return List.of();
+        }
+        var placeholders = String.join(",", Collections.nCopies(cardIds.size(), "?"));
+        var sql = "SELECT card_id, depends_on_id FROM CARD_DEPENDENCIES WHERE card_id IN (%1$s) UNION SELECT card_id, depends_on_id FROM CARD_DEPENDENCIES WHERE depends_on_id IN (%1$s);"
+                .formatted(placeholders);
+        try(var statement = connection.prepareStatement(sql)){
+            var i = 1;
+            for (int pass = 0; pass < 2; pass++) {
+                for (var id : cardIds) {
+                    statement.setLong(i++, id);
+                }
+            }
+            var event = SqlStatementEvent.start("CardDependencyDAO.findEdges", sql);
+            try(var resultSet = statement.executeQuery()){
+                List<CardDependencyDTO> edges = new ArrayList<>();
+                while (resultSet.next()) {
+                    edges.add(new CardDependencyDTO(resultSet.getLong("card_id"), resultSet.getLong("depends_on_id")));
+                }
+                event.finish(edges.size());
+                return edges;
+            }
+        }
+    }
+
+    /**
+     * Filtra, entre os Cards informados, os que estão em uma coluna CANCEL.
+     * @param cardIds IDs dos Cards
+     * @return IDs dos Cards cancelados
+     * @throws SQLException Em caso de erro no banco de dados
+     */
+    public Set<Long> findCancelledIds(final List<Long> cardIds) throws SQLException {
+        if (cardIds.isEmpty()) {
+            return Set.of();
+        }
+        var placeholders = String.join(",", Collections.nCopies(cardIds.size(), "?"));
+        var sql = "SELECT c.id FROM CARDS c INNER JOIN BOARDS_COLUMNS bc ON bc.id = c.board_column_id WHERE c.id IN (%s) AND bc.kind = 'CANCEL';"
+                .formatted(placeholders);
+        try(var statement = connection.prepareStatement(sql)){
+            var i = 1;
+            for (var id : cardIds) {
+                statement.setLong(i++, id);
+            }
+            var event = SqlStatementEvent.start("CardDependencyDAO.findCancelledIds", sql);
+            try(var resultSet = statement.executeQuery()){
+                Set<Long> ids = new HashSet<>();
+                while (resultSet.next()) {
+                    ids.add(resultSet.getLong("c.id"));
+                }
+                event.finish(ids.size());
+                return ids;
+            }
+        }
+    }
+
+    /**
+     * Lê, bloqueando as linhas, os dependentes diretos de um Card que estão bloqueados
+     * por dependência e não dependem de nenhum outro Card fora de uma coluna FINAL.
+     * @param blockerId ID do Card bloqueador, desconsiderado na verificação
+     * @return Versão atual de cada Card a desbloquear, indexada pelo ID
+     * @throws SQLException Em caso de erro no banco de dados
+     */
+    public Map<Long, Integer> lockReleasableDependents(final Long blockerId) throws SQLException {
+        return lockReleasable("c.id IN (SELECT d.card_id FROM CARD_DEPENDENCIES d WHERE d.depends_on_id = ?)", blockerId, blockerId);
+    }
+
+    /**
+     * Lê, bloqueando a linha, um Card que esteja bloqueado por dependência e não dependa
+     * de nenhum Card fora de uma coluna FINAL.
+     * @param cardId ID do Card
+     * @return Versão atual do Card, indexada pelo ID, ou vazio se ele não deve ser desbloqueado
+     * @throws SQLException Em caso de erro no banco de dados
+     */
+    public Map<Long, Integer> lockReleasable(final Long cardId) throws SQLException {
+        return lockReleasable("c.id = ?", cardId, null);
+    }
+
+    private Map<Long, Integer> lockReleasable(final String filter, final Long filterId, final Long ignoredId) throws SQLException {
+        var sql =
+                """
+                SELECT c.id, c.version
+                  FROM CARDS c
+                 INNER JOIN BLOCKS b
+                    ON b.card_id = c.id
+                   AND b.unblocked_at IS NULL
+                   AND b.dependency
+                 WHERE %s
+                   AND NOT EXISTS (SELECT 1
+                                     FROM CARD_DEPENDENCIES o
+                                    INNER JOIN CARDS oc
+                                       ON oc.id = o.depends_on_id
+                                    INNER JOIN BOARDS_COLUMNS ocol
+                                       ON ocol.id = oc.board_column_id
+                                    WHERE o.card_id = c.id
+                                      AND o.depends_on_id <> COALESCE(?, 0)
+                                      AND ocol.kind <> 'FINAL')
+                 ORDER BY c.id
+                   FOR UPDATE OF c;
+                """.formatted(filter);
+        try(var statement = connection.prepareStatement(sql)){
+            var i = 1;
+            statement.setLong(i++, filterId);
+            statement.setObject(i, ignoredId, Types.BIGINT);
+            var event = SqlStatementEvent.start("CardDependencyDAO.lockReleasable", sql);
+            try(var resultSet = statement.executeQuery()){
+                Map<Long, Integer> versions = new LinkedHashMap<>();
+                while (resultSet.next()) {
+                    versions.put(resultSet.getLong("c.id"), resultSet.getInt("c.version"));
+                }
+                event.finish(versions.size());
+                return versions;
+            }
+        }
+    }
+}
@@ -0,0 +1,301 @@
+package br.com.dio.persistence.dao;
+
+import br.com.dio.dto.CardSubtreeDTO;
+import br.com.dio.monitoring.SqlStatementEvent;
+import lombok.AllArgsConstructor;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Data Access Object (DAO) para a hierarquia de Cards (épicos e subtarefas).
+ *
+ * <p>CARD_TREE é uma tabela de fecho: guarda todos os pares (ancestral, descendente) com a
+ * distância entre eles, e um par reflexivo de distância 0 para cada Card da hierarquia.
+ * A subárvore de um Card, seus ancestrais e seu pai são lidos por índice, sem consultas
+ * recursivas. CARD_SUBTREES guarda os totais da subárvore de cada Card, atualizados nos
+ * ancestrais do Card alterado em vez de recalculados a cada leitura. Os totais incluem os
+ * descendentes arquivados, que já saíram de CARD_TREE.</p>
+ */
+@AllArgsConstructor
+public class CardHierarchyDAO {
+
+    /**
+     * Quantidades de Cards de uma subárvore, usadas como incremento dos totais dos ancestrais.
+     * @param cards Cards da subárvore
+     * @param finished Cards em coluna FINAL
+     * @param canceled Cards em coluna CANCEL
+     */
+    public record Totals(int cards, int finished, int canceled) {
+
+        /**
+         * @return Totais com sinal invertido, para retirar a subárvore dos ancestrais
+         */
+        public Totals negate() {
+            return new Totals(-cards, -finished, -canceled);
+        }
+    }
+
+    // Conexão JDBC com o banco de dados
+    private final Connection connection;
+
+    /**
+     * Lê, com bloqueio compartilhado da linha do Card, o board ao qual ele pertence. Enquanto
+     * a transação estiver aberta o Card não pode ser movido nem arquivado.
+     * @param cardId ID do Card
+     * @return ID do board ou vazio se o Card não existir
+     * @throws SQLException Em caso de erro no banco de dados
+     */
+    public Optional<Long> lockBoardId(final Long cardId) throws SQLException {
+        var sql =
+                """
+                SELECT bc.board_id
+                  FROM CARDS c
+                 INNER JOIN BOARDS_COLUMNS bc
+                    ON bc.id = c.board_column_id
+                 WHERE c.id = ?
+                   FOR SHARE OF c;
+                """;
+        try(var statement = connection.prepareStatement(sql)){
+            statement.setLong(1, cardId);
+            var event = SqlStatementEvent.start("CardHierarchyDAO.lockBoardId", sql);
+            try(var resultSet = statement.executeQuery()){
+                if (resultSet.next()) {
+                    event.finish(1);
+                    return Optional.of(resultSet.getLong("bc.board_id"));
+                }
+                event.finish(0);
+                return Optional.empty();
+            }
+        }
+    }
+
+    /**
+     * Inclui um Card na hierarquia, com seu par reflexivo e totais zerados, se ainda não estiver.
+     * @param cardId ID do Card
+     * @throws SQLException Em caso de erro no banco de dados
+     */
+    public void ensureNode(final Long cardId) throws SQLException {
+        execute("CardHierarchyDAO.ensureNode",
+                "INSERT IGNORE INTO CARD_TREE (ancestor_id, descendant_id, depth) VALUES (?, ?, 0);", cardId, cardId);
+        execute("CardHierarchyDAO.ensureSubtree",
+                "INSERT IGNORE INTO CARD_SUBTREES (card_id) VALUES (?);", cardId);
+    }
+
+    /**
+     * Verifica, com leitura bloqueante, se um Card está na subárvore de outro. O bloqueio
+     * (inclusive do intervalo, se o par não existir) impede que uma transação concorrente
+     * crie o par antes do fim desta, o que fecharia um ciclo.
+     * @param ancestorId Raiz da subárvore
+     * @param descendantId Card procurado
+     * @return true se {@code descendantId} for o próprio {@code ancestorId} ou um descendente dele
+     * @throws SQLException Em caso de erro no banco de dados
+     */
+    public boolean contains(final Long ancestorId, final Long descendantId) throws SQLException {
+        var sql = "SELECT 1 FROM CARD_TREE WHERE ancestor_id = ? AND descendant_id = ? FOR SHARE;";
+        try(var statement = connection.prepareStatement(sql)){
+            var i = 1;
+            statement.setLong(i++, ancestorId);
+            statement.setLong(i, descendantId);
+            var event = SqlStatementEvent.start("CardHierarchyDAO.contains", sql);
+            try(var resultSet = statement.executeQuery()){
+                event.finish(1);
+                return resultSet.next();
+            }
+        }
+    }
+
+    /**
+     * Busca o pai de um Card.
+     * @param cardId ID do Card
+     * @return ID do pai ou vazio se o Card não tiver pai
+     * @throws SQLException Em caso de erro no banco de dados
+     */
+    public Optional<Long> findParentId(final Long cardId) throws SQLException {
+        var ids = findIds("CardHierarchyDAO.findParentId",
+                "SELECT ancestor_id FROM CARD_TREE WHERE descendant_id = ? AND depth = 1;", cardId);
+        return ids.stream().findFirst();
+    }
+
+    /**
+     * Lê, bloqueando a linha dos totais, as quantidades de Cards da subárvore de um Card,
+     * incluindo ele mesmo e os descendentes já arquivados, que continuam nos totais
+     * guardados. Movimentações concorrentes de Cards da subárvore, que atualizam a mesma
+     * linha, esperam o fim da transação.
+     * @param cardId ID da raiz da subárvore
+     * @return Totais da subárvore (só o próprio Card se ele não estiver na hierarquia)
+     * @throws SQLException Em caso de erro no banco de dados
+     */
+    public Totals lockSubtreeTotals(final Long cardId) throws SQLException {
+        var sql =
+                """
+                SELECT bc.kind,
+                       s.descendants,
+                       s.finished_descendants,
+                       s.canceled_descendants
+                  FROM CARDS c
+                 INNER JOIN BOARDS_COLUMNS bc
+                    ON bc.id = c.board_column_id
+                  LEFT JOIN CARD_SUBTREES s
+                    ON s.card_id = c.id
+                 WHERE c.id = ?
+                   FOR SHARE OF c
+                   FOR UPDATE OF s;
+                """;
+        try(var statement = connection.prepareStatement(sql)){
+            statement.setLong(1, cardId);
+            var event = SqlStatementEvent.start("CardHierarchyDAO.lockSubtreeTotals", sql);
+            try(var resultSet = statement.executeQuery()){
+                if (!resultSet.next()) {
+                    event.finish(0);
+                    return new Totals(0, 0, 0);
+                }
+                event.finish(1);
+                var kind = resultSet.getString("bc.kind");
+                return new Totals(1 + resultSet.getInt("s.descendants"),
+                        ("FINAL".equals(kind) ? 1 : 0) + resultSet.getInt("s.finished_descendants"),
+                        ("CANCEL".equals(kind) ? 1 : 0) + resultSet.getInt("s.canceled_descendants"));
+            }
+        }
+    }
+
+    /**
+     * Soma um incremento aos totais de todos os ancestrais de um Card, em um único comando.
+     * @param cardId ID do Card
+     * @param delta Incremento (negativo para retirar)
+     * @throws SQLException Em caso de erro no banco de dados
+     */
+    public void addToAncestors(final Long cardId, final Totals delta) throws SQLException {
+        var sql =
+                """
+                UPDATE CARD_SUBTREES s
+                 INNER JOIN CARD_TREE t
+                    ON t.ancestor_id = s.card_id
+                   SET s.descendants = s.descendants + ?,
+                       s.finished_descendants = s.finished_descendants + ?,
+                       s.canceled_descendants = s.canceled_descendants + ?
+                 WHERE t.descendant_id = ?
+                   AND t.depth > 0;
+                """;
+        try(var statement = connection.prepareStatement(sql)){
+            var i = 1;
+            statement.setInt(i++, delta.cards());
+            statement.setInt(i++, delta.finished());
+            statement.setInt(i++, delta.canceled());
+            statement.setLong(i, cardId);
+            var event = SqlStatementEvent.start("CardHierarchyDAO.addToAncestors", sql);
+            event.finish(statement.executeUpdate());
+        }
+    }
+
+    /**
+     * Separa a subárvore de um Card dos ancestrais dele, removendo os pares entre eles.
+     * O Card passa a ser raiz da própria subárvore.
+     * @param cardId ID da raiz da subárvore
+     * @throws SQLException Em caso de erro no banco de dados
+     */
+    public void detach(final Long cardId) throws SQLException {
+        var ancestorIds = findIds("CardHierarchyDAO.findAncestorIds",
+                "SELECT ancestor_id FROM CARD_TREE WHERE descendant_id = ? AND depth > 0;", cardId);
+        if (ancestorIds.isEmpty()) {
+            return;
+        }
+        var subtreeIds = findIds("CardHierarchyDAO.findSubtreeIds",
+                "SELECT descendant_id FROM CARD_TREE WHERE ancestor_id = ?;", cardId);
+        var sql = "DELETE FROM CARD_TREE WHERE ancestor_id IN (%s) AND descendant_id IN (%s);"
+                .formatted(placeholders(ancestorIds.size()), placeholders(subtreeIds.size()));
+        try(var statement = connection.prepareStatement(sql)){
+            var i = 1;
+            for (var id : ancestorIds) {
+                statement.setLong(i++, id);
+            }
+            for (var id : subtreeIds) {
+                statement.setLong(i++, id);
+            }
+            var event = SqlStatementEvent.start("CardHierarchyDAO.detach", sql);
+            event.finish(statement.executeUpdate());
+        }
+    }
+
+    /**
+     * Liga a subárvore de um Card, que deve ser uma raiz, abaixo de um novo pai: cada
+     * ancestral do pai (inclusive ele) passa a alcançar cada Card da subárvore.
+     * @param cardId ID da raiz da subárvore
+     * @param parentId ID do novo pai
+     * @throws SQLException Em caso de erro no banco de dados
+     */
+    public void attach(final Long cardId, final Long parentId) throws SQLException {
+        var sql =
+                """
+                INSERT INTO CARD_TREE (ancestor_id, descendant_id, depth)
+                SELECT up.ancestor_id, sub.descendant_id, up.depth + sub.depth + 1
+                  FROM CARD_TREE up
+                 INNER JOIN CARD_TREE sub
+                    ON sub.ancestor_id = ?
+                 WHERE up.descendant_id = ?;
+                """;
+        execute("CardHierarchyDAO.attach", sql, cardId, parentId);
+    }
+
+    /**
+     * Busca a posição de um Card na hierarquia e os totais da sua subárvore.
+     * @param cardId ID do Card
+     * @return Subárvore do Card (sem pai, filhos nem descendentes se ele não estiver na hierarquia)
+     * @throws SQLException Em caso de erro no banco de dados
+     */
+    public CardSubtreeDTO findSubtree(final Long cardId) throws SQLException {
+        var parentId = findParentId(cardId).orElse(null);
+        var childIds = findIds("CardHierarchyDAO.findChildIds",
+                "SELECT descendant_id FROM CARD_TREE WHERE ancestor_id = ? AND depth = 1 ORDER BY descendant_id;", cardId);
+        var sql = "SELECT descendants, finished_descendants, canceled_descendants FROM CARD_SUBTREES WHERE card_id = ?;";
+        try(var statement = connection.prepareStatement(sql)){
+            statement.setLong(1, cardId);
+            var event = SqlStatementEvent.start("CardHierarchyDAO.findSubtree", sql);
+            try(var resultSet = statement.executeQuery()){
+                if (resultSet.next()) {
+                    event.finish(1);
+                    return new CardSubtreeDTO(cardId, parentId, childIds,
+                            resultSet.getInt("descendants"),
+                            resultSet.getInt("finished_descendants"),
+                            resultSet.getInt("canceled_descendants"));
+                }
+                event.finish(0);
+                return new CardSubtreeDTO(cardId, parentId, childIds, 0, 0, 0);
+            }
+        }
+    }
+
+    private List<Long> findIds(final String name, final String sql, final Long cardId) throws SQLException {
+        try(var statement = connection.prepareStatement(sql)){
+            statement.setLong(1, cardId);
+            var event = SqlStatementEvent.start(name, sql);
+            try(var resultSet = statement.executeQuery()){
+                List<Long> ids = new ArrayList<>();
+                while (resultSet.next()) {
+                    ids.add(resultSet.getLong(1));
+                }
+                event.finish(ids.size());
+                return ids;
+            }
+        }
+    }
+
+    private void execute(final String name, final String sql, final Long... ids) throws SQLException {
+        try(var statement = connection.prepareStatement(sql)){
+            var i = 1;
+            for (var id : ids) {
+                statement.setLong(i++, id);
+            }
+            var event = SqlStatementEvent.start(name, sql);
+            event.finish(statement.executeUpdate());
+        }
+    }
+
+    private static String placeholders(final int count) {
+        return String.join(",", Collections.nCopies(count, "?"));
+    }
+}
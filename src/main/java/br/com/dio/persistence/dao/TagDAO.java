@@ -0,0 +1,246 @@
+package br.com.dio.persistence.dao;
+
+import br.com.dio.monitoring.SqlStatementEvent;
+import br.com.dio.tag.BoardTagIndex;
+import com.mysql.cj.jdbc.StatementImpl;
+import lombok.AllArgsConstructor;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Data Access Object (DAO) para as tags dos Cards.
+ *
+ * <p>As tags pertencem a um board e são identificadas pelo nome normalizado. A carga do
+ * índice em memória lê os Cards do board pelo índice de colunas e as marcações de cada tag
+ * pela chave primária de CARD_TAGS, em ordem de ID do Card.</p>
+ */
+@AllArgsConstructor
+public class TagDAO {
+
+    // Conexão JDBC com o banco de dados
+    private final Connection connection;
+
+    /**
+     * Busca ou cria uma tag do board em um único comando.
+     * @param boardId ID do board
+     * @param name Nome normalizado da tag
+     * @return ID da tag
+     * @throws SQLException Em caso de erro no banco de dados
+     */
+    public Long ensureTag(final Long boardId, final String name) throws SQLException {
+        // LAST_INSERT_ID(id) devolve o ID da tag existente quando a chave única já existe
+        var sql = "INSERT INTO TAGS (board_id, name) VALUES (?, ?) ON DUPLICATE KEY UPDATE id = LAST_INSERT_ID(id);";
+        try(var statement = connection.prepareStatement(sql)){
+            var i = 1;
+            statement.setLong(i++, boardId);
+            statement.setString(i, name);
+            var event = SqlStatementEvent.start("TagDAO.ensureTag", sql);
+            event.finish(statement.executeUpdate());
+            if (statement instanceof StatementImpl impl){
+                return impl.getLastInsertID();
+            }
+        }
+        return findTagId(boardId, name).orElseThrow();
+    }
+
+    /**
+     * Busca uma tag do board pelo nome.
+     * @param boardId ID do board
+     * @param name Nome normalizado da tag
+     * @return ID da tag ou vazio se o board não tiver a tag
+     * @throws SQLException Em caso de erro no banco de dados
+     */
+    public Optional<Long> findTagId(final Long boardId, final String name) throws SQLException {
+        var sql = "SELECT id FROM TAGS WHERE board_id = ? AND name = ?;";
+        try(var statement = connection.prepareStatement(sql)){
+            var i = 1;
+            statement.setLong(i++, boardId);
+            statement.setString(i, name);
+            var event = SqlStatementEvent.start("TagDAO.findTagId", sql);
+            try(var resultSet = statement.executeQuery()){
+                if (resultSet.next()) {
+                    event.finish(1);
+                    return Optional.of(resultSet.getLong("id"));
+                }
+                event.finish(0);
+                return Optional.empty();
+            }
+        }
+    }
+
+    /**
+     * Marca um Card com uma tag.
+     * @param cardId ID do Card
+     * @param tagId ID da tag
+     * @return false se o Card já tinha a tag
+     * @throws SQLException Em caso de erro no banco de dados
+     */
+    public boolean tag(final Long cardId, final Long tagId) throws SQLException {
+        return execute("TagDAO.tag", "INSERT IGNORE INTO CARD_TAGS (tag_id, card_id) VALUES (?, ?);", tagId, cardId) > 0;
+    }
+
+    /**
+     * Retira uma tag de um Card.
+     * @param cardId ID do Card
+     * @param tagId ID da tag
+     * @return false se o Card não tinha a tag
+     * @throws SQLException Em caso de erro no banco de dados
+     */
+    public boolean untag(final Long cardId, final Long tagId) throws SQLException {
+        return execute("TagDAO.untag", "DELETE FROM CARD_TAGS WHERE tag_id = ? AND card_id = ?;", tagId, cardId) > 0;
+    }
+
+    /**
+     * Busca as tags de um Card, ativo ou arquivado.
+     * @param cardId ID do Card
+     * @return Nomes das tags em ordem alfabética
+     * @throws SQLException Em caso de erro no banco de dados
+     */
+    public List<String> findCardTags(final Long cardId) throws SQLException {
+        // Um Card está em CARDS ou em CARDS_ARCHIVE, nunca nos dois
+        var sql =
+                """
+                SELECT t.name
+                  FROM CARD_TAGS ct
+                 INNER JOIN TAGS t
+                    ON t.id = ct.tag_id
+                 WHERE ct.card_id = ?
+                 UNION ALL
+                SELECT t.name
+                  FROM CARD_TAGS_ARCHIVE cta
+                 INNER JOIN TAGS t
+                    ON t.id = cta.tag_id
+                 WHERE cta.card_id = ?
+                 ORDER BY name;
+                """;
+        try(var statement = connection.prepareStatement(sql)){
+            var i = 1;
+            statement.setLong(i++, cardId);
+            statement.setLong(i, cardId);
+            var event = SqlStatementEvent.start("TagDAO.findCardTags", sql);
+            try(var resultSet = statement.executeQuery()){
+                List<String> tags = new ArrayList<>();
+                while (resultSet.next()) {
+                    tags.add(resultSet.getString("name"));
+                }
+                event.finish(tags.size());
+                return tags;
+            }
+        }
+    }
+
+    /**
+     * Copia no servidor as tags de um board e as marcações dos seus Cards abertos para
+     * um board clonado, depois de {@link CardDAO#copyOpenCards(Long, Long)}. As cópias
+     * recebem IDs crescentes na ordem dos IDs de origem, e o board de destino só tem as
+     * cópias, então o Card de origem e sua cópia têm a mesma posição nas duas listas.
+     * @param sourceBoardId ID do board de origem
+     * @param targetBoardId ID do board clonado
+     * @return Quantidade de marcações copiadas
+     * @throws SQLException Em caso de erro no banco de dados
+     */
+    public int copyBoardTags(final Long sourceBoardId, final Long targetBoardId) throws SQLException {
+        var tagsSql =
+                """
+                INSERT INTO TAGS (board_id, name)
+                SELECT ?, name
+                  FROM TAGS
+                 WHERE board_id = ?
+                 ORDER BY id;
+                """;
+        execute("TagDAO.copyTags", tagsSql, targetBoardId, sourceBoardId);
+        var sql =
+                """
+                INSERT INTO CARD_TAGS (tag_id, card_id)
+                SELECT target_tag.id, target.id
+                  FROM (SELECT c.id, ROW_NUMBER() OVER (ORDER BY c.id) position
+                          FROM CARDS c
+                         INNER JOIN BOARDS_COLUMNS bc
+                            ON bc.id = c.board_column_id
+                         WHERE bc.board_id = ?
+                           AND bc.kind NOT IN ('FINAL', 'CANCEL')) source
+                 INNER JOIN (SELECT c.id, ROW_NUMBER() OVER (ORDER BY c.id) position
+                               FROM CARDS c
+                              INNER JOIN BOARDS_COLUMNS bc
+                                 ON bc.id = c.board_column_id
+                              WHERE bc.board_id = ?) target
+                    ON target.position = source.position
+                 INNER JOIN CARD_TAGS ct
+                    ON ct.card_id = source.id
+                 INNER JOIN TAGS source_tag
+                    ON source_tag.id = ct.tag_id
+                 INNER JOIN TAGS target_tag
+                    ON target_tag.board_id = ?
+                   AND target_tag.name = source_tag.name;
+                """;
+        return execute("TagDAO.copyCardTags", sql, sourceBoardId, targetBoardId, targetBoardId);
+    }
+
+    /**
+     * Carrega os Cards de um board, em ordem de ID, e as tags de cada um em um índice em memória.
+     * @param boardId ID do board
+     * @param index Índice vazio a ser preenchido
+     * @throws SQLException Em caso de erro no banco de dados
+     */
+    public void load(final Long boardId, final BoardTagIndex index) throws SQLException {
+        var cardsSql =
+                """
+                SELECT c.id
+                  FROM BOARDS_COLUMNS bc
+                 INNER JOIN CARDS c
+                    ON c.board_column_id = bc.id
+                 WHERE bc.board_id = ?
+                 ORDER BY c.id;
+                """;
+        try(var statement = connection.prepareStatement(cardsSql)){
+            statement.setLong(1, boardId);
+            var event = SqlStatementEvent.start("TagDAO.loadCards", cardsSql);
+            try(var resultSet = statement.executeQuery()){
+                var rows = 0;
+                while (resultSet.next()) {
+                    index.addCard(resultSet.getLong("c.id"));
+                    rows++;
+                }
+                event.finish(rows);
+            }
+        }
+        var tagsSql =
+                """
+                SELECT t.name, ct.card_id
+                  FROM TAGS t
+                 INNER JOIN CARD_TAGS ct
+                    ON ct.tag_id = t.id
+                 WHERE t.board_id = ?
+                 ORDER BY ct.tag_id, ct.card_id;
+                """;
+        try(var statement = connection.prepareStatement(tagsSql)){
+            statement.setLong(1, boardId);
+            var event = SqlStatementEvent.start("TagDAO.loadTags", tagsSql);
+            try(var resultSet = statement.executeQuery()){
+                var rows = 0;
+                while (resultSet.next()) {
+                    index.tag(resultSet.getLong("ct.card_id"), resultSet.getString("t.name"));
+                    rows++;
+                }
+                event.finish(rows);
+            }
+        }
+    }
+
+    private int execute(final String name, final String sql, final Long... ids) throws SQLException {
+        try(var statement = connection.prepareStatement(sql)){
+            var i = 1;
+            for (var id : ids) {
+                statement.setLong(i++, id);
+            }
+            var event = SqlStatementEvent.start(name, sql);
+            var rows = statement.executeUpdate();
+            event.finish(rows);
+            return rows;
+        }
+    }
+}
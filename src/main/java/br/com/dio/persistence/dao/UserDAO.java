@@ -0,0 +1,231 @@
+package br.com.dio.persistence.dao;
+
+import br.com.dio.dto.AssignedCardDTO;
+import br.com.dio.dto.SwimlaneDTO;
+import br.com.dio.dto.UserWipDTO;
+import br.com.dio.monitoring.SqlStatementEvent;
+import br.com.dio.persistence.entity.UserEntity;
+import com.mysql.cj.jdbc.StatementImpl;
+import lombok.AllArgsConstructor;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+import static br.com.dio.persistence.entity.BoardColumnKindEnum.findByName;
+
+/**
+ * Data Access Object (DAO) para usuários e para as consultas de Cards por responsável.
+ *
+ * <p>As consultas de um usuário percorrem apenas o intervalo do usuário no índice
+ * (assignee_id, board_column_id, card_rank) de CARDS: a lista de Cards abertos já sai
+ * agrupada por coluna e na ordem da coluna, e as contagens são lidas só do índice.</p>
+ */
+@AllArgsConstructor
+public class UserDAO {
+
+    // Conexão JDBC com o banco de dados
+    private final Connection connection;
+
+    /**
+     * Insere um novo usuário.
+     * @param entity Usuário a ser persistido
+     * @return A mesma entidade com o ID gerado
+     * @throws SQLException Em caso de erro no banco de dados
+     */
+    public UserEntity insert(final UserEntity entity) throws SQLException {
+        var sql = "INSERT INTO USERS (name) VALUES (?);";
+        try(var statement = connection.prepareStatement(sql)){
+            statement.setString(1, entity.getName());
+            var event = SqlStatementEvent.start("UserDAO.insert", sql);
+            event.finish(statement.executeUpdate());
+            if (statement instanceof StatementImpl impl){
+                entity.setId(impl.getLastInsertID());
+            }
+        }
+        return entity;
+    }
+
+    /**
+     * Busca todos os usuários.
+     * @return Usuários em ordem de nome
+     * @throws SQLException Em caso de erro no banco de dados
+     */
+    public List<UserEntity> findAll() throws SQLException {
+        var sql = "SELECT id, name FROM USERS ORDER BY name;";
+        try(var statement = connection.prepareStatement(sql)){
+            var event = SqlStatementEvent.start("UserDAO.findAll", sql);
+            try(var resultSet = statement.executeQuery()){
+                List<UserEntity> users = new ArrayList<>();
+                while (resultSet.next()) {
+                    users.add(toEntity(resultSet));
+                }
+                event.finish(users.size());
+                return users;
+            }
+        }
+    }
+
+    /**
+     * Busca um usuário pelo ID.
+     * @param id ID do usuário
+     * @return Optional contendo o usuário se encontrado, vazio caso contrário
+     * @throws SQLException Em caso de erro no banco de dados
+     */
+    public Optional<UserEntity> findById(final Long id) throws SQLException {
+        var sql = "SELECT id, name FROM USERS WHERE id = ?;";
+        try(var statement = connection.prepareStatement(sql)){
+            statement.setLong(1, id);
+            var event = SqlStatementEvent.start("UserDAO.findById", sql);
+            try(var resultSet = statement.executeQuery()){
+                if (resultSet.next()) {
+                    event.finish(1);
+                    return Optional.of(toEntity(resultSet));
+                }
+                event.finish(0);
+                return Optional.empty();
+            }
+        }
+    }
+
+    /**
+     * Busca os Cards abertos (em colunas INITIAL ou PENDING) de um usuário em todos os
+     * boards ativos.
+     * @param userId ID do usuário
+     * @return Cards agrupados por coluna, na ordem de cada coluna
+     * @throws SQLException Em caso de erro no banco de dados
+     */
+    public List<AssignedCardDTO> findOpenCards(final Long userId) throws SQLException {
+        var sql =
+                """
+                SELECT c.id,
+                       c.title,
+                       bc.board_id,
+                       c.board_column_id,
+                       bc.name,
+                       bc.kind
+                  FROM CARDS c
+                 INNER JOIN BOARDS_COLUMNS bc
+                    ON bc.id = c.board_column_id
+                 INNER JOIN BOARDS b
+                    ON b.id = bc.board_id
+                 WHERE c.assignee_id = ?
+                   AND bc.kind IN ('INITIAL', 'PENDING')
+                   AND b.deleted_at IS NULL
+                 ORDER BY c.assignee_id, c.board_column_id, c.card_rank;
+                """;
+        try(var statement = connection.prepareStatement(sql)){
+            statement.setLong(1, userId);
+            var event = SqlStatementEvent.start("UserDAO.findOpenCards", sql);
+            try(var resultSet = statement.executeQuery()){
+                List<AssignedCardDTO> cards = new ArrayList<>();
+                while (resultSet.next()) {
+                    cards.add(toAssignedCard(resultSet));
+                }
+                event.finish(cards.size());
+                return cards;
+            }
+        }
+    }
+
+    /**
+     * Conta os Cards abertos de um usuário em todos os boards ativos, por tipo de coluna.
+     * @param userId ID do usuário
+     * @return Contagens do usuário
+     * @throws SQLException Em caso de erro no banco de dados
+     */
+    public UserWipDTO findWip(final Long userId) throws SQLException {
+        var sql =
+                """
+                SELECT COALESCE(SUM(bc.kind = 'INITIAL'), 0) initial_cards,
+                       COALESCE(SUM(bc.kind = 'PENDING'), 0) pending_cards
+                  FROM CARDS c
+                 INNER JOIN BOARDS_COLUMNS bc
+                    ON bc.id = c.board_column_id
+                 INNER JOIN BOARDS b
+                    ON b.id = bc.board_id
+                 WHERE c.assignee_id = ?
+                   AND bc.kind IN ('INITIAL', 'PENDING')
+                   AND b.deleted_at IS NULL;
+                """;
+        try(var statement = connection.prepareStatement(sql)){
+            statement.setLong(1, userId);
+            var event = SqlStatementEvent.start("UserDAO.findWip", sql);
+            try(var resultSet = statement.executeQuery()){
+                event.finish(1);
+                resultSet.next();
+                return new UserWipDTO(userId, resultSet.getLong("initial_cards"), resultSet.getLong("pending_cards"));
+            }
+        }
+    }
+
+    /**
+     * Agrupa os Cards de um board por responsável. Os Cards são lidos coluna a coluna
+     * pelo índice (board_column_id, card_rank) e agrupados na ordem dos nomes dos
+     * responsáveis, com os Cards sem responsável por último.
+     * @param boardId ID do board
+     * @return Raias do board, uma por responsável com Cards no board
+     * @throws SQLException Em caso de erro no banco de dados
+     */
+    public List<SwimlaneDTO> findSwimlanes(final Long boardId) throws SQLException {
+        var sql =
+                """
+                SELECT c.id,
+                       c.title,
+                       bc.board_id,
+                       c.board_column_id,
+                       bc.name,
+                       bc.kind,
+                       c.assignee_id,
+                       u.name
+                  FROM BOARDS_COLUMNS bc
+                 INNER JOIN CARDS c
+                    ON c.board_column_id = bc.id
+                  LEFT JOIN USERS u
+                    ON u.id = c.assignee_id
+                 WHERE bc.board_id = ?
+                 ORDER BY u.name IS NULL, u.name, c.assignee_id, bc.`order`, c.card_rank;
+                """;
+        try(var statement = connection.prepareStatement(sql)){
+            statement.setLong(1, boardId);
+            var event = SqlStatementEvent.start("UserDAO.findSwimlanes", sql);
+            try(var resultSet = statement.executeQuery()){
+                List<SwimlaneDTO> lanes = new ArrayList<>();
+                SwimlaneDTO lane = null;
+                var rows = 0;
+                while (resultSet.next()) {
+                    var assigneeId = resultSet.getObject("c.assignee_id", Long.class);
+                    if (lane == null || !Objects.equals(lane.assigneeId(), assigneeId)) {
+                        lane = new SwimlaneDTO(assigneeId, resultSet.getString("u.name"), new ArrayList<>());
+                        lanes.add(lane);
+                    }
+                    lane.cards().add(toAssignedCard(resultSet));
+                    rows++;
+                }
+                event.finish(rows);
+                return lanes;
+            }
+        }
+    }
+
+    private static UserEntity toEntity(final ResultSet resultSet) throws SQLException {
+        var entity = new UserEntity();
+        entity.setId(resultSet.getLong("id"));
+        entity.setName(resultSet.getString("name"));
+        return entity;
+    }
+
+    private static AssignedCardDTO toAssignedCard(final ResultSet resultSet) throws SQLException {
+        return new AssignedCardDTO(
+                resultSet.getLong("c.id"),
+                resultSet.getString("c.title"),
+                resultSet.getLong("bc.board_id"),
+                resultSet.getLong("c.board_column_id"),
+                resultSet.getString("bc.name"),
+                findByName(resultSet.getString("bc.kind")));
+    }
+}
@@ -34,6 +34,12 @@ public class BoardColumnEntity {
      */
     private BoardColumnKindEnum kind;
 
+    /**
+     * Versão da estrutura do Board vista pela coluna, incrementada a cada edição de colunas
+     * do Board; movimentações de Cards são condicionadas a ela
+     */
+    private int version;
+
     /**
      * Board ao qual esta coluna pertence.
      * Inicializado com uma nova instância vazia por padrão.
@@ -0,0 +1,20 @@
+package br.com.dio.persistence.entity;
+
+import lombok.Data;
+
+/**
+ * Entidade que representa um usuário, a quem Cards podem ser atribuídos.
+ */
+@Data
+public class UserEntity {
+
+    /**
+     * Identificador único do usuário no banco de dados
+     */
+    private Long id;
+
+    /**
+     * Nome do usuário, único no sistema
+     */
+    private String name;
+}
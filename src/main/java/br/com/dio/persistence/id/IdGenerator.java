@@ -0,0 +1,131 @@
+package br.com.dio.persistence.id;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.concurrent.atomic.AtomicLong;
+
+import lombok.NoArgsConstructor;
+
+import static lombok.AccessLevel.PRIVATE;
+
+/**
+ * Gerador opcional de IDs de 64 bits no cliente para Boards, colunas e Cards.
+ *
+ * <p>Cada ID é composto, dos bits mais altos para os mais baixos, por 41 bits de
+ * milissegundos desde {@value #EPOCH_MILLIS} (2026-01-01 UTC), 10 bits do nó
+ * ({@code board.id.node}, de 0 a 1023, único por processo) e 12 bits de sequência.
+ * Os IDs de um processo são estritamente crescentes: mais de 4096 IDs no mesmo
+ * milissegundo, ou um relógio que volta no tempo, avançam para os milissegundos
+ * seguintes em vez de repetir valores. O estado é um único {@link AtomicLong}
+ * atualizado por compare-and-set, sem bloqueios.</p>
+ *
+ * <p>Ativado com {@code -Dboard.id.generator=snowflake}; por padrão os IDs continuam
+ * vindo do AUTO_INCREMENT. Com o gerador ativo os DAOs gravam o ID junto com a linha,
+ * sem depender do ID gerado pelo banco nem do bloqueio de AUTO_INCREMENT. Todos os
+ * processos que gravam no mesmo banco devem usá-lo, com nós diferentes: um ID gerado
+ * pelo AUTO_INCREMENT logo após um ID do gerador pode coincidir com o próximo ID do
+ * mesmo nó.</p>
+ */
+@NoArgsConstructor(access = PRIVATE)
+public final class IdGenerator {
+
+    // Início da contagem de tempo dos IDs: 2026-01-01T00:00:00Z
+    private static final long EPOCH_MILLIS = 1767225600000L;
+
+    private static final int NODE_BITS = 10;
+    private static final int SEQUENCE_BITS = 12;
+    private static final long MAX_NODE = (1L << NODE_BITS) - 1;
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+
+    private static final boolean ENABLED = System.getProperty("board.id.generator", "auto").equalsIgnoreCase("snowflake");
+    private static final long NODE = node(Long.getLong("board.id.node", 0));
+
+    // Último milissegundo e sequência emitidos, no formato (milissegundos << SEQUENCE_BITS) | sequência
+    private static final AtomicLong LAST = new AtomicLong();
+
+    /**
+     * @return true se os IDs devem ser gerados no cliente
+     */
+    public static boolean isEnabled() {
+        return ENABLED;
+    }
+
+    /**
+     * @return Novo ID ou null se o gerador estiver desativado, para que o banco gere o ID
+     */
+    public static Long nextOrNull() {
+        return ENABLED ? compose(reserve(1)) : null;
+    }
+
+    /**
+     * Reserva um bloco de posições consecutivas da sequência, usado por cópias feitas no
+     * servidor ({@code INSERT ... SELECT}) que numeram as linhas com {@link #blockId(String)}.
+     * @param count Quantidade de IDs
+     * @return Início do bloco ou null se o gerador estiver desativado
+     */
+    public static Long reserveBlock(final long count) {
+        return ENABLED && count > 0 ? reserve(count) : null;
+    }
+
+    /**
+     * Expressão SQL com o ID de uma linha de um bloco reservado, a mesma composição de
+     * bits de {@link #nextOrNull()}. Usa três parâmetros, preenchidos por
+     * {@link #bindBlock(PreparedStatement, int, Long)}; com o início do bloco nulo a
+     * expressão é NULL e o banco gera o ID.
+     * @param rowNumber Expressão SQL com a posição da linha no bloco, a partir de 1
+     * @return Expressão SQL
+     */
+    public static String blockId(final String rowNumber) {
+        return "(((? + %1$s - 1) >> %2$s) << %3$s) | (? << %2$s) | ((? + %1$s - 1) & %4$s)"
+                .formatted(rowNumber, SEQUENCE_BITS, NODE_BITS + SEQUENCE_BITS, SEQUENCE_MASK);
+    }
+
+    /**
+     * Preenche os parâmetros de {@link #blockId(String)}.
+     * @param statement Comando preparado
+     * @param index Índice do primeiro parâmetro
+     * @param block Início do bloco ou null
+     * @return Índice do parâmetro seguinte
+     * @throws SQLException Em caso de erro no driver
+     */
+    public static int bindBlock(final PreparedStatement statement, final int index, final Long block) throws SQLException {
+        var i = index;
+        statement.setObject(i++, block, Types.BIGINT);
+        statement.setLong(i++, NODE);
+        statement.setObject(i++, block, Types.BIGINT);
+        return i;
+    }
+
+    /**
+     * Avança a sequência por compare-and-set. Mais de 4096 posições no mesmo
+     * milissegundo avançam para os milissegundos seguintes.
+     * @return Primeira posição reservada
+     */
+    static long reserve(final long count) {
+        while (true) {
+            var last = LAST.get();
+            var now = (System.currentTimeMillis() - EPOCH_MILLIS) << SEQUENCE_BITS;
+            var first = Math.max(now, last + 1);
+            if (LAST.compareAndSet(last, first + count - 1)) {
+                return first;
+            }
+        }
+    }
+
+    /**
+     * Compõe o ID de uma posição da sequência: milissegundos, nó e sequência.
+     */
+    static long compose(final long state) {
+        return (state >>> SEQUENCE_BITS) << (NODE_BITS + SEQUENCE_BITS)
+                | NODE << SEQUENCE_BITS
+                | (state & SEQUENCE_MASK);
+    }
+
+    private static long node(final long node) {
+        if (node < 0 || node > MAX_NODE) {
+            throw new IllegalArgumentException("board.id.node deve estar entre 0 e %s".formatted(MAX_NODE));
+        }
+        return node;
+    }
+}
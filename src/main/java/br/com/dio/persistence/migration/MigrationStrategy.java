@@ -1,69 +1,216 @@
 package br.com.dio.persistence.migration;
 
+import br.com.dio.exception.MigrationException;
 import liquibase.Liquibase;
+import liquibase.Scope;
 import liquibase.database.jvm.JdbcConnection;
-import liquibase.exception.LiquibaseException;
 import liquibase.resource.ClassLoaderResourceAccessor;
-import lombok.AllArgsConstructor;
+import liquibase.ui.LoggerUIService;
 
-import java.io.FileOutputStream;
 import java.io.IOException;
-import java.io.PrintStream;
-import java.sql.Connection;
-import java.sql.SQLException;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystemNotFoundException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.logging.FileHandler;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.logging.SimpleFormatter;
+import java.util.stream.Stream;
 
 import static br.com.dio.persistence.config.ConnectionConfig.getConnection;
+import static br.com.dio.persistence.config.ConnectionConfig.getUrl;
 
 /**
  * Classe responsável pela execução de migrações de banco de dados utilizando Liquibase.
  * Gerencia a aplicação de scripts de mudança (changelogs) para atualizar a estrutura do banco.
+ *
+ * <p>Antes de inicializar o Liquibase, calcula uma impressão digital (SHA-256) dos
+ * changelogs presentes no classpath e a compara com a última aplicada com sucesso.
+ * Se nada mudou, a inicialização do Liquibase é evitada por completo. A verificação
+ * pode ser ignorada com {@code -Dboard.migration.force=true}.</p>
  */
-@AllArgsConstructor
 public class MigrationStrategy {
 
-    // Conexão com o banco de dados onde as migrações serão aplicadas
-    public final Connection connection;
+    // Changelog principal e diretório com os scripts incluídos por ele
+    private static final String MASTER_CHANGELOG = "db/changelog/db.changelog-master.yml";
+    private static final String MIGRATIONS_DIR = "db/changelog/migrations";
+
+    // Arquivo padrão onde a impressão digital da última migração é armazenada
+    private static final Path DEFAULT_CHECKSUM_FILE = Path.of(".board-migration.sha256");
+
+    // Logger raiz do Liquibase, mantido como referência forte para preservar a configuração
+    private static final Logger LIQUIBASE_LOGGER = Logger.getLogger("liquibase");
+
+    // Arquivo com a impressão digital da última migração aplicada
+    private final Path checksumFile;
+
+    /**
+     * Cria a estratégia utilizando o arquivo de checksum padrão no diretório de trabalho.
+     */
+    public MigrationStrategy() {
+        this(DEFAULT_CHECKSUM_FILE);
+    }
+
+    /**
+     * Cria a estratégia utilizando um arquivo de checksum específico.
+     * @param checksumFile Arquivo onde a impressão digital é lida e gravada
+     */
+    public MigrationStrategy(final Path checksumFile) {
+        this.checksumFile = checksumFile;
+    }
 
     /**
      * Executa as migrações do banco de dados configuradas no changelog.
-     * Redireciona os logs do Liquibase para um arquivo específico.
+     * Quando os changelogs não mudaram desde a última execução, retorna imediatamente.
+     * Os logs do Liquibase são direcionados para o arquivo liquibase.log.
+     * @throws MigrationException Se as migrações falharem; o esquema pode ter ficado parcialmente migrado
      */
     public void executeMigration() {
-        // Armazena as referências originais de System.out e System.err
-        var originalOut = System.out;
-        var originalErr = System.err;
-        
-        try (var fos = new FileOutputStream("liquibase.log")) {
-            // Redireciona a saída padrão e de erro para o arquivo de log
-            System.setOut(new PrintStream(fos));
-            System.setErr(new PrintStream(fos));
-            
+        String fingerprint;
+        try {
+            fingerprint = fingerprint();
+            if (!Boolean.getBoolean("board.migration.force") && fingerprint.equals(storedFingerprint())) {
+                return;
+            }
+        } catch (IOException ex) {
+            // Sem impressão digital confiável, segue pelo caminho completo
+            LIQUIBASE_LOGGER.log(Level.WARNING, "Falha ao calcular a impressão digital dos changelogs", ex);
+            fingerprint = null;
+        }
+
+        try {
+            redirectLiquibaseLog();
             try (
                 // Obtém uma nova conexão com o banco de dados
                 var connection = getConnection();
                 // Cria uma conexão JDBC wrapper para o Liquibase
-                var jdbcConnection = new JdbcConnection(connection);
+                var jdbcConnection = new JdbcConnection(connection)
             ) {
                 // Configura o Liquibase com o arquivo changelog principal
                 var liquibase = new Liquibase(
-                    "/db/changelog/db.changelog-master.yml",
+                    "/" + MASTER_CHANGELOG,
                     new ClassLoaderResourceAccessor(),
                     jdbcConnection);
-                
-                // Executa a atualização do banco de dados
-                liquibase.update();
-                
-            } catch (SQLException | LiquibaseException e) {
-                // Em caso de erro, restaura os streams originais e imprime o stacktrace
-                e.printStackTrace();
-                System.setErr(originalErr);
+
+                // Executa a atualização do banco de dados, enviando as mensagens
+                // de interface do Liquibase para o log em vez do console
+                Scope.child(Map.of(Scope.Attr.ui.name(), new LoggerUIService()), () -> liquibase.update());
             }
-        } catch (IOException ex) {
-            ex.printStackTrace();
-        } finally {
-            // Restaura os streams originais independentemente do resultado
-            System.setOut(originalOut);
-            System.setErr(originalErr);
+            if (fingerprint != null) {
+                Files.writeString(checksumFile, fingerprint, StandardCharsets.UTF_8);
+            }
+        } catch (Exception ex) {
+            LIQUIBASE_LOGGER.log(Level.SEVERE, "Falha ao executar as migrações", ex);
+            throw new MigrationException("Falha ao executar as migrações: " + ex.getMessage(), ex);
+        }
+    }
+
+    /**
+     * Executa as migrações em uma thread de segundo plano, permitindo que a
+     * interface seja exibida enquanto o banco é atualizado.
+     * @return Future concluído quando a migração terminar, ou com {@link MigrationException} se ela falhar
+     */
+    public CompletableFuture<Void> executeMigrationAsync() {
+        return CompletableFuture.runAsync(this::executeMigration, runnable -> {
+            var thread = new Thread(runnable, "board-migration");
+            thread.setDaemon(true);
+            thread.start();
+        });
+    }
+
+    /**
+     * Calcula a impressão digital dos changelogs do classpath e da URL do banco.
+     * @return Hash SHA-256 em hexadecimal
+     * @throws IOException Em caso de erro na leitura dos changelogs
+     */
+    String fingerprint() throws IOException {
+        try {
+            var digest = MessageDigest.getInstance("SHA-256");
+            digest.update(getUrl().getBytes(StandardCharsets.UTF_8));
+            digest.update(readResource(MASTER_CHANGELOG));
+            for (var migration : listMigrations()) {
+                digest.update(migration.getFileName().toString().getBytes(StandardCharsets.UTF_8));
+                digest.update(Files.readAllBytes(migration));
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    /**
+     * Lê a impressão digital gravada na última migração bem-sucedida.
+     * @return Impressão digital armazenada ou null se não houver
+     * @throws IOException Em caso de erro na leitura do arquivo
+     */
+    private String storedFingerprint() throws IOException {
+        return Files.exists(checksumFile) ? Files.readString(checksumFile, StandardCharsets.UTF_8).trim() : null;
+    }
+
+    /**
+     * Lista, em ordem de nome, os scripts do diretório de migrações,
+     * funcionando tanto com o classpath em diretório quanto dentro de um JAR.
+     * @return Caminhos dos scripts de migração
+     * @throws IOException Em caso de erro ao acessar o classpath
+     */
+    private List<Path> listMigrations() throws IOException {
+        var url = MigrationStrategy.class.getClassLoader().getResource(MIGRATIONS_DIR);
+        if (url == null) {
+            return List.of();
+        }
+        try {
+            var uri = url.toURI();
+            Path dir;
+            if ("jar".equals(uri.getScheme())) {
+                try {
+                    dir = FileSystems.getFileSystem(uri).provider().getPath(uri);
+                } catch (FileSystemNotFoundException ex) {
+                    dir = FileSystems.newFileSystem(uri, Map.of()).provider().getPath(uri);
+                }
+            } else {
+                dir = Path.of(uri);
+            }
+            try (Stream<Path> files = Files.list(dir)) {
+                return files.sorted((a, b) -> a.getFileName().toString().compareTo(b.getFileName().toString())).toList();
+            }
+        } catch (URISyntaxException ex) {
+            throw new IOException(ex);
+        }
+    }
+
+    /**
+     * Lê um recurso do classpath.
+     * @param name Nome do recurso
+     * @return Conteúdo do recurso (vazio se não existir)
+     * @throws IOException Em caso de erro na leitura
+     */
+    private byte[] readResource(final String name) throws IOException {
+        try (var in = MigrationStrategy.class.getClassLoader().getResourceAsStream(name)) {
+            return in == null ? new byte[0] : in.readAllBytes();
+        }
+    }
+
+    /**
+     * Direciona o log do Liquibase para o arquivo liquibase.log, sem alterar
+     * System.out e System.err do restante da aplicação.
+     * @throws IOException Em caso de erro ao abrir o arquivo de log
+     */
+    private static synchronized void redirectLiquibaseLog() throws IOException {
+        if (LIQUIBASE_LOGGER.getHandlers().length > 0) {
+            return;
         }
+        var handler = new FileHandler("liquibase.log");
+        handler.setFormatter(new SimpleFormatter());
+        LIQUIBASE_LOGGER.addHandler(handler);
+        LIQUIBASE_LOGGER.setUseParentHandlers(false);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,99 @@
+package br.com.dio.persistence.rank;
+
+import lombok.NoArgsConstructor;
+
+import static lombok.AccessLevel.PRIVATE;
+
+/**
+ * Chaves de ordenação fracionárias para Cards dentro de uma coluna.
+ *
+ * <p>Uma chave é lida como a parte fracionária de um número em base 62, com os dígitos
+ * {@code 0-9A-Za-z} em ordem ASCII; assim a ordem binária das strings (collation
+ * {@code ascii_bin}) é a ordem dos números. As chaves nunca terminam em {@code '0'},
+ * o que garante que sempre existe uma chave entre duas chaves diferentes: inserir ou
+ * repriorizar um Card altera apenas a linha dele, sem renumerar as demais.</p>
+ */
+@NoArgsConstructor(access = PRIVATE)
+public final class CardRank {
+
+    private static final String DIGITS = "0123456789ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz";
+    private static final int BASE = DIGITS.length();
+
+    // Início das chaves de uma coluna vazia: o meio do intervalo
+    private static final String FIRST = "V";
+
+    // Tamanho mínimo das chaves geradas para o fim da coluna: 62^8 inserções antes de crescer
+    private static final int APPEND_WIDTH = 8;
+
+    /**
+     * Gera a chave seguinte a uma chave, para inserir no fim da coluna. Completa a chave
+     * com zeros até {@value #APPEND_WIDTH} dígitos e incrementa o último (com transporte)
+     * em vez de dividir o intervalo, para que inserções sucessivas no fim não aumentem o
+     * tamanho das chaves.
+     * @param last Maior chave da coluna ou null se a coluna estiver vazia
+     * @return Chave maior que {@code last}
+     */
+    public static String after(final String last) {
+        var key = last == null ? FIRST : last;
+        validate(key);
+        var digits = (key + "0".repeat(Math.max(0, APPEND_WIDTH - key.length()))).toCharArray();
+        for (int i = digits.length - 1; i >= 0; i--) {
+            var value = DIGITS.indexOf(digits[i]);
+            if (value < BASE - 1) {
+                digits[i] = DIGITS.charAt(value + 1);
+                // Os dígitos seguintes viraram '0' pelo transporte e são descartados
+                return new String(digits, 0, i + 1);
+            }
+        }
+        // Todos os dígitos são o maior valor: só resta estender a chave
+        return key + FIRST;
+    }
+
+    /**
+     * Gera uma chave estritamente entre duas chaves.
+     * @param lower Chave anterior ou null para o início da coluna
+     * @param upper Chave seguinte ou null para o fim da coluna
+     * @return Chave entre {@code lower} e {@code upper}
+     * @throws IllegalArgumentException Se {@code lower} não for menor que {@code upper}
+     */
+    public static String between(final String lower, final String upper) {
+        var low = lower == null ? "" : lower;
+        if (!low.isEmpty()) {
+            validate(low);
+        }
+        if (upper != null) {
+            validate(upper);
+            if (low.compareTo(upper) >= 0) {
+                throw new IllegalArgumentException("A chave %s não é menor que %s".formatted(lower, upper));
+            }
+        }
+        var result = new StringBuilder();
+        var bounded = upper != null;
+        for (int i = 0; ; i++) {
+            var lowDigit = i < low.length() ? DIGITS.indexOf(low.charAt(i)) : 0;
+            var highDigit = bounded && i < upper.length() ? DIGITS.indexOf(upper.charAt(i)) : BASE;
+            if (lowDigit == highDigit) {
+                result.append(DIGITS.charAt(lowDigit));
+                continue;
+            }
+            var middle = (lowDigit + highDigit) / 2;
+            if (middle > lowDigit) {
+                return result.append(DIGITS.charAt(middle)).toString();
+            }
+            // Dígitos consecutivos: mantém o de baixo e o limite superior deixa de restringir
+            result.append(DIGITS.charAt(lowDigit));
+            bounded = false;
+        }
+    }
+
+    private static void validate(final String key) {
+        if (key.isEmpty() || key.charAt(key.length() - 1) == '0') {
+            throw new IllegalArgumentException("Chave de ordenação inválida: " + key);
+        }
+        for (int i = 0; i < key.length(); i++) {
+            if (DIGITS.indexOf(key.charAt(i)) < 0) {
+                throw new IllegalArgumentException("Chave de ordenação inválida: " + key);
+            }
+        }
+    }
+}
@@ -0,0 +1,1013 @@
+package br.com.dio.server;
+
+import br.com.dio.dto.AssignedCardDTO;
+import br.com.dio.dto.BoardColumnInfoDTO;
+import br.com.dio.exception.CardBlockedException;
+import br.com.dio.exception.CardFinishedException;
+import br.com.dio.exception.EntityNotFoundException;
+import br.com.dio.exception.OptimisticLockException;
+import br.com.dio.persistence.config.ConnectionPool;
+import br.com.dio.persistence.entity.BoardColumnEntity;
+import br.com.dio.persistence.entity.BoardColumnKindEnum;
+import br.com.dio.persistence.entity.BoardEntity;
+import br.com.dio.persistence.entity.CardEntity;
+import br.com.dio.persistence.entity.UserEntity;
+import br.com.dio.service.BlockReportService;
+import br.com.dio.service.BoardColumnService;
+import br.com.dio.service.BoardQueryService;
+import br.com.dio.service.BoardService;
+import br.com.dio.service.BoardWorkflowService;
+import br.com.dio.service.CardDependencyService;
+import br.com.dio.service.CardHierarchyService;
+import br.com.dio.service.CardQueryService;
+import br.com.dio.service.CardService;
+import br.com.dio.service.TagService;
+import br.com.dio.service.TransactionTemplate;
+import br.com.dio.service.UserService;
+import br.com.dio.tag.TagFilter;
+import br.com.dio.transfer.JsonLine;
+import br.com.dio.workflow.BoardWorkflow;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static br.com.dio.persistence.entity.BoardColumnKindEnum.CANCEL;
+import static br.com.dio.persistence.entity.BoardColumnKindEnum.FINAL;
+import static br.com.dio.persistence.entity.BoardColumnKindEnum.INITIAL;
+import static br.com.dio.persistence.entity.BoardColumnKindEnum.PENDING;
+
+/**
+ * Servidor HTTP/JSON embutido que expõe as operações de boards e cards.
+ *
+ * <p>Cada requisição é atendida em sua própria thread virtual quando a JVM oferece
+ * threads virtuais (Java 21+); em versões anteriores é usado um pool fixo de threads
+ * de plataforma ({@code board.server.threads}). O acesso ao banco é limitado pelo
+ * {@link ConnectionPool}, e cada requisição usa uma conexão apenas enquanto executa
+ * a operação.</p>
+ *
+ * <p>Rotas (corpos em JSON plano):</p>
+ * <ul>
+ *     <li>{@code GET /boards} e {@code POST /boards}
+ *     ({@code name, initialColumn, pendingColumns, finalColumn, cancelColumn})</li>
+ *     <li>{@code GET /boards/{id}} e {@code DELETE /boards/{id}}</li>
+ *     <li>{@code POST /boards/{id}/cards} ({@code title, description})</li>
+ *     <li>{@code POST /boards/{id}/columns} ({@code name, after}): insere uma coluna PENDING
+ *     após a coluna {@code after}; {@code POST /columns/{id}/move} ({@code after}) e
+ *     {@code DELETE /columns/{id}} movem e removem colunas PENDING</li>
+ *     <li>{@code GET /cards/{id}}</li>
+ *     <li>{@code GET /dashboard}: contagens de cards por tipo de coluna de todos os boards</li>
+ *     <li>{@code GET /reports/blocks}: relatório de bloqueios</li>
+ *     <li>{@code GET /metrics/transactions}: transações, deadlocks, esperas de bloqueio
+ *     esgotadas e repetições do processo</li>
+ *     <li>{@code GET /boards/{id}/workflow} e {@code PUT /boards/{id}/workflow}
+ *     ({@code transitions}: pares {@code origem:destino} separados por vírgula), que grava
+ *     uma nova versão do fluxo do board</li>
+ *     <li>{@code POST /cards/{id}/move} ({@code to} opcional: coluna de destino permitida
+ *     pelo fluxo), {@code /cancel}, {@code /block} e {@code /unblock} ({@code reason})</li>
+ *     <li>{@code POST /cards/{id}/rank} ({@code after}: card que deve ficar antes;
+ *     ausente para o topo da coluna)</li>
+ *     <li>{@code POST /columns/{id}/pull} ({@code worker, batch}): reserva para o worker os
+ *     próximos {@code batch} cards livres da coluna (padrão 1), usada como fila de trabalho;
+ *     {@code POST /cards/{id}/release} ({@code worker}) libera a reserva</li>
+ *     <li>{@code GET /cards/{id}/dependencies}: dependências diretas do card e cards que
+ *     dependem dele, direta ou indiretamente; {@code POST /cards/{id}/dependencies}
+ *     ({@code dependsOn}) e {@code DELETE /cards/{id}/dependencies/{dependsOnId}}</li>
+ *     <li>{@code GET /cards/{id}/subtree}: pai, filhos, descendentes e progresso do card na
+ *     hierarquia; {@code PUT /cards/{id}/parent} ({@code parent}; ausente para tornar o card
+ *     uma raiz) move o card e sua subárvore</li>
+ *     <li>{@code GET /users} e {@code POST /users} ({@code name});
+ *     {@code PUT /cards/{id}/assignee} ({@code assignee}; ausente para remover o responsável);
+ *     {@code GET /users/{id}/cards}: cards abertos do usuário em todos os boards;
+ *     {@code GET /users/{id}/wip}: contagem desses cards por tipo de coluna;
+ *     {@code GET /boards/{id}/swimlanes}: cards do board agrupados por responsável</li>
+ *     <li>{@code PUT /cards/{id}/tags/{tag}} e {@code DELETE /cards/{id}/tags/{tag}} marcam e
+ *     desmarcam o card; {@code GET /cards/{id}/tags}; {@code GET /boards/{id}/tags}: tags em
+ *     uso no board com a quantidade de cards; {@code GET /boards/{id}/cards?all=&any=&none=}
+ *     (tags separadas por vírgula): IDs dos cards com todas as tags de {@code all}, alguma
+ *     de {@code any} e nenhuma de {@code none}, resolvido no índice de tags em memória</li>
+ * </ul>
+ */
+public final class BoardApiServer implements AutoCloseable {
+
+    private static final int THREADS = Integer.getInteger("board.server.threads", 64);
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final ConnectionPool pool;
+
+    private BoardApiServer(final HttpServer server, final ExecutorService executor, final ConnectionPool pool) {
+        this.server = server;
+        this.executor = executor;
+        this.pool = pool;
+    }
+
+    /**
+     * Inicia o servidor na porta informada.
+     * @param port Porta HTTP (0 escolhe uma porta livre)
+     * @param pool Pool de conexões usado pelas requisições; é encerrado junto com o servidor
+     * @return Servidor em execução
+     * @throws IOException Se a porta não puder ser aberta
+     */
+    public static BoardApiServer start(final int port, final ConnectionPool pool) throws IOException {
+        var server = HttpServer.create(new InetSocketAddress(port), 0);
+        var executor = newExecutor();
+        var api = new BoardApiServer(server, executor, pool);
+        server.createContext("/", api::handle);
+        server.setExecutor(executor);
+        server.start();
+        return api;
+    }
+
+    /**
+     * Retorna a porta em que o servidor está escutando.
+     * @return Porta HTTP
+     */
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    /**
+     * Para de aceitar requisições, aguarda as em andamento por até 2 segundos
+     * e encerra o pool de conexões.
+     */
+    @Override
+    public void close() {
+        server.stop(2);
+        executor.shutdown();
+        try {
+            executor.awaitTermination(2, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        pool.close();
+    }
+
+    /**
+     * Cria o executor das requisições: uma thread virtual por requisição quando
+     * disponível, ou um pool fixo de threads de plataforma.
+     */
+    private static ExecutorService newExecutor() {
+        try {
+            var factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) factory.invoke(null);
+        } catch (ReflectiveOperationException ex) {
+            // Java anterior ao 21 (ou threads virtuais em preview desativado)
+            return Executors.newFixedThreadPool(THREADS, runnable -> {
+                var thread = new Thread(runnable, "board-api");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+
+    private void handle(final HttpExchange exchange) throws IOException {
+        try (exchange) {
+            Response response;
+            try {
+                response = route(exchange);
+            } catch (EntityNotFoundException ex) {
+                response = Response.error(404, ex.getMessage());
+            } catch (CardBlockedException | CardFinishedException | OptimisticLockException | IllegalStateException ex) {
+                response = Response.error(409, ex.getMessage());
+            } catch (IllegalArgumentException ex) {
+                response = Response.error(400, ex.getMessage());
+            } catch (SQLTransientConnectionException ex) {
+                response = Response.error(503, ex.getMessage());
+            } catch (SQLException | RuntimeException ex) {
+                response = Response.error(500, ex.getMessage());
+            }
+            var headers = exchange.getResponseHeaders();
+            if (response.body() == null) {
+                exchange.sendResponseHeaders(response.status(), -1);
+                return;
+            }
+            var bytes = response.body().getBytes(StandardCharsets.UTF_8);
+            headers.set("Content-Type", "application/json; charset=utf-8");
+            exchange.sendResponseHeaders(response.status(), bytes.length);
+            exchange.getResponseBody().write(bytes);
+        }
+    }
+
+    private Response route(final HttpExchange exchange) throws IOException, SQLException {
+        var method = exchange.getRequestMethod();
+        var path = Arrays.stream(exchange.getRequestURI().getPath().split("/"))
+                .filter(s -> !s.isEmpty())
+                .toList();
+        if (path.isEmpty()) {
+            return Response.error(404, "Rota não encontrada");
+        }
+        return switch (path.get(0)) {
+            case "boards" -> routeBoards(method, path, exchange);
+            case "cards" -> routeCards(method, path, exchange);
+            case "columns" -> routeColumns(method, path, exchange);
+            case "users" -> routeUsers(method, path, exchange);
+            case "dashboard" -> path.size() == 1 && method.equals("GET")
+                    ? dashboard()
+                    : Response.error(404, "Rota não encontrada");
+            case "reports" -> path.size() == 2 && path.get(1).equals("blocks") && method.equals("GET")
+                    ? blockReport()
+                    : Response.error(404, "Rota não encontrada");
+            case "metrics" -> path.size() == 2 && path.get(1).equals("transactions") && method.equals("GET")
+                    ? transactionMetrics()
+                    : Response.error(404, "Rota não encontrada");
+            default -> Response.error(404, "Rota não encontrada");
+        };
+    }
+
+    private Response routeBoards(final String method, final List<String> path,
+                                 final HttpExchange exchange) throws IOException, SQLException {
+        if (path.size() == 1) {
+            return switch (method) {
+                case "GET" -> listBoards();
+                case "POST" -> createBoard(readBody(exchange));
+                default -> Response.error(405, "Método não suportado");
+            };
+        }
+        var boardId = parseId(path.get(1));
+        if (path.size() == 2) {
+            return switch (method) {
+                case "GET" -> showBoard(boardId);
+                case "DELETE" -> deleteBoard(boardId);
+                default -> Response.error(405, "Método não suportado");
+            };
+        }
+        if (path.size() == 3 && path.get(2).equals("cards")) {
+            return switch (method) {
+                case "GET" -> filterCards(boardId, query(exchange));
+                case "POST" -> createCard(boardId, readBody(exchange));
+                default -> Response.error(405, "Método não suportado");
+            };
+        }
+        if (path.size() == 3 && path.get(2).equals("tags") && method.equals("GET")) {
+            return listTags(boardId);
+        }
+        if (path.size() == 3 && path.get(2).equals("workflow")) {
+            return switch (method) {
+                case "GET" -> showWorkflow(boardId);
+                case "PUT" -> saveWorkflow(boardId, required(readBody(exchange), "transitions"));
+                default -> Response.error(405, "Método não suportado");
+            };
+        }
+        if (path.size() == 3 && path.get(2).equals("swimlanes") && method.equals("GET")) {
+            return showSwimlanes(boardId);
+        }
+        if (path.size() == 3 && path.get(2).equals("columns") && method.equals("POST")) {
+            var body = readBody(exchange);
+            return createColumn(boardId, required(body, "name"), parseId(required(body, "after")));
+        }
+        return Response.error(404, "Rota não encontrada");
+    }
+
+    private Response routeColumns(final String method, final List<String> path,
+                                  final HttpExchange exchange) throws IOException, SQLException {
+        if (path.size() == 2) {
+            return method.equals("DELETE")
+                    ? removeColumn(parseId(path.get(1)))
+                    : Response.error(405, "Método não suportado");
+        }
+        if (path.size() == 3 && path.get(2).equals("move")) {
+            return method.equals("POST")
+                    ? moveColumn(parseId(path.get(1)), parseId(required(readBody(exchange), "after")))
+                    : Response.error(405, "Método não suportado");
+        }
+        if (path.size() == 3 && path.get(2).equals("pull")) {
+            if (!method.equals("POST")) {
+                return Response.error(405, "Método não suportado");
+            }
+            var body = readBody(exchange);
+            var batch = body.get("batch");
+            return pullCards(parseId(path.get(1)), required(body, "worker"),
+                    batch == null || batch.isBlank() ? 1 : parseCount(batch));
+        }
+        return Response.error(404, "Rota não encontrada");
+    }
+
+    private Response routeUsers(final String method, final List<String> path,
+                                final HttpExchange exchange) throws IOException, SQLException {
+        if (path.size() == 1) {
+            return switch (method) {
+                case "GET" -> listUsers();
+                case "POST" -> createUser(required(readBody(exchange), "name"));
+                default -> Response.error(405, "Método não suportado");
+            };
+        }
+        if (path.size() != 3) {
+            return Response.error(404, "Rota não encontrada");
+        }
+        if (!method.equals("GET")) {
+            return Response.error(405, "Método não suportado");
+        }
+        var userId = parseId(path.get(1));
+        return switch (path.get(2)) {
+            case "cards" -> userCards(userId);
+            case "wip" -> userWip(userId);
+            default -> Response.error(404, "Rota não encontrada");
+        };
+    }
+
+    private Response routeCards(final String method, final List<String> path,
+                                final HttpExchange exchange) throws IOException, SQLException {
+        if (path.size() < 2) {
+            return Response.error(404, "Rota não encontrada");
+        }
+        var cardId = parseId(path.get(1));
+        if (path.size() == 2) {
+            return method.equals("GET") ? showCard(cardId) : Response.error(405, "Método não suportado");
+        }
+        if (path.get(2).equals("dependencies")) {
+            return routeDependencies(method, path, cardId, exchange);
+        }
+        if (path.get(2).equals("tags")) {
+            return routeTags(method, path, cardId);
+        }
+        if (path.size() != 3) {
+            return Response.error(404, "Rota não encontrada");
+        }
+        if (path.get(2).equals("subtree")) {
+            return method.equals("GET") ? showSubtree(cardId) : Response.error(405, "Método não suportado");
+        }
+        if (path.get(2).equals("assignee")) {
+            return method.equals("PUT") ? assignCard(cardId, readBody(exchange).get("assignee")) : Response.error(405, "Método não suportado");
+        }
+        if (path.get(2).equals("parent")) {
+            return method.equals("PUT") ? setParent(cardId, readBody(exchange).get("parent")) : Response.error(405, "Método não suportado");
+        }
+        if (!method.equals("POST")) {
+            return Response.error(405, "Método não suportado");
+        }
+        return switch (path.get(2)) {
+            case "move" -> moveCard(cardId, readBody(exchange).get("to"));
+            case "cancel" -> cancelCard(cardId);
+            case "block" -> blockCard(cardId, required(readBody(exchange), "reason"));
+            case "unblock" -> unblockCard(cardId, required(readBody(exchange), "reason"));
+            case "rank" -> rankCard(cardId, readBody(exchange).get("after"));
+            case "release" -> releaseCard(cardId, required(readBody(exchange), "worker"));
+            default -> Response.error(404, "Rota não encontrada");
+        };
+    }
+
+    private Response routeDependencies(final String method, final List<String> path, final Long cardId,
+                                       final HttpExchange exchange) throws IOException, SQLException {
+        if (path.size() == 3) {
+            return switch (method) {
+                case "GET" -> showDependencies(cardId);
+                case "POST" -> addDependency(cardId, parseId(required(readBody(exchange), "dependsOn")));
+                default -> Response.error(405, "Método não suportado");
+            };
+        }
+        if (path.size() == 4) {
+            return method.equals("DELETE")
+                    ? removeDependency(cardId, parseId(path.get(3)))
+                    : Response.error(405, "Método não suportado");
+        }
+        return Response.error(404, "Rota não encontrada");
+    }
+
+    private Response routeTags(final String method, final List<String> path, final Long cardId) throws SQLException {
+        if (path.size() == 3) {
+            return method.equals("GET") ? cardTags(cardId) : Response.error(405, "Método não suportado");
+        }
+        if (path.size() == 4) {
+            return switch (method) {
+                case "PUT" -> tagCard(cardId, path.get(3));
+                case "DELETE" -> untagCard(cardId, path.get(3));
+                default -> Response.error(405, "Método não suportado");
+            };
+        }
+        return Response.error(404, "Rota não encontrada");
+    }
+
+    private Response listBoards() throws SQLException {
+        try (var connection = pool.getConnection()) {
+            var json = new StringBuilder("[");
+            for (var board : new BoardQueryService(connection).findAll()) {
+                if (json.length() > 1) {
+                    json.append(',');
+                }
+                JsonLine.write(json).field("id", board.getId()).field("name", board.getName()).end();
+            }
+            return Response.ok(200, json.append(']').toString());
+        }
+    }
+
+    private Response dashboard() throws SQLException {
+        try (var connection = pool.getConnection()) {
+            var json = new StringBuilder("[");
+            for (var row : new BoardQueryService(connection).dashboard()) {
+                if (json.length() > 1) {
+                    json.append(',');
+                }
+                JsonLine.write(json)
+                        .field("id", row.id())
+                        .field("name", row.name())
+                        .field("initialCards", row.initialCards())
+                        .field("pendingCards", row.pendingCards())
+                        .field("finalCards", row.finalCards())
+                        .field("cancelCards", row.cancelCards())
+                        .field("openBlocks", row.openBlocks())
+                        .field("archivedCards", row.archivedCards())
+                        .end();
+            }
+            return Response.ok(200, json.append(']').toString());
+        }
+    }
+
+    private Response transactionMetrics() {
+        var metrics = TransactionTemplate.metrics();
+        var json = new StringBuilder();
+        JsonLine.write(json)
+                .field("transactions", metrics.transactions())
+                .field("deadlocks", metrics.deadlocks())
+                .field("lockTimeouts", metrics.lockTimeouts())
+                .field("rankConflicts", metrics.rankConflicts())
+                .field("retries", metrics.retries())
+                .field("exhausted", metrics.exhausted())
+                .field("budgetDenied", metrics.budgetDenied())
+                .end();
+        return Response.ok(200, json.toString());
+    }
+
+    private Response blockReport() throws SQLException {
+        try (var connection = pool.getConnection()) {
+            var report = new BlockReportService(connection).report(10);
+            var cards = new StringBuilder("[");
+            for (var card : report.blockedCards()) {
+                if (cards.length() > 1) {
+                    cards.append(',');
+                }
+                JsonLine.write(cards)
+                        .field("cardId", card.cardId())
+                        .field("title", card.title())
+                        .field("boardId", card.boardId())
+                        .field("boardName", card.boardName())
+                        .field("columnName", card.columnName())
+                        .field("reason", card.reason())
+                        .field("blockedAt", card.blockedAt() == null ? null : card.blockedAt().toString())
+                        .field("ageSeconds", card.ageSeconds())
+                        .end();
+            }
+            var columns = new StringBuilder("[");
+            for (var column : report.columns()) {
+                if (columns.length() > 1) {
+                    columns.append(',');
+                }
+                JsonLine.write(columns)
+                        .field("boardId", column.boardId())
+                        .field("boardName", column.boardName())
+                        .field("columnId", column.columnId())
+                        .field("columnName", column.columnName())
+                        .field("blocks", column.blocks())
+                        .field("meanSeconds", column.meanSeconds())
+                        .field("p95Seconds", column.p95Seconds())
+                        .end();
+            }
+            var reasons = new StringBuilder("[");
+            for (var reason : report.reasons()) {
+                if (reasons.length() > 1) {
+                    reasons.append(',');
+                }
+                JsonLine.write(reasons)
+                        .field("rank", reason.rank())
+                        .field("reason", reason.reason())
+                        .field("blocks", reason.blocks())
+                        .end();
+            }
+            var json = JsonLine.write(new StringBuilder())
+                    .json("blockedCards", cards.append(']'))
+                    .json("columns", columns.append(']'))
+                    .json("reasons", reasons.append(']'))
+                    .end();
+            return Response.ok(200, json.toString());
+        }
+    }
+
+    private Response showBoard(final Long boardId) throws SQLException {
+        try (var connection = pool.getConnection()) {
+            var details = new BoardQueryService(connection).showBoardDetails(boardId)
+                    .orElseThrow(() -> boardNotFound(boardId));
+            var columns = new StringBuilder("[");
+            for (var column : details.columns()) {
+                if (columns.length() > 1) {
+                    columns.append(',');
+                }
+                JsonLine.write(columns)
+                        .field("id", column.id())
+                        .field("name", column.name())
+                        .field("kind", column.kind().name())
+                        .field("cardsAmount", column.cardsAmount())
+                        .end();
+            }
+            columns.append(']');
+            var json = JsonLine.write(new StringBuilder())
+                    .field("id", details.id())
+                    .field("name", details.name())
+                    .json("columns", columns)
+                    .end();
+            return Response.ok(200, json.toString());
+        }
+    }
+
+    private Response createBoard(final Map<String, String> body) throws SQLException {
+        var entity = new BoardEntity();
+        entity.setName(required(body, "name"));
+        List<BoardColumnEntity> columns = new ArrayList<>();
+        columns.add(column(body.getOrDefault("initialColumn", "Inicial"), INITIAL, columns.size()));
+        var pending = body.get("pendingColumns");
+        if (pending != null && !pending.isBlank()) {
+            for (var name : pending.split(",")) {
+                columns.add(column(name.strip(), PENDING, columns.size()));
+            }
+        }
+        columns.add(column(body.getOrDefault("finalColumn", "Final"), FINAL, columns.size()));
+        columns.add(column(body.getOrDefault("cancelColumn", "Cancelado"), CANCEL, columns.size()));
+        entity.setBoardColumns(columns);
+        try (var connection = pool.getConnection()) {
+            new BoardService(connection).insert(entity);
+        }
+        var json = JsonLine.write(new StringBuilder())
+                .field("id", entity.getId())
+                .field("name", entity.getName())
+                .end();
+        return Response.ok(201, json.toString());
+    }
+
+    private Response deleteBoard(final Long boardId) throws SQLException {
+        try (var connection = pool.getConnection()) {
+            if (!new BoardService(connection).deleteAsync(boardId)) {
+                throw boardNotFound(boardId);
+            }
+        }
+        // A remoção dos dados continua em segundo plano
+        return Response.empty(202);
+    }
+
+    private Response createCard(final Long boardId, final Map<String, String> body) throws SQLException {
+        var card = new CardEntity();
+        card.setTitle(required(body, "title"));
+        card.setDescription(body.getOrDefault("description", ""));
+        try (var connection = pool.getConnection()) {
+            var board = new BoardQueryService(connection).findById(boardId)
+                    .orElseThrow(() -> boardNotFound(boardId));
+            card.setBoardColumn(board.getInitialColumn());
+            new CardService(connection).create(card);
+        }
+        var json = JsonLine.write(new StringBuilder()).field("id", card.getId()).end();
+        return Response.ok(201, json.toString());
+    }
+
+    private Response showWorkflow(final Long boardId) throws SQLException {
+        try (var connection = pool.getConnection()) {
+            var board = new BoardQueryService(connection).findById(boardId)
+                    .orElseThrow(() -> boardNotFound(boardId));
+            var workflow = new BoardWorkflowService(connection).forBoard(boardId, columnsInfo(board));
+            var transitions = new StringBuilder("[");
+            for (var transition : workflow.transitions()) {
+                if (transitions.length() > 1) {
+                    transitions.append(',');
+                }
+                JsonLine.write(transitions)
+                        .field("from", transition.fromColumnId())
+                        .field("to", transition.toColumnId())
+                        .end();
+            }
+            var json = JsonLine.write(new StringBuilder())
+                    .field("version", workflow.getVersion())
+                    .json("transitions", transitions.append(']'))
+                    .end();
+            return Response.ok(200, json.toString());
+        }
+    }
+
+    private Response saveWorkflow(final Long boardId, final String transitions) throws SQLException {
+        int version;
+        try (var connection = pool.getConnection()) {
+            version = new BoardWorkflowService(connection).save(boardId, BoardWorkflow.parseTransitions(transitions));
+        }
+        var json = JsonLine.write(new StringBuilder()).field("version", version).end();
+        return Response.ok(200, json.toString());
+    }
+
+    private Response createColumn(final Long boardId, final String name, final Long afterColumnId) throws SQLException {
+        BoardColumnEntity column;
+        try (var connection = pool.getConnection()) {
+            column = new BoardColumnService(connection).insertPending(boardId, name, afterColumnId);
+        }
+        var json = JsonLine.write(new StringBuilder()).field("id", column.getId()).field("order", column.getOrder()).end();
+        return Response.ok(201, json.toString());
+    }
+
+    private Response moveColumn(final Long columnId, final Long afterColumnId) throws SQLException {
+        try (var connection = pool.getConnection()) {
+            new BoardColumnService(connection).movePending(columnId, afterColumnId);
+        }
+        return Response.empty(204);
+    }
+
+    private Response removeColumn(final Long columnId) throws SQLException {
+        try (var connection = pool.getConnection()) {
+            new BoardColumnService(connection).removePending(columnId);
+        }
+        return Response.empty(204);
+    }
+
+    private Response showCard(final Long cardId) throws SQLException {
+        try (var connection = pool.getConnection()) {
+            var card = new CardQueryService(connection).findById(cardId)
+                    .orElseThrow(() -> cardNotFound(cardId));
+            var json = JsonLine.write(new StringBuilder())
+                    .field("id", card.id())
+                    .field("title", card.title())
+                    .field("description", card.description())
+                    .field("blocked", card.blocked())
+                    .field("blockedAt", card.blockedAt() == null ? null : card.blockedAt().toString())
+                    .field("blockReason", card.blockReason())
+                    .field("blocksAmount", card.blocksAmount())
+                    .field("columnId", card.columnId())
+                    .field("columnName", card.columnName())
+                    .field("boardId", card.boardId())
+                    .field("assignee", card.assigneeName())
+                    .end();
+            return Response.ok(200, json.toString());
+        }
+    }
+
+    private Response moveCard(final Long cardId, final String to) throws SQLException {
+        try (var connection = pool.getConnection()) {
+            var board = boardOfCard(connection, cardId);
+            if (to == null || to.isBlank()) {
+                new CardService(connection).moveToNextColumn(cardId, columnsInfo(board));
+            } else {
+                new CardService(connection).moveToColumn(cardId, parseId(to), columnsInfo(board));
+            }
+        }
+        return Response.empty(204);
+    }
+
+    private Response cancelCard(final Long cardId) throws SQLException {
+        try (var connection = pool.getConnection()) {
+            var board = boardOfCard(connection, cardId);
+            new CardService(connection).cancel(cardId, board.getCancelColumn().getId(), columnsInfo(board));
+        }
+        return Response.empty(204);
+    }
+
+    private Response blockCard(final Long cardId, final String reason) throws SQLException {
+        try (var connection = pool.getConnection()) {
+            var board = boardOfCard(connection, cardId);
+            new CardService(connection).block(cardId, reason, columnsInfo(board));
+        }
+        return Response.empty(204);
+    }
+
+    private Response unblockCard(final Long cardId, final String reason) throws SQLException {
+        try (var connection = pool.getConnection()) {
+            new CardService(connection).unblock(cardId, reason);
+        }
+        return Response.empty(204);
+    }
+
+    private Response rankCard(final Long cardId, final String after) throws SQLException {
+        try (var connection = pool.getConnection()) {
+            new CardService(connection).reorder(cardId, after == null || after.isBlank() ? null : parseId(after));
+        }
+        return Response.empty(204);
+    }
+
+    private Response pullCards(final Long columnId, final String workerId, final int batchSize) throws SQLException {
+        try (var connection = pool.getConnection()) {
+            var json = new StringBuilder("[");
+            for (var card : new CardService(connection).pullNext(columnId, workerId, batchSize)) {
+                if (json.length() > 1) {
+                    json.append(',');
+                }
+                JsonLine.write(json)
+                        .field("id", card.getId())
+                        .field("title", card.getTitle())
+                        .field("description", card.getDescription())
+                        .end();
+            }
+            return Response.ok(200, json.append(']').toString());
+        }
+    }
+
+    private Response releaseCard(final Long cardId, final String workerId) throws SQLException {
+        try (var connection = pool.getConnection()) {
+            new CardService(connection).release(cardId, workerId);
+        }
+        return Response.empty(204);
+    }
+
+    private Response showDependencies(final Long cardId) throws SQLException {
+        try (var connection = pool.getConnection()) {
+            var dependencies = new CardDependencyService(connection).findDependencies(cardId);
+            var json = JsonLine.write(new StringBuilder())
+                    .field("id", dependencies.cardId())
+                    .json("dependsOn", idArray(dependencies.dependsOn()))
+                    .json("unblocks", idArray(dependencies.unblocks()))
+                    .end();
+            return Response.ok(200, json.toString());
+        }
+    }
+
+    private Response addDependency(final Long cardId, final Long dependsOnId) throws SQLException {
+        try (var connection = pool.getConnection()) {
+            var added = new CardDependencyService(connection).addDependency(cardId, dependsOnId);
+            return added ? Response.empty(201) : Response.empty(204);
+        }
+    }
+
+    private Response removeDependency(final Long cardId, final Long dependsOnId) throws SQLException {
+        try (var connection = pool.getConnection()) {
+            if (!new CardDependencyService(connection).removeDependency(cardId, dependsOnId)) {
+                return Response.error(404, "O card %s não depende do card %s".formatted(cardId, dependsOnId));
+            }
+        }
+        return Response.empty(204);
+    }
+
+    private Response assignCard(final Long cardId, final String assignee) throws SQLException {
+        try (var connection = pool.getConnection()) {
+            new CardService(connection).assign(cardId, assignee == null || assignee.isBlank() ? null : parseId(assignee));
+        }
+        return Response.empty(204);
+    }
+
+    private Response listUsers() throws SQLException {
+        try (var connection = pool.getConnection()) {
+            var json = new StringBuilder("[");
+            for (var user : new UserService(connection).findAll()) {
+                if (json.length() > 1) {
+                    json.append(',');
+                }
+                JsonLine.write(json).field("id", user.getId()).field("name", user.getName()).end();
+            }
+            return Response.ok(200, json.append(']').toString());
+        }
+    }
+
+    private Response createUser(final String name) throws SQLException {
+        UserEntity user;
+        try (var connection = pool.getConnection()) {
+            user = new UserService(connection).create(name);
+        }
+        var json = JsonLine.write(new StringBuilder()).field("id", user.getId()).end();
+        return Response.ok(201, json.toString());
+    }
+
+    private Response userCards(final Long userId) throws SQLException {
+        try (var connection = pool.getConnection()) {
+            return Response.ok(200, assignedCards(new UserService(connection).findOpenCards(userId)).toString());
+        }
+    }
+
+    private Response userWip(final Long userId) throws SQLException {
+        try (var connection = pool.getConnection()) {
+            var wip = new UserService(connection).findWip(userId);
+            var json = JsonLine.write(new StringBuilder())
+                    .field("id", wip.userId())
+                    .field("initialCards", wip.initialCards())
+                    .field("pendingCards", wip.pendingCards())
+                    .end();
+            return Response.ok(200, json.toString());
+        }
+    }
+
+    private Response showSwimlanes(final Long boardId) throws SQLException {
+        try (var connection = pool.getConnection()) {
+            var json = new StringBuilder("[");
+            for (var lane : new UserService(connection).findSwimlanes(boardId)) {
+                if (json.length() > 1) {
+                    json.append(',');
+                }
+                JsonLine.write(json)
+                        .field("assignee", lane.assigneeId())
+                        .field("name", lane.assigneeName())
+                        .json("cards", assignedCards(lane.cards()))
+                        .end();
+            }
+            return Response.ok(200, json.append(']').toString());
+        }
+    }
+
+    private Response tagCard(final Long cardId, final String tag) throws SQLException {
+        try (var connection = pool.getConnection()) {
+            new CardService(connection).addTag(cardId, tag);
+        }
+        return Response.empty(204);
+    }
+
+    private Response untagCard(final Long cardId, final String tag) throws SQLException {
+        try (var connection = pool.getConnection()) {
+            new CardService(connection).removeTag(cardId, tag);
+        }
+        return Response.empty(204);
+    }
+
+    private Response cardTags(final Long cardId) throws SQLException {
+        try (var connection = pool.getConnection()) {
+            new CardQueryService(connection).findById(cardId).orElseThrow(() -> cardNotFound(cardId));
+            var json = new StringBuilder("[");
+            for (var tag : new TagService(connection).findCardTags(cardId)) {
+                if (json.length() > 1) {
+                    json.append(',');
+                }
+                JsonLine.write(json).field("name", tag).end();
+            }
+            return Response.ok(200, json.append(']').toString());
+        }
+    }
+
+    private Response listTags(final Long boardId) throws SQLException {
+        try (var connection = pool.getConnection()) {
+            var json = new StringBuilder("[");
+            for (var tag : new TagService(connection).findTags(boardId)) {
+                if (json.length() > 1) {
+                    json.append(',');
+                }
+                JsonLine.write(json).field("name", tag.name()).field("cards", tag.cards()).end();
+            }
+            return Response.ok(200, json.append(']').toString());
+        }
+    }
+
+    private Response filterCards(final Long boardId, final Map<String, String> query) throws SQLException {
+        var filter = new TagFilter(tags(query.get("all")), tags(query.get("any")), tags(query.get("none")));
+        try (var connection = pool.getConnection()) {
+            var ids = new TagService(connection).filter(boardId, filter);
+            var json = JsonLine.write(new StringBuilder())
+                    .field("count", ids.size())
+                    .json("cards", idArray(ids))
+                    .end();
+            return Response.ok(200, json.toString());
+        }
+    }
+
+    /**
+     * Lê uma lista de tags separadas por vírgula.
+     * @throws IllegalArgumentException Se alguma tag for inválida
+     */
+    private static List<String> tags(final String value) {
+        if (value == null || value.isBlank()) {
+            return List.of();
+        }
+        return Arrays.stream(value.split(",")).map(TagFilter::normalize).toList();
+    }
+
+    private static StringBuilder assignedCards(final List<AssignedCardDTO> cards) {
+        var json = new StringBuilder("[");
+        for (var card : cards) {
+            if (json.length() > 1) {
+                json.append(',');
+            }
+            JsonLine.write(json)
+                    .field("id", card.id())
+                    .field("title", card.title())
+                    .field("boardId", card.boardId())
+                    .field("columnId", card.columnId())
+                    .field("columnName", card.columnName())
+                    .field("columnKind", card.columnKind().name())
+                    .end();
+        }
+        return json.append(']');
+    }
+
+    private Response showSubtree(final Long cardId) throws SQLException {
+        try (var connection = pool.getConnection()) {
+            var subtree = new CardHierarchyService(connection).findSubtree(cardId);
+            var json = JsonLine.write(new StringBuilder())
+                    .field("id", subtree.cardId())
+                    .field("parent", subtree.parentId())
+                    .json("children", idArray(subtree.childIds()))
+                    .field("descendants", subtree.descendants())
+                    .field("finishedDescendants", subtree.finishedDescendants())
+                    .field("canceledDescendants", subtree.canceledDescendants())
+                    .field("progress", subtree.progress())
+                    .end();
+            return Response.ok(200, json.toString());
+        }
+    }
+
+    private Response setParent(final Long cardId, final String parent) throws SQLException {
+        try (var connection = pool.getConnection()) {
+            new CardHierarchyService(connection).setParent(cardId, parent == null || parent.isBlank() ? null : parseId(parent));
+        }
+        return Response.empty(204);
+    }
+
+    private static String idArray(final List<Long> ids) {
+        return ids.stream().map(String::valueOf).collect(Collectors.joining(",", "[", "]"));
+    }
+
+    /**
+     * Carrega o board (com colunas) ao qual o card pertence.
+     */
+    private static BoardEntity boardOfCard(final Connection connection, final Long cardId) throws SQLException {
+        var card = new CardQueryService(connection).findById(cardId)
+                .orElseThrow(() -> cardNotFound(cardId));
+        return new BoardQueryService(connection).findById(card.boardId())
+                .orElseThrow(() -> boardNotFound(card.boardId()));
+    }
+
+    private static List<BoardColumnInfoDTO> columnsInfo(final BoardEntity board) {
+        return board.getBoardColumns().stream()
+                .map(bc -> new BoardColumnInfoDTO(bc.getId(), bc.getOrder(), bc.getKind(), bc.getVersion()))
+                .toList();
+    }
+
+    private static BoardColumnEntity column(final String name, final BoardColumnKindEnum kind, final int order) {
+        var column = new BoardColumnEntity();
+        column.setName(name);
+        column.setKind(kind);
+        column.setOrder(order);
+        return column;
+    }
+
+    private static Map<String, String> readBody(final HttpExchange exchange) throws IOException {
+        var body = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+        return body.isBlank() ? Map.of() : JsonLine.parse(body);
+    }
+
+    /**
+     * Lê os parâmetros da query string; parâmetros repetidos mantêm o último valor.
+     */
+    private static Map<String, String> query(final HttpExchange exchange) {
+        var raw = exchange.getRequestURI().getRawQuery();
+        if (raw == null || raw.isBlank()) {
+            return Map.of();
+        }
+        Map<String, String> parameters = new HashMap<>();
+        for (var pair : raw.split("&")) {
+            var separator = pair.indexOf('=');
+            var name = separator < 0 ? pair : pair.substring(0, separator);
+            var value = separator < 0 ? "" : pair.substring(separator + 1);
+            parameters.put(URLDecoder.decode(name, StandardCharsets.UTF_8), URLDecoder.decode(value, StandardCharsets.UTF_8));
+        }
+        return parameters;
+    }
+
+    private static String required(final Map<String, String> body, final String field) {
+        var value = body.get(field);
+        if (value == null || value.isBlank()) {
+            throw new IllegalArgumentException("O campo %s é obrigatório".formatted(field));
+        }
+        return value;
+    }
+
+    private static Long parseId(final String value) {
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException ex) {
+            throw new IllegalArgumentException("ID inválido: " + value);
+        }
+    }
+
+    private static int parseCount(final String value) {
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException ex) {
+            throw new IllegalArgumentException("Quantidade inválida: " + value);
+        }
+    }
+
+    private static EntityNotFoundException boardNotFound(final Long boardId) {
+        return new EntityNotFoundException("O board de id %s não foi encontrado".formatted(boardId));
+    }
+
+    private static EntityNotFoundException cardNotFound(final Long cardId) {
+        return new EntityNotFoundException("O card de id %s não foi encontrado".formatted(cardId));
+    }
+
+    /**
+     * Resposta HTTP: status e corpo JSON (null para respostas sem corpo).
+     */
+    private record Response(int status, String body) {
+
+        static Response ok(final int status, final String json) {
+            return new Response(status, json);
+        }
+
+        static Response empty(final int status) {
+            return new Response(status, null);
+        }
+
+        static Response error(final int status, final String message) {
+            return new Response(status, JsonLine.write(new StringBuilder()).field("error", message).end().toString());
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package br.com.dio.service;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+
+import br.com.dio.dto.BlockReportDTO;
+import br.com.dio.persistence.dao.BlockReportDAO;
+import lombok.AllArgsConstructor;
+
+/**
+ * Serviço do relatório de bloqueios de todos os Boards.
+ *
+ * <p>Antes de cada relatório o resumo de duração por coluna é atualizado de forma
+ * incremental. Desbloqueios mais recentes que {@code board.blocks.stats.lag}
+ * (padrão PT1M) ficam para a próxima atualização, para que transações ainda não
+ * confirmadas com horário anterior à marca não sejam perdidas. A marca é lida
+ * primeiro sem bloqueio, e só uma marca atrasada é bloqueada e avançada, para que
+ * relatórios frequentes não disputem a linha da marca.</p>
+ */
+@AllArgsConstructor
+public class BlockReportService {
+
+    private static final Duration LAG = Duration.parse(System.getProperty("board.blocks.stats.lag", "PT1M"));
+
+    // Quantidade máxima de colunas recalculadas por comando
+    private static final int COLUMNS_PER_REFRESH = 500;
+
+    // Conexão com o banco de dados
+    private final Connection connection;
+
+    /**
+     * Atualiza o resumo e monta o relatório de bloqueios.
+     * @param reasonsLimit Quantidade de posições do ranking de motivos
+     * @return Cards bloqueados, duração dos bloqueios por coluna e motivos mais frequentes
+     * @throws SQLException Em caso de erro no banco de dados
+     */
+    public BlockReportDTO report(final int reasonsLimit) throws SQLException {
+        refreshSummary();
+        var dao = new BlockReportDAO(connection);
+        return new TransactionTemplate(connection).execute("BlockReportService.report",
+                () -> new BlockReportDTO(dao.findBlockedCards(), dao.findDurationStats(), dao.findTopReasons(reasonsLimit)));
+    }
+
+    /**
+     * Recalcula a duração dos bloqueios das colunas com desbloqueios desde a última
+     * atualização e avança a marca, em uma transação. Se a marca já estiver em dia,
+     * retorna sem bloqueá-la.
+     * @return Quantidade de colunas recalculadas
+     * @throws SQLException Em caso de erro no banco de dados
+     */
+    public int refreshSummary() throws SQLException {
+        var dao = new BlockReportDAO(connection);
+        var transaction = new TransactionTemplate(connection);
+        var current = transaction.execute("BlockReportService.findRefreshedUntil", dao::findRefreshedUntil);
+        if (!OffsetDateTime.now().minus(LAG).isAfter(current)) {
+            return 0;
+        }
+        return transaction.execute("BlockReportService.refreshSummary", () -> {
+            // Outra atualização pode ter avançado a marca depois da leitura sem bloqueio
+            var after = dao.lockRefreshedUntil();
+            var until = OffsetDateTime.now().minus(LAG);
+            if (!until.isAfter(after)) {
+                return 0;
+            }
+            var columns = dao.findColumnsUnblockedBetween(after, until);
+            for (int i = 0; i < columns.size(); i += COLUMNS_PER_REFRESH) {
+                dao.refreshDurationStats(columns.subList(i, Math.min(i + COLUMNS_PER_REFRESH, columns.size())), until);
+            }
+            dao.updateRefreshedUntil(until);
+            return columns.size();
+        });
+    }
+}
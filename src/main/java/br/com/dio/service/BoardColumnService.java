@@ -0,0 +1,245 @@
+package br.com.dio.service;
+
+import static br.com.dio.persistence.entity.BoardColumnKindEnum.INITIAL;
+import static br.com.dio.persistence.entity.BoardColumnKindEnum.PENDING;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+
+import br.com.dio.exception.EntityNotFoundException;
+import br.com.dio.exception.OptimisticLockException;
+import br.com.dio.monitoring.BoardOperationEvent;
+import br.com.dio.persistence.dao.BoardColumnDAO;
+import br.com.dio.persistence.dao.BoardDAO;
+import br.com.dio.persistence.dao.BoardWorkflowDAO;
+import br.com.dio.persistence.entity.BoardColumnEntity;
+import lombok.AllArgsConstructor;
+
+/**
+ * Serviço de edição da estrutura de colunas de um board em uso.
+ *
+ * <p>Apenas colunas PENDING podem ser inseridas, removidas ou movidas, sempre entre a
+ * coluna INITIAL e a FINAL. Cada edição bloqueia a linha do board e grava uma ordem
+ * livre entre as colunas vizinhas, alterando uma única coluna; as demais colunas só são
+ * reespaçadas quando as vizinhas já têm ordens consecutivas. Qualquer falha desfaz a
+ * transação, liberando o bloqueio do board.</p>
+ *
+ * <p>Cada edição incrementa a versão da estrutura do board, de modo que movimentações de
+ * Cards baseadas em uma lista de colunas lida antes dela sejam recusadas em vez de usar
+ * uma ordem que não existe mais, e descarta o fluxo compilado do board depois do commit.
+ * Uma coluna inserida em um board com fluxo gravado entra em uma nova versão do fluxo,
+ * entre a coluna anterior e a seguinte (ver {@link BoardWorkflowService}).</p>
+ */
+@AllArgsConstructor
+public class BoardColumnService {
+
+    // Conexão com o banco de dados
+    private final Connection connection;
+
+    /**
+     * Insere uma coluna PENDING logo após outra coluna do board.
+     * @param boardId ID do board
+     * @param name Nome da nova coluna
+     * @param afterColumnId ID da coluna INITIAL ou PENDING que deve ficar antes da nova coluna
+     * @return Coluna criada, com ID e ordem
+     * @throws SQLException Em caso de erro no banco de dados
+     * @throws EntityNotFoundException Se o board ou a coluna de referência não forem encontrados
+     * @throws IllegalArgumentException Se a coluna de referência não for INITIAL ou PENDING
+     */
+    public BoardColumnEntity insertPending(final Long boardId, final String name, final Long afterColumnId) throws SQLException {
+        var event = BoardOperationEvent.start("insertColumn", boardId);
+        var success = false;
+        try {
+            var result = new TransactionTemplate(connection).execute("BoardColumnService.insertPending", () -> {
+                if (name == null || name.isBlank()) {
+                    throw new IllegalArgumentException("O nome da coluna é obrigatório");
+                }
+                var dao = new BoardColumnDAO(connection);
+                var boardColumns = lockColumns(connection, boardId);
+                var after = findAnchor(boardColumns, afterColumnId);
+                var order = freeOrderAfter(boardColumns, after, null);
+                if (order == null) {
+                    dao.respace(boardId);
+                    boardColumns = dao.findByBoardId(boardId);
+                    order = freeOrderAfter(boardColumns, findAnchor(boardColumns, afterColumnId), null);
+                }
+                var entity = new BoardColumnEntity();
+                entity.setName(name);
+                entity.setKind(PENDING);
+                entity.setOrder(order);
+                entity.getBoard().setId(boardId);
+                dao.insert(entity);
+                new BoardDAO(connection).incrementStructureVersion(boardId);
+                var previous = findAnchor(boardColumns, afterColumnId);
+                var next = boardColumns.get(boardColumns.indexOf(previous) + 1);
+                new BoardWorkflowService(connection).columnInserted(boardId, previous.getId(), entity.getId(), next.getId());
+                event.columns(boardColumns.size() + 1);
+                return entity;
+            });
+            BoardWorkflowService.invalidate(boardId);
+            success = true;
+            return result;
+        } finally {
+            event.finish(boardId, success);
+        }
+    }
+
+    /**
+     * Move uma coluna PENDING para logo após outra coluna do mesmo board.
+     * @param columnId ID da coluna PENDING a ser movida
+     * @param afterColumnId ID da coluna INITIAL ou PENDING que deve ficar antes dela
+     * @throws SQLException Em caso de erro no banco de dados
+     * @throws EntityNotFoundException Se alguma das colunas não for encontrada
+     * @throws IllegalArgumentException Se as colunas não forem dos tipos permitidos ou forem a mesma
+     */
+    public void movePending(final Long columnId, final Long afterColumnId) throws SQLException {
+        var dao = new BoardColumnDAO(connection);
+        var boardId = dao.findBoardId(columnId).orElseThrow(() -> columnNotFound(columnId));
+        var event = BoardOperationEvent.start("moveColumn", boardId);
+        var success = false;
+        try {
+            new TransactionTemplate(connection).run("BoardColumnService.movePending", () -> {
+                if (columnId.equals(afterColumnId)) {
+                    throw new IllegalArgumentException("A coluna não pode ser posicionada após ela mesma");
+                }
+                var boardColumns = lockColumns(connection, boardId);
+                var column = findPending(boardColumns, columnId);
+                var after = findAnchor(boardColumns, afterColumnId);
+                var order = freeOrderAfter(boardColumns, after, column);
+                if (order == null) {
+                    dao.respace(boardId);
+                    boardColumns = dao.findByBoardId(boardId);
+                    column = findPending(boardColumns, columnId);
+                    order = freeOrderAfter(boardColumns, findAnchor(boardColumns, afterColumnId), column);
+                }
+                if (order != column.getOrder()) {
+                    dao.updateOrder(columnId, order);
+                    new BoardDAO(connection).incrementStructureVersion(boardId);
+                }
+                event.columns(boardColumns.size());
+            });
+            BoardWorkflowService.invalidate(boardId);
+            success = true;
+        } finally {
+            event.finish(boardId, success);
+        }
+    }
+
+    /**
+     * Remove uma coluna PENDING vazia. As demais colunas não são alteradas.
+     * @param columnId ID da coluna
+     * @throws SQLException Em caso de erro no banco de dados
+     * @throws EntityNotFoundException Se a coluna não for encontrada
+     * @throws IllegalArgumentException Se a coluna não for PENDING
+     * @throws IllegalStateException Se a coluna contiver cards ou for usada pelo fluxo ativo do board
+     */
+    public void removePending(final Long columnId) throws SQLException {
+        var dao = new BoardColumnDAO(connection);
+        var boardId = dao.findBoardId(columnId).orElseThrow(() -> columnNotFound(columnId));
+        var event = BoardOperationEvent.start("removeColumn", boardId);
+        var success = false;
+        try {
+            new TransactionTemplate(connection).run("BoardColumnService.removePending", () -> {
+                var boardColumns = lockColumns(connection, boardId);
+                findPending(boardColumns, columnId);
+                if (dao.hasCards(columnId)) {
+                    throw new IllegalStateException("A coluna %s contém cards e não pode ser removida".formatted(columnId));
+                }
+                if (new BoardWorkflowDAO(connection).isUsedByActiveVersion(columnId)) {
+                    throw new IllegalStateException("A coluna %s é usada pelo fluxo do board; altere o fluxo antes de removê-la"
+                            .formatted(columnId));
+                }
+                dao.delete(columnId);
+                new BoardDAO(connection).incrementStructureVersion(boardId);
+                event.columns(boardColumns.size() - 1);
+            });
+            BoardWorkflowService.invalidate(boardId);
+            success = true;
+        } finally {
+            event.finish(boardId, success);
+        }
+    }
+
+    /**
+     * Bloqueia a linha do board, que serializa as edições da estrutura e as gravações de
+     * fluxo, e lê as colunas. Se a transação já tinha feito uma leitura antes do bloqueio,
+     * as colunas lidas podem não incluir uma edição confirmada enquanto ele era aguardado;
+     * nesse caso a versão lida com elas é anterior à bloqueada e a edição é recusada.
+     * @param connection Conexão com a transação em andamento
+     * @param boardId ID do board
+     * @return Colunas do board ordenadas pela propriedade 'order'
+     * @throws EntityNotFoundException Se o board não for encontrado
+     * @throws OptimisticLockException Se a estrutura foi alterada por outra operação durante a espera
+     */
+    static List<BoardColumnEntity> lockColumns(final Connection connection, final Long boardId) throws SQLException {
+        var version = new BoardDAO(connection).lockStructureVersion(boardId)
+                .orElseThrow(() -> new EntityNotFoundException("O board de id %s não foi encontrado".formatted(boardId)));
+        var boardColumns = new BoardColumnDAO(connection).findByBoardId(boardId);
+        if (boardColumns.isEmpty()) {
+            throw new EntityNotFoundException("O board de id %s não foi encontrado".formatted(boardId));
+        }
+        if (boardColumns.get(0).getVersion() != version) {
+            throw new OptimisticLockException("As colunas do board %s foram alteradas por outra operação; recarregue o board e tente novamente"
+                    .formatted(boardId));
+        }
+        return boardColumns;
+    }
+
+    /**
+     * Busca a coluna de referência, que deve ser INITIAL ou PENDING para que a coluna
+     * posicionada após ela continue antes da FINAL.
+     */
+    private static BoardColumnEntity findAnchor(final List<BoardColumnEntity> boardColumns, final Long columnId) {
+        var column = find(boardColumns, columnId);
+        if (column.getKind() != INITIAL && column.getKind() != PENDING) {
+            throw new IllegalArgumentException("Colunas só podem ser posicionadas após uma coluna INITIAL ou PENDING");
+        }
+        return column;
+    }
+
+    private static BoardColumnEntity findPending(final List<BoardColumnEntity> boardColumns, final Long columnId) {
+        var column = find(boardColumns, columnId);
+        if (column.getKind() != PENDING) {
+            throw new IllegalArgumentException("Apenas colunas PENDING podem ser movidas ou removidas");
+        }
+        return column;
+    }
+
+    private static BoardColumnEntity find(final List<BoardColumnEntity> boardColumns, final Long columnId) {
+        return boardColumns.stream()
+                .filter(c -> c.getId().equals(columnId))
+                .findFirst()
+                .orElseThrow(() -> columnNotFound(columnId));
+    }
+
+    /**
+     * Calcula uma ordem livre entre a coluna de referência e a seguinte, ignorando a
+     * coluna que está sendo movida.
+     * @return Ordem livre, a ordem atual da coluna movida se ela já estiver na posição,
+     *         ou null se as vizinhas tiverem ordens consecutivas
+     */
+    private static Integer freeOrderAfter(final List<BoardColumnEntity> boardColumns,
+                                          final BoardColumnEntity after, final BoardColumnEntity moving) {
+        var index = boardColumns.indexOf(after);
+        if (moving != null && index + 1 < boardColumns.size() && boardColumns.get(index + 1) == moving) {
+            return moving.getOrder();
+        }
+        // A coluna seguinte sempre existe: a FINAL fica após qualquer INITIAL ou PENDING
+        var next = boardColumns.stream()
+                .skip(index + 1)
+                .filter(c -> c != moving)
+                .findFirst()
+                .orElseThrow(() -> new IllegalStateException("O board não possui coluna FINAL"));
+        var low = (long) after.getOrder();
+        var high = (long) next.getOrder();
+        if (high - low < 2) {
+            return null;
+        }
+        return (int) ((low + high) / 2);
+    }
+
+    private static EntityNotFoundException columnNotFound(final Long columnId) {
+        return new EntityNotFoundException("A coluna de id %s não foi encontrada".formatted(columnId));
+    }
+}
@@ -0,0 +1,66 @@
+package br.com.dio.service;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.function.Consumer;
+
+import br.com.dio.dto.BoardDeletionProgressDTO;
+import br.com.dio.monitoring.BoardOperationEvent;
+import br.com.dio.persistence.dao.BoardDAO;
+import br.com.dio.persistence.dao.BoardPurgeDAO;
+import lombok.AllArgsConstructor;
+
+/**
+ * Serviço de remoção em lotes de Boards marcados para exclusão.
+ *
+ * <p>Em vez de um único {@code DELETE} que apaga em cascata todas as colunas, Cards e
+ * bloqueios em uma transação gigante, os Cards são removidos em lotes limitados, cada
+ * um com seu commit. Só então o Board e suas colunas (agora vazias) são removidos.
+ * Como o Board continua marcado até o fim, a remoção pode ser retomada do ponto em
+ * que parou após uma falha.</p>
+ */
+@AllArgsConstructor
+public class BoardDeletionService {
+
+    // Conexão com o banco de dados
+    private final Connection connection;
+
+    /**
+     * Remove os dados de um Board marcado para exclusão.
+     * @param boardId ID do Board
+     * @param chunkSize Quantidade máxima de Cards removidos por transação
+     * @param listener Receptor do andamento, chamado após cada lote
+     * @throws SQLException Em caso de erro no banco de dados (os lotes já confirmados permanecem removidos)
+     */
+    public void purge(final Long boardId, final int chunkSize,
+                      final Consumer<BoardDeletionProgressDTO> listener) throws SQLException {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("O tamanho do lote deve ser maior que 0.");
+        }
+        var purgeDAO = new BoardPurgeDAO(connection);
+        var event = BoardOperationEvent.start("purge", boardId);
+        long deleted = 0;
+        var success = false;
+        var transaction = new TransactionTemplate(connection);
+        try {
+            var total = transaction.execute("BoardDeletionService.countCards", () -> purgeDAO.countCards(boardId));
+            int rows;
+            while ((rows = transaction.execute("BoardDeletionService.deleteCards",
+                    () -> purgeDAO.deleteCards(boardId, chunkSize))) > 0) {
+                deleted += rows;
+                listener.accept(new BoardDeletionProgressDTO(boardId, deleted, total, false));
+            }
+            while ((rows = transaction.execute("BoardDeletionService.deleteArchivedCards",
+                    () -> purgeDAO.deleteArchivedCards(boardId, chunkSize))) > 0) {
+                deleted += rows;
+                listener.accept(new BoardDeletionProgressDTO(boardId, deleted, total, false));
+            }
+            // Restam apenas o Board e suas colunas, removidas pela cascata
+            transaction.run("BoardDeletionService.deleteBoard", () -> new BoardDAO(connection).delete(boardId));
+            success = true;
+            listener.accept(new BoardDeletionProgressDTO(boardId, deleted, total, true));
+        } finally {
+            event.finish(boardId, 0, success);
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package br.com.dio.service;
+
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+
+import br.com.dio.dto.BoardDeletionProgressDTO;
+import br.com.dio.persistence.config.ConnectionConfig;
+import br.com.dio.persistence.dao.BoardDAO;
+import lombok.NoArgsConstructor;
+
+import static lombok.AccessLevel.PRIVATE;
+
+/**
+ * Worker em segundo plano que remove os dados de Boards marcados para exclusão.
+ *
+ * <p>Os Boards são processados um por vez em uma thread daemon de baixa prioridade.
+ * Ao iniciar, o worker retoma a remoção de todos os Boards que continuam marcados,
+ * inclusive os interrompidos por uma queda da aplicação. O tamanho dos lotes é
+ * configurável pela propriedade {@code board.delete.chunk} (padrão 500 Cards).</p>
+ */
+@NoArgsConstructor(access = PRIVATE)
+public final class BoardDeletionWorker {
+
+    private static final int CHUNK_SIZE = Integer.getInteger("board.delete.chunk", 500);
+
+    // Receptores do andamento das remoções
+    private static final List<Consumer<BoardDeletionProgressDTO>> LISTENERS = new CopyOnWriteArrayList<>();
+
+    private static ExecutorService executor;
+
+    /**
+     * Inicia o worker e agenda a retomada dos Boards ainda marcados para exclusão.
+     * Chamadas repetidas são ignoradas.
+     */
+    public static synchronized void start() {
+        if (executor != null) {
+            return;
+        }
+        executor = Executors.newSingleThreadExecutor(runnable -> {
+            var thread = new Thread(runnable, "board-deletion");
+            thread.setDaemon(true);
+            thread.setPriority(Thread.MIN_PRIORITY);
+            return thread;
+        });
+        executor.execute(BoardDeletionWorker::resume);
+    }
+
+    /**
+     * Agenda a remoção dos dados de um Board já marcado para exclusão.
+     * @param boardId ID do Board
+     */
+    public static synchronized void submit(final Long boardId) {
+        start();
+        executor.execute(() -> purge(boardId));
+    }
+
+    /**
+     * Registra um receptor do andamento das remoções. O receptor é chamado na
+     * thread do worker.
+     * @param listener Receptor do andamento
+     */
+    public static void addListener(final Consumer<BoardDeletionProgressDTO> listener) {
+        LISTENERS.add(listener);
+    }
+
+    /**
+     * Remove um receptor previamente registrado.
+     * @param listener Receptor do andamento
+     */
+    public static void removeListener(final Consumer<BoardDeletionProgressDTO> listener) {
+        LISTENERS.remove(listener);
+    }
+
+    private static void resume() {
+        List<Long> ids;
+        try (var connection = ConnectionConfig.getConnection()) {
+            ids = new BoardDAO(connection).findDeletedIds();
+            connection.commit();
+        } catch (SQLException | RuntimeException ex) {
+            System.err.printf("[board-deletion] falha ao buscar boards marcados para exclusão: %s%n", ex.getMessage());
+            return;
+        }
+        ids.forEach(BoardDeletionWorker::purge);
+    }
+
+    private static void purge(final Long boardId) {
+        try (var connection = ConnectionConfig.getConnection()) {
+            new BoardDeletionService(connection).purge(boardId, CHUNK_SIZE, progress -> {
+                for (var listener : LISTENERS) {
+                    listener.accept(progress);
+                }
+            });
+        } catch (SQLException | RuntimeException ex) {
+            // O board continua marcado e será retomado na próxima inicialização
+            System.err.printf("[board-deletion] falha ao remover o board %s: %s%n", boardId, ex.getMessage());
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package br.com.dio.service;
+
+import static br.com.dio.transfer.BoardExportFormat.BLOCK;
+import static br.com.dio.transfer.BoardExportFormat.BOARD;
+import static br.com.dio.transfer.BoardExportFormat.CARD;
+import static br.com.dio.transfer.BoardExportFormat.COLUMN;
+import static br.com.dio.transfer.BoardExportFormat.TYPE;
+import static br.com.dio.transfer.BoardExportFormat.VERSION;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.TRUNCATE_EXISTING;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.OffsetDateTime;
+
+import br.com.dio.dto.BoardTransferResultDTO;
+import br.com.dio.exception.EntityNotFoundException;
+import br.com.dio.persistence.dao.BoardColumnDAO;
+import br.com.dio.persistence.dao.BoardDAO;
+import br.com.dio.persistence.dao.CardDAO;
+import br.com.dio.transfer.JsonLine;
+import lombok.AllArgsConstructor;
+
+/**
+ * Serviço de exportação completa de um board (board, colunas, cards e todo o
+ * histórico de bloqueios) para um arquivo JSON Lines, usado em auditorias e em
+ * migrações entre ambientes. O formato é descrito em
+ * {@link br.com.dio.transfer.BoardExportFormat}.
+ *
+ * <p>Os cards e bloqueios são lidos em fluxo do banco e escritos em fluxo em um
+ * canal NIO bufferizado: a memória usada independe do tamanho do board.</p>
+ */
+@AllArgsConstructor
+public class BoardExportService {
+
+    // Tamanho do buffer de escrita do arquivo
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    // Conexão com o banco de dados
+    private final Connection connection;
+
+    /**
+     * Exporta um board para o arquivo informado (sobrescrevendo-o se existir).
+     * @param boardId ID do board a ser exportado
+     * @param file Arquivo de destino
+     * @return Resumo da exportação
+     * @throws SQLException Em caso de erro no banco de dados
+     * @throws IOException Em caso de erro na escrita do arquivo
+     * @throws EntityNotFoundException Se o board não existir
+     */
+    public BoardTransferResultDTO export(final Long boardId, final Path file) throws SQLException, IOException {
+        var start = System.currentTimeMillis();
+        var board = new BoardDAO(connection).findById(boardId).orElseThrow(
+            () -> new EntityNotFoundException("O board de id %s não foi encontrado".formatted(boardId))
+        );
+        var columns = new BoardColumnDAO(connection).findByBoardId(boardId);
+
+        try (var channel = FileChannel.open(file, CREATE, TRUNCATE_EXISTING, WRITE);
+             var writer = new BufferedWriter(Channels.newWriter(channel, StandardCharsets.UTF_8), BUFFER_SIZE)) {
+            // Buffer de linha reaproveitado entre os registros
+            var line = new StringBuilder(256);
+
+            JsonLine.write(line).field(TYPE, BOARD).field("version", VERSION)
+                    .field("id", board.getId()).field("name", board.getName()).end();
+            writeLine(writer, line);
+
+            for (var column : columns) {
+                JsonLine.write(line).field(TYPE, COLUMN).field("id", column.getId())
+                        .field("name", column.getName()).field("order", column.getOrder())
+                        .field("kind", column.getKind().name()).end();
+                writeLine(writer, line);
+            }
+
+            var counters = new long[2];
+            var lastCardId = new long[]{-1};
+            new CardDAO(connection).streamByBoardId(boardId, (card, block) -> {
+                if (card.getId() != lastCardId[0]) {
+                    lastCardId[0] = card.getId();
+                    counters[0]++;
+                    JsonLine.write(line).field(TYPE, CARD).field("id", card.getId())
+                            .field("title", card.getTitle()).field("description", card.getDescription())
+                            .field("columnId", card.getBoardColumn().getId()).end();
+                    writeLine(writer, line);
+                }
+                if (block != null) {
+                    counters[1]++;
+                    JsonLine.write(line).field(TYPE, BLOCK).field("cardId", card.getId())
+                            .field("blockedAt", format(block.getBlockedAt()))
+                            .field("blockReason", block.getBlockReason())
+                            .field("unblockedAt", format(block.getUnblockedAt()))
+                            .field("unblockReason", block.getUnblockReason()).end();
+                    writeLine(writer, line);
+                }
+            });
+            connection.commit();
+            return new BoardTransferResultDTO(boardId, columns.size(), counters[0], counters[1],
+                    System.currentTimeMillis() - start);
+        }
+    }
+
+    private static void writeLine(final BufferedWriter writer, final StringBuilder line) throws IOException {
+        writer.append(line).append('\n');
+        line.setLength(0);
+    }
+
+    private static String format(final OffsetDateTime value) {
+        return value == null ? null : value.toString();
+    }
+}
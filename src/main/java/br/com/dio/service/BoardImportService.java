@@ -0,0 +1,133 @@
+package br.com.dio.service;
+
+import static br.com.dio.persistence.entity.BoardColumnKindEnum.findByName;
+import static br.com.dio.transfer.BoardExportFormat.BLOCK;
+import static br.com.dio.transfer.BoardExportFormat.BOARD;
+import static br.com.dio.transfer.BoardExportFormat.CARD;
+import static br.com.dio.transfer.BoardExportFormat.COLUMN;
+import static br.com.dio.transfer.BoardExportFormat.TYPE;
+import static br.com.dio.transfer.BoardExportFormat.VERSION;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.OffsetDateTime;
+import java.util.Map;
+
+import br.com.dio.dto.BoardTransferResultDTO;
+import br.com.dio.persistence.entity.BlockEntity;
+import br.com.dio.transfer.JsonLine;
+
+/**
+ * Serviço de restauração de boards exportados pelo {@link BoardExportService}.
+ * O board é recriado com novos IDs; as referências entre colunas, cards e
+ * bloqueios são remapeadas durante a leitura.
+ *
+ * <p>O arquivo é lido em fluxo e os cards são gravados em lotes com commit por lote
+ * (veja {@link BoardRestoreBatch}). Em caso de falha, o board parcialmente
+ * restaurado é removido.</p>
+ */
+public class BoardImportService {
+
+    // Tamanho padrão do lote de cards gravado em cada transação
+    public static final int DEFAULT_CHUNK_SIZE = 1000;
+
+    // Conexão com o banco de dados
+    private final Connection connection;
+
+    // Quantidade de cards gravados por transação
+    private final int chunkSize;
+
+    /**
+     * Cria o serviço com o tamanho de lote padrão.
+     * @param connection Conexão com o banco de dados
+     */
+    public BoardImportService(final Connection connection) {
+        this(connection, DEFAULT_CHUNK_SIZE);
+    }
+
+    /**
+     * Cria o serviço com um tamanho de lote específico.
+     * @param connection Conexão com o banco de dados
+     * @param chunkSize Quantidade de cards gravados por transação
+     */
+    public BoardImportService(final Connection connection, final int chunkSize) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("O tamanho do lote deve ser maior que 0.");
+        }
+        this.connection = connection;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Restaura um board a partir de um arquivo de exportação.
+     * @param file Arquivo JSON Lines gerado pela exportação
+     * @param newName Nome do board restaurado (null mantém o nome original)
+     * @return Resumo da restauração, com o ID do novo board
+     * @throws IOException Em caso de erro de leitura ou arquivo em formato inválido
+     * @throws SQLException Em caso de erro no banco de dados
+     */
+    public BoardTransferResultDTO restore(final Path file, final String newName) throws IOException, SQLException {
+        var start = System.currentTimeMillis();
+        var restore = new BoardRestoreBatch(connection, chunkSize);
+        try (var channel = FileChannel.open(file);
+             var reader = new BufferedReader(Channels.newReader(channel, StandardCharsets.UTF_8))) {
+            String text;
+            long lineNumber = 0;
+            while ((text = reader.readLine()) != null) {
+                lineNumber++;
+                if (text.isBlank()) {
+                    continue;
+                }
+                try {
+                    accept(restore, JsonLine.parse(text), newName);
+                } catch (IOException | IllegalArgumentException ex) {
+                    throw new IOException("Linha %s inválida: %s".formatted(lineNumber, ex.getMessage()), ex);
+                }
+            }
+            return restore.finish(start);
+        } catch (IOException | SQLException | RuntimeException ex) {
+            restore.discard();
+            throw ex;
+        }
+    }
+
+    /**
+     * Encaminha um registro do arquivo para a gravação em lotes.
+     */
+    private void accept(final BoardRestoreBatch restore, final Map<String, String> record,
+                        final String newName) throws IOException, SQLException {
+        var type = record.get(TYPE);
+        switch (type == null ? "" : type) {
+            case BOARD -> {
+                var version = Integer.parseInt(record.get("version"));
+                if (version > VERSION) {
+                    throw new IOException("versão de exportação %s não suportada".formatted(version));
+                }
+                restore.board(newName == null ? record.get("name") : newName);
+            }
+            case COLUMN -> restore.column(Long.parseLong(record.get("id")), record.get("name"),
+                    Integer.parseInt(record.get("order")), findByName(record.get("kind")));
+            case CARD -> restore.card(Long.parseLong(record.get("id")), record.get("title"),
+                    record.get("description"), Long.parseLong(record.get("columnId")));
+            case BLOCK -> {
+                var block = new BlockEntity();
+                block.setBlockedAt(parse(record.get("blockedAt")));
+                block.setBlockReason(record.get("blockReason"));
+                block.setUnblockedAt(parse(record.get("unblockedAt")));
+                block.setUnblockReason(record.get("unblockReason"));
+                restore.block(Long.parseLong(record.get("cardId")), block);
+            }
+            default -> throw new IOException("tipo de registro desconhecido '%s'".formatted(type));
+        }
+    }
+
+    private static OffsetDateTime parse(final String value) {
+        return value == null ? null : OffsetDateTime.parse(value);
+    }
+}
@@ -8,7 +8,9 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
+import br.com.dio.dto.BoardDashboardDTO;
 import br.com.dio.dto.BoardDetailsDTO;
+import br.com.dio.monitoring.SqlStatementEvent;
 import br.com.dio.persistence.dao.BoardColumnDAO;
 import br.com.dio.persistence.dao.BoardDAO;
 import br.com.dio.persistence.entity.BoardEntity;
@@ -25,13 +27,14 @@ public class BoardQueryService {
     private final Connection connection;
 
     /**
-     * Recupera todos os boards cadastrados no sistema.
+     * Recupera todos os boards cadastrados no sistema, exceto os marcados para exclusão.
      * @return Lista de BoardEntity contendo os dados básicos dos boards
      * @throws SQLException Em caso de erro no banco de dados
      */
     public List<BoardEntity> findAll() throws SQLException {
-        String sql = "SELECT * FROM boards";
+        String sql = "SELECT id, name FROM BOARDS WHERE deleted_at IS NULL";
         try (PreparedStatement ps = connection.prepareStatement(sql)) {
+            var event = SqlStatementEvent.start("BoardQueryService.findAll", sql);
             ResultSet rs = ps.executeQuery();
             List<BoardEntity> boards = new ArrayList<>();
             while (rs.next()) {
@@ -41,6 +44,7 @@ public class BoardQueryService {
                 // Carrega apenas dados básicos (colunas podem ser carregadas posteriormente se necessário)
                 boards.add(board);
             }
+            event.finish(boards.size());
             return boards;
         }
     }
@@ -85,4 +89,14 @@ public class BoardQueryService {
         }
         return Optional.empty();
     }
-}
\ No newline at end of file
+
+    /**
+     * Recupera o painel geral com as contagens de cards por tipo de coluna e os
+     * bloqueios em aberto de todos os boards, calculado em uma única consulta.
+     * @return Lista de BoardDashboardDTO ordenada pelo ID do board
+     * @throws SQLException Em caso de erro no banco de dados
+     */
+    public List<BoardDashboardDTO> dashboard() throws SQLException {
+        return new BoardDAO(connection).findDashboard();
+    }
+}
@@ -0,0 +1,204 @@
+package br.com.dio.service;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import br.com.dio.dto.BoardTransferResultDTO;
+import br.com.dio.persistence.dao.BlockDAO;
+import br.com.dio.persistence.dao.BoardColumnDAO;
+import br.com.dio.persistence.dao.BoardDAO;
+import br.com.dio.persistence.dao.CardDAO;
+import br.com.dio.persistence.entity.BlockEntity;
+import br.com.dio.persistence.entity.BoardColumnEntity;
+import br.com.dio.persistence.entity.BoardColumnKindEnum;
+import br.com.dio.persistence.entity.BoardEntity;
+import br.com.dio.persistence.entity.CardEntity;
+
+/**
+ * Gravação em lotes de um board sendo restaurado, independente do formato do arquivo.
+ * O board é recriado com novos IDs; as referências entre colunas, cards e
+ * bloqueios são remapeadas a partir dos IDs originais.
+ *
+ * <p>Espera os registros na ordem board → colunas → cada card seguido de seus
+ * bloqueios, de modo que só o mapeamento das colunas e o lote corrente ficam em
+ * memória. Cada lote de cards é gravado em uma transação.</p>
+ */
+class BoardRestoreBatch {
+
+    private final Connection connection;
+    private final int chunkSize;
+
+    private final BoardDAO boardDAO;
+    private final CardDAO cardDAO;
+    private final BlockDAO blockDAO;
+
+    private BoardEntity board;
+    private boolean boardCommitted;
+    private final List<BoardColumnEntity> pendingColumns = new ArrayList<>();
+
+    // Mapeamento ID original -> coluna restaurada
+    private final Map<Long, BoardColumnEntity> columns = new HashMap<>();
+
+    // Lote corrente: cards e bloqueios indexados pela posição do card no lote
+    private final List<CardEntity> chunk = new ArrayList<>();
+    private final List<Long> chunkOriginalIds = new ArrayList<>();
+    private final Map<Integer, List<BlockEntity>> chunkBlocks = new HashMap<>();
+
+    private long cards;
+    private long blocks;
+
+    BoardRestoreBatch(final Connection connection, final int chunkSize) {
+        this.connection = connection;
+        this.chunkSize = chunkSize;
+        this.boardDAO = new BoardDAO(connection);
+        this.cardDAO = new CardDAO(connection);
+        this.blockDAO = new BlockDAO(connection);
+    }
+
+    /**
+     * Registra o board restaurado; deve ser o primeiro registro.
+     * @param name Nome do board
+     * @throws IOException Se o board já tiver sido registrado
+     */
+    void board(final String name) throws IOException {
+        if (board != null) {
+            throw new IOException("o arquivo contém mais de um board");
+        }
+        board = new BoardEntity();
+        board.setName(name);
+    }
+
+    /**
+     * Registra uma coluna do board; colunas devem preceder os cards.
+     * @throws IOException Se a coluna estiver fora de posição
+     */
+    void column(final long originalId, final String name, final int order,
+                final BoardColumnKindEnum kind) throws IOException {
+        requireBoard();
+        if (boardCommitted) {
+            throw new IOException("colunas devem preceder os cards");
+        }
+        var column = new BoardColumnEntity();
+        column.setId(originalId);
+        column.setName(name);
+        column.setOrder(order);
+        column.setKind(kind);
+        pendingColumns.add(column);
+    }
+
+    /**
+     * Registra um card, gravando o lote corrente se estiver cheio.
+     * @throws IOException Se a coluna do card não tiver sido registrada
+     * @throws SQLException Em caso de erro no banco de dados
+     */
+    void card(final long originalId, final String title, final String description,
+              final long originalColumnId) throws IOException, SQLException {
+        requireBoard();
+        insertBoard();
+        var column = columns.get(originalColumnId);
+        if (column == null) {
+            throw new IOException("coluna %s desconhecida".formatted(originalColumnId));
+        }
+        if (chunk.size() == chunkSize) {
+            flush();
+        }
+        var card = new CardEntity();
+        card.setTitle(title);
+        card.setDescription(description);
+        card.setBoardColumn(column);
+        chunk.add(card);
+        chunkOriginalIds.add(originalId);
+    }
+
+    /**
+     * Registra um bloqueio do último card registrado.
+     * @throws IOException Se o bloqueio não seguir o próprio card
+     */
+    void block(final long originalCardId, final BlockEntity block) throws IOException {
+        if (chunk.isEmpty() || chunkOriginalIds.get(chunk.size() - 1) != originalCardId) {
+            throw new IOException("bloqueio fora da posição do card %s".formatted(originalCardId));
+        }
+        chunkBlocks.computeIfAbsent(chunk.size() - 1, k -> new ArrayList<>()).add(block);
+        blocks++;
+    }
+
+    /**
+     * Grava o que restar pendente e retorna o resumo da restauração.
+     * @param start Instante de início da restauração, em milissegundos
+     * @throws IOException Se nenhum board tiver sido registrado
+     * @throws SQLException Em caso de erro no banco de dados
+     */
+    BoardTransferResultDTO finish(final long start) throws IOException, SQLException {
+        requireBoard();
+        insertBoard();
+        flush();
+        return new BoardTransferResultDTO(board.getId(), columns.size(), cards, blocks,
+                System.currentTimeMillis() - start);
+    }
+
+    /**
+     * Descarta o board parcialmente restaurado após uma falha. O board é marcado para
+     * exclusão e seus dados são removidos em lotes pelo {@link BoardDeletionWorker}.
+     * @throws SQLException Em caso de erro no banco de dados
+     */
+    void discard() throws SQLException {
+        if (boardCommitted) {
+            connection.rollback();
+            new BoardService(connection).deleteAsync(board.getId());
+        }
+    }
+
+    private void requireBoard() throws IOException {
+        if (board == null) {
+            throw new IOException("o registro do board deve ser o primeiro");
+        }
+    }
+
+    /**
+     * Grava o board e suas colunas na primeira vez em que é necessário.
+     */
+    private void insertBoard() throws SQLException {
+        if (boardCommitted) {
+            return;
+        }
+        var boardColumnDAO = new BoardColumnDAO(connection);
+        // Os inserts sobrescrevem os IDs; os originais são guardados antes para uma nova tentativa
+        var originalIds = pendingColumns.stream().map(BoardColumnEntity::getId).toList();
+        new TransactionTemplate(connection).run("BoardRestoreBatch.insertBoard", () -> {
+            boardDAO.insert(board);
+            pendingColumns.forEach(column -> column.setBoard(board));
+            // Todas as colunas em um único INSERT multi-valores
+            boardColumnDAO.insertBatch(pendingColumns);
+            for (int i = 0; i < pendingColumns.size(); i++) {
+                columns.put(originalIds.get(i), pendingColumns.get(i));
+            }
+        });
+        boardCommitted = true;
+        board.setBoardColumns(pendingColumns);
+    }
+
+    /**
+     * Grava o lote corrente de cards e seus bloqueios em uma transação.
+     */
+    private void flush() throws SQLException {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        new TransactionTemplate(connection).run("BoardRestoreBatch.flush", () -> {
+            cardDAO.insertBatch(chunk);
+            Map<Long, List<BlockEntity>> blocksByCardId = new LinkedHashMap<>();
+            chunkBlocks.forEach((index, list) -> blocksByCardId.put(chunk.get(index).getId(), list));
+            blockDAO.insertHistoryBatch(blocksByCardId);
+        });
+        cards += chunk.size();
+        chunk.clear();
+        chunkOriginalIds.clear();
+        chunkBlocks.clear();
+    }
+}
@@ -1,10 +1,17 @@
 package br.com.dio.service;
 
+import static java.util.Comparator.comparingInt;
+
 import java.sql.Connection;
 import java.sql.SQLException;
 
+import br.com.dio.exception.EntityNotFoundException;
+import br.com.dio.monitoring.BoardOperationEvent;
 import br.com.dio.persistence.dao.BoardColumnDAO;
 import br.com.dio.persistence.dao.BoardDAO;
+import br.com.dio.persistence.dao.CardDAO;
+import br.com.dio.persistence.dao.TagDAO;
+import br.com.dio.persistence.entity.BoardColumnEntity;
 import br.com.dio.persistence.entity.BoardEntity;
 import lombok.AllArgsConstructor;
 
@@ -28,26 +35,30 @@ public class BoardService {
     public BoardEntity insert(final BoardEntity entity) throws SQLException {
         var dao = new BoardDAO(connection);
         var boardColumnDAO = new BoardColumnDAO(connection);
+        var event = BoardOperationEvent.start("insert", entity.getId());
+        var success = false;
         
         try {
-            // Insere o board principal
-            dao.insert(entity);
-            
-            // Associa as colunas ao board e as insere no banco
-            var columns = entity.getBoardColumns().stream().map(c -> {
-                c.setBoard(entity);  // Estabelece a relação com o board
-                return c;
-            }).toList();
-            
-            for (var column : columns) {
-                boardColumnDAO.insert(column);
-            }
-            
-            connection.commit();
-        } catch (SQLException e) {
-            // Em caso de erro, faz rollback da transação
-            connection.rollback();
-            throw e;
+            new TransactionTemplate(connection).run("BoardService.insert", () -> {
+                // Insere o board principal
+                dao.insert(entity);
+
+                // Associa as colunas ao board e espaça as ordens, para que colunas possam
+                // ser inseridas ou movidas depois sem renumerar as demais
+                var columns = entity.getBoardColumns().stream()
+                        .sorted(comparingInt(BoardColumnEntity::getOrder))
+                        .toList();
+                for (int i = 0; i < columns.size(); i++) {
+                    columns.get(i).setBoard(entity);  // Estabelece a relação com o board
+                    columns.get(i).setOrder(i * BoardColumnDAO.ORDER_GAP);
+                }
+
+                // Todas as colunas em um único INSERT multi-valores
+                boardColumnDAO.insertBatch(columns);
+            });
+            success = true;
+        } finally {
+            event.finish(entity.getId(), entity.getBoardColumns().size(), success);
         }
         return entity;
     }
@@ -61,22 +72,97 @@ public class BoardService {
      */
     public boolean delete(final Long id) throws SQLException {
         var dao = new BoardDAO(connection);
+        var event = BoardOperationEvent.start("delete", id);
+        var success = false;
         
         try {
-            // Verifica se o board existe antes de tentar deletar
-            if (!dao.exists(id)) {
+            var deleted = new TransactionTemplate(connection).execute("BoardService.delete", () -> {
+                // Verifica se o board existe antes de tentar deletar
+                if (!dao.exists(id)) {
+                    return false;
+                }
+
+                // Remove o board
+                dao.delete(id);
+                return true;
+            });
+            if (deleted) {
+                TagService.invalidate(id);
+                BoardWorkflowService.invalidate(id);
+            }
+            success = deleted;
+            return deleted;
+        } finally {
+            event.finish(id, 0, success);
+        }
+    }
+
+    /**
+     * Marca um board para exclusão e agenda a remoção de suas colunas, cards e
+     * bloqueios em lotes pelo {@link BoardDeletionWorker}. O board deixa de ser
+     * listado imediatamente, sem a transação longa do {@link #delete(Long)}.
+     *
+     * @param id ID do board a ser removido
+     * @return true se o board foi encontrado e marcado, false caso não exista
+     * @throws SQLException Em caso de erro no banco de dados
+     */
+    public boolean deleteAsync(final Long id) throws SQLException {
+        var dao = new BoardDAO(connection);
+        var event = BoardOperationEvent.start("deleteAsync", id);
+        var success = false;
+
+        try {
+            if (!new TransactionTemplate(connection).execute("BoardService.deleteAsync", () -> dao.markDeleted(id))) {
                 return false;
             }
-            
-            // Remove o board
-            dao.delete(id);
-            connection.commit();
-            return true;
-            
-        } catch (SQLException e) {
-            // Em caso de erro, faz rollback da transação
-            connection.rollback();
-            throw e;
+            TagService.invalidate(id);
+            BoardWorkflowService.invalidate(id);
+            success = true;
+        } finally {
+            event.finish(id, 0, success);
+        }
+        BoardDeletionWorker.submit(id);
+        return true;
+    }
+
+    /**
+     * Clona um board no servidor com INSERT ... SELECT: o novo board recebe a mesma
+     * estrutura de colunas e, opcionalmente, cópias dos cards abertos (fora das colunas
+     * FINAL e CANCEL) com suas tags, sem o histórico de bloqueios. O custo é de poucos comandos,
+     * independente da quantidade de colunas e cards.
+     *
+     * @param sourceId ID do board de origem
+     * @param name Nome do novo board
+     * @param includeOpenCards Se os cards abertos devem ser copiados
+     * @return Novo board, com ID e nome (colunas não carregadas)
+     * @throws SQLException Em caso de erro no banco de dados
+     * @throws EntityNotFoundException Se o board de origem não existir
+     */
+    public BoardEntity clone(final Long sourceId, final String name, final boolean includeOpenCards) throws SQLException {
+        var dao = new BoardDAO(connection);
+        var event = BoardOperationEvent.start("clone", sourceId);
+        var entity = new BoardEntity();
+        entity.setName(name);
+        var columns = 0;
+        var success = false;
+
+        try {
+            columns = new TransactionTemplate(connection).execute("BoardService.clone", () -> {
+                if (!dao.exists(sourceId)) {
+                    throw new EntityNotFoundException("O board de id %s não foi encontrado".formatted(sourceId));
+                }
+                dao.insert(entity);
+                var copied = new BoardColumnDAO(connection).copyFromBoard(sourceId, entity.getId());
+                if (includeOpenCards) {
+                    new CardDAO(connection).copyOpenCards(sourceId, entity.getId());
+                    new TagDAO(connection).copyBoardTags(sourceId, entity.getId());
+                }
+                return copied;
+            });
+            success = true;
+            return entity;
+        } finally {
+            event.finish(entity.getId(), columns, success);
         }
     }
-}
\ No newline at end of file
+}
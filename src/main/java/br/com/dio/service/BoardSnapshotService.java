@@ -0,0 +1,170 @@
+package br.com.dio.service;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+import br.com.dio.dto.BoardTransferResultDTO;
+import br.com.dio.exception.EntityNotFoundException;
+import br.com.dio.persistence.dao.BoardColumnDAO;
+import br.com.dio.persistence.dao.BoardDAO;
+import br.com.dio.persistence.dao.CardDAO;
+import br.com.dio.persistence.entity.BlockEntity;
+import br.com.dio.transfer.BoardSnapshotReader;
+import br.com.dio.transfer.BoardSnapshotReader.Block;
+import br.com.dio.transfer.BoardSnapshotReader.Board;
+import br.com.dio.transfer.BoardSnapshotReader.Card;
+import br.com.dio.transfer.BoardSnapshotReader.Column;
+import br.com.dio.transfer.BoardSnapshotReader.End;
+import br.com.dio.transfer.BoardSnapshotWriter;
+
+/**
+ * Serviço de backup e restauração de boards no formato binário compacto
+ * descrito em {@link br.com.dio.transfer.BoardSnapshotFormat}.
+ *
+ * <p>Complementa a exportação em JSON Lines ({@link BoardExportService}) para os
+ * backups noturnos: o snapshot é menor, é escrito por arquivos mapeados em memória
+ * e tem sua integridade verificada por CRC32 antes de qualquer restauração.</p>
+ */
+public class BoardSnapshotService {
+
+    // Conexão com o banco de dados
+    private final Connection connection;
+
+    // Quantidade de cards gravados por transação na restauração
+    private final int chunkSize;
+
+    /**
+     * Cria o serviço com o tamanho de lote padrão.
+     * @param connection Conexão com o banco de dados
+     */
+    public BoardSnapshotService(final Connection connection) {
+        this(connection, BoardImportService.DEFAULT_CHUNK_SIZE);
+    }
+
+    /**
+     * Cria o serviço com um tamanho de lote específico para a restauração.
+     * @param connection Conexão com o banco de dados
+     * @param chunkSize Quantidade de cards gravados por transação
+     */
+    public BoardSnapshotService(final Connection connection, final int chunkSize) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("O tamanho do lote deve ser maior que 0.");
+        }
+        this.connection = connection;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Grava o snapshot de um board no arquivo informado (sobrescrevendo-o se existir).
+     * @param boardId ID do board
+     * @param file Arquivo de destino
+     * @return Resumo do snapshot
+     * @throws SQLException Em caso de erro no banco de dados
+     * @throws IOException Em caso de erro na escrita do arquivo
+     * @throws EntityNotFoundException Se o board não existir
+     */
+    public BoardTransferResultDTO snapshot(final Long boardId, final Path file) throws SQLException, IOException {
+        var start = System.currentTimeMillis();
+        var board = new BoardDAO(connection).findById(boardId).orElseThrow(
+            () -> new EntityNotFoundException("O board de id %s não foi encontrado".formatted(boardId))
+        );
+        var columns = new BoardColumnDAO(connection).findByBoardId(boardId);
+
+        try (var writer = new BoardSnapshotWriter(file)) {
+            writer.board(board.getId(), board.getName());
+            for (var column : columns) {
+                writer.column(column.getId(), column.getName(), column.getOrder(), column.getKind());
+            }
+            var counters = new long[2];
+            var lastCardId = new long[]{-1};
+            new CardDAO(connection).streamByBoardId(boardId, (card, block) -> {
+                if (card.getId() != lastCardId[0]) {
+                    lastCardId[0] = card.getId();
+                    counters[0]++;
+                    writer.card(card.getId(), card.getBoardColumn().getId(), card.getTitle(), card.getDescription());
+                }
+                if (block != null) {
+                    counters[1]++;
+                    writer.block(block.getBlockedAt(), block.getBlockReason(),
+                            block.getUnblockedAt(), block.getUnblockReason());
+                }
+            });
+            connection.commit();
+            writer.finish(columns.size(), counters[0], counters[1]);
+            return new BoardTransferResultDTO(boardId, columns.size(), counters[0], counters[1],
+                    System.currentTimeMillis() - start);
+        }
+    }
+
+    /**
+     * Verifica a integridade de um snapshot (CRC32 e totais) sem acessar o banco.
+     * @param file Arquivo de snapshot
+     * @return Resumo do conteúdo, com o ID original do board
+     * @throws IOException Se o arquivo estiver truncado, corrompido ou não for um snapshot
+     */
+    public BoardTransferResultDTO verify(final Path file) throws IOException {
+        var start = System.currentTimeMillis();
+        Long boardId = null;
+        long columns = 0;
+        long cards = 0;
+        long blocks = 0;
+        try (var reader = new BoardSnapshotReader(file)) {
+            BoardSnapshotReader.Record record;
+            while ((record = reader.next()) != null) {
+                if (record instanceof Board board) {
+                    boardId = board.id();
+                } else if (record instanceof Column) {
+                    columns++;
+                } else if (record instanceof Card) {
+                    cards++;
+                } else if (record instanceof Block) {
+                    blocks++;
+                } else if (record instanceof End end
+                        && (end.columns() != columns || end.cards() != cards || end.blocks() != blocks)) {
+                    throw new IOException("Os totais do snapshot não conferem com o conteúdo");
+                }
+            }
+        }
+        return new BoardTransferResultDTO(boardId, (int) columns, cards, blocks, System.currentTimeMillis() - start);
+    }
+
+    /**
+     * Restaura um snapshot como um novo board. A integridade do arquivo é verificada
+     * antes de qualquer gravação; em caso de falha, o board parcialmente restaurado é removido.
+     * @param file Arquivo de snapshot
+     * @param newName Nome do board restaurado (null mantém o nome original)
+     * @return Resumo da restauração, com o ID do novo board
+     * @throws IOException Se o arquivo estiver truncado, corrompido ou não for um snapshot
+     * @throws SQLException Em caso de erro no banco de dados
+     */
+    public BoardTransferResultDTO restore(final Path file, final String newName) throws IOException, SQLException {
+        var start = System.currentTimeMillis();
+        verify(file);
+        var restore = new BoardRestoreBatch(connection, chunkSize);
+        try (var reader = new BoardSnapshotReader(file)) {
+            BoardSnapshotReader.Record record;
+            while ((record = reader.next()) != null) {
+                if (record instanceof Board board) {
+                    restore.board(newName == null ? board.name() : newName);
+                } else if (record instanceof Column column) {
+                    restore.column(column.id(), column.name(), column.order(), column.kind());
+                } else if (record instanceof Card card) {
+                    restore.card(card.id(), card.title(), card.description(), card.columnId());
+                } else if (record instanceof Block block) {
+                    var entity = new BlockEntity();
+                    entity.setBlockedAt(block.blockedAt());
+                    entity.setBlockReason(block.reason());
+                    entity.setUnblockedAt(block.unblockedAt());
+                    entity.setUnblockReason(block.unblockReason());
+                    restore.block(block.cardId(), entity);
+                }
+            }
+            return restore.finish(start);
+        } catch (IOException | SQLException | RuntimeException ex) {
+            restore.discard();
+            throw ex;
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package br.com.dio.service;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+
+import br.com.dio.dto.BoardTemplateDTO;
+import br.com.dio.exception.EntityNotFoundException;
+import br.com.dio.monitoring.BoardOperationEvent;
+import br.com.dio.persistence.dao.BoardColumnDAO;
+import br.com.dio.persistence.dao.BoardDAO;
+import br.com.dio.persistence.dao.BoardTemplateDAO;
+import br.com.dio.persistence.entity.BoardEntity;
+import lombok.AllArgsConstructor;
+
+/**
+ * Serviço de templates de Boards. Um template guarda apenas a estrutura de
+ * colunas; as cópias entre Boards e templates são feitas no servidor com
+ * INSERT ... SELECT, em um comando por tabela.
+ */
+@AllArgsConstructor
+public class BoardTemplateService {
+
+    // Conexão com o banco de dados
+    private final Connection connection;
+
+    /**
+     * Salva a estrutura de colunas de um Board como um novo template.
+     * @param boardId ID do Board de origem
+     * @param name Nome do template (único)
+     * @return ID do template criado
+     * @throws SQLException Em caso de erro no banco de dados ou nome repetido
+     * @throws EntityNotFoundException Se o Board não existir
+     */
+    public Long saveFromBoard(final Long boardId, final String name) throws SQLException {
+        return new TransactionTemplate(connection).execute("BoardTemplateService.saveFromBoard", () -> {
+            if (!new BoardDAO(connection).exists(boardId)) {
+                throw new EntityNotFoundException("O board de id %s não foi encontrado".formatted(boardId));
+            }
+            var dao = new BoardTemplateDAO(connection);
+            var templateId = dao.insert(name);
+            dao.copyColumnsFromBoard(templateId, boardId);
+            return templateId;
+        });
+    }
+
+    /**
+     * Cria um novo Board com a estrutura de colunas de um template.
+     * @param templateId ID do template
+     * @param boardName Nome do novo Board
+     * @return Novo Board, com ID e nome (colunas não carregadas)
+     * @throws SQLException Em caso de erro no banco de dados
+     * @throws EntityNotFoundException Se o template não existir ou não tiver colunas
+     */
+    public BoardEntity createBoard(final Long templateId, final String boardName) throws SQLException {
+        var event = BoardOperationEvent.start("createFromTemplate", null);
+        var entity = new BoardEntity();
+        entity.setName(boardName);
+        var success = false;
+        try {
+            new TransactionTemplate(connection).run("BoardTemplateService.createBoard", () -> {
+                new BoardDAO(connection).insert(entity);
+                var columns = new BoardColumnDAO(connection).copyFromTemplate(templateId, entity.getId());
+                if (columns == 0) {
+                    throw new EntityNotFoundException("O template de id %s não foi encontrado".formatted(templateId));
+                }
+                event.columns(columns);
+            });
+            success = true;
+            return entity;
+        } finally {
+            event.finish(entity.getId(), success);
+        }
+    }
+
+    /**
+     * Lista os templates disponíveis.
+     * @return Templates ordenados por nome
+     * @throws SQLException Em caso de erro no banco de dados
+     */
+    public List<BoardTemplateDTO> findAll() throws SQLException {
+        return new BoardTemplateDAO(connection).findAll();
+    }
+
+    /**
+     * Remove um template. Boards criados a partir dele não são afetados.
+     * @param templateId ID do template
+     * @return true se o template existia
+     * @throws SQLException Em caso de erro no banco de dados
+     */
+    public boolean delete(final Long templateId) throws SQLException {
+        return new TransactionTemplate(connection).execute("BoardTemplateService.delete",
+                () -> new BoardTemplateDAO(connection).delete(templateId));
+    }
+}
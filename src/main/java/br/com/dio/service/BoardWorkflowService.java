@@ -0,0 +1,157 @@
+package br.com.dio.service;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+
+import br.com.dio.dto.BoardColumnInfoDTO;
+import br.com.dio.dto.WorkflowTransitionDTO;
+import br.com.dio.exception.EntityNotFoundException;
+import br.com.dio.monitoring.BoardOperationEvent;
+import br.com.dio.persistence.dao.BoardDAO;
+import br.com.dio.persistence.dao.BoardWorkflowDAO;
+import br.com.dio.workflow.BoardWorkflow;
+import lombok.AllArgsConstructor;
+
+/**
+ * Serviço do fluxo de movimentação de Cards dos Boards.
+ *
+ * <p>Boards sem fluxo gravado usam o fluxo linear padrão (cada coluna segue para a
+ * próxima). O fluxo ativo de cada Board é compilado uma única vez por processo e mantido
+ * em cache, por ID do Board, junto com as colunas usadas na compilação. O cache só é usado
+ * se a lista do chamador tiver exatamente as mesmas colunas (IDs, ordens e tipos) e a mesma
+ * versão da estrutura do Board, incrementada a cada edição das colunas e a cada nova versão
+ * do fluxo (ver {@link BoardColumnService}); a conferência percorre a lista uma vez, sem
+ * consultas ao banco de dados. Um cache desatualizado por outro processo usa uma versão da
+ * estrutura antiga e as movimentações feitas com ele são recusadas pela verificação de
+ * versão. O tamanho do cache é limitado por {@code board.workflow.cache} (padrão 1000
+ * boards); ao atingir o limite, só o fluxo usado há mais tempo é descartado.</p>
+ */
+@AllArgsConstructor
+public class BoardWorkflowService {
+
+    private static final int CACHE_SIZE = Integer.getInteger("board.workflow.cache", 1000);
+
+    // Fluxos compilados, por ID do board, em ordem de uso; o menos usado recentemente é
+    // descartado quando o limite é atingido. Protegido pelo próprio monitor
+    private static final Map<Long, BoardWorkflow> COMPILED = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(final Map.Entry<Long, BoardWorkflow> eldest) {
+            return size() > CACHE_SIZE;
+        }
+    };
+
+    // Conexão com o banco de dados
+    private final Connection connection;
+
+    /**
+     * Busca o fluxo ativo de um Board, compilando-o na primeira utilização e sempre que as
+     * colunas informadas não forem as da última compilação.
+     * @param boardId ID do Board
+     * @param boardColumnsInfo Colunas do Board
+     * @return Fluxo compilado
+     * @throws SQLException Em caso de erro no banco de dados
+     */
+    public BoardWorkflow forBoard(final Long boardId, final List<BoardColumnInfoDTO> boardColumnsInfo) throws SQLException {
+        BoardWorkflow cached;
+        synchronized (COMPILED) {
+            cached = COMPILED.get(boardId);
+        }
+        if (cached != null && cached.matches(boardColumnsInfo)) {
+            return cached;
+        }
+        var dao = new BoardWorkflowDAO(connection);
+        var active = dao.findActive(boardId);
+        var compiled = active.isEmpty()
+                ? BoardWorkflow.linear(boardColumnsInfo)
+                : BoardWorkflow.compile(active.get().id(), active.get().version(), boardColumnsInfo,
+                        dao.findTransitions(active.get().id()));
+        // Uma lista de colunas antiga não substitui o fluxo de uma versão mais nova
+        synchronized (COMPILED) {
+            var current = COMPILED.get(boardId);
+            if (current == null || current.getColumnsVersion() < compiled.getColumnsVersion()) {
+                COMPILED.put(boardId, compiled);
+            }
+        }
+        return compiled;
+    }
+
+    /**
+     * Grava uma nova versão do fluxo de um Board, que passa a ser a ativa.
+     * @param boardId ID do Board
+     * @param transitions Transições permitidas (duplicadas são ignoradas)
+     * @return Número da versão gravada
+     * @throws SQLException Em caso de erro no banco de dados
+     * @throws EntityNotFoundException Se o Board não for encontrado
+     * @throws IllegalArgumentException Se o fluxo for inválido
+     * @throws br.com.dio.exception.OptimisticLockException Se as colunas do Board foram alteradas durante a gravação
+     */
+    public int save(final Long boardId, final List<WorkflowTransitionDTO> transitions) throws SQLException {
+        var event = BoardOperationEvent.start("saveWorkflow", boardId);
+        var success = false;
+        try {
+            var result = new TransactionTemplate(connection).execute("BoardWorkflowService.save", () -> {
+                var dao = new BoardWorkflowDAO(connection);
+                // O board bloqueado serializa as gravações de fluxo e as edições de estrutura dele
+                var boardColumns = BoardColumnService.lockColumns(connection, boardId).stream()
+                        .map(bc -> new BoardColumnInfoDTO(bc.getId(), bc.getOrder(), bc.getKind(), bc.getVersion()))
+                        .toList();
+                var version = dao.lockLatestVersion(boardId) + 1;
+                var unique = List.copyOf(new LinkedHashSet<>(transitions));
+                BoardWorkflow.validate(boardColumns, unique);
+                var workflowId = dao.insert(boardId, version);
+                dao.insertTransitions(workflowId, unique);
+                // Nova versão da estrutura: caches de outros processos deixam de ser usados
+                new BoardDAO(connection).incrementStructureVersion(boardId);
+                event.columns(boardColumns.size());
+                return version;
+            });
+            invalidate(boardId);
+            success = true;
+            return result;
+        } finally {
+            event.finish(boardId, success);
+        }
+    }
+
+    /**
+     * Inclui, na transação em andamento, uma coluna recém-inserida no fluxo ativo do Board,
+     * gravando uma nova versão com as transições da anterior e as transições da coluna
+     * anterior para a nova e da nova para a seguinte. Boards com o fluxo linear padrão não
+     * são alterados.
+     * @param boardId ID do Board
+     * @param previousColumnId ID da coluna que fica antes da nova
+     * @param columnId ID da nova coluna
+     * @param nextColumnId ID da coluna que fica depois da nova
+     * @throws SQLException Em caso de erro no banco de dados
+     */
+    void columnInserted(final Long boardId, final Long previousColumnId, final Long columnId,
+                        final Long nextColumnId) throws SQLException {
+        var dao = new BoardWorkflowDAO(connection);
+        var version = dao.lockLatestVersion(boardId);
+        if (version == 0) {
+            return;
+        }
+        var active = dao.findActive(boardId).orElseThrow();
+        var transitions = new ArrayList<>(dao.findTransitions(active.id()));
+        transitions.add(new WorkflowTransitionDTO(previousColumnId, columnId));
+        transitions.add(new WorkflowTransitionDTO(columnId, nextColumnId));
+        var workflowId = dao.insert(boardId, version + 1);
+        dao.insertTransitions(workflowId, transitions);
+    }
+
+    /**
+     * Descarta o fluxo compilado de um Board depois de uma alteração confirmada da
+     * estrutura, do fluxo ou da existência do Board.
+     * @param boardId ID do Board
+     */
+    static void invalidate(final Long boardId) {
+        synchronized (COMPILED) {
+            COMPILED.remove(boardId);
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package br.com.dio.service;
+
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import br.com.dio.persistence.config.ConnectionConfig;
+import lombok.NoArgsConstructor;
+
+import static lombok.AccessLevel.PRIVATE;
+
+/**
+ * Agendamento do arquivamento periódico de Cards em segundo plano.
+ *
+ * <p>Configurável por propriedades de sistema:</p>
+ * <ul>
+ *   <li>{@code board.archive.enabled} - liga ou desliga o job (padrão {@code true})</li>
+ *   <li>{@code board.archive.age} - idade mínima dos Cards, em duração ISO-8601 (padrão {@code P30D})</li>
+ *   <li>{@code board.archive.interval} - intervalo entre execuções (padrão {@code PT1H})</li>
+ *   <li>{@code board.archive.chunk} - Cards por transação (padrão 500)</li>
+ * </ul>
+ */
+@NoArgsConstructor(access = PRIVATE)
+public final class CardArchiveJob {
+
+    // Atraso da primeira execução, para não competir com a inicialização
+    private static final Duration INITIAL_DELAY = Duration.ofMinutes(1);
+
+    private static ScheduledExecutorService scheduler;
+
+    /**
+     * Inicia o job em uma thread daemon, se habilitado. Chamadas repetidas são ignoradas.
+     */
+    public static synchronized void start() {
+        if (scheduler != null || !Boolean.parseBoolean(System.getProperty("board.archive.enabled", "true"))) {
+            return;
+        }
+        var age = Duration.parse(System.getProperty("board.archive.age", "P30D"));
+        var interval = Duration.parse(System.getProperty("board.archive.interval", "PT1H"));
+        var chunkSize = Integer.getInteger("board.archive.chunk", 500);
+
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            var thread = new Thread(runnable, "card-archive");
+            thread.setDaemon(true);
+            thread.setPriority(Thread.MIN_PRIORITY);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(() -> run(age, chunkSize),
+                INITIAL_DELAY.toMillis(), interval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Executa uma rodada de arquivamento com uma conexão própria.
+     * Falhas são registradas e a próxima rodada tenta novamente.
+     */
+    private static void run(final Duration age, final int chunkSize) {
+        try (var connection = ConnectionConfig.getConnection()) {
+            var archived = new CardArchiveService(connection).archiveOlderThan(age, chunkSize);
+            if (archived > 0) {
+                System.out.printf("[archive] %s cards arquivados%n", archived);
+            }
+        } catch (SQLException | RuntimeException ex) {
+            System.err.printf("[archive] falha no arquivamento de cards: %s%n", ex.getMessage());
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package br.com.dio.service;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+
+import br.com.dio.persistence.dao.CardArchiveDAO;
+import lombok.AllArgsConstructor;
+
+/**
+ * Serviço de arquivamento de Cards finalizados ou cancelados.
+ *
+ * <p>Os Cards em colunas FINAL ou CANCEL há mais tempo que a idade configurada são
+ * movidos, com seus bloqueios, para CARDS_ARCHIVE/BLOCKS_ARCHIVE. O trabalho é feito
+ * em lotes pequenos, cada um em sua própria transação, para manter os bloqueios de
+ * linha curtos e não competir com as operações interativas. As dependências dos Cards
+ * arquivados são removidas (ver {@link CardDependencyService}), e Cards com filhos na
+ * hierarquia só são arquivados depois dos filhos; os Cards arquivados continuam nos
+ * totais dos seus ancestrais (ver {@link CardHierarchyService}).
+ * Os Cards de cada lote confirmado saem do índice de tags em memória (ver {@link TagService}).</p>
+ */
+@AllArgsConstructor
+public class CardArchiveService {
+
+    // Conexão com o banco de dados
+    private final Connection connection;
+
+    /**
+     * Arquiva todos os Cards elegíveis, lote a lote.
+     * @param age Tempo mínimo desde a entrada do Card na coluna FINAL ou CANCEL
+     * @param chunkSize Quantidade máxima de Cards por transação
+     * @return Quantidade total de Cards arquivados
+     * @throws SQLException Em caso de erro no banco de dados (o lote em andamento é desfeito;
+     *                      os lotes anteriores permanecem arquivados)
+     */
+    public long archiveOlderThan(final Duration age, final int chunkSize) throws SQLException {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("O tamanho do lote deve ser maior que 0.");
+        }
+        var movedBefore = OffsetDateTime.now().minus(age);
+        var dao = new CardArchiveDAO(connection);
+        var dependencyService = new CardDependencyService(connection);
+        var transaction = new TransactionTemplate(connection);
+        long total = 0;
+        while (!Thread.currentThread().isInterrupted()) {
+            var ids = transaction.execute("CardArchiveService.archiveOlderThan", () -> {
+                var locked = dao.lockArchivable(movedBefore, chunkSize);
+                // Remove as dependências antes, mantendo o fecho consistente; as linhas da hierarquia
+                // saem pela cascata e os totais dos ancestrais permanecem
+                dependencyService.detach(locked);
+                dao.archive(locked);
+                return locked;
+            });
+            TagService.cardsRemoved(ids);
+            var archived = ids.size();
+            total += archived;
+            if (archived < chunkSize) {
+                break;
+            }
+        }
+        return total;
+    }
+}
@@ -0,0 +1,204 @@
+package br.com.dio.service;
+
+import static br.com.dio.persistence.entity.BoardColumnKindEnum.CANCEL;
+import static br.com.dio.persistence.entity.BoardColumnKindEnum.FINAL;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+
+import br.com.dio.dto.CardDependenciesDTO;
+import br.com.dio.exception.EntityNotFoundException;
+import br.com.dio.exception.OptimisticLockException;
+import br.com.dio.monitoring.CardOperationEvent;
+import br.com.dio.persistence.dao.BlockDAO;
+import br.com.dio.persistence.dao.CardDAO;
+import br.com.dio.persistence.dao.CardDependencyDAO;
+import lombok.AllArgsConstructor;
+
+/**
+ * Serviço de dependências entre cards ("o card A depende do card B").
+ *
+ * <p>Um card com dependências fora da coluna FINAL é bloqueado automaticamente, com um
+ * bloqueio de dependência; quando a última dependência chega à coluna FINAL, o bloqueio
+ * é desfeito na mesma transação da movimentação. Enquanto houver dependências pendentes o
+ * card não pode ser desbloqueado manualmente. Dependências são permitidas apenas entre
+ * cards do mesmo board e não podem formar ciclos.</p>
+ *
+ * <p>Um bloqueador cancelado não libera os seus dependentes: eles continuam bloqueados
+ * mesmo depois que o bloqueador é arquivado e a dependência deixa de existir, e então
+ * podem ser desbloqueados manualmente.</p>
+ *
+ * <p>O fecho transitivo das dependências é mantido em CARD_DEPENDENCY_CLOSURE a cada
+ * inclusão ou remoção (ver {@link CardDependencyDAO}): a detecção de ciclos e a lista
+ * de cards liberados por um card são consultas por chave, sem percorrer o grafo.</p>
+ */
+@AllArgsConstructor
+public class CardDependencyService {
+
+    // Conexão com o banco de dados
+    private final Connection connection;
+
+    /**
+     * Registra que um card depende de outro. Se o card de que ele depende ainda não
+     * estiver finalizado e o card não estiver bloqueado, o card é bloqueado por dependência.
+     * Um card já bloqueado manualmente mantém o seu bloqueio, e o desbloqueio manual é
+     * recusado enquanto houver dependências pendentes (ver {@link CardService#unblock(Long, String)}).
+     * @param cardId ID do card dependente
+     * @param dependsOnId ID do card de que ele depende
+     * @return false se a dependência já existia
+     * @throws SQLException Em caso de erro no banco de dados
+     * @throws EntityNotFoundException Se algum dos cards não for encontrado
+     * @throws IllegalArgumentException Se os cards forem o mesmo ou estiverem em boards diferentes
+     * @throws IllegalStateException Se o card dependente estiver finalizado ou cancelado,
+     *                               ou se a dependência formar um ciclo
+     * @throws OptimisticLockException Se o card dependente foi alterado por outra operação
+     */
+    public boolean addDependency(final Long cardId, final Long dependsOnId) throws SQLException {
+        var event = CardOperationEvent.start("addDependency", cardId);
+        var success = false;
+        try {
+            var added = new TransactionTemplate(connection).execute("CardDependencyService.addDependency", () -> {
+                if (cardId.equals(dependsOnId)) {
+                    throw new IllegalArgumentException("O card não pode depender dele mesmo");
+                }
+                var cardDAO = new CardDAO(connection);
+                var dependencyDAO = new CardDependencyDAO(connection);
+                // Os bloqueios compartilhados vêm antes da leitura dos cards: um desbloqueio manual
+                // em andamento termina antes, e o estado de bloqueio lido já é o confirmado
+                var kind = dependencyDAO.lockColumnKind(cardId).orElseThrow(() -> notFound(cardId));
+                // Impede também que o bloqueador seja finalizado sem enxergar a nova dependência
+                var blockerKind = dependencyDAO.lockColumnKind(dependsOnId).orElseThrow(() -> notFound(dependsOnId));
+                var dto = CardService.findCard(cardDAO, cardId);
+                var blocker = CardService.findCard(cardDAO, dependsOnId);
+                if (!dto.boardId().equals(blocker.boardId())) {
+                    throw new IllegalArgumentException("Os cards %s e %s pertencem a boards diferentes"
+                            .formatted(cardId, dependsOnId));
+                }
+                if (kind.equals(FINAL) || kind.equals(CANCEL)) {
+                    throw new IllegalStateException("O card está em uma coluna do tipo %s e não pode receber dependências"
+                            .formatted(kind));
+                }
+
+                dependencyDAO.ensureNodes(dependsOnId, cardId);
+                if (dependencyDAO.reaches(cardId, dependsOnId)) {
+                    throw new IllegalStateException("O card %s já depende, direta ou indiretamente, do card %s"
+                            .formatted(dependsOnId, cardId));
+                }
+                if (!dependencyDAO.insert(cardId, dependsOnId)) {
+                    return false;
+                }
+                event.transition(dto.boardId(), dto.columnId(), dto.columnId());
+                if (!blockerKind.equals(FINAL) && !dto.blocked()) {
+                    new BlockDAO(connection).blockForDependency("Aguardando o card %s".formatted(dependsOnId),
+                            cardId, dto.version());
+                }
+                return true;
+            });
+            success = true;
+            return added;
+        } finally {
+            event.finish(cardId, success);
+        }
+    }
+
+    /**
+     * Remove a dependência entre dois cards. Se o card estava bloqueado por dependência e
+     * não restarem dependências fora da coluna FINAL, ele é desbloqueado.
+     * @param cardId ID do card dependente
+     * @param dependsOnId ID do card de que ele dependia
+     * @return false se a dependência não existia
+     * @throws SQLException Em caso de erro no banco de dados
+     */
+    public boolean removeDependency(final Long cardId, final Long dependsOnId) throws SQLException {
+        var event = CardOperationEvent.start("removeDependency", cardId);
+        var success = false;
+        try {
+            var removed = new TransactionTemplate(connection).execute("CardDependencyService.removeDependency", () -> {
+                var dependencyDAO = new CardDependencyDAO(connection);
+                if (!dependencyDAO.delete(cardId, dependsOnId)) {
+                    return false;
+                }
+                unblock(dependencyDAO.lockReleasable(cardId));
+                return true;
+            });
+            success = true;
+            return removed;
+        } finally {
+            event.finish(cardId, success);
+        }
+    }
+
+    /**
+     * Busca as dependências diretas de um card e os cards que dependem dele, direta ou
+     * indiretamente.
+     * @param cardId ID do card
+     * @return Dependências do card
+     * @throws SQLException Em caso de erro no banco de dados
+     * @throws EntityNotFoundException Se o card não for encontrado
+     */
+    public CardDependenciesDTO findDependencies(final Long cardId) throws SQLException {
+        CardService.findCard(new CardDAO(connection), cardId);
+        var dao = new CardDependencyDAO(connection);
+        return new CardDependenciesDTO(cardId, dao.findDependencyIds(cardId), dao.findTransitiveDependentIds(cardId));
+    }
+
+    /**
+     * Desbloqueia, na transação em andamento, os dependentes de um card que acabou de
+     * chegar à coluna FINAL e não têm outras dependências pendentes.
+     * @param finishedCardId ID do card finalizado
+     * @throws SQLException Em caso de erro no banco de dados
+     */
+    void releaseDependents(final Long finishedCardId) throws SQLException {
+        unblock(new CardDependencyDAO(connection).lockReleasableDependents(finishedCardId));
+    }
+
+    /**
+     * Remove, na transação em andamento, as dependências que envolvem cards prestes a
+     * sair da tabela CARDS (ex.: arquivamento), mantendo o fecho consistente. Os cards
+     * que dependiam deles e ficam sem dependências pendentes são desbloqueados, exceto
+     * os que dependiam de um card cancelado, que continuam bloqueados.
+     * @param cardIds IDs dos cards
+     * @throws SQLException Em caso de erro no banco de dados
+     */
+    void detach(final List<Long> cardIds) throws SQLException {
+        var dao = new CardDependencyDAO(connection);
+        var edges = dao.findEdges(cardIds);
+        var cancelled = dao.findCancelledIds(cardIds);
+        var dependents = new LinkedHashSet<Long>();
+        var held = new HashSet<Long>();
+        for (var edge : edges) {
+            dao.delete(edge.cardId(), edge.dependsOnId());
+            dependents.add(edge.cardId());
+            if (cancelled.contains(edge.dependsOnId())) {
+                held.add(edge.cardId());
+            }
+        }
+        dependents.removeAll(cardIds);
+        dependents.removeAll(held);
+        Map<Long, Integer> releasable = new LinkedHashMap<>();
+        for (var dependentId : dependents) {
+            releasable.putAll(dao.lockReleasable(dependentId));
+        }
+        unblock(releasable);
+    }
+
+    private void unblock(final Map<Long, Integer> versionsByCardId) throws SQLException {
+        if (versionsByCardId.isEmpty()) {
+            return;
+        }
+        var blockDAO = new BlockDAO(connection);
+        Map<Long, String> reasons = new LinkedHashMap<>();
+        versionsByCardId.keySet().forEach(id -> reasons.put(id, "Dependências concluídas"));
+        blockDAO.incrementCardVersions(versionsByCardId);
+        blockDAO.unblockBatch(reasons);
+    }
+
+    private static EntityNotFoundException notFound(final Long cardId) {
+        return new EntityNotFoundException("O card de id %s não foi encontrado".formatted(cardId));
+    }
+}
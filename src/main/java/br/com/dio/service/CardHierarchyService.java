@@ -0,0 +1,128 @@
+package br.com.dio.service;
+
+import static br.com.dio.persistence.entity.BoardColumnKindEnum.CANCEL;
+import static br.com.dio.persistence.entity.BoardColumnKindEnum.FINAL;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Objects;
+
+import br.com.dio.dto.CardSubtreeDTO;
+import br.com.dio.exception.EntityNotFoundException;
+import br.com.dio.monitoring.CardOperationEvent;
+import br.com.dio.persistence.dao.CardDAO;
+import br.com.dio.persistence.dao.CardHierarchyDAO;
+import br.com.dio.persistence.dao.CardHierarchyDAO.Totals;
+import br.com.dio.persistence.entity.BoardColumnKindEnum;
+import lombok.AllArgsConstructor;
+
+/**
+ * Serviço da hierarquia de cards: épicos e subtarefas, em qualquer profundidade.
+ *
+ * <p>Cada card tem no máximo um pai, do mesmo board. A quantidade de descendentes e o
+ * progresso (descendentes em FINAL) de cada card ficam guardados e são atualizados nos
+ * ancestrais quando um descendente chega a uma coluna FINAL ou CANCEL ou quando uma
+ * subárvore muda de pai, na mesma transação da alteração (ver {@link CardHierarchyDAO}).
+ * A leitura dos totais é uma busca pela chave, sem percorrer a subárvore.</p>
+ *
+ * <p>Subtarefas arquivadas continuam contando nos totais dos ancestrais, para que o
+ * progresso de um épico não diminua com o arquivamento; elas só deixam de aparecer entre
+ * os filhos. Ao mudar de pai, a subárvore leva os totais guardados, com as arquivadas.</p>
+ */
+@AllArgsConstructor
+public class CardHierarchyService {
+
+    // Conexão com o banco de dados
+    private final Connection connection;
+
+    /**
+     * Define o pai de um card, movendo o card com toda a sua subárvore.
+     * @param cardId ID do card
+     * @param parentId ID do novo pai ou null para tornar o card uma raiz
+     * @return false se o card já tinha esse pai
+     * @throws SQLException Em caso de erro no banco de dados
+     * @throws EntityNotFoundException Se algum dos cards não for encontrado
+     * @throws IllegalArgumentException Se os cards forem o mesmo ou estiverem em boards diferentes
+     * @throws IllegalStateException Se o novo pai estiver na subárvore do card
+     */
+    public boolean setParent(final Long cardId, final Long parentId) throws SQLException {
+        var event = CardOperationEvent.start("setParent", cardId);
+        var success = false;
+        try {
+            var changed = new TransactionTemplate(connection).execute("CardHierarchyService.setParent", () -> {
+                if (cardId.equals(parentId)) {
+                    throw new IllegalArgumentException("O card não pode ser pai dele mesmo");
+                }
+                var dao = new CardHierarchyDAO(connection);
+                var boardId = dao.lockBoardId(cardId).orElseThrow(() -> notFound(cardId));
+                if (parentId != null) {
+                    var parentBoardId = dao.lockBoardId(parentId).orElseThrow(() -> notFound(parentId));
+                    if (!boardId.equals(parentBoardId)) {
+                        throw new IllegalArgumentException("Os cards %s e %s pertencem a boards diferentes"
+                                .formatted(cardId, parentId));
+                    }
+                }
+                var currentParentId = dao.findParentId(cardId).orElse(null);
+                if (Objects.equals(currentParentId, parentId)) {
+                    return false;
+                }
+                if (parentId != null) {
+                    dao.ensureNode(cardId);
+                    dao.ensureNode(parentId);
+                    if (dao.contains(cardId, parentId)) {
+                        throw new IllegalStateException("O card %s está na subárvore do card %s"
+                                .formatted(parentId, cardId));
+                    }
+                }
+                event.transition(boardId, null, null);
+
+                // Retira a subárvore, com as subtarefas arquivadas, dos totais dos ancestrais antigos e a soma aos novos
+                var totals = dao.lockSubtreeTotals(cardId);
+                if (currentParentId != null) {
+                    dao.addToAncestors(cardId, totals.negate());
+                    dao.detach(cardId);
+                }
+                if (parentId != null) {
+                    dao.attach(cardId, parentId);
+                    dao.addToAncestors(cardId, totals);
+                }
+                return true;
+            });
+            success = true;
+            return changed;
+        } finally {
+            event.finish(cardId, success);
+        }
+    }
+
+    /**
+     * Busca o pai, os filhos e os totais da subárvore de um card.
+     * @param cardId ID do card
+     * @return Subárvore do card
+     * @throws SQLException Em caso de erro no banco de dados
+     * @throws EntityNotFoundException Se o card não for encontrado
+     */
+    public CardSubtreeDTO findSubtree(final Long cardId) throws SQLException {
+        CardService.findCard(new CardDAO(connection), cardId);
+        return new CardHierarchyDAO(connection).findSubtree(cardId);
+    }
+
+    /**
+     * Atualiza, na transação em andamento, os totais dos ancestrais de um card que acabou
+     * de ser movido para uma coluna do tipo informado. Só colunas FINAL e CANCEL alteram
+     * os totais, e elas não têm saídas.
+     * @param cardId ID do card movido
+     * @param targetKind Tipo da coluna de destino
+     * @throws SQLException Em caso de erro no banco de dados
+     */
+    void recordMove(final Long cardId, final BoardColumnKindEnum targetKind) throws SQLException {
+        if (targetKind.equals(FINAL) || targetKind.equals(CANCEL)) {
+            var finished = targetKind.equals(FINAL) ? 1 : 0;
+            new CardHierarchyDAO(connection).addToAncestors(cardId, new Totals(0, finished, 1 - finished));
+        }
+    }
+
+    private static EntityNotFoundException notFound(final Long cardId) {
+        return new EntityNotFoundException("O card de id %s não foi encontrado".formatted(cardId));
+    }
+}
@@ -0,0 +1,213 @@
+package br.com.dio.service;
+
+import static br.com.dio.persistence.entity.BoardColumnKindEnum.CANCEL;
+import static br.com.dio.persistence.entity.BoardColumnKindEnum.FINAL;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import br.com.dio.dto.CardImportResultDTO;
+import br.com.dio.dto.CardImportRowDTO;
+import br.com.dio.persistence.dao.BlockDAO;
+import br.com.dio.persistence.dao.CardDAO;
+import br.com.dio.persistence.entity.BoardColumnEntity;
+import br.com.dio.persistence.entity.BoardEntity;
+import br.com.dio.persistence.entity.CardEntity;
+import br.com.dio.transfer.CardImportReader;
+
+/**
+ * Serviço de importação em massa de cards a partir de arquivos CSV ou JSON Lines.
+ *
+ * <p>O arquivo é lido em fluxo e os cards são gravados em lotes de tamanho fixo,
+ * com um commit por lote: o uso de memória depende apenas do tamanho do lote,
+ * não do tamanho do arquivo. Registros inválidos são rejeitados individualmente
+ * e relatados ao {@link Listener}, sem interromper a importação.</p>
+ */
+public class CardImportService {
+
+    // Tamanho padrão do lote gravado em cada transação
+    public static final int DEFAULT_CHUNK_SIZE = 1000;
+
+    // Tamanho máximo dos campos textuais (VARCHAR(255))
+    private static final int MAX_TEXT_LENGTH = 255;
+
+    // Conexão com o banco de dados
+    private final Connection connection;
+
+    // Quantidade de cards gravados por transação
+    private final int chunkSize;
+
+    /**
+     * Acompanhamento do progresso de uma importação.
+     */
+    public interface Listener {
+
+        /**
+         * Chamado após o commit de cada lote.
+         * @param processed Registros lidos até o momento
+         * @param imported Cards gravados até o momento
+         * @param rejected Registros rejeitados até o momento
+         */
+        void onProgress(long processed, long imported, long rejected);
+
+        /**
+         * Chamado para cada registro rejeitado.
+         * @param line Linha do arquivo onde o registro começa
+         * @param reason Motivo da rejeição
+         */
+        void onRejected(long line, String reason);
+    }
+
+    /**
+     * Cria o serviço com o tamanho de lote padrão.
+     * @param connection Conexão com o banco de dados
+     */
+    public CardImportService(final Connection connection) {
+        this(connection, DEFAULT_CHUNK_SIZE);
+    }
+
+    /**
+     * Cria o serviço com um tamanho de lote específico.
+     * @param connection Conexão com o banco de dados
+     * @param chunkSize Quantidade de cards gravados por transação
+     */
+    public CardImportService(final Connection connection, final int chunkSize) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("O tamanho do lote deve ser maior que 0.");
+        }
+        this.connection = connection;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Importa os cards de um arquivo para o board informado.
+     * @param board Board de destino, com suas colunas carregadas
+     * @param file Arquivo CSV ou JSON Lines
+     * @param listener Receptor do progresso e das rejeições
+     * @return Resumo da importação
+     * @throws IOException Em caso de erro de leitura do arquivo
+     * @throws SQLException Em caso de erro no banco de dados (o lote em andamento é desfeito;
+     *                      os lotes anteriores permanecem gravados)
+     */
+    public CardImportResultDTO importCards(final BoardEntity board, final Path file,
+                                           final Listener listener) throws IOException, SQLException {
+        var start = System.currentTimeMillis();
+        var columns = indexColumns(board);
+        var initialColumn = board.getInitialColumn();
+        var cardDAO = new CardDAO(connection);
+        var blockDAO = new BlockDAO(connection);
+
+        List<CardEntity> chunk = new ArrayList<>(chunkSize);
+        List<String> chunkReasons = new ArrayList<>(chunkSize);
+        long processed = 0;
+        long imported = 0;
+        long rejected = 0;
+
+        try (var reader = CardImportReader.open(file)) {
+            CardImportRowDTO row;
+            while ((row = reader.next()) != null) {
+                processed++;
+                var error = validate(row, columns);
+                if (error != null) {
+                    rejected++;
+                    listener.onRejected(row.line(), error);
+                    continue;
+                }
+                var card = new CardEntity();
+                card.setTitle(row.title().trim());
+                card.setDescription(row.description() == null ? "" : row.description());
+                card.setBoardColumn(row.column() == null ? initialColumn : columns.get(key(row.column())));
+                chunk.add(card);
+                chunkReasons.add(row.blockReason());
+
+                if (chunk.size() == chunkSize) {
+                    imported += flush(board.getId(), cardDAO, blockDAO, chunk, chunkReasons);
+                    listener.onProgress(processed, imported, rejected);
+                }
+            }
+        }
+        if (!chunk.isEmpty()) {
+            imported += flush(board.getId(), cardDAO, blockDAO, chunk, chunkReasons);
+        }
+        listener.onProgress(processed, imported, rejected);
+        return new CardImportResultDTO(processed, imported, rejected, System.currentTimeMillis() - start);
+    }
+
+    /**
+     * Grava um lote de cards (e seus bloqueios iniciais) em uma única transação.
+     * @return Quantidade de cards gravados
+     */
+    private int flush(final Long boardId, final CardDAO cardDAO, final BlockDAO blockDAO,
+                      final List<CardEntity> chunk, final List<String> chunkReasons) throws SQLException {
+        new TransactionTemplate(connection).run("CardImportService.flush", () -> {
+            cardDAO.insertBatch(chunk);
+            Map<Long, String> reasons = new LinkedHashMap<>();
+            for (int i = 0; i < chunk.size(); i++) {
+                if (chunkReasons.get(i) != null) {
+                    reasons.put(chunk.get(i).getId(), chunkReasons.get(i));
+                }
+            }
+            blockDAO.blockBatch(reasons);
+        });
+        chunk.forEach(card -> TagService.cardCreated(boardId, card.getId()));
+        var size = chunk.size();
+        chunk.clear();
+        chunkReasons.clear();
+        return size;
+    }
+
+    /**
+     * Valida um registro contra as regras de criação e bloqueio de cards.
+     * @return Motivo da rejeição ou null se o registro for válido
+     */
+    private String validate(final CardImportRowDTO row, final Map<String, BoardColumnEntity> columns) {
+        if (row.error() != null) {
+            return row.error();
+        }
+        if (row.title() == null || row.title().isBlank()) {
+            return "O título do card é obrigatório";
+        }
+        if (row.title().trim().length() > MAX_TEXT_LENGTH
+                || (row.description() != null && row.description().length() > MAX_TEXT_LENGTH)
+                || (row.blockReason() != null && row.blockReason().length() > MAX_TEXT_LENGTH)) {
+            return "Campos textuais devem ter no máximo %s caracteres".formatted(MAX_TEXT_LENGTH);
+        }
+        if (row.column() != null) {
+            var column = columns.get(key(row.column()));
+            if (column == null) {
+                return "A coluna %s não pertence ao board".formatted(row.column());
+            }
+            if (row.blockReason() != null && (column.getKind().equals(FINAL) || column.getKind().equals(CANCEL))) {
+                return "O card está em uma coluna do tipo %s e não pode ser bloqueado".formatted(column.getKind());
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Indexa as colunas do board por ID e por nome (sem diferenciar maiúsculas).
+     */
+    private Map<String, BoardColumnEntity> indexColumns(final BoardEntity board) {
+        Map<String, BoardColumnEntity> columns = new HashMap<>();
+        for (var column : board.getBoardColumns()) {
+            columns.put(key(column.getName()), column);
+        }
+        // IDs têm prioridade sobre nomes que por acaso sejam numéricos
+        for (var column : board.getBoardColumns()) {
+            columns.put(String.valueOf(column.getId()), column);
+        }
+        return columns;
+    }
+
+    private static String key(final String column) {
+        return column.trim().toLowerCase(Locale.ROOT);
+    }
+}
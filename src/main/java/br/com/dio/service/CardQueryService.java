@@ -5,6 +5,7 @@ import java.sql.SQLException;
 import java.util.Optional;
 
 import br.com.dio.dto.CardDetailsDTO;
+import br.com.dio.persistence.dao.CardArchiveDAO;
 import br.com.dio.persistence.dao.CardDAO;
 
 /**
@@ -13,6 +14,9 @@ import br.com.dio.persistence.dao.CardDAO;
  * 
  * <p>Oferece flexibilidade para ser instanciado tanto com uma conexão direta
  * quanto com um DAO previamente configurado.</p>
+ *
+ * <p>Quando criado com uma conexão, Cards não encontrados na tabela principal são
+ * procurados no arquivo de Cards finalizados e cancelados.</p>
  */
 public class CardQueryService {
     
@@ -61,6 +65,11 @@ public class CardQueryService {
             dao = new CardDAO(connection);
         }
         
-        return dao.findById(id);
+        var card = dao.findById(id);
+        if (card.isPresent() || connection == null) {
+            return card;
+        }
+        // Cards finalizados ou cancelados há muito tempo ficam no arquivo
+        return new CardArchiveDAO(connection).findById(id);
     }
 }
\ No newline at end of file
@@ -5,24 +5,57 @@ import static br.com.dio.persistence.entity.BoardColumnKindEnum.FINAL;
 
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.time.Duration;
+import java.time.OffsetDateTime;
 import java.util.List;
 
 import br.com.dio.dto.BoardColumnInfoDTO;
+import br.com.dio.dto.CardDetailsDTO;
 import br.com.dio.exception.CardBlockedException;
 import br.com.dio.exception.CardFinishedException;
 import br.com.dio.exception.EntityNotFoundException;
+import br.com.dio.exception.OptimisticLockException;
+import br.com.dio.monitoring.CardOperationEvent;
 import br.com.dio.persistence.dao.BlockDAO;
 import br.com.dio.persistence.dao.CardDAO;
+import br.com.dio.persistence.dao.CardDependencyDAO;
+import br.com.dio.persistence.dao.TagDAO;
+import br.com.dio.persistence.dao.UserDAO;
 import br.com.dio.persistence.entity.CardEntity;
+import br.com.dio.persistence.rank.CardRank;
+import br.com.dio.tag.TagFilter;
+import br.com.dio.workflow.BoardWorkflow;
 import lombok.AllArgsConstructor;
 
 /**
  * Serviço responsável pelas operações de CRUD e gestão de estados dos cards.
  * Gerencia criação, movimentação entre colunas, bloqueio e desbloqueio de cards.
+ *
+ * <p>As decisões são tomadas sobre o card lido e a lista de colunas recebida do chamador;
+ * as alterações são condicionadas às versões lidas, sem bloqueios pessimistas. Se o card
+ * ou as colunas mudarem antes da gravação, a operação lança
+ * {@link OptimisticLockException} e a transação é desfeita.</p>
+ *
+ * <p>Cada operação é uma unidade de trabalho do {@link TransactionTemplate}: transações
+ * desfeitas por deadlock ou espera de bloqueio são repetidas, relendo o card.</p>
+ *
+ * <p>Um card que chega à coluna final desbloqueia, na mesma transação, os cards que
+ * aguardavam apenas por ele (ver {@link CardDependencyService}), e um card que chega a
+ * uma coluna FINAL ou CANCEL atualiza os totais dos seus ancestrais na hierarquia (ver
+ * {@link CardHierarchyService}).</p>
+ *
+ * <p>Criações e alterações de tags são aplicadas ao índice de tags em memória depois do
+ * commit (ver {@link TagService}).</p>
  */
 @AllArgsConstructor
 public class CardService {
 
+    // Tempo após o qual a reserva de um card por um worker expira
+    private static final Duration CLAIM_TIMEOUT = Duration.parse(System.getProperty("board.claim.timeout", "PT15M"));
+
+    // Maior quantidade de cards reservados em uma única chamada de pullNext
+    private static final int MAX_CLAIM_BATCH = 1000;
+
     // Conexão com o banco de dados
     private final Connection connection;
 
@@ -33,14 +66,20 @@ public class CardService {
      * @throws SQLException Em caso de erro no banco de dados
      */
     public CardEntity create(final CardEntity entity) throws SQLException {
+        var event = CardOperationEvent.start("create", entity.getId());
+        var success = false;
         try {
-            var dao = new CardDAO(connection);
-            dao.insert(entity);
-            connection.commit();
+            new TransactionTemplate(connection).run("CardService.create", () -> {
+                var dao = new CardDAO(connection);
+                var column = entity.getBoardColumn();
+                event.transition(column.getBoard().getId(), null, column.getId());
+                dao.insert(entity);
+            });
+            TagService.cardCreated(entity.getBoardColumn().getBoard().getId(), entity.getId());
+            success = true;
             return entity;
-        } catch (SQLException ex) {
-            connection.rollback();
-            throw ex;
+        } finally {
+            event.finish(entity.getId(), success);
         }
     }
 
@@ -60,43 +99,68 @@ public class CardService {
      * @throws EntityNotFoundException Se o card não for encontrado
      * @throws CardBlockedException Se o card estiver bloqueado
      * @throws CardFinishedException Se o card já estiver na coluna final
+     * @throws OptimisticLockException Se o card ou as colunas foram alterados por outra operação
      */
     public void moveToNextColumn(final Long cardId, final List<BoardColumnInfoDTO> boardColumnsInfo) throws SQLException {
+        var event = CardOperationEvent.start("moveToNextColumn", cardId);
+        var success = false;
         try {
-            var dao = new CardDAO(connection);
-            var optional = dao.findById(cardId);
-            var dto = optional.orElseThrow(
-                () -> new EntityNotFoundException("O card de id %s não foi encontrado".formatted(cardId))
-            );
-            
-            // Verifica se o card está bloqueado
-            if (dto.blocked()) {
-                var message = "O card %s está bloqueado, é necessário desbloquea-lo para mover".formatted(cardId);
-                throw new CardBlockedException(message);
-            }
-            
-            // Obtém a coluna atual do card
-            var currentColumn = boardColumnsInfo.stream()
-                .filter(bc -> bc.id().equals(dto.columnId()))
-                .findFirst()
-                .orElseThrow(() -> new IllegalStateException("O card informado pertence a outro board"));
-            
-            // Verifica se o card já está finalizado
-            if (currentColumn.kind().equals(FINAL)) {
-                throw new CardFinishedException("O card já foi finalizado");
-            }
-            
-            // Encontra a próxima coluna no fluxo
-            var nextColumn = boardColumnsInfo.stream()
-                .filter(bc -> bc.order() == currentColumn.order() + 1)
-                .findFirst().orElseThrow(() -> new IllegalStateException("O card está cancelado"));
-            
-            // Executa a movimentação
-            dao.moveToColumn(nextColumn.id(), cardId);
-            connection.commit();
-        } catch (SQLException ex) {
-            connection.rollback();
-            throw ex;
+            new TransactionTemplate(connection).run("CardService.moveToNextColumn", () -> {
+                var dao = new CardDAO(connection);
+                var dto = findCard(dao, cardId);
+
+                // Obtém a coluna atual do card no fluxo compilado do board
+                var workflow = new BoardWorkflowService(connection).forBoard(dto.boardId(), boardColumnsInfo);
+                var current = movableColumn(workflow, dto);
+
+                // Próxima coluna pré-calculada pelo fluxo
+                var next = nextColumn(workflow, current);
+                var nextColumnId = workflow.columnId(next);
+
+                // Executa a movimentação, condicionada às versões lidas do card e das colunas
+                event.transition(dto.boardId(), dto.columnId(), nextColumnId);
+                dao.moveToColumn(cardId, dto.version(), workflow.column(current), workflow.column(next));
+                afterMove(workflow, next, cardId);
+            });
+            success = true;
+        } finally {
+            event.finish(cardId, success);
+        }
+    }
+
+    /**
+     * Move um card para uma coluna escolhida, se o fluxo do board permitir a transição
+     * (pular colunas, voltar a uma coluna anterior ou escolher entre várias saídas).
+     * @param cardId ID do card a ser movido
+     * @param targetColumnId ID da coluna de destino
+     * @param boardColumnsInfo Lista com informações das colunas do board
+     * @throws SQLException Em caso de erro no banco de dados
+     * @throws EntityNotFoundException Se o card não for encontrado
+     * @throws CardBlockedException Se o card estiver bloqueado
+     * @throws CardFinishedException Se o card já estiver na coluna final
+     * @throws IllegalStateException Se o fluxo do board não permitir a transição
+     * @throws OptimisticLockException Se o card ou as colunas foram alterados por outra operação
+     */
+    public void moveToColumn(final Long cardId, final Long targetColumnId,
+                             final List<BoardColumnInfoDTO> boardColumnsInfo) throws SQLException {
+        var event = CardOperationEvent.start("moveToColumn", cardId);
+        var success = false;
+        try {
+            new TransactionTemplate(connection).run("CardService.moveToColumn", () -> {
+                var dao = new CardDAO(connection);
+                var dto = findCard(dao, cardId);
+
+                var workflow = new BoardWorkflowService(connection).forBoard(dto.boardId(), boardColumnsInfo);
+                var current = movableColumn(workflow, dto);
+                var target = allowedColumn(workflow, current, targetColumnId);
+
+                event.transition(dto.boardId(), dto.columnId(), targetColumnId);
+                dao.moveToColumn(cardId, dto.version(), workflow.column(current), workflow.column(target));
+                afterMove(workflow, target, cardId);
+            });
+            success = true;
+        } finally {
+            event.finish(cardId, success);
         }
     }
 
@@ -109,41 +173,217 @@ public class CardService {
      * @throws EntityNotFoundException Se o card não for encontrado
      * @throws CardBlockedException Se o card estiver bloqueado
      * @throws CardFinishedException Se o card já estiver finalizado
+     * @throws OptimisticLockException Se o card ou as colunas foram alterados por outra operação
      */
     public void cancel(final Long cardId, final Long cancelColumnId,
                      final List<BoardColumnInfoDTO> boardColumnsInfo) throws SQLException {
+        var event = CardOperationEvent.start("cancel", cardId);
+        var success = false;
         try {
-            var dao = new CardDAO(connection);
-            var optional = dao.findById(cardId);
-            var dto = optional.orElseThrow(
-                () -> new EntityNotFoundException("O card de id %s não foi encontrado".formatted(cardId))
-            );
-            
-            if (dto.blocked()) {
-                var message = "O card %s está bloqueado, é necessário desbloquea-lo para mover".formatted(cardId);
-                throw new CardBlockedException(message);
-            }
-            
-            var currentColumn = boardColumnsInfo.stream()
-                .filter(bc -> bc.id().equals(dto.columnId()))
-                .findFirst()
-                .orElseThrow(() -> new IllegalStateException("O card informado pertence a outro board"));
-            
-            if (currentColumn.kind().equals(FINAL)) {
-                throw new CardFinishedException("O card já foi finalizado");
-            }
-            
-            // Valida se existe próxima coluna (verificação de fluxo)
-            boardColumnsInfo.stream()
-                .filter(bc -> bc.order() == currentColumn.order() + 1)
-                .findFirst().orElseThrow(() -> new IllegalStateException("O card está cancelado"));
-            
-            // Move para coluna de cancelados
-            dao.moveToColumn(cancelColumnId, cardId);
-            connection.commit();
-        } catch (SQLException ex) {
-            connection.rollback();
-            throw ex;
+            new TransactionTemplate(connection).run("CardService.cancel", () -> {
+                var dao = new CardDAO(connection);
+                var dto = findCard(dao, cardId);
+
+                var workflow = new BoardWorkflowService(connection).forBoard(dto.boardId(), boardColumnsInfo);
+                var current = movableColumn(workflow, dto);
+
+                // Move para coluna de cancelados
+                var cancelColumn = cancelColumn(workflow, current, cancelColumnId);
+                event.transition(dto.boardId(), dto.columnId(), cancelColumnId);
+                dao.moveToColumn(cardId, dto.version(), workflow.column(current), workflow.column(cancelColumn));
+                afterMove(workflow, cancelColumn, cardId);
+            });
+            success = true;
+        } finally {
+            event.finish(cardId, success);
+        }
+    }
+
+    /**
+     * Reposiciona um card dentro da sua coluna, logo após outro card da mesma coluna.
+     * Apenas a chave de ordenação do card é alterada; os demais cards não são renumerados.
+     * @param cardId ID do card a ser reposicionado
+     * @param afterCardId ID do card que deve ficar imediatamente antes ou null para o topo da coluna
+     * @throws SQLException Em caso de erro no banco de dados
+     * @throws EntityNotFoundException Se o card não for encontrado
+     * @throws IllegalArgumentException Se o card de referência for o próprio card ou estiver em outra coluna
+     * @throws OptimisticLockException Se o card foi alterado por outra operação
+     */
+    public void reorder(final Long cardId, final Long afterCardId) throws SQLException {
+        var event = CardOperationEvent.start("reorder", cardId);
+        var success = false;
+        try {
+            new TransactionTemplate(connection).run("CardService.reorder", () -> {
+                if (cardId.equals(afterCardId)) {
+                    throw new IllegalArgumentException("O card não pode ser posicionado após ele mesmo");
+                }
+                var dao = new CardDAO(connection);
+                var notFound = "O card de id %s não foi encontrado".formatted(cardId);
+                var dto = dao.findById(cardId).orElseThrow(() -> new EntityNotFoundException(notFound));
+                var columnId = dto.columnId();
+
+                // Chaves vizinhas lidas sem bloqueios: se uma reordenação concorrente escolher a mesma
+                // chave, o índice único recusa a segunda gravação e a transação é repetida
+                var rank = dao.findRank(columnId, cardId).orElseThrow(() -> new EntityNotFoundException(notFound));
+                String lower = null;
+                if (afterCardId != null) {
+                    lower = dao.findRank(columnId, afterCardId).orElseThrow(() -> new IllegalArgumentException(
+                            "O card %s não está na mesma coluna do card %s".formatted(afterCardId, cardId)));
+                }
+                var upper = dao.findNextRank(columnId, lower);
+                if (!rank.equals(upper)) {
+                    event.transition(null, columnId, columnId);
+                    dao.updateRank(cardId, dto.version(), CardRank.between(lower, upper));
+                }
+            });
+            success = true;
+        } finally {
+            event.finish(cardId, success);
+        }
+    }
+
+    /**
+     * Atribui um card a um usuário ou o deixa sem responsável.
+     * @param cardId ID do card
+     * @param assigneeId ID do usuário ou null para remover o responsável
+     * @throws SQLException Em caso de erro no banco de dados
+     * @throws EntityNotFoundException Se o card ou o usuário não forem encontrados
+     * @throws OptimisticLockException Se o card foi alterado por outra operação
+     */
+    public void assign(final Long cardId, final Long assigneeId) throws SQLException {
+        var event = CardOperationEvent.start("assign", cardId);
+        var success = false;
+        try {
+            new TransactionTemplate(connection).run("CardService.assign", () -> {
+                var dao = new CardDAO(connection);
+                var dto = findCard(dao, cardId);
+                if (assigneeId != null) {
+                    UserService.findUser(new UserDAO(connection), assigneeId);
+                }
+                event.transition(dto.boardId(), dto.columnId(), dto.columnId());
+                dao.updateAssignee(cardId, dto.version(), assigneeId);
+            });
+            success = true;
+        } finally {
+            event.finish(cardId, success);
+        }
+    }
+
+    /**
+     * Marca um card com uma tag do seu board, criando a tag se ainda não existir.
+     * @param cardId ID do card
+     * @param tag Nome da tag (normalizado para minúsculas)
+     * @throws SQLException Em caso de erro no banco de dados
+     * @throws EntityNotFoundException Se o card não for encontrado ou estiver arquivado
+     * @throws IllegalArgumentException Se o nome da tag for inválido
+     */
+    public void addTag(final Long cardId, final String tag) throws SQLException {
+        var name = TagFilter.normalize(tag);
+        var event = CardOperationEvent.start("addTag", cardId);
+        var success = false;
+        try {
+            var boardId = new TransactionTemplate(connection).execute("CardService.addTag", () -> {
+                var dto = findCard(new CardDAO(connection), cardId);
+                event.transition(dto.boardId(), dto.columnId(), dto.columnId());
+                var dao = new TagDAO(connection);
+                dao.tag(cardId, dao.ensureTag(dto.boardId(), name));
+                return dto.boardId();
+            });
+            TagService.cardTagged(boardId, cardId, name);
+            success = true;
+        } finally {
+            event.finish(cardId, success);
+        }
+    }
+
+    /**
+     * Retira uma tag de um card. A tag continua existindo no board.
+     * @param cardId ID do card
+     * @param tag Nome da tag
+     * @throws SQLException Em caso de erro no banco de dados
+     * @throws EntityNotFoundException Se o card não for encontrado ou estiver arquivado
+     * @throws IllegalArgumentException Se o nome da tag for inválido
+     */
+    public void removeTag(final Long cardId, final String tag) throws SQLException {
+        var name = TagFilter.normalize(tag);
+        var event = CardOperationEvent.start("removeTag", cardId);
+        var success = false;
+        try {
+            var boardId = new TransactionTemplate(connection).execute("CardService.removeTag", () -> {
+                var dto = findCard(new CardDAO(connection), cardId);
+                event.transition(dto.boardId(), dto.columnId(), dto.columnId());
+                var dao = new TagDAO(connection);
+                var tagId = dao.findTagId(dto.boardId(), name);
+                if (tagId.isPresent()) {
+                    dao.untag(cardId, tagId.get());
+                }
+                return dto.boardId();
+            });
+            TagService.cardUntagged(boardId, cardId, name);
+            success = true;
+        } finally {
+            event.finish(cardId, success);
+        }
+    }
+
+    /**
+     * Reserva os próximos cards livres de uma coluna para um worker, no modo fila de trabalho.
+     * Workers concorrentes recebem cards diferentes sem esperar uns pelos outros: as linhas
+     * já bloqueadas por outra reserva em andamento são puladas ({@code SKIP LOCKED}).
+     * Cards bloqueados são ignorados, e reservas mais antigas que {@code board.claim.timeout}
+     * (padrão 15 minutos) expiram e podem ser entregues a outro worker. A reserva é liberada
+     * quando o card sai da coluna ou por {@link #release(Long, String)}.
+     * @param columnId ID da coluna usada como fila
+     * @param workerId Identificação do worker (até 100 caracteres)
+     * @param batchSize Quantidade máxima de cards a reservar
+     * @return Cards reservados, na ordem da coluna (vazio se não houver cards livres)
+     * @throws SQLException Em caso de erro no banco de dados
+     * @throws IllegalArgumentException Se o worker ou o tamanho do lote forem inválidos
+     */
+    public List<CardEntity> pullNext(final Long columnId, final String workerId, final int batchSize) throws SQLException {
+        var event = CardOperationEvent.start("pullNext", null);
+        var success = false;
+        try {
+            var result = new TransactionTemplate(connection).execute("CardService.pullNext", () -> {
+                if (workerId == null || workerId.isBlank() || workerId.length() > 100) {
+                    throw new IllegalArgumentException("O worker deve ser informado com até 100 caracteres");
+                }
+                if (batchSize < 1 || batchSize > MAX_CLAIM_BATCH) {
+                    throw new IllegalArgumentException("O lote deve ter entre 1 e %s cards".formatted(MAX_CLAIM_BATCH));
+                }
+                var dao = new CardDAO(connection);
+                var now = OffsetDateTime.now();
+                var cards = dao.lockClaimable(columnId, now.minus(CLAIM_TIMEOUT), batchSize);
+                dao.claim(cards.stream().map(CardEntity::getId).toList(), workerId, now);
+                event.transition(null, columnId, columnId);
+                return cards;
+            });
+            success = true;
+            return result;
+        } finally {
+            event.finish(null, success);
+        }
+    }
+
+    /**
+     * Libera a reserva de um card feita por {@link #pullNext(Long, String, int)}, devolvendo-o à fila.
+     * @param cardId ID do card
+     * @param workerId Worker que fez a reserva
+     * @throws SQLException Em caso de erro no banco de dados
+     * @throws IllegalStateException Se o card não estiver reservado pelo worker
+     */
+    public void release(final Long cardId, final String workerId) throws SQLException {
+        var event = CardOperationEvent.start("release", cardId);
+        var success = false;
+        try {
+            new TransactionTemplate(connection).run("CardService.release", () -> {
+                if (!new CardDAO(connection).release(cardId, workerId)) {
+                    throw new IllegalStateException("O card %s não está reservado pelo worker %s".formatted(cardId, workerId));
+                }
+            });
+            success = true;
+        } finally {
+            event.finish(cardId, success);
         }
     }
 
@@ -156,39 +396,25 @@ public class CardService {
      * @throws EntityNotFoundException Se o card não for encontrado
      * @throws CardBlockedException Se o card já estiver bloqueado
      * @throws IllegalStateException Se o card estiver em coluna final ou cancelada
+     * @throws OptimisticLockException Se o card foi alterado por outra operação
      */
     public void block(final Long id, final String reason, final List<BoardColumnInfoDTO> boardColumnsInfo) throws SQLException {
+        var event = CardOperationEvent.start("block", id);
+        var success = false;
         try {
-            var dao = new CardDAO(connection);
-            var optional = dao.findById(id);
-            var dto = optional.orElseThrow(
-                () -> new EntityNotFoundException("O card de id %s não foi encontrado".formatted(id))
-            );
-            
-            if (dto.blocked()) {
-                var message = "O card %s já está bloqueado".formatted(id);
-                throw new CardBlockedException(message);
-            }
-            
-            var currentColumn = boardColumnsInfo.stream()
-                .filter(bc -> bc.id().equals(dto.columnId()))
-                .findFirst()
-                .orElseThrow();
-            
-            // Verifica se o card está em coluna final ou cancelada
-            if (currentColumn.kind().equals(FINAL) || currentColumn.kind().equals(CANCEL)) {
-                var message = "O card está em uma coluna do tipo %s e não pode ser bloqueado"
-                    .formatted(currentColumn.kind());
-                throw new IllegalStateException(message);
-            }
-            
-            // Registra o bloqueio
-            var blockDAO = new BlockDAO(connection);
-            blockDAO.block(reason, id);
-            connection.commit();
-        } catch (SQLException ex) {
-            connection.rollback();
-            throw ex;
+            new TransactionTemplate(connection).run("CardService.block", () -> {
+                var dto = findCard(new CardDAO(connection), id);
+                var workflow = new BoardWorkflowService(connection).forBoard(dto.boardId(), boardColumnsInfo);
+                checkBlockable(workflow, dto);
+
+                // Registra o bloqueio
+                event.transition(dto.boardId(), dto.columnId(), dto.columnId());
+                var blockDAO = new BlockDAO(connection);
+                blockDAO.block(reason, id, dto.version());
+            });
+            success = true;
+        } finally {
+            event.finish(id, success);
         }
     }
 
@@ -198,28 +424,154 @@ public class CardService {
      * @param reason Motivo do desbloqueio
      * @throws SQLException Em caso de erro no banco de dados
      * @throws EntityNotFoundException Se o card não for encontrado
-     * @throws CardBlockedException Se o card não estiver bloqueado
+     * @throws CardBlockedException Se o card não estiver bloqueado ou ainda depender de cards
+     *                              fora da coluna FINAL
+     * @throws OptimisticLockException Se o card foi alterado por outra operação
      */
     public void unblock(final Long id, final String reason) throws SQLException {
+        var event = CardOperationEvent.start("unblock", id);
+        var success = false;
         try {
-            var dao = new CardDAO(connection);
-            var optional = dao.findById(id);
-            var dto = optional.orElseThrow(
-                () -> new EntityNotFoundException("O card de id %s não foi encontrado".formatted(id))
-            );
-            
-            if (!dto.blocked()) {
-                var message = "O card %s não está bloqueado".formatted(id);
-                throw new CardBlockedException(message);
-            }
-            
-            // Registra o desbloqueio
-            var blockDAO = new BlockDAO(connection);
-            blockDAO.unblock(reason, id);
-            connection.commit();
-        } catch (SQLException ex) {
-            connection.rollback();
-            throw ex;
+            new TransactionTemplate(connection).run("CardService.unblock", () -> {
+                var dto = findCard(new CardDAO(connection), id);
+                checkUnblockable(dto);
+                // Leitura bloqueante: uma dependência incluída em paralelo espera este desbloqueio
+                var pending = new CardDependencyDAO(connection).lockPendingDependencyIds(id);
+                if (!pending.isEmpty()) {
+                    throw new CardBlockedException("O card %s aguarda a finalização dos cards %s"
+                            .formatted(id, pending));
+                }
+
+                // Registra o desbloqueio
+                event.transition(dto.boardId(), dto.columnId(), dto.columnId());
+                var blockDAO = new BlockDAO(connection);
+                blockDAO.unblock(reason, id, dto.version());
+            });
+            success = true;
+        } finally {
+            event.finish(id, success);
+        }
+    }
+
+    /**
+     * Lê um card para uma alteração.
+     * @throws EntityNotFoundException Se o card não for encontrado
+     */
+    static CardDetailsDTO findCard(final CardDAO dao, final Long cardId) throws SQLException {
+        return dao.findById(cardId).orElseThrow(
+            () -> new EntityNotFoundException("O card de id %s não foi encontrado".formatted(cardId))
+        );
+    }
+
+    /**
+     * Verifica se o card pode sair da coluna em que está.
+     * @return Índice da coluna atual do card no fluxo
+     * @throws CardBlockedException Se o card estiver bloqueado
+     * @throws CardFinishedException Se o card já estiver na coluna final
+     */
+    static int movableColumn(final BoardWorkflow workflow, final CardDetailsDTO dto) {
+        if (dto.blocked()) {
+            var message = "O card %s está bloqueado, é necessário desbloquea-lo para mover".formatted(dto.id());
+            throw new CardBlockedException(message);
+        }
+        var current = currentColumn(workflow, dto.columnId());
+        if (workflow.kind(current).equals(FINAL)) {
+            throw new CardFinishedException("O card já foi finalizado");
+        }
+        return current;
+    }
+
+    /**
+     * @return Índice da próxima coluna pré-calculada pelo fluxo
+     * @throws IllegalStateException Se o card estiver cancelado ou o fluxo não definir uma única próxima coluna
+     */
+    static int nextColumn(final BoardWorkflow workflow, final int current) {
+        var next = workflow.next(current);
+        if (next < 0) {
+            throw new IllegalStateException(workflow.kind(current).equals(CANCEL)
+                    ? "O card está cancelado"
+                    : "O fluxo do board não define uma única próxima coluna para o card");
+        }
+        return next;
+    }
+
+    /**
+     * Valida a transição em tempo constante pela tabela compilada.
+     * @return Índice da coluna de destino
+     * @throws IllegalStateException Se o fluxo do board não permitir a transição
+     */
+    static int allowedColumn(final BoardWorkflow workflow, final int current, final Long targetColumnId) {
+        var target = workflow.indexOf(targetColumnId);
+        if (target < 0 || !workflow.allows(current, target)) {
+            var message = "O fluxo do board não permite mover o card da coluna %s para a coluna %s"
+                .formatted(workflow.columnId(current), targetColumnId);
+            throw new IllegalStateException(message);
+        }
+        return target;
+    }
+
+    /**
+     * @return Índice da coluna de cancelados
+     * @throws IllegalStateException Se o card já estiver cancelado ou a coluna não for do tipo CANCEL
+     */
+    static int cancelColumn(final BoardWorkflow workflow, final int current, final Long cancelColumnId) {
+        if (workflow.kind(current).equals(CANCEL)) {
+            throw new IllegalStateException("O card está cancelado");
+        }
+        var cancelColumn = workflow.indexOf(cancelColumnId);
+        if (cancelColumn < 0 || !workflow.kind(cancelColumn).equals(CANCEL)) {
+            throw new IllegalStateException("A coluna %s não é a coluna de cancelados do board".formatted(cancelColumnId));
+        }
+        return cancelColumn;
+    }
+
+    /**
+     * @throws CardBlockedException Se o card já estiver bloqueado
+     * @throws IllegalStateException Se o card estiver em coluna final ou cancelada
+     */
+    static void checkBlockable(final BoardWorkflow workflow, final CardDetailsDTO dto) {
+        if (dto.blocked()) {
+            var message = "O card %s já está bloqueado".formatted(dto.id());
+            throw new CardBlockedException(message);
+        }
+        var kind = workflow.kind(currentColumn(workflow, dto.columnId()));
+        if (kind.equals(FINAL) || kind.equals(CANCEL)) {
+            var message = "O card está em uma coluna do tipo %s e não pode ser bloqueado"
+                .formatted(kind);
+            throw new IllegalStateException(message);
+        }
+    }
+
+    /**
+     * @throws CardBlockedException Se o card não estiver bloqueado
+     */
+    static void checkUnblockable(final CardDetailsDTO dto) {
+        if (!dto.blocked()) {
+            var message = "O card %s não está bloqueado".formatted(dto.id());
+            throw new CardBlockedException(message);
+        }
+    }
+
+    /**
+     * Atualiza os totais dos ancestrais do card movido na hierarquia e, se ele chegou à
+     * coluna final, desbloqueia os cards que aguardavam por ele.
+     */
+    private void afterMove(final BoardWorkflow workflow, final int target, final Long cardId) throws SQLException {
+        var kind = workflow.kind(target);
+        new CardHierarchyService(connection).recordMove(cardId, kind);
+        if (kind.equals(FINAL)) {
+            new CardDependencyService(connection).releaseDependents(cardId);
+        }
+    }
+
+    /**
+     * Busca o índice da coluna atual do card no fluxo do board.
+     */
+    private static int currentColumn(final BoardWorkflow workflow, final Long columnId) {
+        var index = workflow.indexOf(columnId);
+        if (index < 0) {
+            throw new IllegalStateException("O card informado pertence a outro board");
         }
+        return index;
     }
 }
\ No newline at end of file
@@ -0,0 +1,285 @@
+package br.com.dio.service;
+
+import static br.com.dio.persistence.entity.BoardColumnKindEnum.FINAL;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import br.com.dio.dto.BoardColumnInfoDTO;
+import br.com.dio.dto.CardMoveDTO;
+import br.com.dio.exception.CardBlockedException;
+import br.com.dio.exception.CardFinishedException;
+import br.com.dio.exception.EntityNotFoundException;
+import br.com.dio.exception.OptimisticLockException;
+import br.com.dio.persistence.dao.BlockDAO;
+import br.com.dio.persistence.dao.CardDAO;
+import br.com.dio.persistence.dao.CardDependencyDAO;
+import br.com.dio.persistence.entity.CardEntity;
+
+/**
+ * Sessão de edição de cards (unidade de trabalho).
+ *
+ * <p>Criações, movimentações, cancelamentos, bloqueios e desbloqueios são validados
+ * com as mesmas regras do {@link CardService} e guardados em memória; {@link #flush()}
+ * grava todos em lotes de comandos, em uma única transação. Cada card existente pode
+ * ter apenas uma alteração pendente: uma segunda alteração do mesmo card é recusada
+ * no registro, antes da gravação, já que foi validada sobre um estado que a primeira
+ * ainda não alterou.</p>
+ *
+ * <p>As gravações são condicionadas às versões lidas no registro. Se outra operação
+ * alterar um dos cards ou colunas antes da gravação, nada é gravado e é lançada
+ * {@link OptimisticLockException}.</p>
+ *
+ * <p>Instâncias pertencem a uma janela e não são thread-safe.</p>
+ */
+public class CardUnitOfWork {
+
+    /**
+     * Tipo de alteração pendente de um card existente.
+     */
+    private enum Kind {
+        MOVE("uma movimentação"),
+        BLOCK("um bloqueio"),
+        UNBLOCK("um desbloqueio");
+
+        private final String description;
+
+        Kind(final String description) {
+            this.description = description;
+        }
+    }
+
+    /**
+     * Alteração pendente de um card existente.
+     * @param move Movimentação validada (apenas para MOVE)
+     * @param reason Motivo do bloqueio ou desbloqueio
+     */
+    private record PendingChange(Kind kind, int cardVersion, CardMoveDTO move, String reason) {
+    }
+
+    // Conexão com o banco de dados
+    private final Connection connection;
+
+    // Cards a criar, na ordem do registro
+    private final List<CardEntity> creations = new ArrayList<>();
+
+    // Alterações indexadas pelo ID do card, gravadas em ordem de ID para bloquear as linhas sempre na mesma ordem
+    private final Map<Long, PendingChange> changes = new TreeMap<>();
+
+    /**
+     * @param connection Conexão com o banco de dados
+     */
+    public CardUnitOfWork(final Connection connection) {
+        this.connection = connection;
+    }
+
+    /**
+     * Registra a criação de um card.
+     * @param entity Card a ser criado, com título, descrição e coluna
+     */
+    public void create(final CardEntity entity) {
+        creations.add(entity);
+    }
+
+    /**
+     * Registra a movimentação de um card para a próxima coluna no fluxo do board.
+     * @param cardId ID do card
+     * @param boardColumnsInfo Lista com informações das colunas do board
+     * @throws SQLException Em caso de erro no banco de dados
+     * @throws EntityNotFoundException Se o card não for encontrado
+     * @throws CardBlockedException Se o card estiver bloqueado
+     * @throws CardFinishedException Se o card já estiver na coluna final
+     * @throws IllegalStateException Se o card já tiver uma alteração pendente ou o fluxo não definir a próxima coluna
+     */
+    public void moveToNextColumn(final Long cardId, final List<BoardColumnInfoDTO> boardColumnsInfo) throws SQLException {
+        checkNoPendingChange(cardId);
+        var dto = CardService.findCard(new CardDAO(connection), cardId);
+        var workflow = new BoardWorkflowService(connection).forBoard(dto.boardId(), boardColumnsInfo);
+        var current = CardService.movableColumn(workflow, dto);
+        var next = CardService.nextColumn(workflow, current);
+        var move = new CardMoveDTO(cardId, dto.version(), workflow.column(current), workflow.column(next));
+        changes.put(cardId, new PendingChange(Kind.MOVE, dto.version(), move, null));
+    }
+
+    /**
+     * Registra a movimentação de um card para uma coluna permitida pelo fluxo do board.
+     * @param cardId ID do card
+     * @param targetColumnId ID da coluna de destino
+     * @param boardColumnsInfo Lista com informações das colunas do board
+     * @throws SQLException Em caso de erro no banco de dados
+     * @throws EntityNotFoundException Se o card não for encontrado
+     * @throws CardBlockedException Se o card estiver bloqueado
+     * @throws CardFinishedException Se o card já estiver na coluna final
+     * @throws IllegalStateException Se o card já tiver uma alteração pendente ou o fluxo não permitir a transição
+     */
+    public void moveToColumn(final Long cardId, final Long targetColumnId,
+                             final List<BoardColumnInfoDTO> boardColumnsInfo) throws SQLException {
+        checkNoPendingChange(cardId);
+        var dto = CardService.findCard(new CardDAO(connection), cardId);
+        var workflow = new BoardWorkflowService(connection).forBoard(dto.boardId(), boardColumnsInfo);
+        var current = CardService.movableColumn(workflow, dto);
+        var target = CardService.allowedColumn(workflow, current, targetColumnId);
+        var move = new CardMoveDTO(cardId, dto.version(), workflow.column(current), workflow.column(target));
+        changes.put(cardId, new PendingChange(Kind.MOVE, dto.version(), move, null));
+    }
+
+    /**
+     * Registra o cancelamento de um card.
+     * @param cardId ID do card
+     * @param cancelColumnId ID da coluna de cancelados
+     * @param boardColumnsInfo Lista com informações das colunas do board
+     * @throws SQLException Em caso de erro no banco de dados
+     * @throws EntityNotFoundException Se o card não for encontrado
+     * @throws CardBlockedException Se o card estiver bloqueado
+     * @throws CardFinishedException Se o card já estiver finalizado
+     * @throws IllegalStateException Se o card já tiver uma alteração pendente ou já estiver cancelado
+     */
+    public void cancel(final Long cardId, final Long cancelColumnId,
+                       final List<BoardColumnInfoDTO> boardColumnsInfo) throws SQLException {
+        checkNoPendingChange(cardId);
+        var dto = CardService.findCard(new CardDAO(connection), cardId);
+        var workflow = new BoardWorkflowService(connection).forBoard(dto.boardId(), boardColumnsInfo);
+        var current = CardService.movableColumn(workflow, dto);
+        var cancelColumn = CardService.cancelColumn(workflow, current, cancelColumnId);
+        var move = new CardMoveDTO(cardId, dto.version(), workflow.column(current), workflow.column(cancelColumn));
+        changes.put(cardId, new PendingChange(Kind.MOVE, dto.version(), move, null));
+    }
+
+    /**
+     * Registra o bloqueio de um card.
+     * @param cardId ID do card
+     * @param reason Motivo do bloqueio
+     * @param boardColumnsInfo Lista com informações das colunas do board
+     * @throws SQLException Em caso de erro no banco de dados
+     * @throws EntityNotFoundException Se o card não for encontrado
+     * @throws CardBlockedException Se o card já estiver bloqueado
+     * @throws IllegalStateException Se o card já tiver uma alteração pendente ou estiver em coluna final ou cancelada
+     */
+    public void block(final Long cardId, final String reason, final List<BoardColumnInfoDTO> boardColumnsInfo) throws SQLException {
+        checkNoPendingChange(cardId);
+        var dto = CardService.findCard(new CardDAO(connection), cardId);
+        var workflow = new BoardWorkflowService(connection).forBoard(dto.boardId(), boardColumnsInfo);
+        CardService.checkBlockable(workflow, dto);
+        changes.put(cardId, new PendingChange(Kind.BLOCK, dto.version(), null, reason));
+    }
+
+    /**
+     * Registra o desbloqueio de um card.
+     * @param cardId ID do card
+     * @param reason Motivo do desbloqueio
+     * @throws SQLException Em caso de erro no banco de dados
+     * @throws EntityNotFoundException Se o card não for encontrado
+     * @throws CardBlockedException Se o card não estiver bloqueado
+     * @throws IllegalStateException Se o card já tiver uma alteração pendente
+     */
+    public void unblock(final Long cardId, final String reason) throws SQLException {
+        checkNoPendingChange(cardId);
+        var dto = CardService.findCard(new CardDAO(connection), cardId);
+        CardService.checkUnblockable(dto);
+        changes.put(cardId, new PendingChange(Kind.UNBLOCK, dto.version(), null, reason));
+    }
+
+    /**
+     * @return Quantidade de alterações pendentes, incluindo as criações
+     */
+    public int size() {
+        return creations.size() + changes.size();
+    }
+
+    /**
+     * @return true se não houver alterações pendentes
+     */
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * Descarta todas as alterações pendentes.
+     */
+    public void discard() {
+        creations.clear();
+        changes.clear();
+    }
+
+    /**
+     * Grava as alterações pendentes em uma única transação: um lote de inserções, um
+     * de movimentações e um de cada tipo de bloqueio; cards que chegam à coluna final
+     * desbloqueiam os cards que aguardavam por eles, e os totais da hierarquia são
+     * atualizados. Em caso de sucesso a sessão fica
+     * vazia; em caso de falha nada é gravado e as alterações continuam pendentes.
+     * @return Quantidade de alterações gravadas
+     * @throws SQLException Em caso de erro no banco de dados
+     * @throws OptimisticLockException Se algum card ou coluna foi alterado desde o registro
+     * @throws CardBlockedException Se um card a desbloquear ainda depender de cards fora da coluna FINAL
+     */
+    public int flush() throws SQLException {
+        if (isEmpty()) {
+            return 0;
+        }
+        List<CardMoveDTO> moves = new ArrayList<>();
+        Map<Long, Integer> blockVersions = new LinkedHashMap<>();
+        Map<Long, String> blockReasons = new LinkedHashMap<>();
+        Map<Long, String> unblockReasons = new LinkedHashMap<>();
+        for (var entry : changes.entrySet()) {
+            var change = entry.getValue();
+            switch (change.kind()) {
+                case MOVE -> moves.add(change.move());
+                case BLOCK -> {
+                    blockVersions.put(entry.getKey(), change.cardVersion());
+                    blockReasons.put(entry.getKey(), change.reason());
+                }
+                case UNBLOCK -> {
+                    blockVersions.put(entry.getKey(), change.cardVersion());
+                    unblockReasons.put(entry.getKey(), change.reason());
+                }
+            }
+        }
+        var total = size();
+        new TransactionTemplate(connection).run("CardUnitOfWork.flush", () -> {
+            var cardDAO = new CardDAO(connection);
+            var blockDAO = new BlockDAO(connection);
+            if (!creations.isEmpty()) {
+                cardDAO.insertBatch(creations);
+            }
+            cardDAO.moveBatch(moves);
+            blockDAO.incrementCardVersions(blockVersions);
+            blockDAO.blockBatch(blockReasons);
+            // Leitura bloqueante, como em CardService.unblock: uma dependência incluída em paralelo espera a gravação
+            var dependencyDAO = new CardDependencyDAO(connection);
+            for (var cardId : unblockReasons.keySet()) {
+                var pending = dependencyDAO.lockPendingDependencyIds(cardId);
+                if (!pending.isEmpty()) {
+                    throw new CardBlockedException("O card %s aguarda a finalização dos cards %s"
+                            .formatted(cardId, pending));
+                }
+            }
+            blockDAO.unblockBatch(unblockReasons);
+
+            // Depois dos bloqueios da sessão, para não alterar cards cujas versões ainda seriam conferidas
+            var hierarchyService = new CardHierarchyService(connection);
+            var dependencyService = new CardDependencyService(connection);
+            for (var move : moves) {
+                hierarchyService.recordMove(move.cardId(), move.target().kind());
+                if (move.target().kind().equals(FINAL)) {
+                    dependencyService.releaseDependents(move.cardId());
+                }
+            }
+        });
+        creations.forEach(entity -> TagService.cardCreated(entity.getBoardColumn().getBoard().getId(), entity.getId()));
+        discard();
+        return total;
+    }
+
+    private void checkNoPendingChange(final Long cardId) {
+        var pending = changes.get(cardId);
+        if (pending != null) {
+            throw new IllegalStateException("O card %s já tem %s pendente nesta sessão; salve ou descarte a sessão antes de alterá-lo novamente"
+                    .formatted(cardId, pending.kind().description));
+        }
+    }
+}
@@ -0,0 +1,204 @@
+package br.com.dio.service;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import br.com.dio.dto.TagCountDTO;
+import br.com.dio.exception.EntityNotFoundException;
+import br.com.dio.persistence.dao.BoardDAO;
+import br.com.dio.persistence.dao.TagDAO;
+import br.com.dio.tag.BoardTagIndex;
+import br.com.dio.tag.TagFilter;
+import lombok.AllArgsConstructor;
+
+/**
+ * Serviço das consultas de Cards por tags, resolvidas em um índice em memória por board
+ * ({@link BoardTagIndex}), sem consultas ao banco de dados depois da carga.
+ *
+ * <p>O índice de um board é carregado na primeira consulta e mantido pelas operações deste
+ * processo que criam, marcam, desmarcam ou arquivam Cards, aplicadas depois do commit (ver
+ * {@link CardService#addTag(Long, String)}). Uma carga que coincide com alguma dessas
+ * operações no mesmo board responde à consulta mas não é guardada, para que nenhuma
+ * alteração se perca entre a leitura do banco e a publicação do índice. Alterações feitas
+ * por outros processos aparecem quando o índice expira, após {@code board.tags.ttl} (padrão
+ * 1 minuto). A quantidade de boards indexados é limitada por {@code board.tags.cache}
+ * (padrão 100 boards); ao atingir o limite, só o índice usado há mais tempo é descartado.</p>
+ */
+@AllArgsConstructor
+public class TagService {
+
+    private static final int CACHE_SIZE = Integer.getInteger("board.tags.cache", 100);
+    private static final long TTL_NANOS = Duration.parse(System.getProperty("board.tags.ttl", "PT1M")).toNanos();
+
+    // Índices carregados, por ID do board, em ordem de uso; o menos usado recentemente é
+    // descartado quando o limite é atingido. Protegido pelo próprio monitor
+    private static final Map<Long, Slot> SLOTS = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(final Map.Entry<Long, Slot> eldest) {
+            return size() > CACHE_SIZE;
+        }
+    };
+
+    // Conexão com o banco de dados
+    private final Connection connection;
+
+    /**
+     * Seleciona os Cards de um board que atendem a uma combinação de tags.
+     * @param boardId ID do board
+     * @param filter Combinação de tags; um filtro vazio seleciona todos os Cards
+     * @return IDs dos Cards em ordem crescente
+     * @throws SQLException Em caso de erro no banco de dados (só na carga do índice)
+     * @throws EntityNotFoundException Se o board não for encontrado
+     */
+    public List<Long> filter(final Long boardId, final TagFilter filter) throws SQLException {
+        var ids = withIndex(boardId, index -> index.filter(filter));
+        return Arrays.stream(ids).boxed().toList();
+    }
+
+    /**
+     * Busca as tags em uso em um board.
+     * @param boardId ID do board
+     * @return Tags com a quantidade de Cards de cada uma, em ordem de nome
+     * @throws SQLException Em caso de erro no banco de dados (só na carga do índice)
+     * @throws EntityNotFoundException Se o board não for encontrado
+     */
+    public List<TagCountDTO> findTags(final Long boardId) throws SQLException {
+        return withIndex(boardId, index -> index.counts().entrySet().stream()
+                .map(e -> new TagCountDTO(e.getKey(), e.getValue()))
+                .toList());
+    }
+
+    /**
+     * Busca as tags de um Card. Os Cards arquivados mantêm as tags que tinham ao serem
+     * arquivados, mas não podem mais ser marcados nem desmarcados.
+     * @param cardId ID do Card, ativo ou arquivado
+     * @return Nomes das tags em ordem alfabética
+     * @throws SQLException Em caso de erro no banco de dados
+     */
+    public List<String> findCardTags(final Long cardId) throws SQLException {
+        return new TagDAO(connection).findCardTags(cardId);
+    }
+
+    /**
+     * Descarta todos os índices carregados; a próxima consulta de cada board relê o banco.
+     * Usado quando alterações já aplicadas aos índices são desfeitas depois do commit
+     * adiado (ex.: modo script).
+     */
+    public static void invalidateAll() {
+        synchronized (SLOTS) {
+            SLOTS.clear();
+        }
+    }
+
+    /**
+     * Inclui no índice do board, se carregado, um Card criado em uma transação já confirmada.
+     */
+    static void cardCreated(final Long boardId, final Long cardId) {
+        update(boardId, index -> index.addCard(cardId));
+    }
+
+    /**
+     * Marca um Card no índice do board, se carregado, depois do commit.
+     */
+    static void cardTagged(final Long boardId, final Long cardId, final String tag) {
+        update(boardId, index -> index.tag(cardId, tag));
+    }
+
+    /**
+     * Desmarca um Card no índice do board, se carregado, depois do commit.
+     */
+    static void cardUntagged(final Long boardId, final Long cardId, final String tag) {
+        update(boardId, index -> index.untag(cardId, tag));
+    }
+
+    /**
+     * Retira dos índices carregados Cards que saíram da tabela CARDS (ex.: arquivamento).
+     */
+    static void cardsRemoved(final List<Long> cardIds) {
+        List<Slot> slots;
+        synchronized (SLOTS) {
+            slots = List.copyOf(SLOTS.values());
+        }
+        for (var slot : slots) {
+            synchronized (slot) {
+                slot.stamp++;
+                if (slot.index != null) {
+                    cardIds.forEach(slot.index::removeCard);
+                }
+            }
+        }
+    }
+
+    /**
+     * Descarta o índice de um board (ex.: board excluído).
+     */
+    static void invalidate(final Long boardId) {
+        synchronized (SLOTS) {
+            SLOTS.remove(boardId);
+        }
+    }
+
+    private <T> T withIndex(final Long boardId, final Function<BoardTagIndex, T> query) throws SQLException {
+        Slot slot;
+        synchronized (SLOTS) {
+            slot = SLOTS.computeIfAbsent(boardId, id -> new Slot());
+        }
+        long stamp;
+        synchronized (slot) {
+            if (slot.index != null && System.nanoTime() - slot.loadedAt < TTL_NANOS) {
+                return query.apply(slot.index);
+            }
+            stamp = slot.stamp;
+        }
+        var loadedAt = System.nanoTime();
+        var index = new TransactionTemplate(connection).execute("TagService.load", () -> {
+            if (!new BoardDAO(connection).exists(boardId)) {
+                throw new EntityNotFoundException("O board de id %s não foi encontrado".formatted(boardId));
+            }
+            var loaded = new BoardTagIndex();
+            new TagDAO(connection).load(boardId, loaded);
+            return loaded;
+        });
+        synchronized (slot) {
+            // Alguma operação no board durante a carga: a leitura pode não incluí-la
+            if (slot.stamp == stamp) {
+                slot.index = index;
+                slot.loadedAt = loadedAt;
+            }
+            return query.apply(index);
+        }
+    }
+
+    private static void update(final Long boardId, final Consumer<BoardTagIndex> change) {
+        Slot slot;
+        synchronized (SLOTS) {
+            slot = SLOTS.get(boardId);
+        }
+        if (slot == null) {
+            return;
+        }
+        synchronized (slot) {
+            slot.stamp++;
+            if (slot.index != null) {
+                change.accept(slot.index);
+            }
+        }
+    }
+
+    /**
+     * Índice de um board e o contador de alterações que invalida cargas concorrentes.
+     * Todos os campos são protegidos pelo monitor da instância.
+     */
+    private static final class Slot {
+        private BoardTagIndex index;
+        private long loadedAt;
+        private long stamp;
+    }
+}
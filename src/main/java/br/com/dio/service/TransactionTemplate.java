@@ -0,0 +1,218 @@
+package br.com.dio.service;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import br.com.dio.dto.TransactionMetricsDTO;
+import br.com.dio.monitoring.TransactionRetryEvent;
+import br.com.dio.persistence.dao.CardDAO;
+
+/**
+ * Executa uma unidade de trabalho em uma transação: confirma ao final, desfaz em
+ * qualquer falha e repete a unidade inteira quando o MySQL a desfaz por deadlock
+ * (erro 1213) ou por tempo de espera de bloqueio (erro 1205), ou quando uma chave de
+ * ordenação de Card já foi usada por uma transação concorrente (erro 1062 no índice
+ * {@value CardDAO#RANK_INDEX}): a nova tentativa lê a coluna de novo e escolhe outra.
+ *
+ * <p>As repetições esperam um tempo exponencial com variação aleatória (entre 0 e
+ * {@code board.tx.backoff.base} × 2<sup>tentativa</sup>, limitado a
+ * {@code board.tx.backoff.max} milissegundos) e são limitadas a
+ * {@code board.tx.attempts} tentativas. Um orçamento compartilhado pelo processo
+ * também limita as repetições a uma fração ({@code board.tx.retry.ratio}) das
+ * transações executadas, para que uma contenção generalizada não multiplique a carga
+ * do banco. Outras falhas, inclusive conflitos de versão, não são repetidas.</p>
+ *
+ * <p>A unidade de trabalho deve ler de novo tudo em que baseia suas decisões, já que
+ * pode ser executada mais de uma vez, e não deve ter efeitos fora do banco.</p>
+ */
+public final class TransactionTemplate {
+
+    /**
+     * Marca conexões cujos commits são adiados por quem as controla (ex.: o modo
+     * script, que confirma vários comandos de uma vez). Um deadlock desfaz a transação
+     * inteira, inclusive o trabalho de comandos anteriores, então nessas conexões as
+     * falhas nunca são repetidas. Conexões marcadas respondem {@code true} a
+     * {@link Connection#isWrapperFor(Class)} com esta interface.
+     */
+    public interface DeferredCommits {
+    }
+
+    /**
+     * Unidade de trabalho com resultado.
+     * @param <T> Tipo do resultado
+     */
+    @FunctionalInterface
+    public interface Work<T> {
+        T execute() throws SQLException;
+    }
+
+    /**
+     * Unidade de trabalho sem resultado.
+     */
+    @FunctionalInterface
+    public interface Action {
+        void execute() throws SQLException;
+    }
+
+    private static final int DEADLOCK = 1213;
+    private static final int LOCK_WAIT_TIMEOUT = 1205;
+    private static final int DUPLICATE_KEY = 1062;
+
+    private static final int MAX_ATTEMPTS = Integer.getInteger("board.tx.attempts", 4);
+    private static final long BACKOFF_BASE_MILLIS = Long.getLong("board.tx.backoff.base", 10);
+    private static final long BACKOFF_MAX_MILLIS = Long.getLong("board.tx.backoff.max", 500);
+
+    // Orçamento em milésimos de repetição: cada transação deposita a fração configurada
+    private static final long BUDGET_DEPOSIT = Math.round(1000 * Double.parseDouble(System.getProperty("board.tx.retry.ratio", "0.1")));
+    private static final long BUDGET_CAP = 1000L * Integer.getInteger("board.tx.retry.burst", 100);
+    private static final AtomicLong BUDGET = new AtomicLong(BUDGET_CAP);
+
+    private static final LongAdder TRANSACTIONS = new LongAdder();
+    private static final LongAdder DEADLOCKS = new LongAdder();
+    private static final LongAdder LOCK_TIMEOUTS = new LongAdder();
+    private static final LongAdder RANK_CONFLICTS = new LongAdder();
+    private static final LongAdder RETRIES = new LongAdder();
+    private static final LongAdder EXHAUSTED = new LongAdder();
+    private static final LongAdder BUDGET_DENIED = new LongAdder();
+
+    // Conexão com o banco de dados
+    private final Connection connection;
+
+    /**
+     * @param connection Conexão com auto-commit desativado
+     */
+    public TransactionTemplate(final Connection connection) {
+        this.connection = connection;
+    }
+
+    /**
+     * Executa uma unidade de trabalho sem resultado.
+     * @param operation Nome da operação, usado nas métricas
+     * @param action Unidade de trabalho
+     * @throws SQLException Em caso de erro no banco de dados não recuperado pelas repetições
+     */
+    public void run(final String operation, final Action action) throws SQLException {
+        execute(operation, () -> {
+            action.execute();
+            return null;
+        });
+    }
+
+    /**
+     * Executa uma unidade de trabalho e confirma a transação.
+     * @param operation Nome da operação, usado nas métricas
+     * @param work Unidade de trabalho
+     * @param <T> Tipo do resultado
+     * @return Resultado da unidade de trabalho
+     * @throws SQLException Em caso de erro no banco de dados não recuperado pelas repetições
+     */
+    public <T> T execute(final String operation, final Work<T> work) throws SQLException {
+        TRANSACTIONS.increment();
+        deposit();
+        for (int attempt = 1; ; attempt++) {
+            try {
+                var result = work.execute();
+                connection.commit();
+                return result;
+            } catch (SQLException ex) {
+                rollback(ex);
+                var errorCode = retryableCode(ex);
+                if (errorCode == 0) {
+                    throw ex;
+                }
+                switch (errorCode) {
+                    case DEADLOCK -> DEADLOCKS.increment();
+                    case LOCK_WAIT_TIMEOUT -> LOCK_TIMEOUTS.increment();
+                    default -> RANK_CONFLICTS.increment();
+                }
+                if (!mayRetry(attempt)) {
+                    TransactionRetryEvent.record(operation, attempt, errorCode, 0, false);
+                    throw ex;
+                }
+                var backoff = backoff(attempt);
+                TransactionRetryEvent.record(operation, attempt, errorCode, backoff, true);
+                RETRIES.increment();
+                sleep(backoff, ex);
+            } catch (RuntimeException ex) {
+                rollback(ex);
+                throw ex;
+            }
+        }
+    }
+
+    /**
+     * @return Contadores de transações e repetições do processo
+     */
+    public static TransactionMetricsDTO metrics() {
+        return new TransactionMetricsDTO(TRANSACTIONS.sum(), DEADLOCKS.sum(), LOCK_TIMEOUTS.sum(), RANK_CONFLICTS.sum(),
+                RETRIES.sum(), EXHAUSTED.sum(), BUDGET_DENIED.sum());
+    }
+
+    private boolean mayRetry(final int attempt) throws SQLException {
+        if (connection.isWrapperFor(DeferredCommits.class)) {
+            return false;
+        }
+        if (attempt >= MAX_ATTEMPTS) {
+            EXHAUSTED.increment();
+            return false;
+        }
+        if (!withdraw()) {
+            BUDGET_DENIED.increment();
+            return false;
+        }
+        return true;
+    }
+
+    private void rollback(final Exception cause) {
+        try {
+            connection.rollback();
+        } catch (SQLException ex) {
+            cause.addSuppressed(ex);
+        }
+    }
+
+    /**
+     * Busca na cadeia de causas um erro que uma nova tentativa pode resolver: transação
+     * desfeita pelo MySQL ou chave de ordenação duplicada.
+     * @return Código do erro ou 0 se a falha não deve ser repetida
+     */
+    private static int retryableCode(final SQLException ex) {
+        for (Throwable cause = ex; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SQLException sql
+                    && (sql.getErrorCode() == DEADLOCK || sql.getErrorCode() == LOCK_WAIT_TIMEOUT
+                        || sql.getErrorCode() == DUPLICATE_KEY && sql.getMessage() != null
+                            && sql.getMessage().contains(CardDAO.RANK_INDEX))) {
+                return sql.getErrorCode();
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * @return Espera antes da repetição seguinte à tentativa informada, em milissegundos
+     */
+    static long backoff(final int attempt) {
+        var ceiling = Math.min(BACKOFF_MAX_MILLIS, BACKOFF_BASE_MILLIS << Math.min(attempt, 20));
+        return ThreadLocalRandom.current().nextLong(ceiling + 1);
+    }
+
+    private static void sleep(final long millis, final SQLException cause) throws SQLException {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw cause;
+        }
+    }
+
+    private static void deposit() {
+        BUDGET.getAndUpdate(tokens -> Math.min(BUDGET_CAP, tokens + BUDGET_DEPOSIT));
+    }
+
+    private static boolean withdraw() {
+        return BUDGET.getAndUpdate(tokens -> tokens >= 1000 ? tokens - 1000 : tokens) >= 1000;
+    }
+}
@@ -0,0 +1,106 @@
+package br.com.dio.service;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLIntegrityConstraintViolationException;
+import java.util.List;
+
+import br.com.dio.dto.AssignedCardDTO;
+import br.com.dio.dto.SwimlaneDTO;
+import br.com.dio.dto.UserWipDTO;
+import br.com.dio.exception.EntityNotFoundException;
+import br.com.dio.persistence.dao.UserDAO;
+import br.com.dio.persistence.entity.UserEntity;
+import lombok.AllArgsConstructor;
+
+/**
+ * Serviço de usuários e das consultas de cards por responsável: os cards abertos de um
+ * usuário em todos os boards, o trabalho em andamento (WIP) de um usuário e as raias de
+ * um board agrupadas por responsável.
+ */
+@AllArgsConstructor
+public class UserService {
+
+    // Tamanho máximo do nome do usuário (coluna USERS.name)
+    private static final int MAX_NAME_LENGTH = 100;
+
+    // Conexão com o banco de dados
+    private final Connection connection;
+
+    /**
+     * Cadastra um usuário.
+     * @param name Nome do usuário, único no sistema
+     * @return Usuário criado
+     * @throws SQLException Em caso de erro no banco de dados
+     * @throws IllegalArgumentException Se o nome for vazio ou maior que 100 caracteres
+     * @throws IllegalStateException Se já existir um usuário com o nome
+     */
+    public UserEntity create(final String name) throws SQLException {
+        return new TransactionTemplate(connection).execute("UserService.create", () -> {
+            if (name == null || name.isBlank() || name.strip().length() > MAX_NAME_LENGTH) {
+                throw new IllegalArgumentException("O nome do usuário deve ter entre 1 e %s caracteres".formatted(MAX_NAME_LENGTH));
+            }
+            var entity = new UserEntity();
+            entity.setName(name.strip());
+            try {
+                return new UserDAO(connection).insert(entity);
+            } catch (SQLIntegrityConstraintViolationException ex) {
+                throw new IllegalStateException("Já existe um usuário com o nome %s".formatted(entity.getName()), ex);
+            }
+        });
+    }
+
+    /**
+     * @return Todos os usuários, em ordem de nome
+     * @throws SQLException Em caso de erro no banco de dados
+     */
+    public List<UserEntity> findAll() throws SQLException {
+        return new UserDAO(connection).findAll();
+    }
+
+    /**
+     * Busca os cards em colunas INITIAL ou PENDING atribuídos a um usuário, em todos os boards.
+     * @param userId ID do usuário
+     * @return Cards do usuário, agrupados por coluna
+     * @throws SQLException Em caso de erro no banco de dados
+     * @throws EntityNotFoundException Se o usuário não for encontrado
+     */
+    public List<AssignedCardDTO> findOpenCards(final Long userId) throws SQLException {
+        var dao = new UserDAO(connection);
+        findUser(dao, userId);
+        return dao.findOpenCards(userId);
+    }
+
+    /**
+     * Conta os cards em colunas INITIAL e PENDING atribuídos a um usuário, em todos os boards.
+     * @param userId ID do usuário
+     * @return Trabalho em andamento do usuário
+     * @throws SQLException Em caso de erro no banco de dados
+     * @throws EntityNotFoundException Se o usuário não for encontrado
+     */
+    public UserWipDTO findWip(final Long userId) throws SQLException {
+        var dao = new UserDAO(connection);
+        findUser(dao, userId);
+        return dao.findWip(userId);
+    }
+
+    /**
+     * Agrupa os cards de um board por responsável.
+     * @param boardId ID do board
+     * @return Raias do board; os cards sem responsável ficam na última raia
+     * @throws SQLException Em caso de erro no banco de dados
+     */
+    public List<SwimlaneDTO> findSwimlanes(final Long boardId) throws SQLException {
+        return new UserDAO(connection).findSwimlanes(boardId);
+    }
+
+    /**
+     * Lê um usuário.
+     * @throws EntityNotFoundException Se o usuário não for encontrado
+     */
+    static UserEntity findUser(final UserDAO dao, final Long userId) throws SQLException {
+        return dao.findById(userId).orElseThrow(
+            () -> new EntityNotFoundException("O usuário de id %s não foi encontrado".formatted(userId))
+        );
+    }
+}
@@ -0,0 +1,160 @@
+package br.com.dio.tag;
+
+import static java.util.Comparator.comparingInt;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Índice em memória das tags dos Cards de um Board: um {@link CardBitmap} com os Cards de
+ * cada tag e um com todos os Cards do Board, que é o universo das exclusões ({@code -tag}).
+ *
+ * <p>Os bitmaps guardam posições densas atribuídas aos Cards na ordem em que entram no
+ * índice, e não os IDs: IDs gerados no cliente ({@code IdGenerator}) são espalhados e
+ * ocupariam um contêiner por milissegundo, enquanto as posições de 100 mil Cards cabem em
+ * dois. Posições de Cards retirados não são reaproveitadas; o índice é recarregado quando
+ * expira. Como os Cards são carregados em ordem de ID e os novos IDs são crescentes, as
+ * posições seguem a ordem dos IDs e o resultado só precisa ser ordenado se um ID menor
+ * entrar depois (ex.: gerado por outro nó).</p>
+ *
+ * <p>Resolver um {@link TagFilter} custa algumas operações entre bitmaps, sem consultas ao
+ * banco de dados: as tags obrigatórias são cruzadas da menor para a maior, a interseção com
+ * a união das alternativas restringe o resultado e as tags proibidas são subtraídas.</p>
+ *
+ * <p>Não é thread-safe; quem guarda o índice serializa o acesso (ver {@code TagService}).</p>
+ */
+public final class BoardTagIndex {
+
+    private static final CardBitmap EMPTY = new CardBitmap();
+
+    // IDs dos Cards por posição e posição de cada Card presente
+    private long[] ids = new long[1024];
+    private int positions;
+    private final Map<Long, Integer> ordinals = new HashMap<>();
+    private boolean ordered = true;
+
+    private final CardBitmap cards = new CardBitmap();
+    private final Map<String, CardBitmap> tags = new HashMap<>();
+
+    /**
+     * Inclui um Card do Board, sem tags.
+     * @param cardId ID do Card
+     */
+    public void addCard(final long cardId) {
+        if (ordinals.containsKey(cardId)) {
+            return;
+        }
+        if (positions == ids.length) {
+            ids = Arrays.copyOf(ids, positions * 2);
+        }
+        if (positions > 0 && ids[positions - 1] > cardId) {
+            ordered = false;
+        }
+        ids[positions] = cardId;
+        ordinals.put(cardId, positions);
+        cards.add(positions++);
+    }
+
+    /**
+     * Retira um Card e todas as suas tags.
+     * @param cardId ID do Card
+     * @return false se o Card não estava no índice
+     */
+    public boolean removeCard(final long cardId) {
+        var ordinal = ordinals.remove(cardId);
+        if (ordinal == null) {
+            return false;
+        }
+        cards.remove(ordinal);
+        var iterator = tags.values().iterator();
+        while (iterator.hasNext()) {
+            var bitmap = iterator.next();
+            if (bitmap.remove(ordinal) && bitmap.isEmpty()) {
+                iterator.remove();
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Marca um Card com uma tag. Cards que não estão no índice são ignorados.
+     * @param cardId ID do Card
+     * @param tag Nome normalizado da tag
+     */
+    public void tag(final long cardId, final String tag) {
+        var ordinal = ordinals.get(cardId);
+        if (ordinal != null) {
+            tags.computeIfAbsent(tag, t -> new CardBitmap()).add(ordinal);
+        }
+    }
+
+    /**
+     * Retira uma tag de um Card.
+     * @param cardId ID do Card
+     * @param tag Nome normalizado da tag
+     */
+    public void untag(final long cardId, final String tag) {
+        var ordinal = ordinals.get(cardId);
+        var bitmap = tags.get(tag);
+        if (ordinal != null && bitmap != null && bitmap.remove(ordinal) && bitmap.isEmpty()) {
+            tags.remove(tag);
+        }
+    }
+
+    /**
+     * Seleciona os Cards que atendem a um filtro.
+     * @param filter Combinação de tags; um filtro vazio seleciona todos os Cards
+     * @return IDs dos Cards selecionados, em ordem crescente
+     */
+    public long[] filter(final TagFilter filter) {
+        CardBitmap result = null;
+        var required = filter.all().stream().map(this::bitmap).sorted(comparingInt(CardBitmap::cardinality)).toList();
+        for (var bitmap : required) {
+            result = result == null ? bitmap : result.and(bitmap);
+        }
+        if (!filter.any().isEmpty()) {
+            CardBitmap union = null;
+            for (var tag : filter.any()) {
+                union = union == null ? bitmap(tag) : union.or(bitmap(tag));
+            }
+            result = result == null ? union : result.and(union);
+        }
+        if (result == null) {
+            result = cards;
+        }
+        for (var tag : filter.none()) {
+            result = result.andNot(bitmap(tag));
+        }
+        var selected = result.toArray();
+        var cardIds = new long[selected.length];
+        for (int i = 0; i < selected.length; i++) {
+            cardIds[i] = ids[selected[i]];
+        }
+        if (!ordered) {
+            Arrays.sort(cardIds);
+        }
+        return cardIds;
+    }
+
+    /**
+     * @return Quantidade de Cards de cada tag, em ordem de nome
+     */
+    public Map<String, Integer> counts() {
+        Map<String, Integer> counts = new TreeMap<>();
+        tags.forEach((tag, bitmap) -> counts.put(tag, bitmap.cardinality()));
+        return counts;
+    }
+
+    /**
+     * @return Quantidade de Cards do Board
+     */
+    public int size() {
+        return ordinals.size();
+    }
+
+    private CardBitmap bitmap(final String tag) {
+        return tags.getOrDefault(tag, EMPTY);
+    }
+}
@@ -0,0 +1,530 @@
+package br.com.dio.tag;
+
+import java.util.Arrays;
+
+/**
+ * Conjunto compactado de posições de Cards (inteiros não negativos), no formato dos bitmaps
+ * "Roaring".
+ *
+ * <p>Cada valor é dividido em uma chave alta (os 16 bits superiores) e uma parte baixa (os
+ * 16 bits inferiores). Cada chave alta presente tem um contêiner com as partes baixas: um
+ * vetor ordenado enquanto o contêiner tiver até {@value #ARRAY_LIMIT} valores e um mapa de
+ * 65536 bits (8 KB) acima disso, o tamanho em que o mapa passa a ser menor que o vetor.
+ * Interseção, união e diferença percorrem as chaves das duas entradas em ordem e combinam
+ * só os contêineres de mesma chave; entre mapas de bits a operação é feita palavra a
+ * palavra e entre vetores por intercalação.</p>
+ *
+ * <p>As operações entre bitmaps devolvem novas instâncias e não alteram as entradas.
+ * Instâncias não são thread-safe.</p>
+ */
+public final class CardBitmap {
+
+    // Maior quantidade de valores de um contêiner em forma de vetor
+    private static final int ARRAY_LIMIT = 4096;
+
+    // Palavras de 64 bits de um contêiner em forma de mapa de bits
+    private static final int WORDS = 1024;
+
+    // Chaves altas em ordem crescente e os contêineres correspondentes
+    private int[] keys;
+    private Container[] containers;
+    private int size;
+
+    /**
+     * Cria um bitmap vazio.
+     */
+    public CardBitmap() {
+        this(4);
+    }
+
+    private CardBitmap(final int capacity) {
+        this.keys = new int[capacity];
+        this.containers = new Container[capacity];
+    }
+
+    /**
+     * Inclui um valor.
+     * @param value Posição do Card (não negativa)
+     * @return false se o valor já estava presente
+     */
+    public boolean add(final int value) {
+        var key = value >>> 16;
+        var index = Arrays.binarySearch(keys, 0, size, key);
+        if (index < 0) {
+            var container = new ArrayContainer();
+            container.add((char) value);
+            insert(-index - 1, key, container);
+            return true;
+        }
+        var container = containers[index];
+        var before = container.cardinality();
+        containers[index] = container.add((char) value);
+        return containers[index].cardinality() > before;
+    }
+
+    /**
+     * Retira um valor.
+     * @param value Posição do Card
+     * @return false se o valor não estava presente
+     */
+    public boolean remove(final int value) {
+        var index = Arrays.binarySearch(keys, 0, size, value >>> 16);
+        if (index < 0) {
+            return false;
+        }
+        var container = containers[index];
+        var before = container.cardinality();
+        var updated = container.remove((char) value);
+        if (updated.cardinality() == 0) {
+            System.arraycopy(keys, index + 1, keys, index, size - index - 1);
+            System.arraycopy(containers, index + 1, containers, index, size - index - 1);
+            containers[--size] = null;
+        } else {
+            containers[index] = updated;
+        }
+        return updated.cardinality() < before;
+    }
+
+    /**
+     * @param value Posição do Card
+     * @return true se o valor estiver presente
+     */
+    public boolean contains(final int value) {
+        var index = Arrays.binarySearch(keys, 0, size, value >>> 16);
+        return index >= 0 && containers[index].contains((char) value);
+    }
+
+    /**
+     * @return Quantidade de valores presentes
+     */
+    public int cardinality() {
+        var total = 0;
+        for (int i = 0; i < size; i++) {
+            total += containers[i].cardinality();
+        }
+        return total;
+    }
+
+    /**
+     * @return true se não houver valores
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * @param other Outro bitmap
+     * @return Valores presentes nos dois bitmaps
+     */
+    public CardBitmap and(final CardBitmap other) {
+        var result = new CardBitmap(Math.min(size, other.size));
+        int i = 0;
+        int j = 0;
+        while (i < size && j < other.size) {
+            var compare = Integer.compare(keys[i], other.keys[j]);
+            if (compare < 0) {
+                i++;
+            } else if (compare > 0) {
+                j++;
+            } else {
+                result.append(keys[i], and(containers[i++], other.containers[j++]));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @param other Outro bitmap
+     * @return Valores presentes em qualquer um dos bitmaps
+     */
+    public CardBitmap or(final CardBitmap other) {
+        var result = new CardBitmap(size + other.size);
+        int i = 0;
+        int j = 0;
+        while (i < size || j < other.size) {
+            var compare = i == size ? 1 : j == other.size ? -1 : Integer.compare(keys[i], other.keys[j]);
+            if (compare < 0) {
+                result.append(keys[i], containers[i++].copy());
+            } else if (compare > 0) {
+                result.append(other.keys[j], other.containers[j++].copy());
+            } else {
+                result.append(keys[i], or(containers[i++], other.containers[j++]));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @param other Outro bitmap
+     * @return Valores deste bitmap que não estão em {@code other}
+     */
+    public CardBitmap andNot(final CardBitmap other) {
+        var result = new CardBitmap(size);
+        int j = 0;
+        for (int i = 0; i < size; i++) {
+            while (j < other.size && other.keys[j] < keys[i]) {
+                j++;
+            }
+            if (j < other.size && other.keys[j] == keys[i]) {
+                result.append(keys[i], andNot(containers[i], other.containers[j]));
+            } else {
+                result.append(keys[i], containers[i].copy());
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @return Cópia independente do bitmap
+     */
+    public CardBitmap copy() {
+        var result = new CardBitmap(size);
+        for (int i = 0; i < size; i++) {
+            result.append(keys[i], containers[i].copy());
+        }
+        return result;
+    }
+
+    /**
+     * @return Valores presentes, em ordem crescente
+     */
+    public int[] toArray() {
+        var values = new int[cardinality()];
+        var offset = 0;
+        for (int i = 0; i < size; i++) {
+            offset = containers[i].fill(keys[i] << 16, values, offset);
+        }
+        return values;
+    }
+
+    private void insert(final int index, final int key, final Container container) {
+        ensureCapacity();
+        System.arraycopy(keys, index, keys, index + 1, size - index);
+        System.arraycopy(containers, index, containers, index + 1, size - index);
+        keys[index] = key;
+        containers[index] = container;
+        size++;
+    }
+
+    /**
+     * Inclui um contêiner com chave maior que todas as atuais; contêineres vazios são descartados.
+     */
+    private void append(final int key, final Container container) {
+        if (container == null) {
+            return;
+        }
+        ensureCapacity();
+        keys[size] = key;
+        containers[size++] = container;
+    }
+
+    private void ensureCapacity() {
+        if (size == keys.length) {
+            var capacity = Math.max(4, size * 2);
+            keys = Arrays.copyOf(keys, capacity);
+            containers = Arrays.copyOf(containers, capacity);
+        }
+    }
+
+    private static Container and(final Container a, final Container b) {
+        if (a instanceof ArrayContainer array) {
+            return array.filter(b, true);
+        }
+        if (b instanceof ArrayContainer array) {
+            return array.filter(a, true);
+        }
+        var words = a.words();
+        var others = ((BitmapContainer) b).words;
+        for (int i = 0; i < WORDS; i++) {
+            words[i] &= others[i];
+        }
+        return fromWords(words);
+    }
+
+    private static Container or(final Container a, final Container b) {
+        if (a instanceof ArrayContainer x && b instanceof ArrayContainer y
+                && x.cardinality() + y.cardinality() <= ARRAY_LIMIT) {
+            return x.merge(y);
+        }
+        var words = a.words();
+        b.orInto(words);
+        return fromWords(words);
+    }
+
+    private static Container andNot(final Container a, final Container b) {
+        if (a instanceof ArrayContainer array) {
+            return array.filter(b, false);
+        }
+        var words = a.words();
+        b.clearFrom(words);
+        return fromWords(words);
+    }
+
+    /**
+     * Converte palavras de um mapa de bits no contêiner mais compacto.
+     * @return Contêiner ou null se não houver bits ligados
+     */
+    private static Container fromWords(final long[] words) {
+        var cardinality = 0;
+        for (var word : words) {
+            cardinality += Long.bitCount(word);
+        }
+        if (cardinality == 0) {
+            return null;
+        }
+        return cardinality <= ARRAY_LIMIT ? ArrayContainer.of(words, cardinality) : new BitmapContainer(words, cardinality);
+    }
+
+    /**
+     * Partes baixas dos IDs de uma chave alta. {@link #add(char)} e {@link #remove(char)}
+     * alteram o contêiner e devolvem o contêiner a ser usado em seguida, que muda de forma
+     * ao cruzar {@value #ARRAY_LIMIT} valores.
+     */
+    private sealed interface Container permits ArrayContainer, BitmapContainer {
+
+        int cardinality();
+
+        boolean contains(char value);
+
+        Container add(char value);
+
+        Container remove(char value);
+
+        // Cópia dos valores em forma de mapa de bits
+        long[] words();
+
+        void orInto(long[] words);
+
+        void clearFrom(long[] words);
+
+        int fill(int high, int[] values, int offset);
+
+        Container copy();
+    }
+
+    private static final class ArrayContainer implements Container {
+
+        private char[] values;
+        private int size;
+
+        ArrayContainer() {
+            this(new char[4], 0);
+        }
+
+        private ArrayContainer(final char[] values, final int size) {
+            this.values = values;
+            this.size = size;
+        }
+
+        static ArrayContainer of(final long[] words, final int cardinality) {
+            var values = new char[cardinality];
+            var size = 0;
+            for (int i = 0; i < WORDS; i++) {
+                var word = words[i];
+                while (word != 0) {
+                    values[size++] = (char) (i << 6 | Long.numberOfTrailingZeros(word));
+                    word &= word - 1;
+                }
+            }
+            return new ArrayContainer(values, size);
+        }
+
+        @Override
+        public int cardinality() {
+            return size;
+        }
+
+        @Override
+        public boolean contains(final char value) {
+            return Arrays.binarySearch(values, 0, size, value) >= 0;
+        }
+
+        @Override
+        public Container add(final char value) {
+            var index = Arrays.binarySearch(values, 0, size, value);
+            if (index >= 0) {
+                return this;
+            }
+            if (size == ARRAY_LIMIT) {
+                var words = words();
+                words[value >>> 6] |= 1L << value;
+                return new BitmapContainer(words, size + 1);
+            }
+            index = -index - 1;
+            if (size == values.length) {
+                values = Arrays.copyOf(values, Math.min(ARRAY_LIMIT, Math.max(4, size * 2)));
+            }
+            System.arraycopy(values, index, values, index + 1, size - index);
+            values[index] = value;
+            size++;
+            return this;
+        }
+
+        @Override
+        public Container remove(final char value) {
+            var index = Arrays.binarySearch(values, 0, size, value);
+            if (index >= 0) {
+                System.arraycopy(values, index + 1, values, index, size - index - 1);
+                size--;
+            }
+            return this;
+        }
+
+        @Override
+        public long[] words() {
+            var words = new long[WORDS];
+            orInto(words);
+            return words;
+        }
+
+        @Override
+        public void orInto(final long[] words) {
+            for (int i = 0; i < size; i++) {
+                words[values[i] >>> 6] |= 1L << values[i];
+            }
+        }
+
+        @Override
+        public void clearFrom(final long[] words) {
+            for (int i = 0; i < size; i++) {
+                words[values[i] >>> 6] &= ~(1L << values[i]);
+            }
+        }
+
+        @Override
+        public int fill(final int high, final int[] target, final int offset) {
+            for (int i = 0; i < size; i++) {
+                target[offset + i] = high | values[i];
+            }
+            return offset + size;
+        }
+
+        @Override
+        public Container copy() {
+            return new ArrayContainer(Arrays.copyOf(values, size), size);
+        }
+
+        /**
+         * @param keep true para manter os valores presentes em {@code other}, false para manter os ausentes
+         * @return Valores selecionados ou null se nenhum for mantido
+         */
+        Container filter(final Container other, final boolean keep) {
+            var result = new char[size];
+            var count = 0;
+            if (other instanceof ArrayContainer array) {
+                // Intercalação: evita a busca binária por valor, cara em desvios mal previstos
+                var j = 0;
+                for (int i = 0; i < size; i++) {
+                    while (j < array.size && array.values[j] < values[i]) {
+                        j++;
+                    }
+                    if ((j < array.size && array.values[j] == values[i]) == keep) {
+                        result[count++] = values[i];
+                    }
+                }
+            } else {
+                for (int i = 0; i < size; i++) {
+                    if (other.contains(values[i]) == keep) {
+                        result[count++] = values[i];
+                    }
+                }
+            }
+            return count == 0 ? null : new ArrayContainer(result, count);
+        }
+
+        Container merge(final ArrayContainer other) {
+            var result = new char[size + other.size];
+            int i = 0;
+            int j = 0;
+            var count = 0;
+            while (i < size || j < other.size) {
+                if (j == other.size || (i < size && values[i] < other.values[j])) {
+                    result[count++] = values[i++];
+                } else if (i == size || other.values[j] < values[i]) {
+                    result[count++] = other.values[j++];
+                } else {
+                    result[count++] = values[i++];
+                    j++;
+                }
+            }
+            return new ArrayContainer(result, count);
+        }
+    }
+
+    private static final class BitmapContainer implements Container {
+
+        private final long[] words;
+        private int cardinality;
+
+        BitmapContainer(final long[] words, final int cardinality) {
+            this.words = words;
+            this.cardinality = cardinality;
+        }
+
+        @Override
+        public int cardinality() {
+            return cardinality;
+        }
+
+        @Override
+        public boolean contains(final char value) {
+            return (words[value >>> 6] & 1L << value) != 0;
+        }
+
+        @Override
+        public Container add(final char value) {
+            if (!contains(value)) {
+                words[value >>> 6] |= 1L << value;
+                cardinality++;
+            }
+            return this;
+        }
+
+        @Override
+        public Container remove(final char value) {
+            if (!contains(value)) {
+                return this;
+            }
+            words[value >>> 6] &= ~(1L << value);
+            cardinality--;
+            return cardinality <= ARRAY_LIMIT ? ArrayContainer.of(words, cardinality) : this;
+        }
+
+        @Override
+        public long[] words() {
+            return words.clone();
+        }
+
+        @Override
+        public void orInto(final long[] target) {
+            for (int i = 0; i < WORDS; i++) {
+                target[i] |= words[i];
+            }
+        }
+
+        @Override
+        public void clearFrom(final long[] target) {
+            for (int i = 0; i < WORDS; i++) {
+                target[i] &= ~words[i];
+            }
+        }
+
+        @Override
+        public int fill(final int high, final int[] target, final int offset) {
+            var position = offset;
+            for (int i = 0; i < WORDS; i++) {
+                var word = words[i];
+                while (word != 0) {
+                    target[position++] = high | i << 6 | Long.numberOfTrailingZeros(word);
+                    word &= word - 1;
+                }
+            }
+            return position;
+        }
+
+        @Override
+        public Container copy() {
+            return new BitmapContainer(words.clone(), cardinality);
+        }
+    }
+}
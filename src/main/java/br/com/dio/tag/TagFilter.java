@@ -0,0 +1,82 @@
+package br.com.dio.tag;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Combinação de tags usada para filtrar os Cards de um Board.
+ *
+ * <p>Um Card atende ao filtro se tiver todas as tags de {@code all}, pelo menos uma das tags
+ * de {@code any} (se houver alguma) e nenhuma das tags de {@code none}. Na forma textual os
+ * termos são separados por espaços: {@code +tag} exige a tag, {@code -tag} exclui a tag e
+ * {@code tag} entra na alternativa. Ex.: {@code "+bug urgente cliente -bloqueado"}.</p>
+ *
+ * @param all Tags obrigatórias (E)
+ * @param any Tags alternativas (OU)
+ * @param none Tags proibidas (NÃO)
+ */
+public record TagFilter(List<String> all, List<String> any, List<String> none) {
+
+    // Tamanho máximo do nome de uma tag (coluna TAGS.name)
+    private static final int MAX_NAME_LENGTH = 50;
+
+    public TagFilter {
+        all = List.copyOf(all);
+        any = List.copyOf(any);
+        none = List.copyOf(none);
+    }
+
+    /**
+     * Lê um filtro na forma textual.
+     * @param expression Termos separados por espaços; vazio ou null seleciona todos os Cards
+     * @return Filtro com os nomes das tags normalizados
+     * @throws IllegalArgumentException Se algum termo não for um nome de tag válido
+     */
+    public static TagFilter parse(final String expression) {
+        List<String> all = new ArrayList<>();
+        List<String> any = new ArrayList<>();
+        List<String> none = new ArrayList<>();
+        if (expression != null && !expression.isBlank()) {
+            for (var term : expression.strip().split("\\s+")) {
+                switch (term.charAt(0)) {
+                    case '+' -> all.add(normalize(term.substring(1)));
+                    case '-' -> none.add(normalize(term.substring(1)));
+                    default -> any.add(normalize(term));
+                }
+            }
+        }
+        return new TagFilter(all, any, none);
+    }
+
+    /**
+     * Normaliza o nome de uma tag: sem espaços nas pontas e em minúsculas.
+     * @param name Nome informado
+     * @return Nome normalizado
+     * @throws IllegalArgumentException Se o nome for vazio, maior que 50 caracteres, contiver
+     *                                  espaços ou começar com '+' ou '-'
+     */
+    public static String normalize(final String name) {
+        var normalized = name == null ? "" : name.strip().toLowerCase(Locale.ROOT);
+        if (normalized.isEmpty() || normalized.length() > MAX_NAME_LENGTH
+                || normalized.chars().anyMatch(Character::isWhitespace)
+                || normalized.charAt(0) == '+' || normalized.charAt(0) == '-') {
+            throw new IllegalArgumentException(
+                    "A tag '%s' é inválida: use de 1 a %s caracteres, sem espaços e sem começar com '+' ou '-'"
+                            .formatted(name, MAX_NAME_LENGTH));
+        }
+        return normalized;
+    }
+
+    /**
+     * @return Forma textual do filtro, aceita por {@link #parse(String)}
+     */
+    @Override
+    public String toString() {
+        return Stream.of(all.stream().map(t -> "+" + t), any.stream(), none.stream().map(t -> "-" + t))
+                .flatMap(s -> s)
+                .collect(Collectors.joining(" "));
+    }
+}
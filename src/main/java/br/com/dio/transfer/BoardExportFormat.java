@@ -0,0 +1,36 @@
+package br.com.dio.transfer;
+
+import lombok.NoArgsConstructor;
+
+import static lombok.AccessLevel.PRIVATE;
+
+/**
+ * Definição do formato de exportação de boards em JSON Lines.
+ *
+ * <p>O arquivo contém um registro por linha, sempre nesta ordem: um registro
+ * {@code board}, os registros {@code column} do board e, para cada card, o registro
+ * {@code card} seguido imediatamente dos registros {@code block} do seu histórico.
+ * Essa ordem permite exportar e restaurar em fluxo, sem manter o board em memória.</p>
+ *
+ * <pre>
+ * {"type":"board","version":1,"id":1,"name":"Sprint"}
+ * {"type":"column","id":10,"name":"Inicial","order":0,"kind":"INITIAL"}
+ * {"type":"card","id":100,"title":"...","description":"...","columnId":10}
+ * {"type":"block","cardId":100,"blockedAt":"2024-08-21T10:00Z","blockReason":"...","unblockedAt":null,"unblockReason":null}
+ * </pre>
+ */
+@NoArgsConstructor(access = PRIVATE)
+public final class BoardExportFormat {
+
+    // Versão atual do formato
+    public static final int VERSION = 1;
+
+    // Campo que identifica o tipo do registro
+    public static final String TYPE = "type";
+
+    // Tipos de registro
+    public static final String BOARD = "board";
+    public static final String COLUMN = "column";
+    public static final String CARD = "card";
+    public static final String BLOCK = "block";
+}
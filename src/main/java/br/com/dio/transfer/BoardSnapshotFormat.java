@@ -0,0 +1,72 @@
+package br.com.dio.transfer;
+
+import lombok.NoArgsConstructor;
+
+import java.nio.file.Path;
+import java.util.Locale;
+
+import static lombok.AccessLevel.PRIVATE;
+
+/**
+ * Definição do formato binário compacto de snapshots de boards, usado em backups
+ * e restaurações rápidas.
+ *
+ * <p>O arquivo começa com o cabeçalho {@code "BSNP"} seguido de um byte de versão.
+ * Depois vêm registros no formato {@code tipo (1 byte) | tamanho (varint) | conteúdo},
+ * na mesma ordem da exportação em JSON Lines: board, colunas e cada card seguido dos
+ * seus bloqueios. O último registro é {@link #END}.</p>
+ *
+ * <p>Codificação do conteúdo:</p>
+ * <ul>
+ *   <li>Inteiros são varints sem sinal (7 bits por byte, little-endian); datas são
+ *       milissegundos desde a época em varint zigzag.</li>
+ *   <li>Textos são {@code tamanho + 1} em varint seguido dos bytes UTF-8 ({@code 0} = null).</li>
+ *   <li>Nomes de coluna e motivos de bloqueio são referências a um dicionário: cada
+ *       registro {@link #DICTIONARY} define o próximo índice (a partir de 0) e aparece
+ *       antes do primeiro uso. Referências opcionais usam {@code índice + 1} ({@code 0} = null).</li>
+ * </ul>
+ *
+ * <pre>
+ * DICTIONARY  texto
+ * BOARD       id, nome
+ * COLUMN      id, ref nome, ordem, ordinal do tipo
+ * CARD        id - id do card anterior, id da coluna, título, descrição
+ * BLOCK       bloqueio, ref motivo, desbloqueio - bloqueio + 1 (0 = null), ref opcional motivo do desbloqueio
+ * END         colunas, cards, bloqueios, CRC32 (4 bytes big-endian)
+ * </pre>
+ *
+ * <p>O CRC32 cobre todos os bytes anteriores ao registro {@link #END}. Bytes após esse
+ * registro são ignorados.</p>
+ */
+@NoArgsConstructor(access = PRIVATE)
+public final class BoardSnapshotFormat {
+
+    // Extensão dos arquivos de snapshot
+    public static final String EXTENSION = "bsnp";
+
+    // Assinatura do arquivo
+    static final byte[] MAGIC = {'B', 'S', 'N', 'P'};
+
+    // Versão atual do formato
+    public static final int VERSION = 1;
+
+    // Tipos de registro
+    public static final byte DICTIONARY = 1;
+    public static final byte BOARD = 2;
+    public static final byte COLUMN = 3;
+    public static final byte CARD = 4;
+    public static final byte BLOCK = 5;
+    public static final byte END = 6;
+
+    // Tamanho de cada janela mapeada em memória
+    static final int WINDOW_SIZE = 8 * 1024 * 1024;
+
+    /**
+     * Indica se o arquivo deve ser tratado como snapshot binário, pela extensão.
+     * @param file Arquivo de exportação ou snapshot
+     * @return true se a extensão for {@value #EXTENSION}
+     */
+    public static boolean isSnapshot(final Path file) {
+        return file.getFileName().toString().toLowerCase(Locale.ROOT).endsWith("." + EXTENSION);
+    }
+}
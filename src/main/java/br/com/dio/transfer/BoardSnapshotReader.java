@@ -0,0 +1,246 @@
+package br.com.dio.transfer;
+
+import static br.com.dio.transfer.BoardSnapshotFormat.BLOCK;
+import static br.com.dio.transfer.BoardSnapshotFormat.BOARD;
+import static br.com.dio.transfer.BoardSnapshotFormat.CARD;
+import static br.com.dio.transfer.BoardSnapshotFormat.COLUMN;
+import static br.com.dio.transfer.BoardSnapshotFormat.DICTIONARY;
+import static br.com.dio.transfer.BoardSnapshotFormat.END;
+import static br.com.dio.transfer.BoardSnapshotFormat.MAGIC;
+import static br.com.dio.transfer.BoardSnapshotFormat.VERSION;
+import static br.com.dio.transfer.BoardSnapshotFormat.WINDOW_SIZE;
+import static java.nio.channels.FileChannel.MapMode.READ_ONLY;
+import static java.time.ZoneOffset.UTC;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32;
+
+import br.com.dio.persistence.entity.BoardColumnKindEnum;
+
+/**
+ * Leitor de snapshots no formato {@link BoardSnapshotFormat}, registro a registro.
+ *
+ * <p>O arquivo é lido por janelas mapeadas em memória e o CRC32 é calculado durante a
+ * leitura: o registro {@link End} só é devolvido se o conteúdo estiver íntegro.
+ * Os registros de dicionário são resolvidos internamente.</p>
+ */
+public class BoardSnapshotReader implements AutoCloseable {
+
+    /**
+     * Registro lido do snapshot.
+     */
+    public sealed interface Record permits Board, Column, Card, Block, End {
+    }
+
+    public record Board(long id, String name) implements Record {
+    }
+
+    public record Column(long id, String name, int order, BoardColumnKindEnum kind) implements Record {
+    }
+
+    public record Card(long id, long columnId, String title, String description) implements Record {
+    }
+
+    /**
+     * Bloqueio do último {@link Card} lido.
+     */
+    public record Block(long cardId, OffsetDateTime blockedAt, String reason,
+                        OffsetDateTime unblockedAt, String unblockReason) implements Record {
+    }
+
+    public record End(long columns, long cards, long blocks) implements Record {
+    }
+
+    private final FileChannel channel;
+    private final long size;
+    private final CRC32 crc = new CRC32();
+    private final List<String> dictionary = new ArrayList<>();
+
+    private MappedByteBuffer window;
+    private long windowStart;
+
+    private long previousCardId;
+    private boolean ended;
+
+    /**
+     * Abre um snapshot e valida o cabeçalho.
+     * @param file Arquivo de snapshot
+     * @throws IOException Em caso de erro de leitura ou se o arquivo não for um snapshot
+     */
+    public BoardSnapshotReader(final Path file) throws IOException {
+        this.channel = FileChannel.open(file);
+        this.size = channel.size();
+        this.window = channel.map(READ_ONLY, 0, Math.min(WINDOW_SIZE, size));
+        try {
+            ensureWindow(MAGIC.length + 1);
+            var start = new byte[MAGIC.length + 1];
+            window.get(start);
+            crc.update(start);
+            for (int i = 0; i < MAGIC.length; i++) {
+                if (start[i] != MAGIC[i]) {
+                    throw new IOException("O arquivo não é um snapshot de board");
+                }
+            }
+            if (start[MAGIC.length] > VERSION) {
+                throw new IOException("Versão de snapshot %s não suportada".formatted(start[MAGIC.length]));
+            }
+        } catch (IOException ex) {
+            channel.close();
+            throw ex;
+        }
+    }
+
+    /**
+     * Lê o próximo registro.
+     * @return Próximo registro ou null após o registro {@link End}
+     * @throws IOException Em caso de erro de leitura, arquivo truncado ou CRC inválido
+     */
+    public Record next() throws IOException {
+        try {
+            while (!ended) {
+                var checksum = crc.getValue();
+                var remaining = size - windowStart - window.position();
+                if (remaining <= 0) {
+                    throw new IOException("Snapshot truncado: registro END não encontrado");
+                }
+                // O cabeçalho (tipo + varint de até 5 bytes) nunca fica dividido entre janelas
+                ensureWindow((int) Math.min(6, remaining));
+                var recordStart = window.position();
+                var type = window.get();
+                var length = readVarLong(window);
+                if (length < 0 || length > Integer.MAX_VALUE) {
+                    throw new IOException("Tamanho de registro %s inválido".formatted(length));
+                }
+                var headerBytes = window.duplicate().position(recordStart).limit(window.position());
+                ensureWindow((int) length);
+                var payload = window.slice(window.position(), (int) length);
+                window.position(window.position() + (int) length);
+                if (type != END) {
+                    crc.update(headerBytes);
+                    crc.update(payload.duplicate());
+                }
+                var record = decode(type, payload, checksum);
+                if (record != null) {
+                    return record;
+                }
+            }
+            return null;
+        } catch (BufferUnderflowException | IllegalArgumentException ex) {
+            throw new IOException("Registro inválido no snapshot", ex);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        window = null;
+        channel.close();
+    }
+
+    private Record decode(final byte type, final ByteBuffer payload, final long checksum) throws IOException {
+        switch (type) {
+            case DICTIONARY -> {
+                dictionary.add(StandardCharsets.UTF_8.decode(payload).toString());
+                return null;
+            }
+            case BOARD -> {
+                return new Board(readVarLong(payload), readString(payload));
+            }
+            case COLUMN -> {
+                var id = readVarLong(payload);
+                var name = lookup(readVarLong(payload));
+                var order = (int) readVarLong(payload);
+                var kinds = BoardColumnKindEnum.values();
+                var kind = (int) readVarLong(payload);
+                if (kind < 0 || kind >= kinds.length) {
+                    throw new IOException("Tipo de coluna %s inválido".formatted(kind));
+                }
+                return new Column(id, name, order, kinds[kind]);
+            }
+            case CARD -> {
+                previousCardId += readVarLong(payload);
+                return new Card(previousCardId, readVarLong(payload), readString(payload), readString(payload));
+            }
+            case BLOCK -> {
+                var blocked = unzigzag(readVarLong(payload));
+                var reason = lookup(readVarLong(payload));
+                var unblocked = readVarLong(payload);
+                var unblockReason = readVarLong(payload);
+                return new Block(previousCardId, toOffsetDateTime(blocked), reason,
+                        unblocked == 0 ? null : toOffsetDateTime(blocked + unzigzag(unblocked - 1)),
+                        unblockReason == 0 ? null : lookup(unblockReason - 1));
+            }
+            case END -> {
+                var end = new End(readVarLong(payload), readVarLong(payload), readVarLong(payload));
+                var expected = Integer.toUnsignedLong(payload.getInt());
+                if (expected != checksum) {
+                    throw new IOException("CRC32 do snapshot inválido: arquivo corrompido");
+                }
+                ended = true;
+                return end;
+            }
+            default -> throw new IOException("Tipo de registro %s desconhecido".formatted(type));
+        }
+    }
+
+    /**
+     * Garante que a janela mapeada contém os próximos {@code length} bytes.
+     */
+    private void ensureWindow(final int length) throws IOException {
+        if (window.remaining() >= length) {
+            return;
+        }
+        var position = windowStart + window.position();
+        if (position + length > size) {
+            throw new IOException("Snapshot truncado: registro END não encontrado");
+        }
+        windowStart = position;
+        window = channel.map(READ_ONLY, position, Math.min(Math.max(WINDOW_SIZE, length), size - position));
+    }
+
+    private String lookup(final long index) throws IOException {
+        if (index >= dictionary.size()) {
+            throw new IOException("Referência %s fora do dicionário".formatted(index));
+        }
+        return dictionary.get((int) index);
+    }
+
+    private static String readString(final ByteBuffer buffer) {
+        var length = (int) readVarLong(buffer);
+        if (length == 0) {
+            return null;
+        }
+        var bytes = new byte[length - 1];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static long readVarLong(final ByteBuffer buffer) {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            var b = buffer.get();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("Varint inválido");
+    }
+
+    private static long unzigzag(final long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private static OffsetDateTime toOffsetDateTime(final long epochMillis) {
+        return OffsetDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), UTC);
+    }
+}
@@ -0,0 +1,248 @@
+package br.com.dio.transfer;
+
+import static br.com.dio.transfer.BoardSnapshotFormat.BLOCK;
+import static br.com.dio.transfer.BoardSnapshotFormat.BOARD;
+import static br.com.dio.transfer.BoardSnapshotFormat.CARD;
+import static br.com.dio.transfer.BoardSnapshotFormat.COLUMN;
+import static br.com.dio.transfer.BoardSnapshotFormat.DICTIONARY;
+import static br.com.dio.transfer.BoardSnapshotFormat.END;
+import static br.com.dio.transfer.BoardSnapshotFormat.MAGIC;
+import static br.com.dio.transfer.BoardSnapshotFormat.VERSION;
+import static br.com.dio.transfer.BoardSnapshotFormat.WINDOW_SIZE;
+import static java.nio.channels.FileChannel.MapMode.READ_WRITE;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.TRUNCATE_EXISTING;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.OffsetDateTime;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+import br.com.dio.persistence.entity.BoardColumnKindEnum;
+
+/**
+ * Escritor de snapshots no formato {@link BoardSnapshotFormat}.
+ *
+ * <p>O arquivo é escrito por janelas mapeadas em memória de tamanho fixo: quando a
+ * janela atual não comporta o próximo registro, uma nova é mapeada a partir da
+ * posição corrente, estendendo o arquivo. O conteúdo de cada registro é montado em
+ * um buffer reaproveitado, de modo que a escrita não aloca por registro.</p>
+ */
+public class BoardSnapshotWriter implements AutoCloseable {
+
+    private final FileChannel channel;
+    private final CRC32 crc = new CRC32();
+
+    // Índices já atribuídos no dicionário
+    private final Map<String, Integer> dictionary = new HashMap<>();
+
+    // Conteúdo do registro em montagem
+    private byte[] payload = new byte[256];
+    private int payloadLength;
+
+    // Cabeçalho do registro em montagem (tipo + varint de até 5 bytes)
+    private final byte[] header = new byte[6];
+
+    private MappedByteBuffer window;
+    private long windowStart;
+
+    private long previousCardId;
+    private boolean finished;
+
+    /**
+     * Cria o arquivo de snapshot (sobrescrevendo-o se existir) e escreve o cabeçalho.
+     * @param file Arquivo de destino
+     * @throws IOException Em caso de erro de escrita
+     */
+    public BoardSnapshotWriter(final Path file) throws IOException {
+        this.channel = FileChannel.open(file, CREATE, TRUNCATE_EXISTING, READ, WRITE);
+        this.window = channel.map(READ_WRITE, 0, WINDOW_SIZE);
+        var start = Arrays.copyOf(MAGIC, MAGIC.length + 1);
+        start[MAGIC.length] = VERSION;
+        put(start, start.length);
+    }
+
+    /**
+     * Escreve o registro do board.
+     */
+    public void board(final long id, final String name) throws IOException {
+        payloadLength = 0;
+        putVarLong(id);
+        putString(name);
+        writeRecord(BOARD);
+    }
+
+    /**
+     * Escreve o registro de uma coluna.
+     */
+    public void column(final long id, final String name, final int order,
+                       final BoardColumnKindEnum kind) throws IOException {
+        var nameRef = reference(name);
+        payloadLength = 0;
+        putVarLong(id);
+        putVarLong(nameRef);
+        putVarLong(order);
+        putVarLong(kind.ordinal());
+        writeRecord(COLUMN);
+    }
+
+    /**
+     * Escreve o registro de um card. Os cards devem ser escritos em ordem crescente de ID.
+     */
+    public void card(final long id, final long columnId, final String title,
+                     final String description) throws IOException {
+        if (id < previousCardId) {
+            throw new IllegalArgumentException("Cards devem ser escritos em ordem crescente de ID");
+        }
+        payloadLength = 0;
+        putVarLong(id - previousCardId);
+        putVarLong(columnId);
+        putString(title);
+        putString(description);
+        writeRecord(CARD);
+        previousCardId = id;
+    }
+
+    /**
+     * Escreve um bloqueio do último card escrito.
+     */
+    public void block(final OffsetDateTime blockedAt, final String reason,
+                      final OffsetDateTime unblockedAt, final String unblockReason) throws IOException {
+        var reasonRef = reference(reason);
+        var unblockReasonRef = unblockReason == null ? 0 : reference(unblockReason) + 1;
+        var blocked = blockedAt.toInstant().toEpochMilli();
+        payloadLength = 0;
+        putVarLong(zigzag(blocked));
+        putVarLong(reasonRef);
+        putVarLong(unblockedAt == null ? 0 : zigzag(unblockedAt.toInstant().toEpochMilli() - blocked) + 1);
+        putVarLong(unblockReasonRef);
+        writeRecord(BLOCK);
+    }
+
+    /**
+     * Escreve o registro final com os totais e o CRC32 do arquivo.
+     */
+    public void finish(final long columns, final long cards, final long blocks) throws IOException {
+        var checksum = crc.getValue();
+        payloadLength = 0;
+        putVarLong(columns);
+        putVarLong(cards);
+        putVarLong(blocks);
+        ensurePayload(4);
+        for (int shift = 24; shift >= 0; shift -= 8) {
+            payload[payloadLength++] = (byte) (checksum >>> shift);
+        }
+        writeRecord(END);
+        finished = true;
+    }
+
+    /**
+     * Grava o conteúdo mapeado em disco e ajusta o tamanho do arquivo.
+     * @throws IOException Em caso de erro de escrita
+     */
+    @Override
+    public void close() throws IOException {
+        try (channel) {
+            if (finished) {
+                window.force();
+            }
+            var size = windowStart + window.position();
+            window = null;
+            try {
+                channel.truncate(size);
+            } catch (IOException ex) {
+                // No Windows um arquivo com região mapeada não pode ser truncado;
+                // os bytes após o registro END são ignorados pela leitura
+            }
+        }
+    }
+
+    /**
+     * Retorna o índice de um texto no dicionário, escrevendo-o se for novo.
+     */
+    private int reference(final String text) throws IOException {
+        var index = dictionary.get(text);
+        if (index != null) {
+            return index;
+        }
+        payloadLength = 0;
+        var bytes = text.getBytes(StandardCharsets.UTF_8);
+        ensurePayload(bytes.length);
+        System.arraycopy(bytes, 0, payload, 0, bytes.length);
+        payloadLength = bytes.length;
+        writeRecord(DICTIONARY);
+        index = dictionary.size();
+        dictionary.put(text, index);
+        return index;
+    }
+
+    private void writeRecord(final byte type) throws IOException {
+        header[0] = type;
+        var headerLength = 1;
+        var value = payloadLength;
+        while ((value & ~0x7F) != 0) {
+            header[headerLength++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        header[headerLength++] = (byte) value;
+        ensureWindow(headerLength + payloadLength);
+        put(header, headerLength);
+        put(payload, payloadLength);
+    }
+
+    private void put(final byte[] bytes, final int length) throws IOException {
+        ensureWindow(length);
+        window.put(bytes, 0, length);
+        crc.update(bytes, 0, length);
+    }
+
+    /**
+     * Garante que a janela mapeada comporta mais {@code length} bytes.
+     */
+    private void ensureWindow(final int length) throws IOException {
+        if (window.remaining() >= length) {
+            return;
+        }
+        windowStart += window.position();
+        window = channel.map(READ_WRITE, windowStart, Math.max(WINDOW_SIZE, length));
+    }
+
+    private void putString(final String value) {
+        if (value == null) {
+            putVarLong(0);
+            return;
+        }
+        var bytes = value.getBytes(StandardCharsets.UTF_8);
+        putVarLong(bytes.length + 1L);
+        ensurePayload(bytes.length);
+        System.arraycopy(bytes, 0, payload, payloadLength, bytes.length);
+        payloadLength += bytes.length;
+    }
+
+    private void putVarLong(long value) {
+        ensurePayload(10);
+        while ((value & ~0x7FL) != 0) {
+            payload[payloadLength++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        payload[payloadLength++] = (byte) value;
+    }
+
+    private void ensurePayload(final int extra) {
+        if (payloadLength + extra > payload.length) {
+            payload = Arrays.copyOf(payload, Math.max(payload.length * 2, payloadLength + extra));
+        }
+    }
+
+    private static long zigzag(final long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+}
@@ -0,0 +1,76 @@
+package br.com.dio.transfer;
+
+import br.com.dio.dto.CardImportRowDTO;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Leitor em fluxo de registros de importação de Cards.
+ * Implementações leem um registro por vez, mantendo o uso de memória constante
+ * independentemente do tamanho do arquivo.
+ */
+public interface CardImportReader extends AutoCloseable {
+
+    /**
+     * Lê o próximo registro do arquivo.
+     * @return Registro lido (com {@code error} preenchido se estiver malformado) ou null no fim do arquivo
+     * @throws IOException Em caso de erro de leitura que impeça continuar
+     */
+    CardImportRowDTO next() throws IOException;
+
+    @Override
+    void close() throws IOException;
+
+    /**
+     * Abre o leitor adequado ao formato do arquivo, identificado pela extensão:
+     * {@code .csv} para CSV com cabeçalho; {@code .jsonl}, {@code .ndjson} ou {@code .json}
+     * para JSON Lines.
+     * @param file Arquivo a ser importado
+     * @return Leitor do arquivo
+     * @throws IOException Em caso de erro ao abrir o arquivo
+     * @throws IllegalArgumentException Se a extensão não for suportada
+     */
+    static CardImportReader open(final Path file) throws IOException {
+        var name = file.getFileName().toString().toLowerCase(Locale.ROOT);
+        BufferedReader reader;
+        if (name.endsWith(".csv")) {
+            reader = Files.newBufferedReader(file, StandardCharsets.UTF_8);
+            return new CsvCardImportReader(reader);
+        }
+        if (name.endsWith(".jsonl") || name.endsWith(".ndjson") || name.endsWith(".json")) {
+            reader = Files.newBufferedReader(file, StandardCharsets.UTF_8);
+            return new JsonLinesCardImportReader(reader);
+        }
+        throw new IllegalArgumentException("Formato de arquivo não suportado: " + file.getFileName());
+    }
+
+    /**
+     * Normaliza o nome de um campo do arquivo (sem diferenciar maiúsculas, '_' ou '-').
+     * @param name Nome do campo
+     * @return Nome normalizado
+     */
+    static String normalize(final String name) {
+        return name.trim().toLowerCase(Locale.ROOT).replace("_", "").replace("-", "");
+    }
+
+    /**
+     * Monta o registro a partir dos campos já normalizados.
+     * @param line Linha do registro
+     * @param fields Campos do registro com nomes normalizados
+     * @return Registro de importação
+     */
+    static CardImportRowDTO toRow(final long line, final Map<String, String> fields) {
+        return new CardImportRowDTO(line,
+                fields.get("title"),
+                fields.get("description"),
+                fields.get("column"),
+                fields.get("blockreason"),
+                null);
+    }
+}
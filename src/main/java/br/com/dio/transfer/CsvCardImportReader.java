@@ -0,0 +1,61 @@
+package br.com.dio.transfer;
+
+import br.com.dio.dto.CardImportRowDTO;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.HashMap;
+import java.util.List;
+
+/**
+ * Leitor de importação de Cards em CSV.
+ * A primeira linha deve ser um cabeçalho contendo ao menos a coluna {@code title};
+ * as colunas {@code description}, {@code column} e {@code block_reason} são opcionais.
+ */
+public class CsvCardImportReader implements CardImportReader {
+
+    private final CsvReader csv;
+    private List<String> header;
+
+    /**
+     * Cria o leitor a partir de uma fonte de caracteres bufferizada.
+     * @param reader Fonte do CSV
+     */
+    public CsvCardImportReader(final Reader reader) {
+        this.csv = new CsvReader(reader);
+    }
+
+    @Override
+    public CardImportRowDTO next() throws IOException {
+        if (header == null) {
+            var first = csv.next();
+            if (first == null) {
+                return null;
+            }
+            header = first.stream().map(CardImportReader::normalize).toList();
+            if (!header.contains("title")) {
+                throw new IOException("O cabeçalho do CSV deve conter a coluna 'title'");
+            }
+        }
+        var record = csv.next();
+        if (record == null) {
+            return null;
+        }
+        var line = csv.getRecordLine();
+        if (record.size() != header.size()) {
+            var message = "Esperados %s campos, encontrados %s".formatted(header.size(), record.size());
+            return new CardImportRowDTO(line, null, null, null, null, message);
+        }
+        var fields = new HashMap<String, String>();
+        for (int i = 0; i < header.size(); i++) {
+            var value = record.get(i);
+            fields.put(header.get(i), value.isEmpty() ? null : value);
+        }
+        return CardImportReader.toRow(line, fields);
+    }
+
+    @Override
+    public void close() throws IOException {
+        csv.close();
+    }
+}
@@ -0,0 +1,133 @@
+package br.com.dio.transfer;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Leitor de CSV em fluxo (RFC 4180), registro a registro, sem carregar o arquivo em memória.
+ * Suporta campos entre aspas com vírgulas, aspas duplicadas e quebras de linha internas.
+ */
+public class CsvReader implements AutoCloseable {
+
+    // Fonte dos caracteres (deve ser bufferizada por quem cria o leitor)
+    private final Reader reader;
+
+    // Separador de campos
+    private final char separator;
+
+    // Linha física atual, usada para relatar erros
+    private long line = 1;
+
+    // Linha física onde o último registro lido começou
+    private long recordLine;
+
+    // Caractere lido antecipadamente (-2 indica que não há)
+    private int pushback = -2;
+
+    /**
+     * Cria um leitor de CSV separado por vírgulas.
+     * @param reader Fonte dos caracteres
+     */
+    public CsvReader(final Reader reader) {
+        this(reader, ',');
+    }
+
+    /**
+     * Cria um leitor de CSV com separador customizado.
+     * @param reader Fonte dos caracteres
+     * @param separator Separador de campos
+     */
+    public CsvReader(final Reader reader, final char separator) {
+        this.reader = reader;
+        this.separator = separator;
+    }
+
+    /**
+     * Lê o próximo registro.
+     * @return Campos do registro ou null no fim do arquivo
+     * @throws IOException Em caso de erro de leitura ou aspas não fechadas
+     */
+    public List<String> next() throws IOException {
+        var c = read();
+        // Ignora linhas em branco entre registros
+        while (c == '\r' || c == '\n') {
+            c = read();
+        }
+        if (c == -1) {
+            return null;
+        }
+        recordLine = line;
+        List<String> fields = new ArrayList<>();
+        var field = new StringBuilder();
+        var quoted = false;
+        while (true) {
+            if (quoted) {
+                if (c == -1) {
+                    throw new IOException("Aspas não fechadas no registro iniciado na linha " + recordLine);
+                }
+                if (c == '"') {
+                    var following = read();
+                    if (following == '"') {
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                        c = following;
+                        continue;
+                    }
+                } else {
+                    field.append((char) c);
+                }
+            } else if (c == '"' && field.isEmpty()) {
+                quoted = true;
+            } else if (c == separator) {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\r' || c == '\n' || c == -1) {
+                if (c == '\r') {
+                    var following = read();
+                    if (following != '\n') {
+                        unread(following);
+                    }
+                }
+                fields.add(field.toString());
+                return fields;
+            } else {
+                field.append((char) c);
+            }
+            c = read();
+        }
+    }
+
+    /**
+     * Retorna a linha física em que o último registro lido começou.
+     * @return Número da linha (iniciando em 1)
+     */
+    public long getRecordLine() {
+        return recordLine;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private int read() throws IOException {
+        int c;
+        if (pushback != -2) {
+            c = pushback;
+            pushback = -2;
+            return c;
+        }
+        c = reader.read();
+        if (c == '\n') {
+            line++;
+        }
+        return c;
+    }
+
+    private void unread(final int c) {
+        pushback = c;
+    }
+}
@@ -0,0 +1,271 @@
+package br.com.dio.transfer;
+
+import lombok.NoArgsConstructor;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static lombok.AccessLevel.PRIVATE;
+
+/**
+ * Leitura e escrita de objetos JSON planos, um por linha (JSON Lines).
+ *
+ * <p>Suporta apenas o subconjunto usado pelos arquivos de importação e exportação:
+ * um objeto por linha com valores string, número, booleano ou null. Números e
+ * booleanos são devolvidos como texto, deixando a conversão para quem consome.</p>
+ */
+@NoArgsConstructor(access = PRIVATE)
+public final class JsonLine {
+
+    /**
+     * Converte uma linha JSON em um mapa de campos.
+     * @param line Linha contendo um objeto JSON plano
+     * @return Campos do objeto na ordem em que aparecem (valores null são mantidos)
+     * @throws IllegalArgumentException Se a linha não for um objeto JSON plano válido
+     */
+    public static Map<String, String> parse(final String line) {
+        var parser = new Parser(line);
+        var fields = parser.object();
+        parser.skipWhitespace();
+        if (!parser.atEnd()) {
+            throw new IllegalArgumentException("Conteúdo inesperado após o objeto JSON na posição " + parser.pos);
+        }
+        return fields;
+    }
+
+    /**
+     * Inicia a escrita de um objeto JSON.
+     * @param out Destino onde o objeto será escrito
+     * @return Escritor do objeto
+     */
+    public static Writer write(final StringBuilder out) {
+        return new Writer(out);
+    }
+
+    /**
+     * Escritor incremental de um objeto JSON plano.
+     * Chame {@link #end()} para fechar o objeto.
+     */
+    public static final class Writer {
+
+        private final StringBuilder out;
+        private boolean first = true;
+
+        private Writer(final StringBuilder out) {
+            this.out = out;
+            out.append('{');
+        }
+
+        /**
+         * Escreve um campo textual (null é escrito como null).
+         * @param name Nome do campo
+         * @param value Valor do campo
+         * @return Este escritor
+         */
+        public Writer field(final String name, final String value) {
+            name(name);
+            if (value == null) {
+                out.append("null");
+            } else {
+                quote(value);
+            }
+            return this;
+        }
+
+        /**
+         * Escreve um campo numérico (null é escrito como null).
+         * @param name Nome do campo
+         * @param value Valor do campo
+         * @return Este escritor
+         */
+        public Writer field(final String name, final Number value) {
+            name(name);
+            out.append(value == null ? "null" : value.toString());
+            return this;
+        }
+
+        /**
+         * Escreve um campo booleano.
+         * @param name Nome do campo
+         * @param value Valor do campo
+         * @return Este escritor
+         */
+        public Writer field(final String name, final boolean value) {
+            name(name);
+            out.append(value);
+            return this;
+        }
+
+        /**
+         * Escreve um campo cujo valor já está serializado em JSON (objeto ou lista).
+         * @param name Nome do campo
+         * @param json Valor JSON do campo
+         * @return Este escritor
+         */
+        public Writer json(final String name, final CharSequence json) {
+            name(name);
+            out.append(json);
+            return this;
+        }
+
+        /**
+         * Fecha o objeto.
+         * @return Destino da escrita
+         */
+        public StringBuilder end() {
+            return out.append('}');
+        }
+
+        private void name(final String name) {
+            if (!first) {
+                out.append(',');
+            }
+            first = false;
+            quote(name);
+            out.append(':');
+        }
+
+        private void quote(final String value) {
+            out.append('"');
+            for (int i = 0; i < value.length(); i++) {
+                var c = value.charAt(i);
+                switch (c) {
+                    case '"' -> out.append("\\\"");
+                    case '\\' -> out.append("\\\\");
+                    case '\n' -> out.append("\\n");
+                    case '\r' -> out.append("\\r");
+                    case '\t' -> out.append("\\t");
+                    default -> {
+                        if (c < 0x20) {
+                            out.append(String.format("\\u%04x", (int) c));
+                        } else {
+                            out.append(c);
+                        }
+                    }
+                }
+            }
+            out.append('"');
+        }
+    }
+
+    /**
+     * Parser recursivo simples para um objeto JSON plano.
+     */
+    private static final class Parser {
+
+        private final String text;
+        private int pos;
+
+        private Parser(final String text) {
+            this.text = text;
+        }
+
+        private Map<String, String> object() {
+            skipWhitespace();
+            expect('{');
+            Map<String, String> fields = new LinkedHashMap<>();
+            skipWhitespace();
+            if (peek() == '}') {
+                pos++;
+                return fields;
+            }
+            while (true) {
+                skipWhitespace();
+                var name = string();
+                skipWhitespace();
+                expect(':');
+                skipWhitespace();
+                fields.put(name, value());
+                skipWhitespace();
+                var c = next();
+                if (c == '}') {
+                    return fields;
+                }
+                if (c != ',') {
+                    throw error("',' ou '}' esperado");
+                }
+            }
+        }
+
+        private String value() {
+            var c = peek();
+            if (c == '"') {
+                return string();
+            }
+            var start = pos;
+            while (!atEnd() && ",}] \t\r\n".indexOf(peek()) < 0) {
+                pos++;
+            }
+            var literal = text.substring(start, pos);
+            if (literal.isEmpty() || literal.startsWith("{") || literal.startsWith("[")) {
+                throw error("valor não suportado");
+            }
+            return literal.equals("null") ? null : literal;
+        }
+
+        private String string() {
+            expect('"');
+            var sb = new StringBuilder();
+            while (true) {
+                var c = next();
+                if (c == '"') {
+                    return sb.toString();
+                }
+                if (c != '\\') {
+                    sb.append(c);
+                    continue;
+                }
+                var escaped = next();
+                switch (escaped) {
+                    case '"', '\\', '/' -> sb.append(escaped);
+                    case 'b' -> sb.append('\b');
+                    case 'f' -> sb.append('\f');
+                    case 'n' -> sb.append('\n');
+                    case 'r' -> sb.append('\r');
+                    case 't' -> sb.append('\t');
+                    case 'u' -> {
+                        if (pos + 4 > text.length()) {
+                            throw error("escape unicode incompleto");
+                        }
+                        sb.append((char) Integer.parseInt(text.substring(pos, pos + 4), 16));
+                        pos += 4;
+                    }
+                    default -> throw error("escape inválido");
+                }
+            }
+        }
+
+        private void skipWhitespace() {
+            while (!atEnd() && Character.isWhitespace(peek())) {
+                pos++;
+            }
+        }
+
+        private boolean atEnd() {
+            return pos >= text.length();
+        }
+
+        private char peek() {
+            if (atEnd()) {
+                throw error("fim inesperado da linha");
+            }
+            return text.charAt(pos);
+        }
+
+        private char next() {
+            var c = peek();
+            pos++;
+            return c;
+        }
+
+        private void expect(final char expected) {
+            if (next() != expected) {
+                throw error("'" + expected + "' esperado");
+            }
+        }
+
+        private IllegalArgumentException error(final String message) {
+            return new IllegalArgumentException("JSON inválido na posição " + pos + ": " + message);
+        }
+    }
+}
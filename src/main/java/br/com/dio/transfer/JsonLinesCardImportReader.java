@@ -0,0 +1,50 @@
+package br.com.dio.transfer;
+
+import br.com.dio.dto.CardImportRowDTO;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.HashMap;
+
+/**
+ * Leitor de importação de Cards em JSON Lines: um objeto por linha com os campos
+ * {@code title}, {@code description}, {@code column} e {@code blockReason}.
+ */
+public class JsonLinesCardImportReader implements CardImportReader {
+
+    private final BufferedReader reader;
+    private long line;
+
+    /**
+     * Cria o leitor a partir de uma fonte bufferizada.
+     * @param reader Fonte das linhas JSON
+     */
+    public JsonLinesCardImportReader(final BufferedReader reader) {
+        this.reader = reader;
+    }
+
+    @Override
+    public CardImportRowDTO next() throws IOException {
+        String text;
+        do {
+            text = reader.readLine();
+            line++;
+            if (text == null) {
+                return null;
+            }
+        } while (text.isBlank());
+
+        try {
+            var fields = new HashMap<String, String>();
+            JsonLine.parse(text).forEach((name, value) -> fields.put(CardImportReader.normalize(name), value));
+            return CardImportReader.toRow(line, fields);
+        } catch (IllegalArgumentException ex) {
+            return new CardImportRowDTO(line, null, null, null, null, ex.getMessage());
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
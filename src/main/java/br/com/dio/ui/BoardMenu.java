@@ -6,10 +6,13 @@ import br.com.dio.persistence.entity.BoardEntity;
 import br.com.dio.persistence.entity.CardEntity;
 import br.com.dio.service.BoardColumnQueryService;
 import br.com.dio.service.BoardQueryService;
+import br.com.dio.service.CardImportService;
 import br.com.dio.service.CardQueryService;
 import br.com.dio.service.CardService;
 import lombok.AllArgsConstructor;
 
+import java.io.IOException;
+import java.nio.file.Path;
 import java.sql.SQLException;
 import java.util.Scanner;
 
@@ -61,6 +64,7 @@ public class BoardMenu {
         System.out.println("8 - Ver card");
         System.out.println("9 - Voltar para o menu anterior um card");
         System.out.println("10 - Sair");
+        System.out.println("11 - Importar cards de arquivo CSV/JSON Lines");
     }
 
     /**
@@ -80,6 +84,7 @@ public class BoardMenu {
             case 8 -> showCard();
             case 9 -> System.out.println("Voltando para o menu anterior");
             case 10 -> System.exit(0);
+            case 11 -> importCards();
             default -> System.out.println("Opção inválida, informe uma opção do menu");
         }
     }
@@ -101,6 +106,33 @@ public class BoardMenu {
         }
     }
 
+    /**
+     * Importa cards em massa a partir de um arquivo CSV ou JSON Lines
+     * @throws SQLException Em caso de erro de acesso ao banco de dados
+     */
+    private void importCards() throws SQLException {
+        System.out.println("Informe o caminho do arquivo (.csv, .jsonl)");
+        var file = Path.of(scanner.next());
+
+        try(var connection = getConnection()){
+            var result = new CardImportService(connection).importCards(entity, file, new CardImportService.Listener() {
+                @Override
+                public void onProgress(long processed, long imported, long rejected) {
+                    System.out.printf("Processados %s, importados %s, rejeitados %s\n", processed, imported, rejected);
+                }
+
+                @Override
+                public void onRejected(long line, String reason) {
+                    System.out.printf("Linha %s rejeitada: %s\n", line, reason);
+                }
+            });
+            System.out.printf("Importação concluída em %s ms: %s cards importados, %s rejeitados\n",
+                    result.elapsedMillis(), result.imported(), result.rejected());
+        } catch (IOException | RuntimeException ex){
+            System.out.println("Erro ao importar cards: " + ex.getMessage());
+        }
+    }
+
     /**
      * Move um card para a próxima coluna no fluxo do board
      * @throws SQLException Em caso de erro de acesso ao banco de dados
@@ -111,7 +143,7 @@ public class BoardMenu {
         
         // Obtém informações das colunas para validação do fluxo
         var boardColumnsInfo = entity.getBoardColumns().stream()
-                .map(bc -> new BoardColumnInfoDTO(bc.getId(), bc.getOrder(), bc.getKind()))
+                .map(bc -> new BoardColumnInfoDTO(bc.getId(), bc.getOrder(), bc.getKind(), bc.getVersion()))
                 .toList();
                 
         try(var connection = getConnection()){
@@ -133,7 +165,7 @@ public class BoardMenu {
         
         // Obtém informações das colunas para validação
         var boardColumnsInfo = entity.getBoardColumns().stream()
-                .map(bc -> new BoardColumnInfoDTO(bc.getId(), bc.getOrder(), bc.getKind()))
+                .map(bc -> new BoardColumnInfoDTO(bc.getId(), bc.getOrder(), bc.getKind(), bc.getVersion()))
                 .toList();
                 
         try(var connection = getConnection()){
@@ -171,7 +203,7 @@ public class BoardMenu {
         
         // Obtém informações das colunas para validação
         var boardColumnsInfo = entity.getBoardColumns().stream()
-                .map(bc -> new BoardColumnInfoDTO(bc.getId(), bc.getOrder(), bc.getKind()))
+                .map(bc -> new BoardColumnInfoDTO(bc.getId(), bc.getOrder(), bc.getKind(), bc.getVersion()))
                 .toList();
                 
         try(var connection = getConnection()){
@@ -1,16 +1,21 @@
 package br.com.dio.ui;
 
+import static br.com.dio.transfer.BoardSnapshotFormat.isSnapshot;
+
 import java.awt.BorderLayout;
 import java.awt.Component;
+import java.awt.Cursor;
 import java.awt.Dimension;
 import java.awt.GridBagConstraints;
 import java.awt.GridBagLayout;
 import java.awt.GridLayout;
 import java.awt.Insets;
+import java.io.File;
 import java.sql.Connection;
 import java.sql.SQLException;
-import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Function;
 
 import javax.swing.BorderFactory;
 import javax.swing.Box;
@@ -18,22 +23,40 @@ import javax.swing.DefaultListCellRenderer;
 import javax.swing.JButton;
 import javax.swing.JComboBox;
 import javax.swing.JDialog;
+import javax.swing.JFileChooser;
 import javax.swing.JFrame;
 import javax.swing.JLabel;
 import javax.swing.JList;
 import javax.swing.JOptionPane;
 import javax.swing.JPanel;
+import javax.swing.JProgressBar;
 import javax.swing.JScrollPane;
 import javax.swing.JSpinner;
-import javax.swing.JTextArea;
+import javax.swing.JTabbedPane;
+import javax.swing.JTable;
 import javax.swing.JTextField;
 import javax.swing.SpinnerNumberModel;
 import javax.swing.SwingUtilities;
+import javax.swing.SwingWorker;
+import javax.swing.filechooser.FileNameExtensionFilter;
+import javax.swing.table.DefaultTableModel;
 
+import br.com.dio.dto.BlockReportDTO;
+import br.com.dio.dto.BoardDashboardDTO;
+import br.com.dio.dto.BoardTemplateDTO;
+import br.com.dio.dto.BoardTransferResultDTO;
+import br.com.dio.monitoring.StartupMetrics;
 import br.com.dio.persistence.config.ConnectionConfig;
 import br.com.dio.persistence.entity.BoardEntity;
+import br.com.dio.service.BlockReportService;
+import br.com.dio.service.BoardDeletionWorker;
+import br.com.dio.service.BoardExportService;
+import br.com.dio.service.BoardImportService;
 import br.com.dio.service.BoardQueryService;
 import br.com.dio.service.BoardService;
+import br.com.dio.service.BoardSnapshotService;
+import br.com.dio.service.BoardTemplateService;
+import br.com.dio.transfer.BoardSnapshotFormat;
 
 /**
  * Janela principal do sistema de gerenciamento de boards (quadros).
@@ -47,6 +70,9 @@ public class BoardWindows extends JFrame {
     // Serviço para operações com boards
     private final BoardService boardService;
     
+    // Serviço para templates de boards
+    private final BoardTemplateService templateService;
+
     // Conexão com o banco de dados
     private final Connection connection;
 
@@ -56,9 +82,12 @@ public class BoardWindows extends JFrame {
      */
     public BoardWindows() {
         try {
-            this.connection = ConnectionConfig.getConnection();
+            // Reaproveita a conexão aquecida durante a inicialização, se houver
+            var prewarmed = StartupPrewarmer.takeConnection();
+            this.connection = prewarmed.isPresent() ? prewarmed.get() : ConnectionConfig.getConnection();
             this.boardQueryService = new BoardQueryService(connection);
             this.boardService = new BoardService(connection);
+            this.templateService = new BoardTemplateService(connection);
         } catch (SQLException e) {
             JOptionPane.showMessageDialog(null, 
                 "Erro ao conectar ao banco de dados: " + e.getMessage(),
@@ -69,6 +98,31 @@ public class BoardWindows extends JFrame {
 
         configurarJanelaPrincipal();
         inicializarInterface();
+
+        // Na execução automática (treino AppCDS/benchmark) abre o primeiro board
+        if (StartupMetrics.isAutorun()) {
+            SwingUtilities.invokeLater(this::abrirPrimeiroBoard);
+        }
+    }
+
+    /**
+     * Abre o primeiro board existente, usado apenas na execução automática
+     * da inicialização. Encerra a aplicação se não houver boards.
+     */
+    private void abrirPrimeiroBoard() {
+        try {
+            var cached = StartupPrewarmer.takeBoards();
+            var boards = cached.isPresent() ? cached.get() : boardQueryService.findAll();
+            if (boards.isEmpty()) {
+                StartupMetrics.mark(StartupMetrics.BOARD_LOADED);
+                StartupMetrics.finishAutorun();
+                return;
+            }
+            mostrarMenuBoard(boards.get(0));
+        } catch (SQLException ex) {
+            ex.printStackTrace();
+            StartupMetrics.finishAutorun();
+        }
     }
 
     /**
@@ -89,10 +143,15 @@ public class BoardWindows extends JFrame {
         JButton criarBoardBtn = criarBotao("Criar Board", this::mostrarJanelaCriacao);
         JButton selecionarBoardBtn = criarBotao("Selecionar Board", this::mostrarJanelaSelecao);
         JButton deletarBoardBtn = criarBotao("Deletar Board", this::mostrarJanelaExclusao);
-        JButton visualizarBoardsBtn = criarBotao("Ver Boards", this::mostrarTodosBoards);
+        JButton visualizarBoardsBtn = criarBotao("Painel de Boards", this::mostrarTodosBoards);
+        JButton exportarBoardBtn = criarBotao("Exportar Board", this::exportarBoard);
+        JButton restaurarBoardBtn = criarBotao("Restaurar Board", this::restaurarBoard);
+        JButton clonarBoardBtn = criarBotao("Clonar Board", this::clonarBoard);
+        JButton templatesBtn = criarBotao("Templates", this::mostrarTemplates);
+        JButton relatorioBloqueiosBtn = criarBotao("Relatório de Bloqueios", this::mostrarRelatorioBloqueios);
 
         // Configura o painel principal
-        JPanel panel = new JPanel(new GridLayout(2, 2, 10, 10));
+        JPanel panel = new JPanel(new GridLayout(0, 2, 10, 10));
         panel.setBorder(BorderFactory.createEmptyBorder(20, 20, 20, 20));
         
         // Adiciona os botões
@@ -100,8 +159,22 @@ public class BoardWindows extends JFrame {
         panel.add(selecionarBoardBtn);
         panel.add(deletarBoardBtn);
         panel.add(visualizarBoardsBtn);
+        panel.add(exportarBoardBtn);
+        panel.add(restaurarBoardBtn);
+        panel.add(clonarBoardBtn);
+        panel.add(templatesBtn);
+        panel.add(relatorioBloqueiosBtn);
+
+        // Andamento da remoção em segundo plano de boards excluídos
+        JLabel statusExclusao = new JLabel(" ");
+        statusExclusao.setBorder(BorderFactory.createEmptyBorder(0, 20, 10, 20));
+        BoardDeletionWorker.addListener(progress -> SwingUtilities.invokeLater(() -> statusExclusao.setText(
+            progress.finished()
+                ? "Board %s removido (%s cards)".formatted(progress.boardId(), progress.deletedCards())
+                : "Removendo board %s: %s de %s cards".formatted(progress.boardId(), progress.deletedCards(), progress.totalCards()))));
 
         add(panel);
+        add(statusExclusao, BorderLayout.SOUTH);
     }
 
     /**
@@ -199,8 +272,17 @@ public class BoardWindows extends JFrame {
         
         JPanel painelSelecao = new JPanel(new BorderLayout(5, 5));
         
-        // Combo box para seleção dos boards
+        // Combo box para seleção dos boards; na primeira exibição usa os boards aquecidos
+        // na inicialização, nas seguintes lê a lista atual do banco
         JComboBox<BoardEntity> comboBoards = new JComboBox<>();
+        try {
+            var cached = StartupPrewarmer.takeBoards();
+            var boards = cached.isPresent() ? cached.get() : boardQueryService.findAll();
+            boards.forEach(comboBoards::addItem);
+        } catch (SQLException ex) {
+            JOptionPane.showMessageDialog(this, "Erro ao carregar boards: " + ex.getMessage(),
+                "Erro", JOptionPane.ERROR_MESSAGE);
+        }
         comboBoards.setRenderer(new DefaultListCellRenderer() {
             @Override
             public Component getListCellRendererComponent(JList<?> list, Object value, int index, 
@@ -314,11 +396,11 @@ public class BoardWindows extends JFrame {
                     "Confirmação", JOptionPane.YES_NO_OPTION);
                 
                 if (confirmacao == JOptionPane.YES_OPTION) {
-                    boolean deletado = boardService.delete(boardId);
+                    boolean deletado = boardService.deleteAsync(boardId);
                     
                     if (deletado) {
                         JOptionPane.showMessageDialog(dialog,
-                            "Board deletado com sucesso!",
+                            "Board deletado com sucesso!\nOs cards serão removidos em segundo plano.",
                             "Sucesso", JOptionPane.INFORMATION_MESSAGE);
                         dialog.dispose();
                     } else {
@@ -349,43 +431,378 @@ public class BoardWindows extends JFrame {
     }
 
     /**
-     * Mostra todos os boards existentes em uma janela de visualização.
+     * Mostra o painel de todos os boards existentes, com a quantidade de cards por
+     * tipo de coluna e de bloqueios em aberto, obtidos em uma única consulta.
      */
     private void mostrarTodosBoards() {
+        String[] colunas = {"ID", "Nome", "Iniciais", "Pendentes", "Finalizados", "Cancelados", "Bloqueados", "Arquivados"};
+        DefaultTableModel modelo = tabelaSomenteLeitura(colunas);
+        JLabel resumo = new JLabel(" ");
+        Runnable carregar = () -> {
+            try {
+                modelo.setRowCount(0);
+                long cards = 0;
+                long bloqueados = 0;
+                for (BoardDashboardDTO linha : boardQueryService.dashboard()) {
+                    modelo.addRow(new Object[]{
+                        linha.id(), linha.name(), linha.initialCards(), linha.pendingCards(),
+                        linha.finalCards(), linha.cancelCards(), linha.openBlocks(), linha.archivedCards()
+                    });
+                    cards += linha.initialCards() + linha.pendingCards() + linha.finalCards() + linha.cancelCards();
+                    bloqueados += linha.openBlocks();
+                }
+                resumo.setText("%s boards | %s cards ativos | %s bloqueados".formatted(modelo.getRowCount(), cards, bloqueados));
+            } catch (SQLException ex) {
+                JOptionPane.showMessageDialog(this,
+                    "Erro ao carregar boards: " + ex.getMessage(),
+                    "Erro", JOptionPane.ERROR_MESSAGE);
+            }
+        };
+        carregar.run();
+
+        JTable tabela = new JTable(modelo);
+        tabela.setAutoCreateRowSorter(true);
+        JScrollPane scrollPane = new JScrollPane(tabela);
+        scrollPane.setPreferredSize(new Dimension(750, 300));
+
+        JButton btnAtualizar = new JButton("Atualizar");
+        btnAtualizar.addActionListener(e -> carregar.run());
+
+        JPanel rodape = new JPanel(new BorderLayout());
+        rodape.setBorder(BorderFactory.createEmptyBorder(5, 10, 5, 10));
+        rodape.add(resumo, BorderLayout.CENTER);
+        rodape.add(btnAtualizar, BorderLayout.EAST);
+
+        JDialog dialog = new JDialog(this, "Painel de Boards", true);
+        dialog.setLayout(new BorderLayout());
+        dialog.add(scrollPane, BorderLayout.CENTER);
+        dialog.add(rodape, BorderLayout.SOUTH);
+        dialog.pack();
+        dialog.setLocationRelativeTo(this);
+        dialog.setVisible(true);
+    }
+
+    /**
+     * Gera o relatório de bloqueios fora da thread da interface, em uma conexão própria,
+     * já que a atualização do resumo pode recalcular muitas colunas, e o exibe ao final.
+     */
+    private void mostrarRelatorioBloqueios() {
+        setCursor(Cursor.getPredefinedCursor(Cursor.WAIT_CURSOR));
+        new SwingWorker<BlockReportDTO, Void>() {
+            @Override
+            protected BlockReportDTO doInBackground() throws Exception {
+                try (var reportConnection = ConnectionConfig.getConnection()) {
+                    return new BlockReportService(reportConnection).report(10);
+                }
+            }
+
+            @Override
+            protected void done() {
+                setCursor(Cursor.getDefaultCursor());
+                try {
+                    exibirRelatorioBloqueios(get());
+                } catch (InterruptedException | ExecutionException ex) {
+                    var cause = ex.getCause() != null ? ex.getCause() : ex;
+                    JOptionPane.showMessageDialog(BoardWindows.this,
+                        "Erro ao gerar relatório: " + cause.getMessage(),
+                        "Erro", JOptionPane.ERROR_MESSAGE);
+                }
+            }
+        }.execute();
+    }
+
+    /**
+     * Mostra o relatório de bloqueios: cards bloqueados no momento, duração dos
+     * bloqueios por coluna (média e percentil 95) e motivos mais frequentes.
+     * @param relatorio Relatório gerado
+     */
+    private void exibirRelatorioBloqueios(BlockReportDTO relatorio) {
+        DefaultTableModel bloqueados = tabelaSomenteLeitura("Card", "Título", "Board", "Coluna", "Motivo", "Bloqueado em", "Idade");
+        relatorio.blockedCards().forEach(c -> bloqueados.addRow(new Object[]{
+            c.cardId(), c.title(), c.boardName(), c.columnName(), c.reason(), c.blockedAt(), formatarDuracao(c.ageSeconds())
+        }));
+        DefaultTableModel colunas = tabelaSomenteLeitura("Board", "Coluna", "Bloqueios", "Média", "P95");
+        relatorio.columns().forEach(c -> colunas.addRow(new Object[]{
+            c.boardName(), c.columnName(), c.blocks(), formatarDuracao(Math.round(c.meanSeconds())), formatarDuracao(c.p95Seconds())
+        }));
+        DefaultTableModel motivos = tabelaSomenteLeitura("Posição", "Motivo", "Bloqueios");
+        relatorio.reasons().forEach(r -> motivos.addRow(new Object[]{r.rank(), r.reason(), r.blocks()}));
+
+        JTabbedPane abas = new JTabbedPane();
+        abas.addTab("Bloqueados agora (%s)".formatted(bloqueados.getRowCount()), new JScrollPane(new JTable(bloqueados)));
+        abas.addTab("Duração por coluna", new JScrollPane(new JTable(colunas)));
+        abas.addTab("Motivos mais frequentes", new JScrollPane(new JTable(motivos)));
+        abas.setPreferredSize(new Dimension(800, 350));
+
+        JDialog dialog = new JDialog(this, "Relatório de Bloqueios", true);
+        dialog.add(abas);
+        dialog.pack();
+        dialog.setLocationRelativeTo(this);
+        dialog.setVisible(true);
+    }
+
+    private static DefaultTableModel tabelaSomenteLeitura(String... colunas) {
+        return new DefaultTableModel(colunas, 0) {
+            @Override
+            public boolean isCellEditable(int row, int column) {
+                return false;
+            }
+        };
+    }
+
+    private static String formatarDuracao(long segundos) {
+        if (segundos < 3600) {
+            return "%dmin %02ds".formatted(segundos / 60, segundos % 60);
+        }
+        if (segundos < 86400) {
+            return "%dh %02dmin".formatted(segundos / 3600, segundos % 3600 / 60);
+        }
+        return "%dd %02dh".formatted(segundos / 86400, segundos % 86400 / 3600);
+    }
+
+    /**
+     * Clona a estrutura de um board e, opcionalmente, seus cards abertos.
+     */
+    private void clonarBoard() {
+        String idTexto = JOptionPane.showInputDialog(this, "Informe o ID do board a clonar:", "Clonar Board", JOptionPane.QUESTION_MESSAGE);
+        if (idTexto == null) {
+            return;
+        }
         try {
-            List<BoardEntity> boards = boardQueryService.findAll();
-            if (boards.isEmpty()) {
-                JOptionPane.showMessageDialog(this, 
-                    "Nenhum board encontrado.", 
-                    "Informação", JOptionPane.INFORMATION_MESSAGE);
+            long boardId = Long.parseLong(idTexto.trim());
+            String nome = JOptionPane.showInputDialog(this, "Nome do novo board:", "Clonar Board", JOptionPane.QUESTION_MESSAGE);
+            if (nome == null || nome.isBlank()) {
                 return;
             }
-
-            JTextArea areaTexto = new JTextArea(15, 40);
-            areaTexto.setEditable(false);
-            StringBuilder sb = new StringBuilder();
-            
-            for (BoardEntity board : boards) {
-                sb.append("ID: ").append(board.getId())
-                  .append(" | Nome: ").append(board.getName())
-                  .append(" | Colunas: ").append(board.getBoardColumns().size())
-                  .append("\n");
+            int copiarCards = JOptionPane.showConfirmDialog(this, "Copiar também os cards abertos?", "Clonar Board", JOptionPane.YES_NO_CANCEL_OPTION);
+            if (copiarCards == JOptionPane.CANCEL_OPTION || copiarCards == JOptionPane.CLOSED_OPTION) {
+                return;
             }
-            
-            areaTexto.setText(sb.toString());
-            JScrollPane scrollPane = new JScrollPane(areaTexto);
-            
-            JDialog dialog = new JDialog(this, "Todos os Boards", true);
-            dialog.add(scrollPane);
-            dialog.pack();
-            dialog.setLocationRelativeTo(this);
-            dialog.setVisible(true);
-            
+            BoardEntity board = boardService.clone(boardId, nome.trim(), copiarCards == JOptionPane.YES_OPTION);
+            JOptionPane.showMessageDialog(this, "Board clonado com sucesso! ID: " + board.getId());
+        } catch (NumberFormatException ex) {
+            JOptionPane.showMessageDialog(this, "ID inválido.", "Aviso", JOptionPane.WARNING_MESSAGE);
         } catch (SQLException ex) {
-            JOptionPane.showMessageDialog(this, 
-                "Erro ao carregar boards: " + ex.getMessage(), 
-                "Erro", JOptionPane.ERROR_MESSAGE);
+            JOptionPane.showMessageDialog(this, "Erro ao clonar board: " + ex.getMessage(), "Erro", JOptionPane.ERROR_MESSAGE);
+        } catch (RuntimeException ex) {
+            JOptionPane.showMessageDialog(this, ex.getMessage(), "Erro", JOptionPane.ERROR_MESSAGE);
+        }
+    }
+
+    /**
+     * Mostra a janela de templates: criar boards a partir de um template,
+     * salvar a estrutura de um board como template e excluir templates.
+     */
+    private void mostrarTemplates() {
+        JDialog dialog = new JDialog(this, "Templates de Board", true);
+        dialog.setLayout(new BorderLayout(10, 10));
+
+        JComboBox<BoardTemplateDTO> comboTemplates = new JComboBox<>();
+        comboTemplates.setRenderer(new DefaultListCellRenderer() {
+            @Override
+            public Component getListCellRendererComponent(JList<?> list, Object value, int index,
+                                                         boolean isSelected, boolean cellHasFocus) {
+                super.getListCellRendererComponent(list, value, index, isSelected, cellHasFocus);
+                if (value instanceof BoardTemplateDTO template) {
+                    setText(template.name() + " (" + template.columnsAmount() + " colunas)");
+                }
+                return this;
+            }
+        });
+        Runnable recarregar = () -> {
+            comboTemplates.removeAllItems();
+            try {
+                templateService.findAll().forEach(comboTemplates::addItem);
+            } catch (SQLException ex) {
+                JOptionPane.showMessageDialog(dialog, "Erro ao carregar templates: " + ex.getMessage(), "Erro", JOptionPane.ERROR_MESSAGE);
+            }
+        };
+        recarregar.run();
+
+        JButton btnCriar = new JButton("Criar Board");
+        btnCriar.addActionListener(e -> {
+            var template = (BoardTemplateDTO) comboTemplates.getSelectedItem();
+            if (template == null) {
+                return;
+            }
+            String nome = JOptionPane.showInputDialog(dialog, "Nome do novo board:", "Criar Board", JOptionPane.QUESTION_MESSAGE);
+            if (nome == null || nome.isBlank()) {
+                return;
+            }
+            try {
+                BoardEntity board = templateService.createBoard(template.id(), nome.trim());
+                JOptionPane.showMessageDialog(dialog, "Board criado com sucesso! ID: " + board.getId());
+            } catch (SQLException | RuntimeException ex) {
+                JOptionPane.showMessageDialog(dialog, "Erro ao criar board: " + ex.getMessage(), "Erro", JOptionPane.ERROR_MESSAGE);
+            }
+        });
+
+        JButton btnSalvar = new JButton("Salvar Board como Template");
+        btnSalvar.addActionListener(e -> {
+            String idTexto = JOptionPane.showInputDialog(dialog, "ID do board:", "Salvar Template", JOptionPane.QUESTION_MESSAGE);
+            if (idTexto == null) {
+                return;
+            }
+            String nome = JOptionPane.showInputDialog(dialog, "Nome do template:", "Salvar Template", JOptionPane.QUESTION_MESSAGE);
+            if (nome == null || nome.isBlank()) {
+                return;
+            }
+            try {
+                templateService.saveFromBoard(Long.parseLong(idTexto.trim()), nome.trim());
+                recarregar.run();
+            } catch (NumberFormatException ex) {
+                JOptionPane.showMessageDialog(dialog, "ID inválido.", "Aviso", JOptionPane.WARNING_MESSAGE);
+            } catch (SQLException | RuntimeException ex) {
+                JOptionPane.showMessageDialog(dialog, "Erro ao salvar template: " + ex.getMessage(), "Erro", JOptionPane.ERROR_MESSAGE);
+            }
+        });
+
+        JButton btnExcluir = new JButton("Excluir Template");
+        btnExcluir.addActionListener(e -> {
+            var template = (BoardTemplateDTO) comboTemplates.getSelectedItem();
+            if (template == null) {
+                return;
+            }
+            try {
+                templateService.delete(template.id());
+                recarregar.run();
+            } catch (SQLException ex) {
+                JOptionPane.showMessageDialog(dialog, "Erro ao excluir template: " + ex.getMessage(), "Erro", JOptionPane.ERROR_MESSAGE);
+            }
+        });
+
+        JPanel painelBotoes = new JPanel();
+        painelBotoes.add(btnCriar);
+        painelBotoes.add(btnSalvar);
+        painelBotoes.add(btnExcluir);
+
+        JPanel painelSelecao = new JPanel(new BorderLayout(5, 5));
+        painelSelecao.setBorder(BorderFactory.createEmptyBorder(10, 10, 0, 10));
+        painelSelecao.add(new JLabel("Template:"), BorderLayout.WEST);
+        painelSelecao.add(comboTemplates, BorderLayout.CENTER);
+
+        dialog.add(painelSelecao, BorderLayout.CENTER);
+        dialog.add(painelBotoes, BorderLayout.SOUTH);
+        dialog.pack();
+        dialog.setLocationRelativeTo(this);
+        dialog.setVisible(true);
+    }
+
+    /**
+     * Exporta um board completo (colunas, cards e histórico de bloqueios) para um arquivo
+     * JSON Lines ou, com a extensão {@code .bsnp}, para um snapshot binário.
+     */
+    private void exportarBoard() {
+        String idTexto = JOptionPane.showInputDialog(this, "Informe o ID do board:", "Exportar Board", JOptionPane.QUESTION_MESSAGE);
+        if (idTexto == null) {
+            return;
+        }
+        long boardId;
+        try {
+            boardId = Long.parseLong(idTexto.trim());
+        } catch (NumberFormatException ex) {
+            JOptionPane.showMessageDialog(this, "ID inválido.", "Aviso", JOptionPane.WARNING_MESSAGE);
+            return;
+        }
+        var chooser = new JFileChooser();
+        adicionarFiltrosTransferencia(chooser);
+        chooser.setSelectedFile(new File("board-" + boardId + ".jsonl"));
+        if (chooser.showSaveDialog(this) != JFileChooser.APPROVE_OPTION) {
+            return;
+        }
+        var file = chooser.getSelectedFile().toPath();
+        executarTransferencia("Exportando board " + boardId + "...", connection -> isSnapshot(file)
+                        ? new BoardSnapshotService(connection).snapshot(boardId, file)
+                        : new BoardExportService(connection).export(boardId, file),
+                result -> "Board %s exportado em %s ms: %s colunas, %s cards, %s bloqueios"
+                        .formatted(result.boardId(), result.elapsedMillis(), result.columns(), result.cards(), result.blocks()));
+    }
+
+    /**
+     * Restaura um board a partir de um arquivo de exportação, criando um novo board.
+     */
+    private void restaurarBoard() {
+        var chooser = new JFileChooser();
+        adicionarFiltrosTransferencia(chooser);
+        if (chooser.showOpenDialog(this) != JFileChooser.APPROVE_OPTION) {
+            return;
         }
+        var file = chooser.getSelectedFile().toPath();
+        String nome = JOptionPane.showInputDialog(this, "Nome do board restaurado (vazio mantém o original):", "Restaurar Board", JOptionPane.QUESTION_MESSAGE);
+        if (nome == null) {
+            return;
+        }
+        var novoNome = nome.isBlank() ? null : nome.trim();
+        executarTransferencia("Restaurando " + file.getFileName() + "...", connection -> isSnapshot(file)
+                        ? new BoardSnapshotService(connection).restore(file, novoNome)
+                        : new BoardImportService(connection).restore(file, novoNome),
+                result -> "Board restaurado com ID %s em %s ms: %s colunas, %s cards, %s bloqueios"
+                        .formatted(result.boardId(), result.elapsedMillis(), result.columns(), result.cards(), result.blocks()));
+    }
+
+    /**
+     * Configura os formatos aceitos na exportação e restauração: JSON Lines
+     * (legível) e snapshot binário (compacto, para backups).
+     * @param chooser Seletor de arquivos
+     */
+    private void adicionarFiltrosTransferencia(JFileChooser chooser) {
+        var jsonLines = new FileNameExtensionFilter("JSON Lines", "jsonl");
+        chooser.addChoosableFileFilter(jsonLines);
+        chooser.addChoosableFileFilter(new FileNameExtensionFilter("Snapshot binário", BoardSnapshotFormat.EXTENSION));
+        chooser.setFileFilter(jsonLines);
+    }
+
+    /**
+     * Operação de exportação ou restauração executada com uma conexão própria.
+     */
+    @FunctionalInterface
+    private interface Transferencia {
+        BoardTransferResultDTO executar(Connection connection) throws Exception;
+    }
+
+    /**
+     * Executa uma exportação ou restauração fora da thread da interface,
+     * exibindo um diálogo de progresso.
+     * @param mensagem Mensagem exibida durante a execução
+     * @param transferencia Operação a ser executada
+     * @param resumo Formata o resultado exibido ao final
+     */
+    private void executarTransferencia(String mensagem, Transferencia transferencia,
+                                       Function<BoardTransferResultDTO, String> resumo) {
+        var dialog = new JDialog(this, "Transferência de Board", false);
+        var status = new JLabel(mensagem);
+        var progressBar = new JProgressBar();
+        progressBar.setIndeterminate(true);
+        dialog.setLayout(new BorderLayout(5, 5));
+        dialog.add(status, BorderLayout.NORTH);
+        dialog.add(progressBar, BorderLayout.CENTER);
+        dialog.pack();
+        dialog.setLocationRelativeTo(this);
+        dialog.setVisible(true);
+
+        new SwingWorker<BoardTransferResultDTO, Void>() {
+            @Override
+            protected BoardTransferResultDTO doInBackground() throws Exception {
+                try (var transferConnection = ConnectionConfig.getConnection()) {
+                    return transferencia.executar(transferConnection);
+                }
+            }
+
+            @Override
+            protected void done() {
+                progressBar.setIndeterminate(false);
+                try {
+                    var result = get();
+                    progressBar.setValue(progressBar.getMaximum());
+                    status.setText(resumo.apply(result));
+                    dialog.pack();
+                } catch (InterruptedException | ExecutionException ex) {
+                    var cause = ex.getCause() != null ? ex.getCause() : ex;
+                    status.setText("Falha na transferência");
+                    JOptionPane.showMessageDialog(dialog, "Erro: " + cause.getMessage(), "Erro", JOptionPane.ERROR_MESSAGE);
+                }
+            }
+        }.execute();
     }
 
     /**
@@ -431,23 +848,49 @@ public class BoardWindows extends JFrame {
             BoardWindowsMenu menuBoard = new BoardWindowsMenu(board, connection, janelaBoard, connection);
             
             // Painel de botões de operação
-            JPanel painelBotoes = new JPanel(new GridLayout(2, 4, 5, 5));
+            JPanel painelBotoes = new JPanel(new GridLayout(0, 4, 5, 5));
             
             // Adiciona os botões de operação
             adicionarBotaoOperacao(painelBotoes, "Criar Card", menuBoard::createCard);
             adicionarBotaoOperacao(painelBotoes, "Mover Card", menuBoard::moveCardToNextColumn);
+            adicionarBotaoOperacao(painelBotoes, "Mover Card Para", menuBoard::moveCardToColumn);
             adicionarBotaoOperacao(painelBotoes, "Bloquear Card", menuBoard::blockCard);
             adicionarBotaoOperacao(painelBotoes, "Desbloquear Card", menuBoard::unblockCard);
             adicionarBotaoOperacao(painelBotoes, "Cancelar Card", menuBoard::cancelCard);
+            adicionarBotaoOperacao(painelBotoes, "Reordenar Card", menuBoard::reorderCard);
+            adicionarBotaoOperacao(painelBotoes, "Adicionar Dependência", menuBoard::addDependency);
+            adicionarBotaoOperacao(painelBotoes, "Remover Dependência", menuBoard::removeDependency);
+            adicionarBotaoOperacao(painelBotoes, "Definir Card Pai", menuBoard::setParentCard);
+            adicionarBotaoOperacao(painelBotoes, "Atribuir Card", menuBoard::assignCard);
+            adicionarBotaoOperacao(painelBotoes, "Raias por Responsável", menuBoard::showSwimlanes);
+            adicionarBotaoOperacao(painelBotoes, "Adicionar Tag", menuBoard::addCardTag);
+            adicionarBotaoOperacao(painelBotoes, "Remover Tag", menuBoard::removeCardTag);
+            adicionarBotaoOperacao(painelBotoes, "Filtrar por Tags", menuBoard::filterByTags);
             adicionarBotaoOperacao(painelBotoes, "Mostrar Coluna", menuBoard::showColumn);
             adicionarBotaoOperacao(painelBotoes, "Ver Card", menuBoard::showCard);
-            adicionarBotaoOperacao(painelBotoes, "Voltar", janelaBoard::dispose);
+            adicionarBotaoOperacao(painelBotoes, "Importar Cards", menuBoard::importCards);
+            adicionarBotaoOperacao(painelBotoes, "Adicionar Coluna", menuBoard::addColumn);
+            adicionarBotaoOperacao(painelBotoes, "Mover Coluna", menuBoard::moveColumn);
+            adicionarBotaoOperacao(painelBotoes, "Remover Coluna", menuBoard::removeColumn);
+            adicionarBotaoOperacao(painelBotoes, "Fluxo do Board", menuBoard::editWorkflow);
+            adicionarBotaoOperacao(painelBotoes, "Iniciar Sessão", menuBoard::startSession);
+            adicionarBotaoOperacao(painelBotoes, "Salvar Sessão", menuBoard::saveSession);
+            adicionarBotaoOperacao(painelBotoes, "Descartar Sessão", menuBoard::discardSession);
+            adicionarBotaoOperacao(painelBotoes, "Voltar", () -> {
+                if (menuBoard.confirmDiscard()) {
+                    janelaBoard.dispose();
+                }
+            });
             
             // Configura o layout da janela
             janelaBoard.setLayout(new BorderLayout());
             janelaBoard.add(painelBotoes, BorderLayout.NORTH);
             janelaBoard.add(menuBoard, BorderLayout.CENTER);
             janelaBoard.setVisible(true);
+            StartupMetrics.mark(StartupMetrics.BOARD_LOADED);
+            if (StartupMetrics.isAutorun()) {
+                SwingUtilities.invokeLater(StartupMetrics::finishAutorun);
+            }
     
         } catch (SQLException ex) {
             JOptionPane.showMessageDialog(this,
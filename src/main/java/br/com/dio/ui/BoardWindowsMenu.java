@@ -1,23 +1,54 @@
 package br.com.dio.ui;
 
+import java.awt.BorderLayout;
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
 import java.util.stream.Collectors;
 
+import javax.swing.JButton;
 import javax.swing.JComboBox;
+import javax.swing.JDialog;
+import javax.swing.JFileChooser;
 import javax.swing.JFrame;
+import javax.swing.JLabel;
 import javax.swing.JOptionPane;
 import javax.swing.JPanel;
+import javax.swing.JProgressBar;
+import javax.swing.JScrollPane;
+import javax.swing.JTable;
+import javax.swing.JTextArea;
+import javax.swing.SwingUtilities;
+import javax.swing.SwingWorker;
+import javax.swing.filechooser.FileNameExtensionFilter;
+import javax.swing.table.DefaultTableModel;
 
 import br.com.dio.dto.BoardColumnInfoDTO;
-import br.com.dio.persistence.dao.CardDAO;
+import br.com.dio.dto.CardImportResultDTO;
+import br.com.dio.dto.WorkflowTransitionDTO;
+import br.com.dio.exception.EntityNotFoundException;
+import br.com.dio.exception.OptimisticLockException;
+import br.com.dio.persistence.config.ConnectionConfig;
 import br.com.dio.persistence.entity.BoardColumnEntity;
 import br.com.dio.persistence.entity.BoardEntity;
 import br.com.dio.persistence.entity.CardEntity;
+import br.com.dio.persistence.entity.BoardColumnKindEnum;
 import br.com.dio.service.BoardColumnQueryService;
+import br.com.dio.service.BoardColumnService;
+import br.com.dio.service.BoardQueryService;
+import br.com.dio.service.BoardWorkflowService;
+import br.com.dio.service.CardDependencyService;
+import br.com.dio.service.CardHierarchyService;
+import br.com.dio.service.CardImportService;
 import br.com.dio.service.CardQueryService;
 import br.com.dio.service.CardService;
+import br.com.dio.service.CardUnitOfWork;
+import br.com.dio.service.TagService;
+import br.com.dio.service.UserService;
+import br.com.dio.tag.TagFilter;
+import br.com.dio.workflow.BoardWorkflow;
 
 /**
  * Painel de menu para manipulação de cards em um quadro (board) através de interface gráfica.
@@ -37,6 +68,12 @@ public class BoardWindowsMenu extends JPanel {
     // Serviço para consulta de colunas do board
     private final BoardColumnQueryService boardColumnQueryService;
 
+    // Serviço para edição da estrutura de colunas do board
+    private final BoardColumnService boardColumnService;
+
+    // Sessão de edição aberta ou null, quando cada alteração é gravada imediatamente
+    private CardUnitOfWork session;
+
     /**
      * Construtor do painel de menu
      * @param entity Entidade do board a ser gerenciado
@@ -48,6 +85,7 @@ public class BoardWindowsMenu extends JPanel {
         this.entity = entity;
         this.cardService = new CardService(boardWindowsConnection);
         this.boardColumnQueryService = new BoardColumnQueryService(boardWindowsConnection);
+        this.boardColumnService = new BoardColumnService(boardWindowsConnection);
         this.parentFrame = parentFrame;
     }
 
@@ -57,7 +95,7 @@ public class BoardWindowsMenu extends JPanel {
      */
     private List<BoardColumnInfoDTO> getBoardColumnInfoDTOs() {
         return entity.getBoardColumns().stream()
-                .map(bc -> new BoardColumnInfoDTO(bc.getId(), bc.getOrder(), bc.getKind()))
+                .map(bc -> new BoardColumnInfoDTO(bc.getId(), bc.getOrder(), bc.getKind(), bc.getVersion()))
                 .collect(Collectors.toList());
     }
 
@@ -81,6 +119,11 @@ public class BoardWindowsMenu extends JPanel {
             card.setBoardColumn(entity.getInitialColumn());
 
             try {
+                if (session != null) {
+                    session.create(card);
+                    showPending("Criação do card registrada na sessão.");
+                    return;
+                }
                 cardService.create(card);
                 JOptionPane.showMessageDialog(parentFrame,"Card criado com sucesso.",
                     "Novo Card",
@@ -92,6 +135,81 @@ public class BoardWindowsMenu extends JPanel {
         }
     }
 
+    /**
+     * Importa cards em massa a partir de um arquivo CSV ou JSON Lines.
+     * A importação roda em segundo plano, com conexão própria, exibindo o progresso
+     * e as linhas rejeitadas em um diálogo não modal.
+     */
+    public void importCards() {
+        var chooser = new JFileChooser();
+        chooser.setFileFilter(new FileNameExtensionFilter("CSV ou JSON Lines", "csv", "jsonl", "ndjson", "json"));
+        if (chooser.showOpenDialog(parentFrame) != JFileChooser.APPROVE_OPTION) {
+            return;
+        }
+        var file = chooser.getSelectedFile().toPath();
+
+        var dialog = new JDialog(parentFrame, "Importar Cards", false);
+        var status = new JLabel("Importando " + file.getFileName() + "...");
+        var progressBar = new JProgressBar();
+        progressBar.setIndeterminate(true);
+        var rejections = new JTextArea(10, 50);
+        rejections.setEditable(false);
+        dialog.setLayout(new BorderLayout(5, 5));
+        dialog.add(status, BorderLayout.NORTH);
+        dialog.add(progressBar, BorderLayout.CENTER);
+        dialog.add(new JScrollPane(rejections), BorderLayout.SOUTH);
+        dialog.pack();
+        dialog.setLocationRelativeTo(parentFrame);
+        dialog.setVisible(true);
+
+        new SwingWorker<CardImportResultDTO, String>() {
+            // Limite de rejeições exibidas, para manter a memória limitada em arquivos grandes
+            private static final int MAX_REJECTIONS_SHOWN = 200;
+            private int rejectionsShown;
+
+            @Override
+            protected CardImportResultDTO doInBackground() throws Exception {
+                try (var connection = ConnectionConfig.getConnection()) {
+                    return new CardImportService(connection).importCards(entity, file, new CardImportService.Listener() {
+                        @Override
+                        public void onProgress(long processed, long imported, long rejected) {
+                            publish("Processados %s, importados %s, rejeitados %s".formatted(processed, imported, rejected));
+                        }
+
+                        @Override
+                        public void onRejected(long line, String reason) {
+                            if (rejectionsShown++ < MAX_REJECTIONS_SHOWN) {
+                                var message = "Linha %s: %s\n".formatted(line, reason);
+                                SwingUtilities.invokeLater(() -> rejections.append(message));
+                            }
+                        }
+                    });
+                }
+            }
+
+            @Override
+            protected void process(List<String> messages) {
+                // Exibe apenas o progresso mais recente
+                status.setText(messages.get(messages.size() - 1));
+            }
+
+            @Override
+            protected void done() {
+                progressBar.setIndeterminate(false);
+                try {
+                    var result = get();
+                    progressBar.setValue(progressBar.getMaximum());
+                    status.setText("Concluído em %s ms: %s importados, %s rejeitados"
+                            .formatted(result.elapsedMillis(), result.imported(), result.rejected()));
+                } catch (InterruptedException | ExecutionException ex) {
+                    var cause = ex.getCause() != null ? ex.getCause() : ex;
+                    status.setText("Falha na importação");
+                    JOptionPane.showMessageDialog(dialog, "Erro ao importar cards: " + cause.getMessage(), "Erro", JOptionPane.ERROR_MESSAGE);
+                }
+            }
+        }.execute();
+    }
+
     /**
      * Move um card para a próxima coluna no fluxo do board
      * Solicita o ID do card através de diálogo
@@ -102,11 +220,18 @@ public class BoardWindowsMenu extends JPanel {
             try {
                 long cardId = Long.parseLong(cardIdStr);
                 try {
-                    cardService.moveToNextColumn(cardId, getBoardColumnInfoDTOs());
-                    JOptionPane.showMessageDialog(null, "Card movido com sucesso.", "Sucesso", JOptionPane.INFORMATION_MESSAGE);
+                    if (session != null) {
+                        session.moveToNextColumn(cardId, getBoardColumnInfoDTOs());
+                        showPending("Movimentação do card registrada na sessão.");
+                    } else {
+                        cardService.moveToNextColumn(cardId, getBoardColumnInfoDTOs());
+                        JOptionPane.showMessageDialog(null, "Card movido com sucesso.", "Sucesso", JOptionPane.INFORMATION_MESSAGE);
+                    }
                 } catch (SQLException ex) {
                     JOptionPane.showMessageDialog(null, "Erro ao mover card: " + ex.getMessage(), "Erro", JOptionPane.ERROR_MESSAGE);
                     ex.printStackTrace();
+                } catch (OptimisticLockException ex) {
+                    reloadAfterConflict(ex.getMessage());
                 } catch (RuntimeException ex) {
                     JOptionPane.showMessageDialog(null, ex.getMessage(), "Erro", JOptionPane.ERROR_MESSAGE);
                 }
@@ -116,6 +241,43 @@ public class BoardWindowsMenu extends JPanel {
         }
     }
 
+    /**
+     * Move um card para uma coluna escolhida, conforme as transições do fluxo do board
+     * Solicita o ID do card e a coluna de destino através de diálogos
+     */
+    public void moveCardToColumn() {
+        String cardIdStr = JOptionPane.showInputDialog(null, "Informe o ID do card:", "Mover Card Para", JOptionPane.QUESTION_MESSAGE);
+        if (cardIdStr == null) {
+            return;
+        }
+        try {
+            long cardId = Long.parseLong(cardIdStr);
+            BoardColumnEntity target = chooseColumn("Coluna de destino:", "Mover Card Para",
+                    BoardColumnKindEnum.INITIAL, BoardColumnKindEnum.PENDING, BoardColumnKindEnum.FINAL);
+            if (target == null) {
+                return;
+            }
+            try {
+                if (session != null) {
+                    session.moveToColumn(cardId, target.getId(), getBoardColumnInfoDTOs());
+                    showPending("Movimentação do card registrada na sessão.");
+                } else {
+                    cardService.moveToColumn(cardId, target.getId(), getBoardColumnInfoDTOs());
+                    JOptionPane.showMessageDialog(null, "Card movido com sucesso.", "Sucesso", JOptionPane.INFORMATION_MESSAGE);
+                }
+            } catch (SQLException ex) {
+                JOptionPane.showMessageDialog(null, "Erro ao mover card: " + ex.getMessage(), "Erro", JOptionPane.ERROR_MESSAGE);
+                ex.printStackTrace();
+            } catch (OptimisticLockException ex) {
+                reloadAfterConflict(ex.getMessage());
+            } catch (RuntimeException ex) {
+                JOptionPane.showMessageDialog(null, ex.getMessage(), "Erro", JOptionPane.ERROR_MESSAGE);
+            }
+        } catch (NumberFormatException ex) {
+            JOptionPane.showMessageDialog(null, "ID inválido.", "Aviso", JOptionPane.WARNING_MESSAGE);
+        }
+    }
+
     /**
      * Bloqueia um card, impedindo sua movimentação
      * Solicita ID do card e motivo do bloqueio através de diálogos
@@ -128,11 +290,18 @@ public class BoardWindowsMenu extends JPanel {
             try {
                 long cardId = Long.parseLong(cardIdStr);
                 try {
-                    cardService.block(cardId, reason, getBoardColumnInfoDTOs());
-                    JOptionPane.showMessageDialog(null, "Card bloqueado com sucesso.", "Sucesso", JOptionPane.INFORMATION_MESSAGE);
+                    if (session != null) {
+                        session.block(cardId, reason, getBoardColumnInfoDTOs());
+                        showPending("Bloqueio do card registrado na sessão.");
+                    } else {
+                        cardService.block(cardId, reason, getBoardColumnInfoDTOs());
+                        JOptionPane.showMessageDialog(null, "Card bloqueado com sucesso.", "Sucesso", JOptionPane.INFORMATION_MESSAGE);
+                    }
                 } catch (SQLException ex) {
                     JOptionPane.showMessageDialog(null, "Erro ao bloquear card: " + ex.getMessage(), "Erro", JOptionPane.ERROR_MESSAGE);
                     ex.printStackTrace();
+                } catch (OptimisticLockException ex) {
+                    reloadAfterConflict(ex.getMessage());
                 } catch (RuntimeException ex) {
                     JOptionPane.showMessageDialog(null, ex.getMessage(), "Erro", JOptionPane.ERROR_MESSAGE);
                 }
@@ -154,11 +323,50 @@ public class BoardWindowsMenu extends JPanel {
             try {
                 long cardId = Long.parseLong(cardIdStr);
                 try {
-                    cardService.unblock(cardId, reason);
-                    JOptionPane.showMessageDialog(null, "Card desbloqueado com sucesso.", "Sucesso", JOptionPane.INFORMATION_MESSAGE);
+                    if (session != null) {
+                        session.unblock(cardId, reason);
+                        showPending("Desbloqueio do card registrado na sessão.");
+                    } else {
+                        cardService.unblock(cardId, reason);
+                        JOptionPane.showMessageDialog(null, "Card desbloqueado com sucesso.", "Sucesso", JOptionPane.INFORMATION_MESSAGE);
+                    }
                 } catch (SQLException ex) {
                     JOptionPane.showMessageDialog(null, "Erro ao desbloquear card: " + ex.getMessage(), "Erro", JOptionPane.ERROR_MESSAGE);
                     ex.printStackTrace();
+                } catch (OptimisticLockException ex) {
+                    reloadAfterConflict(ex.getMessage());
+                } catch (RuntimeException ex) {
+                    JOptionPane.showMessageDialog(null, ex.getMessage(), "Erro", JOptionPane.ERROR_MESSAGE);
+                }
+            } catch (NumberFormatException ex) {
+                JOptionPane.showMessageDialog(null, "ID inválido.", "Aviso", JOptionPane.WARNING_MESSAGE);
+            }
+        }
+    }
+
+    /**
+     * Reposiciona um card dentro da sua coluna
+     * Solicita o ID do card e o ID do card que deve ficar antes dele (vazio para o topo)
+     */
+    public void reorderCard() {
+        String cardIdStr = JOptionPane.showInputDialog(null, "Informe o ID do card:", "Reordenar Card", JOptionPane.QUESTION_MESSAGE);
+        if (cardIdStr == null) {
+            return;
+        }
+        String afterIdStr = JOptionPane.showInputDialog(null, "Informe o ID do card que deve ficar antes (vazio para o topo da coluna):",
+                "Reordenar Card", JOptionPane.QUESTION_MESSAGE);
+        if (afterIdStr != null) {
+            try {
+                long cardId = Long.parseLong(cardIdStr);
+                Long afterCardId = afterIdStr.isBlank() ? null : Long.parseLong(afterIdStr.strip());
+                try {
+                    cardService.reorder(cardId, afterCardId);
+                    JOptionPane.showMessageDialog(null, "Card reordenado com sucesso.", "Sucesso", JOptionPane.INFORMATION_MESSAGE);
+                } catch (SQLException ex) {
+                    JOptionPane.showMessageDialog(null, "Erro ao reordenar card: " + ex.getMessage(), "Erro", JOptionPane.ERROR_MESSAGE);
+                    ex.printStackTrace();
+                } catch (OptimisticLockException ex) {
+                    reloadAfterConflict(ex.getMessage());
                 } catch (RuntimeException ex) {
                     JOptionPane.showMessageDialog(null, ex.getMessage(), "Erro", JOptionPane.ERROR_MESSAGE);
                 }
@@ -168,6 +376,212 @@ public class BoardWindowsMenu extends JPanel {
         }
     }
 
+    /**
+     * Registra que um card depende de outro card do board
+     * Solicita o ID do card e o ID do card de que ele depende
+     */
+    public void addDependency() {
+        editDependency("Adicionar Dependência", true);
+    }
+
+    /**
+     * Remove a dependência entre dois cards
+     * Solicita o ID do card e o ID do card de que ele dependia
+     */
+    public void removeDependency() {
+        editDependency("Remover Dependência", false);
+    }
+
+    private void editDependency(final String title, final boolean add) {
+        String cardIdStr = JOptionPane.showInputDialog(null, "Informe o ID do card:", title, JOptionPane.QUESTION_MESSAGE);
+        if (cardIdStr == null) {
+            return;
+        }
+        String dependsOnStr = JOptionPane.showInputDialog(null, "Informe o ID do card de que ele depende:", title, JOptionPane.QUESTION_MESSAGE);
+        if (dependsOnStr != null) {
+            try {
+                long cardId = Long.parseLong(cardIdStr.strip());
+                long dependsOnId = Long.parseLong(dependsOnStr.strip());
+                var dependencyService = new CardDependencyService(cardService.getConnection());
+                try {
+                    String message;
+                    if (add) {
+                        message = dependencyService.addDependency(cardId, dependsOnId)
+                                ? "Dependência registrada com sucesso." : "A dependência já existia.";
+                    } else {
+                        message = dependencyService.removeDependency(cardId, dependsOnId)
+                                ? "Dependência removida com sucesso." : "A dependência não existia.";
+                    }
+                    JOptionPane.showMessageDialog(null, message, "Sucesso", JOptionPane.INFORMATION_MESSAGE);
+                } catch (SQLException ex) {
+                    JOptionPane.showMessageDialog(null, "Erro ao alterar dependência: " + ex.getMessage(), "Erro", JOptionPane.ERROR_MESSAGE);
+                    ex.printStackTrace();
+                } catch (OptimisticLockException ex) {
+                    reloadAfterConflict(ex.getMessage());
+                } catch (RuntimeException ex) {
+                    JOptionPane.showMessageDialog(null, ex.getMessage(), "Erro", JOptionPane.ERROR_MESSAGE);
+                }
+            } catch (NumberFormatException ex) {
+                JOptionPane.showMessageDialog(null, "ID inválido.", "Aviso", JOptionPane.WARNING_MESSAGE);
+            }
+        }
+    }
+
+    /**
+     * Define o pai de um card na hierarquia (épicos e subtarefas)
+     * Solicita o ID do card e o ID do pai (vazio para tornar o card uma raiz)
+     */
+    public void setParentCard() {
+        String cardIdStr = JOptionPane.showInputDialog(null, "Informe o ID do card:", "Definir Card Pai", JOptionPane.QUESTION_MESSAGE);
+        if (cardIdStr == null) {
+            return;
+        }
+        String parentIdStr = JOptionPane.showInputDialog(null, "Informe o ID do card pai (vazio para nenhum):",
+                "Definir Card Pai", JOptionPane.QUESTION_MESSAGE);
+        if (parentIdStr != null) {
+            try {
+                long cardId = Long.parseLong(cardIdStr.strip());
+                Long parentId = parentIdStr.isBlank() ? null : Long.parseLong(parentIdStr.strip());
+                try {
+                    new CardHierarchyService(cardService.getConnection()).setParent(cardId, parentId);
+                    JOptionPane.showMessageDialog(null, "Card pai definido com sucesso.", "Sucesso", JOptionPane.INFORMATION_MESSAGE);
+                } catch (SQLException ex) {
+                    JOptionPane.showMessageDialog(null, "Erro ao definir card pai: " + ex.getMessage(), "Erro", JOptionPane.ERROR_MESSAGE);
+                    ex.printStackTrace();
+                } catch (RuntimeException ex) {
+                    JOptionPane.showMessageDialog(null, ex.getMessage(), "Erro", JOptionPane.ERROR_MESSAGE);
+                }
+            } catch (NumberFormatException ex) {
+                JOptionPane.showMessageDialog(null, "ID inválido.", "Aviso", JOptionPane.WARNING_MESSAGE);
+            }
+        }
+    }
+
+    /**
+     * Atribui um card a um usuário
+     * Solicita o ID do card e o ID do usuário (vazio para remover o responsável)
+     */
+    public void assignCard() {
+        String cardIdStr = JOptionPane.showInputDialog(null, "Informe o ID do card:", "Atribuir Card", JOptionPane.QUESTION_MESSAGE);
+        if (cardIdStr == null) {
+            return;
+        }
+        String userIdStr = JOptionPane.showInputDialog(null, "Informe o ID do usuário (vazio para nenhum):",
+                "Atribuir Card", JOptionPane.QUESTION_MESSAGE);
+        if (userIdStr != null) {
+            try {
+                long cardId = Long.parseLong(cardIdStr.strip());
+                Long userId = userIdStr.isBlank() ? null : Long.parseLong(userIdStr.strip());
+                try {
+                    cardService.assign(cardId, userId);
+                    JOptionPane.showMessageDialog(null, "Card atribuído com sucesso.", "Sucesso", JOptionPane.INFORMATION_MESSAGE);
+                } catch (SQLException ex) {
+                    JOptionPane.showMessageDialog(null, "Erro ao atribuir card: " + ex.getMessage(), "Erro", JOptionPane.ERROR_MESSAGE);
+                    ex.printStackTrace();
+                } catch (OptimisticLockException ex) {
+                    reloadAfterConflict(ex.getMessage());
+                } catch (RuntimeException ex) {
+                    JOptionPane.showMessageDialog(null, ex.getMessage(), "Erro", JOptionPane.ERROR_MESSAGE);
+                }
+            } catch (NumberFormatException ex) {
+                JOptionPane.showMessageDialog(null, "ID inválido.", "Aviso", JOptionPane.WARNING_MESSAGE);
+            }
+        }
+    }
+
+    /**
+     * Marca um card com uma tag
+     * Solicita ID do card e nome da tag através de diálogos
+     */
+    public void addCardTag() {
+        changeCardTag("Adicionar Tag", true);
+    }
+
+    /**
+     * Retira uma tag de um card
+     * Solicita ID do card e nome da tag através de diálogos
+     */
+    public void removeCardTag() {
+        changeCardTag("Remover Tag", false);
+    }
+
+    private void changeCardTag(final String title, final boolean add) {
+        String cardIdStr = JOptionPane.showInputDialog(null, "Informe o ID do card:", title, JOptionPane.QUESTION_MESSAGE);
+        if (cardIdStr == null) {
+            return;
+        }
+        String tag = JOptionPane.showInputDialog(null, "Informe a tag:", title, JOptionPane.QUESTION_MESSAGE);
+        if (tag != null) {
+            try {
+                long cardId = Long.parseLong(cardIdStr.strip());
+                try {
+                    if (add) {
+                        cardService.addTag(cardId, tag);
+                    } else {
+                        cardService.removeTag(cardId, tag);
+                    }
+                    JOptionPane.showMessageDialog(null, add ? "Tag adicionada com sucesso." : "Tag removida com sucesso.",
+                            "Sucesso", JOptionPane.INFORMATION_MESSAGE);
+                } catch (SQLException ex) {
+                    JOptionPane.showMessageDialog(null, "Erro ao alterar tag: " + ex.getMessage(), "Erro", JOptionPane.ERROR_MESSAGE);
+                    ex.printStackTrace();
+                } catch (RuntimeException ex) {
+                    JOptionPane.showMessageDialog(null, ex.getMessage(), "Erro", JOptionPane.ERROR_MESSAGE);
+                }
+            } catch (NumberFormatException ex) {
+                JOptionPane.showMessageDialog(null, "ID inválido.", "Aviso", JOptionPane.WARNING_MESSAGE);
+            }
+        }
+    }
+
+    /**
+     * Lista os cards do board que atendem a uma combinação de tags
+     * Exibe as tags em uso e solicita o filtro através de diálogo
+     */
+    public void filterByTags() {
+        try {
+            var tagService = new TagService(cardService.getConnection());
+            StringBuilder prompt = new StringBuilder("Tags do board:");
+            tagService.findTags(entity.getId()).forEach(t -> prompt.append(' ').append(t.name()).append(" (").append(t.cards()).append(')'));
+            prompt.append("\n\nFiltro (+tag obrigatória, tag alternativa, -tag excluída):");
+            String expression = JOptionPane.showInputDialog(parentFrame, prompt.toString(), "Filtrar por Tags", JOptionPane.QUESTION_MESSAGE);
+            if (expression == null) {
+                return;
+            }
+            var filter = TagFilter.parse(expression);
+            var ids = tagService.filter(entity.getId(), filter);
+            JTextArea area = new JTextArea("%s card(s) para \"%s\":\n%s".formatted(ids.size(), filter, ids), 10, 50);
+            area.setLineWrap(true);
+            area.setEditable(false);
+            JOptionPane.showMessageDialog(parentFrame, new JScrollPane(area), "Filtrar por Tags", JOptionPane.INFORMATION_MESSAGE);
+        } catch (SQLException ex) {
+            JOptionPane.showMessageDialog(parentFrame, "Erro ao filtrar cards: " + ex.getMessage(), "Erro", JOptionPane.ERROR_MESSAGE);
+        } catch (RuntimeException ex) {
+            JOptionPane.showMessageDialog(parentFrame, ex.getMessage(), "Erro", JOptionPane.ERROR_MESSAGE);
+        }
+    }
+
+    /**
+     * Exibe os cards do board agrupados por responsável (raias)
+     */
+    public void showSwimlanes() {
+        try {
+            var lanes = new UserService(cardService.getConnection()).findSwimlanes(entity.getId());
+            StringBuilder message = new StringBuilder();
+            for (var lane : lanes) {
+                message.append(lane.assigneeName() == null ? "Sem responsável" : lane.assigneeName())
+                        .append(" (").append(lane.cards().size()).append(" cards)\n");
+                lane.cards().forEach(ca -> message.append("  Card ").append(ca.id()).append(" - ").append(ca.title())
+                        .append(" [").append(ca.columnName()).append("]\n"));
+            }
+            JTextArea area = new JTextArea(message.length() == 0 ? "O board não tem cards." : message.toString(), 20, 50);
+            area.setEditable(false);
+            JOptionPane.showMessageDialog(parentFrame, new JScrollPane(area), "Raias por Responsável", JOptionPane.INFORMATION_MESSAGE);
+        } catch (SQLException ex) {
+            JOptionPane.showMessageDialog(parentFrame, "Erro ao exibir raias: " + ex.getMessage(), "Erro", JOptionPane.ERROR_MESSAGE);
+        }
+    }
+
     /**
      * Cancela um card, movendo-o para a coluna de cancelados
      * Solicita ID do card através de diálogo
@@ -179,11 +593,18 @@ public class BoardWindowsMenu extends JPanel {
                 long cardId = Long.parseLong(cardIdStr);
                 BoardColumnEntity cancelColumn = entity.getCancelColumn();
                 try {
-                    cardService.cancel(cardId, cancelColumn.getId(), getBoardColumnInfoDTOs());
-                    JOptionPane.showMessageDialog(null, "Card cancelado com sucesso.", "Sucesso", JOptionPane.INFORMATION_MESSAGE);
+                    if (session != null) {
+                        session.cancel(cardId, cancelColumn.getId(), getBoardColumnInfoDTOs());
+                        showPending("Cancelamento do card registrado na sessão.");
+                    } else {
+                        cardService.cancel(cardId, cancelColumn.getId(), getBoardColumnInfoDTOs());
+                        JOptionPane.showMessageDialog(null, "Card cancelado com sucesso.", "Sucesso", JOptionPane.INFORMATION_MESSAGE);
+                    }
                 } catch (SQLException ex) {
                     JOptionPane.showMessageDialog(null, "Erro ao cancelar card: " + ex.getMessage(), "Erro", JOptionPane.ERROR_MESSAGE);
                     ex.printStackTrace();
+                } catch (OptimisticLockException ex) {
+                    reloadAfterConflict(ex.getMessage());
                 } catch (RuntimeException ex) {
                     JOptionPane.showMessageDialog(null, ex.getMessage(), "Erro", JOptionPane.ERROR_MESSAGE);
                 }
@@ -227,8 +648,9 @@ public class BoardWindowsMenu extends JPanel {
             try {
                 long selectedCardId = Long.parseLong(cardIdStr);
                 try {
-                    var cardDAO = new CardDAO(cardService.getConnection());
-                    new CardQueryService(cardDAO).findById(selectedCardId)
+                    var dependencies = new CardDependencyService(cardService.getConnection()).findDependencies(selectedCardId);
+                    var subtree = new CardHierarchyService(cardService.getConnection()).findSubtree(selectedCardId);
+                    new CardQueryService(cardService.getConnection()).findById(selectedCardId)
                         .ifPresentOrElse(
                             c -> {
                                 StringBuilder message = new StringBuilder("Card " + c.id() + " - " + c.title() + ".\n");
@@ -236,11 +658,29 @@ public class BoardWindowsMenu extends JPanel {
                                 message.append(c.blocked() ? "Está bloqueado. Motivo: " + c.blockReason() : "Não está bloqueado").append("\n");
                                 message.append("Já foi bloqueado ").append(c.blocksAmount()).append(" vezes\n");
                                 message.append("Está no momento na coluna ").append(c.columnId()).append(" - ").append(c.columnName()).append("\n");
+                                if (c.assigneeName() != null) {
+                                    message.append("Responsável: ").append(c.assigneeName()).append("\n");
+                                }
+                                if (!dependencies.dependsOn().isEmpty()) {
+                                    message.append("Depende dos cards ").append(dependencies.dependsOn()).append("\n");
+                                }
+                                if (!dependencies.unblocks().isEmpty()) {
+                                    message.append("Cards que aguardam por ele: ").append(dependencies.unblocks()).append("\n");
+                                }
+                                if (subtree.parentId() != null) {
+                                    message.append("Subtarefa do card ").append(subtree.parentId()).append("\n");
+                                }
+                                if (subtree.descendants() > 0) {
+                                    message.append("Subtarefas: ").append(subtree.childIds()).append(" - ").append(subtree.descendants())
+                                            .append(" no total, ").append(subtree.progress()).append("% concluídas\n");
+                                }
                                 JOptionPane.showMessageDialog(null, message.toString(), "Detalhes do Card", JOptionPane.INFORMATION_MESSAGE);
                             },
                             () -> JOptionPane.showMessageDialog(null, "Não existe um card com o id " + selectedCardId, "Aviso", JOptionPane.WARNING_MESSAGE));
                 } catch (SQLException e) {
                     JOptionPane.showMessageDialog(null, "Erro ao exibir card: " + e.getMessage(), "Erro", JOptionPane.ERROR_MESSAGE);
+                } catch (EntityNotFoundException e) {
+                    JOptionPane.showMessageDialog(null, "Não existe um card com o id " + selectedCardId, "Aviso", JOptionPane.WARNING_MESSAGE);
                 }
             } catch (NumberFormatException ex) {
                 JOptionPane.showMessageDialog(null, "ID inválido.", "Aviso", JOptionPane.WARNING_MESSAGE);
@@ -249,4 +689,267 @@ public class BoardWindowsMenu extends JPanel {
             JOptionPane.showMessageDialog(null, "ID do card é obrigatório.", "Aviso", JOptionPane.WARNING_MESSAGE);
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Insere uma coluna PENDING no board
+     * Solicita o nome da coluna e a coluna que deve ficar antes dela
+     */
+    public void addColumn() {
+        String name = JOptionPane.showInputDialog(parentFrame, "Informe o nome da coluna:", "Adicionar Coluna", JOptionPane.QUESTION_MESSAGE);
+        if (name == null || name.isBlank()) {
+            return;
+        }
+        BoardColumnEntity after = chooseColumn("Inserir após a coluna:", "Adicionar Coluna", BoardColumnKindEnum.INITIAL, BoardColumnKindEnum.PENDING);
+        if (after == null) {
+            return;
+        }
+        editColumns("adicionar coluna", () -> boardColumnService.insertPending(entity.getId(), name.strip(), after.getId()));
+    }
+
+    /**
+     * Move uma coluna PENDING para após outra coluna
+     * Solicita a coluna a ser movida e a coluna que deve ficar antes dela
+     */
+    public void moveColumn() {
+        BoardColumnEntity column = chooseColumn("Coluna a ser movida:", "Mover Coluna", BoardColumnKindEnum.PENDING);
+        if (column == null) {
+            return;
+        }
+        BoardColumnEntity after = chooseColumn("Mover para após a coluna:", "Mover Coluna", BoardColumnKindEnum.INITIAL, BoardColumnKindEnum.PENDING);
+        if (after == null) {
+            return;
+        }
+        editColumns("mover coluna", () -> boardColumnService.movePending(column.getId(), after.getId()));
+    }
+
+    /**
+     * Remove uma coluna PENDING vazia
+     * Solicita a coluna através de diálogo
+     */
+    public void removeColumn() {
+        BoardColumnEntity column = chooseColumn("Coluna a ser removida:", "Remover Coluna", BoardColumnKindEnum.PENDING);
+        if (column != null) {
+            editColumns("remover coluna", () -> boardColumnService.removePending(column.getId()));
+        }
+    }
+
+    /**
+     * Abre uma sessão de edição: criações, movimentações, cancelamentos, bloqueios e
+     * desbloqueios de cards passam a ser validados e guardados até o salvamento da sessão
+     */
+    public void startSession() {
+        if (session != null) {
+            JOptionPane.showMessageDialog(parentFrame, "Já existe uma sessão aberta com " + session.size() + " alterações pendentes.",
+                    "Sessão", JOptionPane.INFORMATION_MESSAGE);
+            return;
+        }
+        session = new CardUnitOfWork(cardService.getConnection());
+        JOptionPane.showMessageDialog(parentFrame, "Sessão aberta. As alterações de cards serão gravadas juntas ao salvar a sessão.",
+                "Sessão", JOptionPane.INFORMATION_MESSAGE);
+    }
+
+    /**
+     * Grava as alterações da sessão em uma única transação e fecha a sessão. Em caso
+     * de conflito com outra edição a sessão é descartada, já que foi validada sobre
+     * dados desatualizados
+     */
+    public void saveSession() {
+        if (session == null) {
+            JOptionPane.showMessageDialog(parentFrame, "Não há sessão aberta.", "Sessão", JOptionPane.WARNING_MESSAGE);
+            return;
+        }
+        try {
+            int saved = session.flush();
+            session = null;
+            JOptionPane.showMessageDialog(parentFrame, saved + " alterações gravadas.", "Sessão", JOptionPane.INFORMATION_MESSAGE);
+        } catch (SQLException ex) {
+            JOptionPane.showMessageDialog(parentFrame, "Erro ao salvar sessão: " + ex.getMessage(), "Erro", JOptionPane.ERROR_MESSAGE);
+            ex.printStackTrace();
+        } catch (OptimisticLockException ex) {
+            session = null;
+            reloadAfterConflict(ex.getMessage() + ". As alterações da sessão foram descartadas.");
+        } catch (RuntimeException ex) {
+            JOptionPane.showMessageDialog(parentFrame, ex.getMessage(), "Erro", JOptionPane.ERROR_MESSAGE);
+        }
+    }
+
+    /**
+     * Descarta as alterações da sessão e fecha a sessão
+     */
+    public void discardSession() {
+        if (session == null) {
+            JOptionPane.showMessageDialog(parentFrame, "Não há sessão aberta.", "Sessão", JOptionPane.WARNING_MESSAGE);
+            return;
+        }
+        if (confirmDiscard()) {
+            JOptionPane.showMessageDialog(parentFrame, "Sessão descartada.", "Sessão", JOptionPane.INFORMATION_MESSAGE);
+        }
+    }
+
+    /**
+     * Pede confirmação para descartar as alterações pendentes da sessão, se houver
+     * @return true se não houver alterações pendentes ou se o descarte for confirmado
+     */
+    public boolean confirmDiscard() {
+        if (session != null && !session.isEmpty()) {
+            int answer = JOptionPane.showConfirmDialog(parentFrame,
+                    "Descartar " + session.size() + " alterações pendentes da sessão?", "Sessão", JOptionPane.YES_NO_OPTION);
+            if (answer != JOptionPane.YES_OPTION) {
+                return false;
+            }
+        }
+        session = null;
+        return true;
+    }
+
+    /**
+     * Informa o registro de uma alteração na sessão
+     */
+    private void showPending(String message) {
+        JOptionPane.showMessageDialog(parentFrame, message + " Alterações pendentes: " + session.size() + ".",
+                "Sessão", JOptionPane.INFORMATION_MESSAGE);
+    }
+
+    /**
+     * Recarrega as colunas do board depois de uma alteração recusada por conflito de
+     * versão, para que a próxima tentativa use as colunas atuais
+     */
+    private void reloadAfterConflict(String message) {
+        try {
+            new BoardQueryService(cardService.getConnection()).findById(entity.getId())
+                    .ifPresent(board -> entity.setBoardColumns(board.getBoardColumns()));
+        } catch (SQLException ex) {
+            ex.printStackTrace();
+        }
+        JOptionPane.showMessageDialog(parentFrame, message, "Conflito", JOptionPane.WARNING_MESSAGE);
+    }
+
+    /**
+     * Ação de edição de colunas que pode falhar com erro de banco de dados
+     */
+    @FunctionalInterface
+    private interface ColumnEdit {
+        void run() throws SQLException;
+    }
+
+    /**
+     * Executa uma edição de colunas e recarrega as colunas do board, usadas pelas
+     * movimentações de cards
+     */
+    private void editColumns(String description, ColumnEdit edit) {
+        try {
+            edit.run();
+            new BoardQueryService(cardService.getConnection()).findById(entity.getId())
+                    .ifPresent(board -> entity.setBoardColumns(board.getBoardColumns()));
+            JOptionPane.showMessageDialog(parentFrame, "Colunas atualizadas com sucesso.", "Sucesso", JOptionPane.INFORMATION_MESSAGE);
+        } catch (SQLException ex) {
+            JOptionPane.showMessageDialog(parentFrame, "Erro ao " + description + ": " + ex.getMessage(), "Erro", JOptionPane.ERROR_MESSAGE);
+        } catch (RuntimeException ex) {
+            JOptionPane.showMessageDialog(parentFrame, ex.getMessage(), "Erro", JOptionPane.ERROR_MESSAGE);
+        }
+    }
+
+    /**
+     * Exibe as colunas do board dos tipos informados para seleção
+     * @return Coluna selecionada ou null se a seleção for cancelada
+     */
+    private BoardColumnEntity chooseColumn(String message, String title, BoardColumnKindEnum... kinds) {
+        List<BoardColumnEntity> columns = entity.getBoardColumns().stream()
+                .filter(c -> List.of(kinds).contains(c.getKind()))
+                .collect(Collectors.toList());
+        if (columns.isEmpty()) {
+            JOptionPane.showMessageDialog(parentFrame, "Não há colunas disponíveis para esta operação.", "Aviso", JOptionPane.WARNING_MESSAGE);
+            return null;
+        }
+        String[] labels = columns.stream().map(c -> c.getId() + " - " + c.getName()).toArray(String[]::new);
+        Object selected = JOptionPane.showInputDialog(parentFrame, message, title, JOptionPane.QUESTION_MESSAGE, null, labels, labels[0]);
+        for (int i = 0; i < labels.length; i++) {
+            if (labels[i].equals(selected)) {
+                return columns.get(i);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Exibe o editor do fluxo do board: cada linha é uma coluna de origem e cada coluna
+     * marcada é um destino permitido. Salvar grava uma nova versão do fluxo
+     */
+    public void editWorkflow() {
+        BoardWorkflowService workflowService = new BoardWorkflowService(cardService.getConnection());
+        BoardWorkflow workflow;
+        try {
+            workflow = workflowService.forBoard(entity.getId(), getBoardColumnInfoDTOs());
+        } catch (SQLException ex) {
+            JOptionPane.showMessageDialog(parentFrame, "Erro ao carregar fluxo: " + ex.getMessage(), "Erro", JOptionPane.ERROR_MESSAGE);
+            return;
+        }
+        List<BoardColumnEntity> columns = entity.getBoardColumns();
+        List<BoardColumnEntity> sources = columns.stream()
+                .filter(c -> c.getKind() == BoardColumnKindEnum.INITIAL || c.getKind() == BoardColumnKindEnum.PENDING)
+                .collect(Collectors.toList());
+        List<BoardColumnEntity> targets = columns.stream()
+                .filter(c -> c.getKind() != BoardColumnKindEnum.CANCEL)
+                .collect(Collectors.toList());
+
+        String[] headers = new String[targets.size() + 1];
+        headers[0] = "Origem";
+        for (int i = 0; i < targets.size(); i++) {
+            headers[i + 1] = targets.get(i).getName();
+        }
+        DefaultTableModel model = new DefaultTableModel(headers, 0) {
+            @Override
+            public Class<?> getColumnClass(int column) {
+                return column == 0 ? String.class : Boolean.class;
+            }
+
+            @Override
+            public boolean isCellEditable(int row, int column) {
+                return column > 0 && !sources.get(row).getId().equals(targets.get(column - 1).getId());
+            }
+        };
+        for (BoardColumnEntity source : sources) {
+            Object[] row = new Object[targets.size() + 1];
+            row[0] = source.getName();
+            int from = workflow.indexOf(source.getId());
+            for (int i = 0; i < targets.size(); i++) {
+                int to = workflow.indexOf(targets.get(i).getId());
+                row[i + 1] = from >= 0 && to >= 0 && workflow.allows(from, to);
+            }
+            model.addRow(row);
+        }
+
+        JDialog dialog = new JDialog(parentFrame, "Fluxo do Board (versão " + workflow.getVersion() + ")", true);
+        dialog.setLayout(new BorderLayout());
+        dialog.add(new JScrollPane(new JTable(model)), BorderLayout.CENTER);
+        JButton btnSalvar = new JButton("Salvar Nova Versão");
+        btnSalvar.addActionListener(e -> {
+            List<WorkflowTransitionDTO> transitions = new ArrayList<>();
+            for (int row = 0; row < sources.size(); row++) {
+                for (int i = 0; i < targets.size(); i++) {
+                    if (Boolean.TRUE.equals(model.getValueAt(row, i + 1))) {
+                        transitions.add(new WorkflowTransitionDTO(sources.get(row).getId(), targets.get(i).getId()));
+                    }
+                }
+            }
+            try {
+                int version = workflowService.save(entity.getId(), transitions);
+                // A gravação incrementa a versão da estrutura do board, usada pelas movimentações de cards
+                new BoardQueryService(cardService.getConnection()).findById(entity.getId())
+                        .ifPresent(board -> entity.setBoardColumns(board.getBoardColumns()));
+                JOptionPane.showMessageDialog(dialog, "Fluxo gravado na versão " + version + ".", "Sucesso", JOptionPane.INFORMATION_MESSAGE);
+                dialog.dispose();
+            } catch (SQLException ex) {
+                JOptionPane.showMessageDialog(dialog, "Erro ao gravar fluxo: " + ex.getMessage(), "Erro", JOptionPane.ERROR_MESSAGE);
+            } catch (RuntimeException ex) {
+                JOptionPane.showMessageDialog(dialog, ex.getMessage(), "Erro", JOptionPane.ERROR_MESSAGE);
+            }
+        });
+        JPanel botoes = new JPanel();
+        botoes.add(btnSalvar);
+        dialog.add(botoes, BorderLayout.SOUTH);
+        dialog.setSize(640, 320);
+        dialog.setLocationRelativeTo(parentFrame);
+        dialog.setVisible(true);
+    }
+}
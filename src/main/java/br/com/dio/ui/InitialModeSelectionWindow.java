@@ -1,10 +1,13 @@
 package br.com.dio.ui;
 
 import java.awt.BorderLayout;
+import java.awt.Cursor;
 import java.awt.Dimension;
 import java.awt.Font;
 import java.awt.GridLayout;
 import java.awt.event.ActionListener;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 import javax.swing.BorderFactory;
 import javax.swing.JButton;
@@ -15,18 +18,42 @@ import javax.swing.JPanel;
 import javax.swing.SwingConstants;
 import javax.swing.SwingUtilities;
 
+import br.com.dio.monitoring.StartupMetrics;
+
 /**
  * Janela de seleção inicial que permite ao usuário escolher entre
  * o modo console ou interface gráfica para interagir com o Board Manager.
  */
 public class InitialModeSelectionWindow extends JFrame {
 
+    // Migração do banco em andamento; os modos só iniciam após sua conclusão
+    private final CompletableFuture<Void> migration;
+
+    // Botões de seleção de modo, desabilitados enquanto a migração termina
+    private JButton consoleButton;
+    private JButton guiButton;
+
     /**
      * Constrói a janela de seleção de modo e inicializa seus componentes.
      */
     public InitialModeSelectionWindow() {
+        this(CompletableFuture.completedFuture(null));
+    }
+
+    /**
+     * Constrói a janela de seleção de modo enquanto a migração do banco
+     * ainda pode estar em execução em segundo plano.
+     * @param migration Future da migração do banco de dados
+     */
+    public InitialModeSelectionWindow(final CompletableFuture<Void> migration) {
+        this.migration = migration;
         configurarJanela();
         inicializarInterface();
+
+        // Na execução automática (treino AppCDS/benchmark) segue direto para a interface gráfica
+        if (StartupMetrics.isAutorun()) {
+            SwingUtilities.invokeLater(() -> aguardarMigracao(this::iniciarModoGrafico));
+        }
     }
 
     /**
@@ -57,12 +84,12 @@ public class InitialModeSelectionWindow extends JFrame {
         JPanel buttonPanel = new JPanel(new GridLayout(1, 2, 10, 0));
         
         // Botão para modo console
-        JButton consoleButton = criarBotaoModo("Console", 
-            e -> iniciarModoConsole());
+        consoleButton = criarBotaoModo("Console", 
+            e -> aguardarMigracao(this::iniciarModoConsole));
         
         // Botão para interface gráfica
-        JButton guiButton = criarBotaoModo("Interface Gráfica", 
-            e -> iniciarModoGrafico());
+        guiButton = criarBotaoModo("Interface Gráfica", 
+            e -> aguardarMigracao(this::iniciarModoGrafico));
 
         buttonPanel.add(consoleButton);
         buttonPanel.add(guiButton);
@@ -85,12 +112,41 @@ public class InitialModeSelectionWindow extends JFrame {
         return button;
     }
 
+    /**
+     * Executa a ação do modo escolhido assim que a migração do banco terminar.
+     * Enquanto aguarda, desabilita os botões e exibe o cursor de espera.
+     * @param acao Ação de inicialização do modo escolhido
+     */
+    private void aguardarMigracao(Runnable acao) {
+        if (migration.isDone() && !migration.isCompletedExceptionally()) {
+            acao.run();
+            return;
+        }
+        consoleButton.setEnabled(false);
+        guiButton.setEnabled(false);
+        setCursor(Cursor.getPredefinedCursor(Cursor.WAIT_CURSOR));
+        migration.whenComplete((r, ex) -> SwingUtilities.invokeLater(() -> {
+            setCursor(Cursor.getDefaultCursor());
+            consoleButton.setEnabled(true);
+            guiButton.setEnabled(true);
+            if (ex != null) {
+                var cause = ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex;
+                JOptionPane.showMessageDialog(this,
+                    "Erro ao migrar o banco de dados: " + cause.getMessage(),
+                    "Erro", JOptionPane.ERROR_MESSAGE);
+                return;
+            }
+            acao.run();
+        }));
+    }
+
     /**
      * Trata a seleção do modo console, fechando esta janela
      * e iniciando a interface baseada em console.
      */
     private void iniciarModoConsole() {
         dispose(); // Fecha a janela de seleção
+        StartupPrewarmer.discard(); // O console abre a própria conexão
         SwingUtilities.invokeLater(() -> {
             try {
                 new br.com.dio.ui.MainMenu().execute(); // Inicia o menu console
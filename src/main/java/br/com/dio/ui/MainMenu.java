@@ -5,17 +5,26 @@ import static br.com.dio.persistence.entity.BoardColumnKindEnum.CANCEL;
 import static br.com.dio.persistence.entity.BoardColumnKindEnum.FINAL;
 import static br.com.dio.persistence.entity.BoardColumnKindEnum.INITIAL;
 import static br.com.dio.persistence.entity.BoardColumnKindEnum.PENDING;
+import static br.com.dio.transfer.BoardSnapshotFormat.isSnapshot;
 
+import java.io.IOException;
+import java.nio.file.Path;
 import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Scanner;
 
+import br.com.dio.exception.EntityNotFoundException;
 import br.com.dio.persistence.entity.BoardColumnEntity;
 import br.com.dio.persistence.entity.BoardColumnKindEnum;
 import br.com.dio.persistence.entity.BoardEntity;
+import br.com.dio.service.BoardDeletionWorker;
+import br.com.dio.service.BoardExportService;
+import br.com.dio.service.BoardImportService;
 import br.com.dio.service.BoardQueryService;
 import br.com.dio.service.BoardService;
+import br.com.dio.service.BoardSnapshotService;
+import br.com.dio.service.BoardTemplateService;
 
 /**
  * Classe que representa o menu principal de interação via console
@@ -32,18 +41,31 @@ public class MainMenu {
      */
     public void execute() throws SQLException {
         System.out.println("Bem vindo ao gerenciador de boards, escolha a opção desejada");
+        BoardDeletionWorker.addListener(progress -> {
+            if (progress.finished()) {
+                System.out.printf("Remoção do board %s concluída (%s cards)\n", progress.boardId(), progress.deletedCards());
+            }
+        });
         var option = -1;
         while (true) {
             System.out.println("1 - Criar um novo board");
             System.out.println("2 - Selecionar um board existente");
             System.out.println("3 - Excluir um board");
-            System.out.println("4 - Sair");
+            System.out.println("4 - Exportar um board");
+            System.out.println("5 - Restaurar um board exportado");
+            System.out.println("6 - Clonar um board");
+            System.out.println("7 - Templates de board");
+            System.out.println("8 - Sair");
             option = scanner.nextInt();
             switch (option) {
                 case 1 -> createBoard();
                 case 2 -> selectBoard();
                 case 3 -> deleteBoard();
-                case 4 -> System.exit(0);
+                case 4 -> exportBoard();
+                case 5 -> restoreBoard();
+                case 6 -> cloneBoard();
+                case 7 -> templatesMenu();
+                case 8 -> System.exit(0);
                 default -> System.out.println("Opção inválida, informe uma opção do menu");
             }
         }
@@ -122,14 +144,123 @@ public class MainMenu {
         var id = scanner.nextLong();
         try(var connection = getConnection()){
             var service = new BoardService(connection);
-            if (service.delete(id)){
-                System.out.printf("O board %s foi excluido\n", id);
+            if (service.deleteAsync(id)){
+                System.out.printf("O board %s foi excluido; seus dados serão removidos em segundo plano\n", id);
             } else {
                 System.out.printf("Não foi encontrado um board com id %s\n", id);
             }
         }
     }
 
+    /**
+     * Clona a estrutura de um board e, opcionalmente, seus cards abertos.
+     * @throws SQLException em caso de erro de acesso ao banco de dados
+     */
+    private void cloneBoard() throws SQLException {
+        System.out.println("Informe o id do board que será clonado");
+        var id = scanner.nextLong();
+        System.out.println("Informe o nome do novo board");
+        var name = scanner.next();
+        System.out.println("Copiar também os cards abertos? (s/n)");
+        var includeCards = scanner.next().equalsIgnoreCase("s");
+        try(var connection = getConnection()){
+            var board = new BoardService(connection).clone(id, name, includeCards);
+            System.out.printf("Board %s criado com id %s\n", board.getName(), board.getId());
+        } catch (EntityNotFoundException ex) {
+            System.out.println(ex.getMessage());
+        }
+    }
+
+    /**
+     * Menu de templates: salvar a estrutura de um board, criar boards a partir de
+     * um template, listar e excluir templates.
+     * @throws SQLException em caso de erro de acesso ao banco de dados
+     */
+    private void templatesMenu() throws SQLException {
+        System.out.println("1 - Salvar um board como template");
+        System.out.println("2 - Criar um board a partir de um template");
+        System.out.println("3 - Listar templates");
+        System.out.println("4 - Excluir um template");
+        System.out.println("5 - Voltar");
+        var option = scanner.nextInt();
+        try(var connection = getConnection()){
+            var service = new BoardTemplateService(connection);
+            switch (option) {
+                case 1 -> {
+                    System.out.println("Informe o id do board");
+                    var boardId = scanner.nextLong();
+                    System.out.println("Informe o nome do template");
+                    var templateId = service.saveFromBoard(boardId, scanner.next());
+                    System.out.printf("Template criado com id %s\n", templateId);
+                }
+                case 2 -> {
+                    System.out.println("Informe o id do template");
+                    var templateId = scanner.nextLong();
+                    System.out.println("Informe o nome do novo board");
+                    var board = service.createBoard(templateId, scanner.next());
+                    System.out.printf("Board %s criado com id %s\n", board.getName(), board.getId());
+                }
+                case 3 -> service.findAll().forEach(t ->
+                        System.out.printf("Template [%s] %s - %s colunas\n", t.id(), t.name(), t.columnsAmount()));
+                case 4 -> {
+                    System.out.println("Informe o id do template que será excluido");
+                    var templateId = scanner.nextLong();
+                    System.out.println(service.delete(templateId)
+                            ? "Template excluido"
+                            : "Não foi encontrado um template com id %s".formatted(templateId));
+                }
+                case 5 -> { }
+                default -> System.out.println("Opção inválida, informe uma opção do menu");
+            }
+        } catch (EntityNotFoundException ex) {
+            System.out.println(ex.getMessage());
+        }
+    }
+
+    /**
+     * Exporta um board completo (colunas, cards e histórico de bloqueios) para um arquivo JSON Lines
+     * ou, se a extensão for {@code .bsnp}, para um snapshot binário.
+     * @throws SQLException em caso de erro de acesso ao banco de dados
+     */
+    private void exportBoard() throws SQLException {
+        System.out.println("Informe o id do board que será exportado");
+        var id = scanner.nextLong();
+        System.out.println("Informe o caminho do arquivo de destino (.jsonl ou snapshot .bsnp)");
+        var file = Path.of(scanner.next());
+        try(var connection = getConnection()){
+            var result = isSnapshot(file)
+                    ? new BoardSnapshotService(connection).snapshot(id, file)
+                    : new BoardExportService(connection).export(id, file);
+            System.out.printf("Board %s exportado em %s ms: %s colunas, %s cards, %s bloqueios\n",
+                    result.boardId(), result.elapsedMillis(), result.columns(), result.cards(), result.blocks());
+        } catch (EntityNotFoundException ex) {
+            System.out.println(ex.getMessage());
+        } catch (IOException ex) {
+            System.out.printf("Erro ao escrever o arquivo: %s\n", ex.getMessage());
+        }
+    }
+
+    /**
+     * Restaura um board exportado, criando um novo board com novos IDs.
+     * @throws SQLException em caso de erro de acesso ao banco de dados
+     */
+    private void restoreBoard() throws SQLException {
+        System.out.println("Informe o caminho do arquivo exportado");
+        var file = Path.of(scanner.next());
+        System.out.println("Informe o nome do board restaurado ou '-' para manter o original");
+        var name = scanner.next();
+        try(var connection = getConnection()){
+            var newName = name.equals("-") ? null : name;
+            var result = isSnapshot(file)
+                    ? new BoardSnapshotService(connection).restore(file, newName)
+                    : new BoardImportService(connection).restore(file, newName);
+            System.out.printf("Board restaurado com id %s em %s ms: %s colunas, %s cards, %s bloqueios\n",
+                    result.boardId(), result.elapsedMillis(), result.columns(), result.cards(), result.blocks());
+        } catch (IOException ex) {
+            System.out.printf("Erro ao restaurar o board: %s\n", ex.getMessage());
+        }
+    }
+
     /**
      * Método auxiliar para criação de colunas do board.
      * @param name Nome da coluna
@@ -0,0 +1,421 @@
+package br.com.dio.ui;
+
+import static br.com.dio.persistence.config.ConnectionConfig.getConnection;
+import static br.com.dio.persistence.entity.BoardColumnKindEnum.CANCEL;
+import static br.com.dio.persistence.entity.BoardColumnKindEnum.FINAL;
+import static br.com.dio.persistence.entity.BoardColumnKindEnum.INITIAL;
+import static br.com.dio.persistence.entity.BoardColumnKindEnum.PENDING;
+
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+import br.com.dio.dto.BoardColumnInfoDTO;
+import br.com.dio.exception.EntityNotFoundException;
+import br.com.dio.persistence.entity.BoardColumnEntity;
+import br.com.dio.persistence.entity.BoardColumnKindEnum;
+import br.com.dio.persistence.entity.BoardEntity;
+import br.com.dio.persistence.entity.CardEntity;
+import br.com.dio.service.BoardColumnService;
+import br.com.dio.service.BoardQueryService;
+import br.com.dio.service.BoardService;
+import br.com.dio.service.BoardWorkflowService;
+import br.com.dio.service.CardDependencyService;
+import br.com.dio.service.CardHierarchyService;
+import br.com.dio.service.CardQueryService;
+import br.com.dio.service.CardService;
+import br.com.dio.service.TagService;
+import br.com.dio.service.TransactionTemplate;
+import br.com.dio.service.UserService;
+import br.com.dio.tag.TagFilter;
+import br.com.dio.workflow.BoardWorkflow;
+
+/**
+ * Executa um arquivo de comandos do console sem interação, usando uma única conexão.
+ *
+ * <p>Cada linha contém um comando; linhas vazias e iniciadas por {@code #} são ignoradas.
+ * Argumentos com espaços devem estar entre aspas duplas. {@code $board} e {@code $card}
+ * são substituídos pelo último board selecionado e pelo último card criado.</p>
+ *
+ * <pre>
+ * board "Nome" [coluna pendente ...]   cria um board e o seleciona
+ * use &lt;id do board&gt;                   seleciona um board existente
+ * card "Título" ["Descrição"]          cria um card na coluna inicial do board selecionado
+ * move &lt;id do card&gt; [id da coluna]    move o card para a próxima coluna ou para a coluna informada
+ * block &lt;id do card&gt; "Motivo"         bloqueia o card
+ * unblock &lt;id do card&gt; "Motivo"       desbloqueia o card
+ * cancel &lt;id do card&gt;                 move o card para a coluna de cancelamento
+ * rank &lt;id do card&gt; [id anterior]     posiciona o card após outro da coluna (sem anterior: topo)
+ * pull &lt;id da coluna&gt; "worker" [n]     reserva os próximos n cards livres da coluna (padrão 1)
+ * release &lt;id do card&gt; "worker"       libera a reserva do card
+ * depend &lt;id do card&gt; &lt;id&gt;          registra que o card depende de outro card
+ * undepend &lt;id do card&gt; &lt;id&gt;        remove a dependência entre os cards
+ * parent &lt;id do card&gt; [id do pai]    define o pai do card na hierarquia (sem pai: raiz)
+ * user "Nome"                          cadastra um usuário
+ * assign &lt;id do card&gt; [id do usuário] atribui o card ao usuário (sem usuário: remove o responsável)
+ * tag &lt;id do card&gt; "tag"             marca o card com a tag
+ * untag &lt;id do card&gt; "tag"           retira a tag do card
+ * filter "+tag tag -tag"               lista os cards do board selecionado que atendem às tags
+ * column "Nome" &lt;id anterior&gt;         insere uma coluna PENDING no board selecionado
+ * move-column &lt;id&gt; &lt;id anterior&gt;      move uma coluna PENDING para após outra coluna
+ * remove-column &lt;id&gt;                   remove uma coluna PENDING vazia
+ * workflow &lt;origem:destino&gt; ...       grava uma nova versão do fluxo do board selecionado
+ * show [id do board]                   exibe as colunas do board
+ * show-card &lt;id do card&gt;              exibe os detalhes do card
+ * </pre>
+ *
+ * <p>Os commits feitos pelos serviços são adiados e o executor confirma a transação a
+ * cada {@code batchSize} comandos. Se um comando falhar, os comandos ainda não
+ * confirmados do lote corrente são desfeitos e a execução é interrompida.</p>
+ */
+public class ScriptRunner {
+
+    private final Path script;
+    private final int batchSize;
+
+    private Connection connection;
+    private BoardEntity board;
+    private Long lastCardId;
+
+    /**
+     * @param script Arquivo de comandos
+     * @param batchSize Quantidade de comandos por transação (1 confirma cada comando)
+     */
+    public ScriptRunner(final Path script, final int batchSize) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("O lote deve ter ao menos um comando");
+        }
+        this.script = script;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Executa o script, exibindo o tempo de cada comando e um resumo ao final.
+     * @return true se todos os comandos foram executados
+     * @throws IOException Em caso de erro na leitura do script
+     * @throws SQLException Em caso de erro ao abrir ou confirmar a conexão
+     */
+    public boolean execute() throws IOException, SQLException {
+        var start = System.nanoTime();
+        var executed = 0L;
+        var pending = 0;
+        var lineNumber = 0L;
+        try (var physical = getConnection();
+             var reader = Files.newBufferedReader(script, StandardCharsets.UTF_8)) {
+            connection = deferringCommits(physical);
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                var trimmed = line.strip();
+                if (trimmed.isEmpty() || trimmed.startsWith("#")) {
+                    continue;
+                }
+                var commandStart = System.nanoTime();
+                try {
+                    var output = run(tokenize(trimmed));
+                    if (++pending == batchSize) {
+                        physical.commit();
+                        pending = 0;
+                    }
+                    executed++;
+                    System.out.printf("%5d %-40s %8.2f ms  %s%n", lineNumber, abbreviate(trimmed),
+                            (System.nanoTime() - commandStart) / 1_000_000.0, output);
+                } catch (SQLException | RuntimeException ex) {
+                    physical.rollback();
+                    // Os índices de tags já receberam as alterações desfeitas
+                    TagService.invalidateAll();
+                    System.out.printf("%5d %-40s ERRO: %s%n", lineNumber, abbreviate(trimmed), ex.getMessage());
+                    if (pending > 0) {
+                        System.out.printf("%s comando(s) anteriores do lote foram desfeitos%n", pending);
+                    }
+                    summary(executed - pending, start);
+                    return false;
+                }
+            }
+            physical.commit();
+        }
+        summary(executed, start);
+        return true;
+    }
+
+    private void summary(final long executed, final long start) {
+        var elapsed = (System.nanoTime() - start) / 1_000_000.0;
+        System.out.printf("%s comandos confirmados em %.1f ms (%.3f ms por comando, lotes de %s)%n",
+                executed, elapsed, executed == 0 ? 0.0 : elapsed / executed, batchSize);
+    }
+
+    /**
+     * Executa um comando já separado em argumentos.
+     * @return Texto de resultado do comando
+     */
+    private String run(final List<String> args) throws SQLException {
+        var command = args.get(0);
+        return switch (command) {
+            case "board" -> createBoard(args);
+            case "use" -> {
+                selectBoard(parseId(arg(args, 1)));
+                yield "board " + board.getId() + " selecionado";
+            }
+            case "card" -> createCard(arg(args, 1), args.size() > 2 ? args.get(2) : "");
+            case "move" -> {
+                if (args.size() > 2) {
+                    new CardService(connection).moveToColumn(parseId(arg(args, 1)), parseId(args.get(2)), columnsInfo());
+                } else {
+                    new CardService(connection).moveToNextColumn(parseId(arg(args, 1)), columnsInfo());
+                }
+                yield "movido";
+            }
+            case "block" -> {
+                new CardService(connection).block(parseId(arg(args, 1)), arg(args, 2), columnsInfo());
+                yield "bloqueado";
+            }
+            case "unblock" -> {
+                new CardService(connection).unblock(parseId(arg(args, 1)), arg(args, 2));
+                yield "desbloqueado";
+            }
+            case "cancel" -> {
+                var info = columnsInfo();
+                new CardService(connection).cancel(parseId(arg(args, 1)), board.getCancelColumn().getId(), info);
+                yield "cancelado";
+            }
+            case "rank" -> {
+                new CardService(connection).reorder(parseId(arg(args, 1)), args.size() > 2 ? parseId(args.get(2)) : null);
+                yield "reordenado";
+            }
+            case "pull" -> {
+                var cards = new CardService(connection)
+                        .pullNext(parseId(arg(args, 1)), arg(args, 2), args.size() > 3 ? Integer.parseInt(args.get(3)) : 1);
+                yield cards.size() + " card(s) reservado(s) " + cards.stream().map(CardEntity::getId).toList();
+            }
+            case "release" -> {
+                new CardService(connection).release(parseId(arg(args, 1)), arg(args, 2));
+                yield "reserva liberada";
+            }
+            case "depend" -> {
+                var added = new CardDependencyService(connection).addDependency(parseId(arg(args, 1)), parseId(arg(args, 2)));
+                yield added ? "dependência registrada" : "dependência já existente";
+            }
+            case "undepend" -> {
+                var removed = new CardDependencyService(connection).removeDependency(parseId(arg(args, 1)), parseId(arg(args, 2)));
+                yield removed ? "dependência removida" : "dependência inexistente";
+            }
+            case "parent" -> {
+                var changed = new CardHierarchyService(connection)
+                        .setParent(parseId(arg(args, 1)), args.size() > 2 ? parseId(args.get(2)) : null);
+                yield changed ? "pai definido" : "pai inalterado";
+            }
+            case "user" -> "usuário " + new UserService(connection).create(arg(args, 1)).getId() + " criado";
+            case "assign" -> {
+                new CardService(connection).assign(parseId(arg(args, 1)), args.size() > 2 ? parseId(args.get(2)) : null);
+                yield args.size() > 2 ? "atribuído" : "responsável removido";
+            }
+            case "tag" -> {
+                new CardService(connection).addTag(parseId(arg(args, 1)), arg(args, 2));
+                yield "tag adicionada";
+            }
+            case "untag" -> {
+                new CardService(connection).removeTag(parseId(arg(args, 1)), arg(args, 2));
+                yield "tag removida";
+            }
+            case "filter" -> {
+                var ids = new TagService(connection).filter(currentBoard().getId(), TagFilter.parse(arg(args, 1)));
+                yield ids.size() + " card(s) " + ids;
+            }
+            case "column" -> {
+                var column = new BoardColumnService(connection)
+                        .insertPending(currentBoard().getId(), arg(args, 1), parseId(arg(args, 2)));
+                selectBoard(board.getId());
+                yield "coluna " + column.getId() + " criada";
+            }
+            case "move-column" -> {
+                new BoardColumnService(connection).movePending(parseId(arg(args, 1)), parseId(arg(args, 2)));
+                selectBoard(currentBoard().getId());
+                yield "coluna movida";
+            }
+            case "remove-column" -> {
+                new BoardColumnService(connection).removePending(parseId(arg(args, 1)));
+                selectBoard(currentBoard().getId());
+                yield "coluna removida";
+            }
+            case "workflow" -> {
+                var transitions = BoardWorkflow.parseTransitions(String.join(",", args.subList(1, args.size())));
+                var version = new BoardWorkflowService(connection).save(currentBoard().getId(), transitions);
+                // A gravação incrementa a versão da estrutura do board, usada pelas movimentações seguintes
+                selectBoard(currentBoard().getId());
+                yield "fluxo versão " + version + " gravado";
+            }
+            case "show" -> showBoard(args.size() > 1 ? parseId(args.get(1)) : currentBoard().getId());
+            case "show-card" -> showCard(parseId(arg(args, 1)));
+            default -> throw new IllegalArgumentException("Comando desconhecido: " + command);
+        };
+    }
+
+    private String createBoard(final List<String> args) throws SQLException {
+        var entity = new BoardEntity();
+        entity.setName(arg(args, 1));
+        List<BoardColumnEntity> columns = new ArrayList<>();
+        columns.add(createColumn("Inicial", INITIAL, 0));
+        for (var name : args.subList(2, args.size())) {
+            columns.add(createColumn(name, PENDING, columns.size()));
+        }
+        columns.add(createColumn("Final", FINAL, columns.size()));
+        columns.add(createColumn("Cancelado", CANCEL, columns.size()));
+        entity.setBoardColumns(columns);
+        new BoardService(connection).insert(entity);
+        board = entity;
+        return "board " + entity.getId() + " criado";
+    }
+
+    private void selectBoard(final Long id) throws SQLException {
+        board = new BoardQueryService(connection).findById(id)
+                .orElseThrow(() -> new EntityNotFoundException("O board de id %s não foi encontrado".formatted(id)));
+    }
+
+    private String createCard(final String title, final String description) throws SQLException {
+        var card = new CardEntity();
+        card.setTitle(title);
+        card.setDescription(description);
+        card.setBoardColumn(currentBoard().getInitialColumn());
+        new CardService(connection).create(card);
+        lastCardId = card.getId();
+        return "card " + card.getId() + " criado";
+    }
+
+    private String showBoard(final Long id) throws SQLException {
+        var details = new BoardQueryService(connection).showBoardDetails(id)
+                .orElseThrow(() -> new EntityNotFoundException("O board de id %s não foi encontrado".formatted(id)));
+        var output = new StringBuilder("board [%s,%s]".formatted(details.id(), details.name()));
+        details.columns().forEach(c ->
+                output.append(" | %s (%s): %s cards".formatted(c.name(), c.kind(), c.cardsAmount())));
+        return output.toString();
+    }
+
+    private String showCard(final Long id) throws SQLException {
+        var card = new CardQueryService(connection).findById(id)
+                .orElseThrow(() -> new EntityNotFoundException("O card de id %s não foi encontrado".formatted(id)));
+        var dependencies = new CardDependencyService(connection).findDependencies(id);
+        var subtree = new CardHierarchyService(connection).findSubtree(id);
+        return "card [%s,%s] coluna [%s] responsável [%s] %s depende de %s subtarefas %s (%s%% concluídas)".formatted(card.id(),
+                card.title(), card.columnName(), card.assigneeName() == null ? "" : card.assigneeName(),
+                card.blocked() ? "bloqueado: " + card.blockReason() : "desbloqueado", dependencies.dependsOn(),
+                subtree.descendants(), subtree.progress());
+    }
+
+    private BoardEntity currentBoard() {
+        if (board == null) {
+            throw new IllegalStateException("Nenhum board selecionado; use 'board' ou 'use' antes");
+        }
+        return board;
+    }
+
+    private List<BoardColumnInfoDTO> columnsInfo() {
+        return currentBoard().getBoardColumns().stream()
+                .map(bc -> new BoardColumnInfoDTO(bc.getId(), bc.getOrder(), bc.getKind(), bc.getVersion()))
+                .toList();
+    }
+
+    private String arg(final List<String> args, final int index) {
+        if (args.size() <= index) {
+            throw new IllegalArgumentException("Argumentos insuficientes para '%s'".formatted(args.get(0)));
+        }
+        return args.get(index);
+    }
+
+    private Long parseId(final String value) {
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException ex) {
+            throw new IllegalArgumentException("ID inválido: " + value);
+        }
+    }
+
+    /**
+     * Separa a linha em argumentos, respeitando aspas duplas e substituindo as variáveis.
+     */
+    private List<String> tokenize(final String line) {
+        List<String> tokens = new ArrayList<>();
+        var current = new StringBuilder();
+        var quoted = false;
+        var inToken = false;
+        for (int i = 0; i < line.length(); i++) {
+            var c = line.charAt(i);
+            if (c == '"') {
+                quoted = !quoted;
+                inToken = true;
+            } else if (Character.isWhitespace(c) && !quoted) {
+                if (inToken) {
+                    tokens.add(resolve(current.toString()));
+                    current.setLength(0);
+                    inToken = false;
+                }
+            } else {
+                current.append(c);
+                inToken = true;
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("Aspas não fechadas");
+        }
+        if (inToken) {
+            tokens.add(resolve(current.toString()));
+        }
+        return tokens;
+    }
+
+    private String resolve(final String token) {
+        return switch (token) {
+            case "$board" -> currentBoard().getId().toString();
+            case "$card" -> {
+                if (lastCardId == null) {
+                    throw new IllegalStateException("Nenhum card criado para $card");
+                }
+                yield lastCardId.toString();
+            }
+            default -> token;
+        };
+    }
+
+    private static String abbreviate(final String line) {
+        return line.length() <= 40 ? line : line.substring(0, 37) + "...";
+    }
+
+    private static BoardColumnEntity createColumn(final String name, final BoardColumnKindEnum kind, final int order) {
+        var boardColumn = new BoardColumnEntity();
+        boardColumn.setName(name);
+        boardColumn.setKind(kind);
+        boardColumn.setOrder(order);
+        return boardColumn;
+    }
+
+    /**
+     * Envolve a conexão para que commit() e rollback() dos serviços não tenham efeito;
+     * o executor controla a transação pela conexão física. A conexão se declara
+     * {@link TransactionTemplate.DeferredCommits}, então deadlocks não são repetidos.
+     */
+    private static Connection deferringCommits(final Connection physical) {
+        return (Connection) Proxy.newProxyInstance(
+                Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    var name = method.getName();
+                    if ((name.equals("commit") || name.equals("rollback")) && method.getParameterCount() == 0) {
+                        return null;
+                    }
+                    if (name.equals("isWrapperFor") && args[0] == TransactionTemplate.DeferredCommits.class) {
+                        return true;
+                    }
+                    try {
+                        return method.invoke(physical, args);
+                    } catch (InvocationTargetException ex) {
+                        throw ex.getCause();
+                    }
+                });
+    }
+}
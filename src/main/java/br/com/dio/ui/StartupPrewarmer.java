@@ -0,0 +1,127 @@
+package br.com.dio.ui;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import br.com.dio.persistence.config.ConnectionConfig;
+import br.com.dio.persistence.entity.BoardEntity;
+import br.com.dio.service.BoardQueryService;
+import lombok.NoArgsConstructor;
+
+import static lombok.AccessLevel.PRIVATE;
+
+/**
+ * Aquece, em segundo plano, os recursos usados pela interface gráfica enquanto
+ * a janela de seleção de modo está aberta: carrega o driver MySQL, abre a conexão
+ * que será usada pela BoardWindows, lê a lista de boards e pré-carrega as classes
+ * Swing das janelas seguintes.
+ *
+ * <p>A lista de boards aquecida é entregue uma única vez, para a primeira exibição;
+ * as seguintes consultam o banco. Se a interface gráfica não for usada (modo console),
+ * a conexão aquecida é fechada por {@link #discard()}.</p>
+ */
+@NoArgsConstructor(access = PRIVATE)
+public final class StartupPrewarmer {
+
+    // Resultado do aquecimento (conexão aberta e boards já lidos)
+    private static volatile CompletableFuture<Warmed> warmed;
+
+    // Garante que a conexão aquecida seja entregue a um único consumidor
+    private static final AtomicBoolean CONNECTION_TAKEN = new AtomicBoolean();
+
+    // Garante que a lista de boards aquecida seja usada uma única vez
+    private static final AtomicBoolean BOARDS_TAKEN = new AtomicBoolean();
+
+    /**
+     * Recursos produzidos pelo aquecimento.
+     * @param connection Conexão aberta com o banco de dados
+     * @param boards Boards existentes no momento do aquecimento
+     */
+    private record Warmed(Connection connection, List<BoardEntity> boards) {
+    }
+
+    /**
+     * Inicia o aquecimento assim que a migração do banco terminar.
+     * @param migration Future da migração do banco de dados
+     */
+    public static void start(final CompletableFuture<Void> migration) {
+        warmed = migration.thenApplyAsync(v -> warm(), runnable -> {
+            var thread = new Thread(runnable, "board-prewarm");
+            thread.setDaemon(true);
+            thread.start();
+        });
+    }
+
+    /**
+     * Entrega a conexão aquecida, aguardando o aquecimento se ainda estiver em andamento.
+     * A conexão só é entregue uma vez; chamadas seguintes retornam vazio.
+     * @return Conexão aquecida ou vazio se não houver aquecimento bem-sucedido
+     */
+    public static Optional<Connection> takeConnection() {
+        var current = warmed;
+        if (current == null || !CONNECTION_TAKEN.compareAndSet(false, true)) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(current.join().connection());
+        } catch (CompletionException ex) {
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Entrega a lista de boards lida durante o aquecimento, sem bloquear. A lista só é
+     * entregue uma vez, já que fica desatualizada; chamadas seguintes retornam vazio.
+     * @return Boards aquecidos ou vazio se o aquecimento ainda não terminou ou a lista já foi entregue
+     */
+    public static Optional<List<BoardEntity>> takeBoards() {
+        var current = warmed;
+        if (current == null || !current.isDone() || current.isCompletedExceptionally()
+                || !BOARDS_TAKEN.compareAndSet(false, true)) {
+            return Optional.empty();
+        }
+        return Optional.of(current.join().boards());
+    }
+
+    /**
+     * Descarta o aquecimento quando a interface gráfica não será usada: a conexão aquecida,
+     * se ainda não foi entregue, é fechada assim que o aquecimento terminar.
+     */
+    public static void discard() {
+        var current = warmed;
+        if (current == null || !CONNECTION_TAKEN.compareAndSet(false, true)) {
+            return;
+        }
+        BOARDS_TAKEN.set(true);
+        current.thenAccept(resources -> {
+            try {
+                resources.connection().close();
+            } catch (SQLException ex) {
+                // A conexão não será mais usada; nada a fazer
+            }
+        });
+    }
+
+    /**
+     * Executa o aquecimento propriamente dito.
+     * @return Recursos aquecidos
+     */
+    private static Warmed warm() {
+        try {
+            var connection = ConnectionConfig.getConnection();
+            var boards = new BoardQueryService(connection).findAll();
+            connection.commit();
+            // Carrega as classes das próximas janelas fora da thread de eventos do Swing
+            Class.forName(BoardWindows.class.getName());
+            Class.forName(BoardWindowsMenu.class.getName());
+            return new Warmed(connection, boards);
+        } catch (SQLException | ClassNotFoundException ex) {
+            throw new CompletionException(ex);
+        }
+    }
+}
@@ -0,0 +1,325 @@
+package br.com.dio.workflow;
+
+import static br.com.dio.persistence.entity.BoardColumnKindEnum.CANCEL;
+import static br.com.dio.persistence.entity.BoardColumnKindEnum.FINAL;
+import static br.com.dio.persistence.entity.BoardColumnKindEnum.INITIAL;
+import static java.util.Comparator.comparingInt;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import br.com.dio.dto.BoardColumnInfoDTO;
+import br.com.dio.dto.WorkflowTransitionDTO;
+import br.com.dio.persistence.entity.BoardColumnKindEnum;
+
+/**
+ * Fluxo de um Board compilado em uma tabela de transições indexada por posição.
+ *
+ * <p>As colunas recebem índices densos na ordem do Board; cada linha da tabela é um
+ * conjunto de bits com as colunas de destino permitidas. Depois de compilado, validar
+ * uma movimentação custa uma busca do índice da coluna e um teste de bit, sem percorrer
+ * a lista de colunas. A coluna seguinte usada por "mover card" também é pré-calculada.</p>
+ *
+ * <p>Instâncias são imutáveis e podem ser compartilhadas entre threads.</p>
+ */
+public final class BoardWorkflow {
+
+    private final Long id;
+    private final int version;
+    private final List<BoardColumnInfoDTO> columns;
+    private final int columnsVersion;
+    private final Map<Long, Integer> indexes;
+    private final BoardColumnKindEnum[] kinds;
+    private final long[][] allowed;
+    private final int[] next;
+
+    private BoardWorkflow(final Long id, final int version, final List<BoardColumnInfoDTO> columns) {
+        this.id = id;
+        this.version = version;
+        this.columns = columns.stream().sorted(comparingInt(BoardColumnInfoDTO::order)).toList();
+        this.columnsVersion = columns.stream().mapToInt(BoardColumnInfoDTO::version).max().orElse(-1);
+        this.indexes = new HashMap<>();
+        this.kinds = new BoardColumnKindEnum[this.columns.size()];
+        for (int i = 0; i < this.columns.size(); i++) {
+            indexes.put(this.columns.get(i).id(), i);
+            kinds[i] = this.columns.get(i).kind();
+        }
+        this.allowed = new long[kinds.length][(kinds.length + 63) / 64];
+        this.next = new int[kinds.length];
+    }
+
+    /**
+     * Compila o fluxo linear padrão: cada coluna INITIAL ou PENDING segue para a coluna
+     * de ordem imediatamente maior.
+     * @param columns Colunas do Board
+     * @return Fluxo compilado, sem ID e com versão 0
+     */
+    public static BoardWorkflow linear(final List<BoardColumnInfoDTO> columns) {
+        var workflow = new BoardWorkflow(null, 0, columns);
+        for (int i = 0; i + 1 < workflow.kinds.length; i++) {
+            if (workflow.isOpen(i)) {
+                workflow.allow(i, i + 1);
+            }
+        }
+        workflow.computeNext();
+        return workflow;
+    }
+
+    /**
+     * Compila um fluxo persistido. Transições com colunas que não pertencem ao Board são ignoradas.
+     * @param id ID da versão do fluxo
+     * @param version Número da versão
+     * @param columns Colunas do Board
+     * @param transitions Transições permitidas
+     * @return Fluxo compilado
+     */
+    public static BoardWorkflow compile(final Long id, final int version, final List<BoardColumnInfoDTO> columns,
+                                        final List<WorkflowTransitionDTO> transitions) {
+        var workflow = new BoardWorkflow(id, version, columns);
+        for (var transition : transitions) {
+            var from = workflow.indexOf(transition.fromColumnId());
+            var to = workflow.indexOf(transition.toColumnId());
+            if (from >= 0 && to >= 0) {
+                workflow.allow(from, to);
+            }
+        }
+        workflow.computeNext();
+        return workflow;
+    }
+
+    /**
+     * Verifica se as transições formam um fluxo utilizável: nenhuma transição parte de
+     * colunas FINAL ou CANCEL, chega a colunas CANCEL (usadas apenas pelo cancelamento)
+     * ou liga uma coluna a ela mesma, todas as colunas pertencem ao Board e a coluna
+     * FINAL é alcançável a partir da INITIAL.
+     * @param columns Colunas do Board
+     * @param transitions Transições a validar
+     * @throws IllegalArgumentException Se o fluxo for inválido
+     */
+    public static void validate(final List<BoardColumnInfoDTO> columns, final List<WorkflowTransitionDTO> transitions) {
+        var workflow = new BoardWorkflow(null, 0, columns);
+        for (var transition : transitions) {
+            var from = workflow.indexOf(transition.fromColumnId());
+            var to = workflow.indexOf(transition.toColumnId());
+            if (from < 0 || to < 0) {
+                throw new IllegalArgumentException("A transição %s -> %s usa uma coluna de outro board"
+                        .formatted(transition.fromColumnId(), transition.toColumnId()));
+            }
+            if (from == to) {
+                throw new IllegalArgumentException("A coluna %s não pode ter transição para ela mesma"
+                        .formatted(transition.fromColumnId()));
+            }
+            if (!workflow.isOpen(from)) {
+                throw new IllegalArgumentException("Colunas %s não podem ter transições de saída".formatted(workflow.kinds[from]));
+            }
+            if (workflow.kinds[to] == CANCEL) {
+                throw new IllegalArgumentException("Cards só chegam à coluna CANCEL pelo cancelamento");
+            }
+            workflow.allow(from, to);
+        }
+        if (!workflow.finalReachable()) {
+            throw new IllegalArgumentException("O fluxo precisa levar da coluna INITIAL até a coluna FINAL");
+        }
+    }
+
+    /**
+     * Lê transições no formato textual {@code origem:destino}, separadas por vírgulas
+     * ou espaços (ex.: {@code 10:11,11:12,11:13}), usado pela API e pelo modo script.
+     * @param text Transições em formato textual
+     * @return Transições lidas
+     * @throws IllegalArgumentException Se alguma transição estiver mal formada
+     */
+    public static List<WorkflowTransitionDTO> parseTransitions(final String text) {
+        List<WorkflowTransitionDTO> transitions = new ArrayList<>();
+        for (var pair : text.strip().split("[,\\s]+")) {
+            if (pair.isEmpty()) {
+                continue;
+            }
+            var ids = pair.split(":");
+            try {
+                if (ids.length != 2) {
+                    throw new NumberFormatException();
+                }
+                transitions.add(new WorkflowTransitionDTO(Long.parseLong(ids[0]), Long.parseLong(ids[1])));
+            } catch (NumberFormatException ex) {
+                throw new IllegalArgumentException("Transição inválida: %s (use origem:destino)".formatted(pair));
+            }
+        }
+        return transitions;
+    }
+
+    /**
+     * @return ID da versão do fluxo ou null para o fluxo linear padrão
+     */
+    public Long getId() {
+        return id;
+    }
+
+    /**
+     * @return Número da versão do fluxo (0 para o fluxo linear padrão)
+     */
+    public int getVersion() {
+        return version;
+    }
+
+    /**
+     * @return Versão da estrutura do Board lida com as colunas usadas na compilação
+     *         (a maior, se as colunas informarem versões diferentes)
+     */
+    public int getColumnsVersion() {
+        return columnsVersion;
+    }
+
+    /**
+     * Verifica se o fluxo foi compilado com exatamente estas colunas: mesmos IDs, ordens,
+     * tipos e versão da estrutura, em qualquer ordem na lista.
+     * @param columns Colunas do Board
+     * @return true se as colunas forem as usadas na compilação
+     */
+    public boolean matches(final List<BoardColumnInfoDTO> columns) {
+        if (columns.size() != this.columns.size()) {
+            return false;
+        }
+        for (var column : columns) {
+            var index = indexOf(column.id());
+            if (index < 0 || !this.columns.get(index).equals(column)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return Colunas do Board usadas na compilação, na ordem do Board
+     */
+    public List<BoardColumnInfoDTO> getColumns() {
+        return columns;
+    }
+
+    /**
+     * Busca o índice de uma coluna na tabela.
+     * @param columnId ID da coluna
+     * @return Índice da coluna ou -1 se ela não pertencer ao Board
+     */
+    public int indexOf(final Long columnId) {
+        var index = indexes.get(columnId);
+        return index == null ? -1 : index;
+    }
+
+    /**
+     * @param index Índice da coluna
+     * @return ID da coluna
+     */
+    public Long columnId(final int index) {
+        return columns.get(index).id();
+    }
+
+    /**
+     * @param index Índice da coluna
+     * @return Coluna, com a versão lida pelo chamador
+     */
+    public BoardColumnInfoDTO column(final int index) {
+        return columns.get(index);
+    }
+
+    /**
+     * @param index Índice da coluna
+     * @return Tipo da coluna
+     */
+    public BoardColumnKindEnum kind(final int index) {
+        return kinds[index];
+    }
+
+    /**
+     * Verifica se o fluxo permite mover um Card entre duas colunas.
+     * @param from Índice da coluna de origem
+     * @param to Índice da coluna de destino
+     * @return true se a transição for permitida
+     */
+    public boolean allows(final int from, final int to) {
+        return (allowed[from][to >>> 6] & (1L << to)) != 0;
+    }
+
+    /**
+     * Coluna de destino de "mover card": a permitida de menor ordem após a coluna atual
+     * ou, se não houver nenhuma adiante, a única coluna permitida.
+     * @param from Índice da coluna de origem
+     * @return Índice da coluna de destino ou -1 se não houver uma única próxima coluna
+     */
+    public int next(final int from) {
+        return next[from];
+    }
+
+    /**
+     * Lista as transições permitidas, na ordem das colunas.
+     * @return Transições do fluxo
+     */
+    public List<WorkflowTransitionDTO> transitions() {
+        List<WorkflowTransitionDTO> transitions = new ArrayList<>();
+        for (int from = 0; from < kinds.length; from++) {
+            for (int to = 0; to < kinds.length; to++) {
+                if (allows(from, to)) {
+                    transitions.add(new WorkflowTransitionDTO(columnId(from), columnId(to)));
+                }
+            }
+        }
+        return transitions;
+    }
+
+    private boolean isOpen(final int index) {
+        return kinds[index] != FINAL && kinds[index] != CANCEL;
+    }
+
+    private void allow(final int from, final int to) {
+        allowed[from][to >>> 6] |= 1L << to;
+    }
+
+    private void computeNext() {
+        for (int from = 0; from < kinds.length; from++) {
+            next[from] = -1;
+            var targets = 0;
+            var only = -1;
+            for (int to = 0; to < kinds.length; to++) {
+                if (!allows(from, to)) {
+                    continue;
+                }
+                if (to > from) {
+                    next[from] = to;
+                    break;
+                }
+                targets++;
+                only = to;
+            }
+            if (next[from] < 0 && targets == 1) {
+                next[from] = only;
+            }
+        }
+    }
+
+    private boolean finalReachable() {
+        var visited = new boolean[kinds.length];
+        var pending = new ArrayDeque<Integer>();
+        for (int i = 0; i < kinds.length; i++) {
+            if (kinds[i] == INITIAL) {
+                visited[i] = true;
+                pending.add(i);
+            }
+        }
+        while (!pending.isEmpty()) {
+            int from = pending.poll();
+            if (kinds[from] == FINAL) {
+                return true;
+            }
+            for (int to = 0; to < kinds.length; to++) {
+                if (!visited[to] && allows(from, to)) {
+                    visited[to] = true;
+                    pending.add(to);
+                }
+            }
+        }
+        return false;
+    }
+}
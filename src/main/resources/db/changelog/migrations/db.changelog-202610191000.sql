@@ -0,0 +1,8 @@
+--liquibase formatted sql
+--changeset junior:202610191000
+--comment: cards moved_at column for archival
+
+ALTER TABLE CARDS ADD COLUMN moved_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP;
+CREATE INDEX cards_board_column_id_moved_at_idx ON CARDS (board_column_id, moved_at);
+
+--rollback DROP INDEX cards_board_column_id_moved_at_idx ON CARDS; ALTER TABLE CARDS DROP COLUMN moved_at;
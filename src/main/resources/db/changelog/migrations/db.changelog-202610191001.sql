@@ -0,0 +1,25 @@
+--liquibase formatted sql
+--changeset junior:202610191001
+--comment: cards and blocks archive tables create
+
+CREATE TABLE CARDS_ARCHIVE(
+    id BIGINT PRIMARY KEY,
+    title VARCHAR(255) NOT NULL,
+    description VARCHAR(255) NOT NULL,
+    board_column_id BIGINT NOT NULL,
+    moved_at TIMESTAMP NOT NULL,
+    archived_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT boards_columns__cards_archive_fk FOREIGN KEY (board_column_id) REFERENCES BOARDS_COLUMNS(id) ON DELETE CASCADE
+) ENGINE=InnoDB;
+
+CREATE TABLE BLOCKS_ARCHIVE(
+    id BIGINT PRIMARY KEY,
+    blocked_at TIMESTAMP NULL,
+    block_reason VARCHAR(255) NOT NULL,
+    unblocked_at TIMESTAMP NULL,
+    unblock_reason VARCHAR(255) NULL,
+    card_id BIGINT NOT NULL,
+    CONSTRAINT cards_archive__blocks_archive_fk FOREIGN KEY (card_id) REFERENCES CARDS_ARCHIVE(id) ON DELETE CASCADE
+) ENGINE=InnoDB;
+
+--rollback DROP TABLE BLOCKS_ARCHIVE; DROP TABLE CARDS_ARCHIVE;
@@ -0,0 +1,8 @@
+--liquibase formatted sql
+--changeset junior:202610191100
+--comment: boards deleted_at column for asynchronous deletion
+
+ALTER TABLE BOARDS ADD COLUMN deleted_at TIMESTAMP NULL;
+CREATE INDEX boards_deleted_at_idx ON BOARDS (deleted_at);
+
+--rollback DROP INDEX boards_deleted_at_idx ON BOARDS; ALTER TABLE BOARDS DROP COLUMN deleted_at;
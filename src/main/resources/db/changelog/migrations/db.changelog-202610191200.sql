@@ -0,0 +1,21 @@
+--liquibase formatted sql
+--changeset junior:202610191200
+--comment: board templates tables create
+
+CREATE TABLE BOARD_TEMPLATES(
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    name VARCHAR(255) NOT NULL,
+    CONSTRAINT board_templates_name_uk UNIQUE KEY (name)
+) ENGINE=InnoDB;
+
+CREATE TABLE BOARD_TEMPLATES_COLUMNS(
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    name VARCHAR(255) NOT NULL,
+    `order` int NOT NULL,
+    kind VARCHAR(7) NOT NULL,
+    template_id BIGINT NOT NULL,
+    CONSTRAINT board_templates__columns_fk FOREIGN KEY (template_id) REFERENCES BOARD_TEMPLATES(id) ON DELETE CASCADE,
+    CONSTRAINT template_id_order_uk UNIQUE KEY (template_id, `order`)
+) ENGINE=InnoDB;
+
+--rollback DROP TABLE BOARD_TEMPLATES_COLUMNS; DROP TABLE BOARD_TEMPLATES;
@@ -0,0 +1,34 @@
+--liquibase formatted sql
+--changeset junior:202610191300
+--comment: block column tracking, report indexes and block duration summary
+
+ALTER TABLE BLOCKS ADD COLUMN board_column_id BIGINT NULL;
+UPDATE BLOCKS b INNER JOIN CARDS c ON c.id = b.card_id SET b.board_column_id = c.board_column_id;
+ALTER TABLE BLOCKS MODIFY COLUMN board_column_id BIGINT NOT NULL;
+CREATE INDEX blocks_unblocked_at_idx ON BLOCKS (unblocked_at);
+CREATE INDEX blocks_board_column_id_unblocked_at_idx ON BLOCKS (board_column_id, unblocked_at, blocked_at);
+CREATE INDEX blocks_block_reason_idx ON BLOCKS (block_reason);
+
+ALTER TABLE BLOCKS_ARCHIVE ADD COLUMN board_column_id BIGINT NULL;
+UPDATE BLOCKS_ARCHIVE b INNER JOIN CARDS_ARCHIVE c ON c.id = b.card_id SET b.board_column_id = c.board_column_id;
+ALTER TABLE BLOCKS_ARCHIVE MODIFY COLUMN board_column_id BIGINT NOT NULL;
+CREATE INDEX blocks_archive_unblocked_at_idx ON BLOCKS_ARCHIVE (unblocked_at);
+CREATE INDEX blocks_archive_board_column_id_unblocked_at_idx ON BLOCKS_ARCHIVE (board_column_id, unblocked_at, blocked_at);
+CREATE INDEX blocks_archive_block_reason_idx ON BLOCKS_ARCHIVE (block_reason);
+
+CREATE TABLE BLOCK_DURATION_STATS(
+    board_column_id BIGINT PRIMARY KEY,
+    blocks BIGINT NOT NULL,
+    mean_seconds DOUBLE NOT NULL,
+    p95_seconds BIGINT NOT NULL,
+    refreshed_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP
+) ENGINE=InnoDB;
+
+CREATE TABLE BLOCK_STATS_REFRESH(
+    id TINYINT PRIMARY KEY,
+    refreshed_until TIMESTAMP NOT NULL
+) ENGINE=InnoDB;
+
+INSERT INTO BLOCK_STATS_REFRESH (id, refreshed_until) VALUES (1, '1970-01-02 00:00:00');
+
+--rollback DROP TABLE BLOCK_STATS_REFRESH; DROP TABLE BLOCK_DURATION_STATS; DROP INDEX blocks_archive_block_reason_idx ON BLOCKS_ARCHIVE; DROP INDEX blocks_archive_board_column_id_unblocked_at_idx ON BLOCKS_ARCHIVE; DROP INDEX blocks_archive_unblocked_at_idx ON BLOCKS_ARCHIVE; ALTER TABLE BLOCKS_ARCHIVE DROP COLUMN board_column_id; DROP INDEX blocks_block_reason_idx ON BLOCKS; DROP INDEX blocks_board_column_id_unblocked_at_idx ON BLOCKS; DROP INDEX blocks_unblocked_at_idx ON BLOCKS; ALTER TABLE BLOCKS DROP COLUMN board_column_id;
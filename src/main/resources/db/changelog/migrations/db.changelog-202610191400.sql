@@ -0,0 +1,15 @@
+--liquibase formatted sql
+--changeset junior:202610191400
+--comment: card rank within columns
+
+ALTER TABLE CARDS ADD COLUMN card_rank VARCHAR(255) CHARACTER SET ascii COLLATE ascii_bin NULL;
+UPDATE CARDS c
+ INNER JOIN (SELECT id,
+                    ROW_NUMBER() OVER (PARTITION BY board_column_id ORDER BY id) rn
+               FROM CARDS) r
+    ON r.id = c.id
+   SET c.card_rank = TRIM(TRAILING '0' FROM LPAD(CONV(r.rn, 10, 36), 8, '0'));
+ALTER TABLE CARDS MODIFY COLUMN card_rank VARCHAR(255) CHARACTER SET ascii COLLATE ascii_bin NOT NULL;
+CREATE UNIQUE INDEX cards_board_column_id_card_rank_uk ON CARDS (board_column_id, card_rank);
+
+--rollback DROP INDEX cards_board_column_id_card_rank_uk ON CARDS; ALTER TABLE CARDS DROP COLUMN card_rank;
@@ -0,0 +1,9 @@
+--liquibase formatted sql
+--changeset junior:202610191500
+--comment: sparse column order
+
+-- Processa as maiores ordens primeiro para não violar a chave única (board_id, `order`)
+UPDATE BOARDS_COLUMNS SET `order` = `order` * 1024 ORDER BY `order` DESC;
+UPDATE BOARD_TEMPLATES_COLUMNS SET `order` = `order` * 1024 ORDER BY `order` DESC;
+
+--rollback UPDATE BOARD_TEMPLATES_COLUMNS SET `order` = `order` DIV 1024 ORDER BY `order`; UPDATE BOARDS_COLUMNS SET `order` = `order` DIV 1024 ORDER BY `order`;
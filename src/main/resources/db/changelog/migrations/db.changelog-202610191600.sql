@@ -0,0 +1,24 @@
+--liquibase formatted sql
+--changeset junior:202610191600
+--comment: board workflows tables create
+
+CREATE TABLE BOARD_WORKFLOWS(
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    board_id BIGINT NOT NULL,
+    version INT NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT boards__board_workflows_fk FOREIGN KEY (board_id) REFERENCES BOARDS(id) ON DELETE CASCADE,
+    CONSTRAINT board_workflows_board_id_version_uk UNIQUE KEY (board_id, version)
+) ENGINE=InnoDB;
+
+CREATE TABLE BOARD_WORKFLOW_TRANSITIONS(
+    workflow_id BIGINT NOT NULL,
+    from_column_id BIGINT NOT NULL,
+    to_column_id BIGINT NOT NULL,
+    PRIMARY KEY (workflow_id, from_column_id, to_column_id),
+    CONSTRAINT board_workflows__transitions_fk FOREIGN KEY (workflow_id) REFERENCES BOARD_WORKFLOWS(id) ON DELETE CASCADE,
+    CONSTRAINT boards_columns__transitions_from_fk FOREIGN KEY (from_column_id) REFERENCES BOARDS_COLUMNS(id) ON DELETE CASCADE,
+    CONSTRAINT boards_columns__transitions_to_fk FOREIGN KEY (to_column_id) REFERENCES BOARDS_COLUMNS(id) ON DELETE CASCADE
+) ENGINE=InnoDB;
+
+--rollback DROP TABLE BOARD_WORKFLOW_TRANSITIONS; DROP TABLE BOARD_WORKFLOWS;
@@ -0,0 +1,8 @@
+--liquibase formatted sql
+--changeset junior:202610191700
+--comment: optimistic lock versions for cards and board columns
+
+ALTER TABLE CARDS ADD COLUMN version INT NOT NULL DEFAULT 0;
+ALTER TABLE BOARDS_COLUMNS ADD COLUMN version INT NOT NULL DEFAULT 0;
+
+--rollback ALTER TABLE CARDS DROP COLUMN version; ALTER TABLE BOARDS_COLUMNS DROP COLUMN version;
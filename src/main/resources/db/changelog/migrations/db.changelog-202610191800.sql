@@ -0,0 +1,8 @@
+--liquibase formatted sql
+--changeset junior:202610191800
+--comment: card claims for work-queue workers
+
+ALTER TABLE CARDS ADD COLUMN claimed_by VARCHAR(100) NULL;
+ALTER TABLE CARDS ADD COLUMN claimed_at TIMESTAMP NULL;
+
+--rollback ALTER TABLE CARDS DROP COLUMN claimed_at; ALTER TABLE CARDS DROP COLUMN claimed_by;
@@ -0,0 +1,28 @@
+--liquibase formatted sql
+--changeset junior:202610191900
+--comment: card dependencies and their transitive closure
+
+CREATE TABLE CARD_DEPENDENCIES(
+    card_id BIGINT NOT NULL,
+    depends_on_id BIGINT NOT NULL,
+    PRIMARY KEY (card_id, depends_on_id),
+    KEY card_dependencies_depends_on_idx (depends_on_id),
+    CONSTRAINT cards__card_dependencies_card_fk FOREIGN KEY (card_id) REFERENCES CARDS(id) ON DELETE CASCADE,
+    CONSTRAINT cards__card_dependencies_depends_on_fk FOREIGN KEY (depends_on_id) REFERENCES CARDS(id) ON DELETE CASCADE
+) ENGINE=InnoDB;
+
+-- Pares (bloqueador, dependente) alcançáveis e quantidade de caminhos entre eles; cada card
+-- participante tem também o par reflexivo com 1 caminho
+CREATE TABLE CARD_DEPENDENCY_CLOSURE(
+    ancestor_id BIGINT NOT NULL,
+    descendant_id BIGINT NOT NULL,
+    paths BIGINT NOT NULL,
+    PRIMARY KEY (ancestor_id, descendant_id),
+    KEY card_dependency_closure_descendant_idx (descendant_id, ancestor_id),
+    CONSTRAINT cards__card_dependency_closure_ancestor_fk FOREIGN KEY (ancestor_id) REFERENCES CARDS(id) ON DELETE CASCADE,
+    CONSTRAINT cards__card_dependency_closure_descendant_fk FOREIGN KEY (descendant_id) REFERENCES CARDS(id) ON DELETE CASCADE
+) ENGINE=InnoDB;
+
+ALTER TABLE BLOCKS ADD COLUMN dependency BOOLEAN NOT NULL DEFAULT FALSE;
+
+--rollback ALTER TABLE BLOCKS DROP COLUMN dependency; DROP TABLE CARD_DEPENDENCY_CLOSURE; DROP TABLE CARD_DEPENDENCIES;
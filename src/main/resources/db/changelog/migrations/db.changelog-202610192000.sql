@@ -0,0 +1,29 @@
+--liquibase formatted sql
+--changeset junior:202610192000
+--comment: card hierarchy closure table and subtree aggregates
+
+-- Pares (ancestral, descendente) da hierarquia de cards, com a distância entre eles; cada card
+-- da hierarquia tem também o par reflexivo com distância 0. Como cada card tem um único pai,
+-- há um único ancestral por distância, e o pai é o ancestral de distância 1
+CREATE TABLE CARD_TREE(
+    ancestor_id BIGINT NOT NULL,
+    descendant_id BIGINT NOT NULL,
+    depth INT NOT NULL,
+    PRIMARY KEY (ancestor_id, descendant_id),
+    UNIQUE KEY card_tree_descendant_depth_uk (descendant_id, depth),
+    KEY card_tree_ancestor_depth_idx (ancestor_id, depth),
+    CONSTRAINT cards__card_tree_ancestor_fk FOREIGN KEY (ancestor_id) REFERENCES CARDS(id) ON DELETE CASCADE,
+    CONSTRAINT cards__card_tree_descendant_fk FOREIGN KEY (descendant_id) REFERENCES CARDS(id) ON DELETE CASCADE
+) ENGINE=InnoDB;
+
+-- Totais da subárvore de cada card da hierarquia (sem o próprio card), mantidos a cada
+-- movimentação para FINAL ou CANCEL e a cada mudança de pai
+CREATE TABLE CARD_SUBTREES(
+    card_id BIGINT PRIMARY KEY,
+    descendants INT NOT NULL DEFAULT 0,
+    finished_descendants INT NOT NULL DEFAULT 0,
+    canceled_descendants INT NOT NULL DEFAULT 0,
+    CONSTRAINT cards__card_subtrees_fk FOREIGN KEY (card_id) REFERENCES CARDS(id) ON DELETE CASCADE
+) ENGINE=InnoDB;
+
+--rollback DROP TABLE CARD_SUBTREES; DROP TABLE CARD_TREE;
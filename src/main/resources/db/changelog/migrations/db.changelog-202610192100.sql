@@ -0,0 +1,17 @@
+--liquibase formatted sql
+--changeset junior:202610192100
+--comment: users and card assignees
+
+CREATE TABLE USERS(
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    name VARCHAR(100) NOT NULL,
+    UNIQUE KEY users_name_uk (name)
+) ENGINE=InnoDB;
+
+-- O índice entrega os cards de um usuário agrupados por coluna e na ordem da coluna, e cobre
+-- as contagens por coluna sem ler as linhas dos cards
+ALTER TABLE CARDS ADD COLUMN assignee_id BIGINT NULL,
+    ADD CONSTRAINT users__cards_fk FOREIGN KEY (assignee_id) REFERENCES USERS(id) ON DELETE SET NULL,
+    ADD INDEX cards_assignee_id_board_column_id_idx (assignee_id, board_column_id, card_rank);
+
+--rollback ALTER TABLE CARDS DROP FOREIGN KEY users__cards_fk, DROP INDEX cards_assignee_id_board_column_id_idx, DROP COLUMN assignee_id; DROP TABLE USERS;
@@ -0,0 +1,24 @@
+--liquibase formatted sql
+--changeset junior:202610192200
+--comment: card tags
+
+CREATE TABLE TAGS(
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    board_id BIGINT NOT NULL,
+    name VARCHAR(50) NOT NULL,
+    CONSTRAINT boards__tags_fk FOREIGN KEY (board_id) REFERENCES BOARDS(id) ON DELETE CASCADE,
+    UNIQUE KEY tags_board_id_name_uk (board_id, name)
+) ENGINE=InnoDB;
+
+-- A chave primária por tag entrega os cards de cada tag em ordem de ID, a ordem de inserção
+-- mais barata no índice em memória; o índice por card atende às tags de um card e às cascatas
+CREATE TABLE CARD_TAGS(
+    tag_id BIGINT NOT NULL,
+    card_id BIGINT NOT NULL,
+    PRIMARY KEY (tag_id, card_id),
+    KEY card_tags_card_id_idx (card_id),
+    CONSTRAINT tags__card_tags_fk FOREIGN KEY (tag_id) REFERENCES TAGS(id) ON DELETE CASCADE,
+    CONSTRAINT cards__card_tags_fk FOREIGN KEY (card_id) REFERENCES CARDS(id) ON DELETE CASCADE
+) ENGINE=InnoDB;
+
+--rollback DROP TABLE CARD_TAGS; DROP TABLE TAGS;
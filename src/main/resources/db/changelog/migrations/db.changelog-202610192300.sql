@@ -0,0 +1,10 @@
+--liquibase formatted sql
+--changeset junior:202610192300
+--comment: immutable workflow transitions
+
+-- Versões gravadas do fluxo não são alteradas: remover uma coluna não apaga as transições
+-- das versões antigas, que ignoram colunas que não existem mais ao serem compiladas
+ALTER TABLE BOARD_WORKFLOW_TRANSITIONS DROP FOREIGN KEY boards_columns__transitions_from_fk;
+ALTER TABLE BOARD_WORKFLOW_TRANSITIONS DROP FOREIGN KEY boards_columns__transitions_to_fk;
+
+--rollback ALTER TABLE BOARD_WORKFLOW_TRANSITIONS ADD CONSTRAINT boards_columns__transitions_from_fk FOREIGN KEY (from_column_id) REFERENCES BOARDS_COLUMNS(id) ON DELETE CASCADE; ALTER TABLE BOARD_WORKFLOW_TRANSITIONS ADD CONSTRAINT boards_columns__transitions_to_fk FOREIGN KEY (to_column_id) REFERENCES BOARDS_COLUMNS(id) ON DELETE CASCADE;
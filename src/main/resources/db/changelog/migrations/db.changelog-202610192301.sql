@@ -0,0 +1,16 @@
+--liquibase formatted sql
+--changeset junior:202610192301
+--comment: archived card tags
+
+-- As tags dos Cards arquivados saem de CARD_TAGS pela cascata de CARDS; esta tabela as
+-- preserva no arquivo e é removida junto com o Card arquivado ou com a tag
+CREATE TABLE CARD_TAGS_ARCHIVE(
+    tag_id BIGINT NOT NULL,
+    card_id BIGINT NOT NULL,
+    PRIMARY KEY (card_id, tag_id),
+    KEY card_tags_archive_tag_id_idx (tag_id),
+    CONSTRAINT tags__card_tags_archive_fk FOREIGN KEY (tag_id) REFERENCES TAGS(id) ON DELETE CASCADE,
+    CONSTRAINT cards_archive__card_tags_archive_fk FOREIGN KEY (card_id) REFERENCES CARDS_ARCHIVE(id) ON DELETE CASCADE
+) ENGINE=InnoDB;
+
+--rollback DROP TABLE CARD_TAGS_ARCHIVE;
@@ -0,0 +1,11 @@
+--liquibase formatted sql
+--changeset junior:202610192302
+--comment: assignee, rank and version of archived cards
+
+-- Os Cards já arquivados ficam sem responsável e sem posição; a versão parte de 0
+ALTER TABLE CARDS_ARCHIVE ADD COLUMN assignee_id BIGINT NULL,
+    ADD COLUMN card_rank VARCHAR(255) CHARACTER SET ascii COLLATE ascii_bin NULL,
+    ADD COLUMN version INT NOT NULL DEFAULT 0,
+    ADD CONSTRAINT users__cards_archive_fk FOREIGN KEY (assignee_id) REFERENCES USERS(id) ON DELETE SET NULL;
+
+--rollback ALTER TABLE CARDS_ARCHIVE DROP FOREIGN KEY users__cards_archive_fk, DROP COLUMN version, DROP COLUMN card_rank, DROP COLUMN assignee_id;
@@ -0,0 +1,10 @@
+--liquibase formatted sql
+--changeset junior:202610192303
+--comment: board structure version replacing column versions
+
+-- Uma única versão por board identifica o conjunto de colunas: edições da estrutura e
+-- gravações de fluxo alteram apenas a linha do board, e não todas as colunas
+ALTER TABLE BOARDS ADD COLUMN structure_version INT NOT NULL DEFAULT 0;
+ALTER TABLE BOARDS_COLUMNS DROP COLUMN version;
+
+--rollback ALTER TABLE BOARDS_COLUMNS ADD COLUMN version INT NOT NULL DEFAULT 0; ALTER TABLE BOARDS DROP COLUMN structure_version;
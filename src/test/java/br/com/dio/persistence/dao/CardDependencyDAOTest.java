@@ -0,0 +1,159 @@
+package br.com.dio.persistence.dao;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Fecho transitivo com contagem de caminhos, conferido com leituras diretas de
+ * CARD_DEPENDENCY_CLOSURE ("ancestral:descendente" -> caminhos, sem os pares reflexivos).
+ */
+@EnabledIfSystemProperty(named = "board.test.database", matches = "true")
+class CardDependencyDAOTest {
+
+    private Connection connection;
+    private CardDependencyDAO dao;
+    private List<Long> cards;
+
+    @BeforeAll
+    static void migrate() throws Exception {
+        TestDatabase.migrate();
+    }
+
+    @BeforeEach
+    void setUp() throws Exception {
+        connection = TestDatabase.connect();
+        dao = new CardDependencyDAO(connection);
+        cards = TestDatabase.insertCards(connection, 30);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        connection.rollback();
+        connection.close();
+    }
+
+    @Test
+    void chainReachesEveryLaterCard() throws Exception {
+        // 2 depende de 1, 3 depende de 2
+        link(2, 1);
+        link(3, 2);
+
+        assertEquals(Map.of(pair(1, 2), 1, pair(2, 3), 1, pair(1, 3), 1), closure());
+        assertEquals(List.of(card(2), card(3)), dao.findTransitiveDependentIds(card(1)));
+
+        assertTrue(dao.delete(card(2), card(1)));
+        assertEquals(Map.of(pair(2, 3), 1), closure());
+    }
+
+    @Test
+    void diamondCountsBothPathsAndKeepsThePairUntilTheLastOneIsRemoved() throws Exception {
+        // 4 depende de 2 e de 3, que dependem de 1
+        link(2, 1);
+        link(3, 1);
+        link(4, 2);
+        link(4, 3);
+
+        assertEquals(2, closure().get(pair(1, 4)));
+
+        assertTrue(dao.delete(card(4), card(2)));
+        assertEquals(1, closure().get(pair(1, 4)));
+        assertTrue(dao.delete(card(3), card(1)));
+        assertEquals(Map.of(pair(1, 2), 1, pair(3, 4), 1), closure());
+    }
+
+    @Test
+    void repeatedEdgesAreIgnored() throws Exception {
+        link(2, 1);
+
+        assertFalse(dao.insert(card(2), card(1)));
+        assertEquals(Map.of(pair(1, 2), 1), closure());
+        assertTrue(dao.delete(card(2), card(1)));
+        assertFalse(dao.delete(card(2), card(1)));
+        assertEquals(Map.of(), closure());
+    }
+
+    @Test
+    void randomGraphMatchesThePathCount() throws Exception {
+        // Arestas sempre de um card para um anterior: o grafo não tem ciclos
+        var random = new Random(47);
+        List<int[]> edges = new ArrayList<>();
+        for (int dependent = 1; dependent < cards.size(); dependent++) {
+            for (int blocker = 0; blocker < dependent; blocker++) {
+                if (random.nextInt(6) == 0) {
+                    edges.add(new int[]{dependent, blocker});
+                }
+            }
+        }
+        for (var edge : edges) {
+            link(edge[0], edge[1]);
+        }
+        assertEquals(pathCounts(edges), closure());
+
+        // Remove metade das arestas, em ordem aleatória
+        for (int removed = edges.size() / 2; removed > 0; removed--) {
+            var edge = edges.remove(random.nextInt(edges.size()));
+            assertTrue(dao.delete(card(edge[0]), card(edge[1])));
+        }
+        assertEquals(pathCounts(edges), closure());
+    }
+
+    private void link(final int dependent, final int blocker) throws Exception {
+        dao.ensureNodes(card(dependent), card(blocker));
+        assertTrue(dao.insert(card(dependent), card(blocker)));
+    }
+
+    private long card(final int index) {
+        return cards.get(index);
+    }
+
+    private String pair(final int ancestor, final int descendant) {
+        return card(ancestor) + ":" + card(descendant);
+    }
+
+    // Caminhos entre cada par de cards, contados pelo grafo em memória
+    private Map<String, Integer> pathCounts(final List<int[]> edges) {
+        Map<String, Integer> expected = new HashMap<>();
+        for (int ancestor = 0; ancestor < cards.size(); ancestor++) {
+            var paths = new int[cards.size()];
+            paths[ancestor] = 1;
+            // Dependentes têm índice maior que os bloqueadores
+            for (int node = ancestor + 1; node < cards.size(); node++) {
+                for (var edge : edges) {
+                    if (edge[0] == node) {
+                        paths[node] += paths[edge[1]];
+                    }
+                }
+                if (paths[node] > 0) {
+                    expected.put(pair(ancestor, node), paths[node]);
+                }
+            }
+        }
+        return expected;
+    }
+
+    private Map<String, Integer> closure() throws Exception {
+        var sql = "SELECT ancestor_id, descendant_id, paths FROM CARD_DEPENDENCY_CLOSURE WHERE ancestor_id <> descendant_id AND ancestor_id IN (%s);"
+                .formatted(String.join(",", cards.stream().map(String::valueOf).toList()));
+        Map<String, Integer> pairs = new HashMap<>();
+        try(var statement = connection.createStatement(); var resultSet = statement.executeQuery(sql)){
+            while (resultSet.next()) {
+                pairs.put(resultSet.getLong("ancestor_id") + ":" + resultSet.getLong("descendant_id"), resultSet.getInt("paths"));
+            }
+        }
+        return pairs;
+    }
+}
@@ -0,0 +1,208 @@
+package br.com.dio.persistence.dao;
+
+import br.com.dio.persistence.dao.CardHierarchyDAO.Totals;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.sql.Connection;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Fecho da hierarquia e totais das subárvores, conferidos com leituras diretas de CARD_TREE
+ * ("ancestral:descendente:distância") e CARD_SUBTREES. As movimentações seguem os passos de
+ * {@link br.com.dio.service.CardHierarchyService#setParent}, com os totais calculados no teste.
+ */
+@EnabledIfSystemProperty(named = "board.test.database", matches = "true")
+class CardHierarchyDAOTest {
+
+    private Connection connection;
+    private CardHierarchyDAO dao;
+    private List<Long> cards;
+
+    // Pai de cada card (pelo índice em cards), -1 para raízes
+    private int[] parents;
+
+    @BeforeAll
+    static void migrate() throws Exception {
+        TestDatabase.migrate();
+    }
+
+    @BeforeEach
+    void setUp() throws Exception {
+        connection = TestDatabase.connect();
+        dao = new CardHierarchyDAO(connection);
+        cards = TestDatabase.insertCards(connection, 25);
+        parents = new int[cards.size()];
+        Arrays.fill(parents, -1);
+        for (var id : cards) {
+            dao.ensureNode(id);
+        }
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        connection.rollback();
+        connection.close();
+    }
+
+    @Test
+    void attachLinksTheWholeSubtreeBelowEveryAncestor() throws Exception {
+        // 0 -> 1 -> 2 e 3 -> 4, depois 3 abaixo de 2
+        setParent(1, 0);
+        setParent(2, 1);
+        setParent(4, 3);
+        setParent(3, 2);
+
+        assertEquals(expectedTree(), tree());
+        assertEquals(List.of(4, 3, 2, 1, 0), descendants(0, 1, 2, 3, 4));
+    }
+
+    @Test
+    void detachRemovesOnlyThePairsWithTheOldAncestors() throws Exception {
+        setParent(1, 0);
+        setParent(2, 1);
+        setParent(3, 2);
+        setParent(4, 0);
+
+        // Move 2 (com 3) para baixo de 4
+        setParent(2, 4);
+        assertEquals(expectedTree(), tree());
+        assertEquals(List.of(4, 0, 1, 2), descendants(0, 1, 2, 4));
+
+        // E torna 2 raiz
+        setParent(2, -1);
+        assertEquals(expectedTree(), tree());
+        assertEquals(List.of(2, 0, 1, 0), descendants(0, 1, 2, 4));
+    }
+
+    @Test
+    void totalsReachEveryAncestor() throws Exception {
+        setParent(1, 0);
+        setParent(2, 1);
+        setParent(3, 0);
+
+        dao.addToAncestors(card(2), new Totals(0, 1, 0));
+        dao.addToAncestors(card(3), new Totals(0, 0, 1));
+
+        assertEquals(List.of(3, 1, 1), subtree(0));
+        assertEquals(List.of(1, 1, 0), subtree(1));
+        assertEquals(List.of(0, 0, 0), subtree(2));
+    }
+
+    @Test
+    void randomMovesKeepTheClosureConsistent() throws Exception {
+        var random = new Random(48);
+        for (int move = 0; move < 200; move++) {
+            var card = random.nextInt(cards.size());
+            var parent = random.nextInt(cards.size() + 5) - 5;
+            // Raiz (pai negativo), ou um pai fora da subárvore do card
+            if (parent < 0) {
+                setParent(card, -1);
+            } else if (!inSubtree(card, parent)) {
+                setParent(card, parent);
+            }
+        }
+
+        assertEquals(expectedTree(), tree());
+        Map<Long, Integer> expected = new HashMap<>();
+        for (int i = 0; i < cards.size(); i++) {
+            expected.put(card(i), subtreeSize(i) - 1);
+        }
+        assertEquals(expected, descendants());
+    }
+
+    private void setParent(final int card, final int parent) throws Exception {
+        var totals = new Totals(subtreeSize(card), 0, 0);
+        if (parents[card] >= 0) {
+            dao.addToAncestors(card(card), totals.negate());
+            dao.detach(card(card));
+        }
+        if (parent >= 0) {
+            dao.attach(card(card), card(parent));
+            dao.addToAncestors(card(card), totals);
+        }
+        parents[card] = parent;
+    }
+
+    private long card(final int index) {
+        return cards.get(index);
+    }
+
+    private boolean inSubtree(final int root, final int card) {
+        for (var node = card; node >= 0; node = parents[node]) {
+            if (node == root) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private int subtreeSize(final int root) {
+        var size = 0;
+        for (int i = 0; i < cards.size(); i++) {
+            if (inSubtree(root, i)) {
+                size++;
+            }
+        }
+        return size;
+    }
+
+    // Pares esperados, subindo de cada card até a raiz
+    private Set<String> expectedTree() {
+        Set<String> pairs = new HashSet<>();
+        for (int i = 0; i < cards.size(); i++) {
+            var depth = 0;
+            for (var node = i; node >= 0; node = parents[node]) {
+                pairs.add(card(node) + ":" + card(i) + ":" + depth++);
+            }
+        }
+        return pairs;
+    }
+
+    private Set<String> tree() throws Exception {
+        var sql = "SELECT ancestor_id, descendant_id, depth FROM CARD_TREE WHERE descendant_id IN (%s);".formatted(ids());
+        Set<String> pairs = new HashSet<>();
+        try(var statement = connection.createStatement(); var resultSet = statement.executeQuery(sql)){
+            while (resultSet.next()) {
+                pairs.add(resultSet.getLong("ancestor_id") + ":" + resultSet.getLong("descendant_id") + ":" + resultSet.getInt("depth"));
+            }
+        }
+        return pairs;
+    }
+
+    private Map<Long, Integer> descendants() throws Exception {
+        var sql = "SELECT card_id, descendants FROM CARD_SUBTREES WHERE card_id IN (%s);".formatted(ids());
+        Map<Long, Integer> totals = new HashMap<>();
+        try(var statement = connection.createStatement(); var resultSet = statement.executeQuery(sql)){
+            while (resultSet.next()) {
+                totals.put(resultSet.getLong("card_id"), resultSet.getInt("descendants"));
+            }
+        }
+        return totals;
+    }
+
+    private List<Integer> descendants(final int... indexes) throws Exception {
+        var totals = descendants();
+        return Arrays.stream(indexes).mapToObj(index -> totals.get(card(index))).toList();
+    }
+
+    private List<Integer> subtree(final int index) throws Exception {
+        var subtree = dao.findSubtree(card(index));
+        return List.of(subtree.descendants(), subtree.finishedDescendants(), subtree.canceledDescendants());
+    }
+
+    private String ids() {
+        return String.join(",", cards.stream().map(String::valueOf).toList());
+    }
+}
@@ -0,0 +1,74 @@
+package br.com.dio.persistence.dao;
+
+import br.com.dio.persistence.migration.MigrationStrategy;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+import static br.com.dio.persistence.config.ConnectionConfig.getConnection;
+
+/**
+ * Acesso ao banco de dados dos testes de DAO, que só rodam com {@code gradle test -PdatabaseTests}
+ * e usam o mesmo banco configurado em {@link br.com.dio.persistence.config.ConnectionConfig}.
+ * Cada teste trabalha em uma transação que é desfeita ao final, sem deixar dados no banco.
+ */
+final class TestDatabase {
+
+    private TestDatabase() {
+    }
+
+    /**
+     * Aplica as migrações pendentes, sem reaproveitar a impressão digital da aplicação.
+     */
+    static void migrate() throws IOException {
+        var checksumFile = Files.createTempFile("board-migration", ".sha256");
+        try {
+            Files.delete(checksumFile);
+            new MigrationStrategy(checksumFile).executeMigration();
+        } finally {
+            Files.deleteIfExists(checksumFile);
+        }
+    }
+
+    /**
+     * @return Conexão sem auto-commit; o chamador deve desfazer a transação ao final
+     */
+    static Connection connect() throws SQLException {
+        return getConnection();
+    }
+
+    /**
+     * Cria um board com uma coluna INITIAL e cards nela.
+     * @param connection Conexão do teste
+     * @param count Quantidade de cards
+     * @return IDs dos cards, na ordem de criação
+     */
+    static List<Long> insertCards(final Connection connection, final int count) throws SQLException {
+        var boardId = insert(connection, "INSERT INTO BOARDS (name) VALUES ('Teste');");
+        var columnId = insert(connection,
+                "INSERT INTO BOARDS_COLUMNS (name, `order`, kind, board_id) VALUES ('A fazer', 0, 'INITIAL', %s);"
+                        .formatted(boardId));
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            ids.add(insert(connection,
+                    "INSERT INTO CARDS (title, description, board_column_id, card_rank) VALUES ('Card %1$s', '', %2$s, 'V%1$07d');"
+                            .formatted(i, columnId)));
+        }
+        return ids;
+    }
+
+    private static long insert(final Connection connection, final String sql) throws SQLException {
+        try(var statement = connection.createStatement()){
+            statement.executeUpdate(sql, Statement.RETURN_GENERATED_KEYS);
+            try(var keys = statement.getGeneratedKeys()){
+                keys.next();
+                return keys.getLong(1);
+            }
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package br.com.dio.persistence.id;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class IdGeneratorTest {
+
+    // 2026-01-01T00:00:00Z, início da contagem de tempo dos IDs
+    private static final long EPOCH_MILLIS = 1767225600000L;
+
+    @Test
+    void composePlacesMillisNodeAndSequence() {
+        // Nó padrão 0: milissegundos nos 41 bits altos e sequência nos 12 bits baixos
+        assertEquals(5L << 22 | 7, IdGenerator.compose(5L << 12 | 7));
+        assertEquals(0L, IdGenerator.compose(0));
+    }
+
+    @Test
+    void sequenceOverflowMovesToTheNextMillisecond() {
+        var lastOfMillisecond = IdGenerator.compose(5L << 12 | 4095);
+        var firstOfNext = IdGenerator.compose((5L << 12 | 4095) + 1);
+
+        assertEquals(5L << 22 | 4095, lastOfMillisecond);
+        assertEquals(6L << 22, firstOfNext);
+        assertTrue(firstOfNext > lastOfMillisecond);
+    }
+
+    @Test
+    void reserveFollowsTheClock() {
+        var before = System.currentTimeMillis() - EPOCH_MILLIS;
+        var state = IdGenerator.reserve(1);
+        assertTrue(state >>> 12 >= before);
+    }
+
+    @Test
+    void idsAreStrictlyIncreasingBeyondFourThousandPerMillisecond() {
+        var previous = IdGenerator.compose(IdGenerator.reserve(1));
+        for (int i = 0; i < 20_000; i++) {
+            var next = IdGenerator.compose(IdGenerator.reserve(1));
+            assertTrue(next > previous, "ID %s não é maior que %s".formatted(next, previous));
+            previous = next;
+        }
+    }
+
+    @Test
+    void reservedBlocksDoNotOverlap() {
+        var block = IdGenerator.reserve(5_000);
+        var next = IdGenerator.reserve(1);
+        assertTrue(next >= block + 5_000);
+        // Um bloco maior que a sequência de um milissegundo continua crescente ao compor
+        assertTrue(IdGenerator.compose(block + 4_999) > IdGenerator.compose(block));
+    }
+
+    @Test
+    void concurrentReservationsAreUnique() throws Exception {
+        var threads = 4;
+        var perThread = 5_000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<long[]>> results = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                Callable<long[]> task = () -> {
+                    var ids = new long[perThread];
+                    for (int i = 0; i < perThread; i++) {
+                        ids[i] = IdGenerator.compose(IdGenerator.reserve(1));
+                    }
+                    return ids;
+                };
+                results.add(executor.submit(task));
+            }
+            Set<Long> unique = new HashSet<>();
+            for (var result : results) {
+                for (var id : result.get()) {
+                    unique.add(id);
+                }
+            }
+            assertEquals(threads * perThread, unique.size());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void disabledByDefault() {
+        assertFalse(IdGenerator.isEnabled());
+        assertNull(IdGenerator.nextOrNull());
+        assertNull(IdGenerator.reserveBlock(10));
+    }
+
+    @Test
+    void blockIdUsesTheParametersBoundByBindBlock() {
+        var expression = IdGenerator.blockId("ROW_NUMBER() OVER (ORDER BY id)");
+        assertEquals(3, expression.chars().filter(c -> c == '?').count());
+        assertTrue(expression.contains(">> 12) << 22"));
+        assertTrue(expression.contains("& 4095"));
+    }
+}
@@ -0,0 +1,100 @@
+package br.com.dio.persistence.rank;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CardRankTest {
+
+    @Test
+    void firstKeyOfEmptyColumnStartsAtTheMiddle() {
+        assertEquals("V0000001", CardRank.after(null));
+        assertEquals("V", CardRank.between(null, null));
+    }
+
+    @Test
+    void afterIncrementsTheLastDigitAtFixedWidth() {
+        assertEquals("V0000001", CardRank.after("V"));
+        assertEquals("V0000002", CardRank.after("V0000001"));
+        // Transporte: os dígitos zerados são descartados para a chave não terminar em '0'
+        assertEquals("V000001", CardRank.after("V000000z"));
+        assertEquals("W", CardRank.after("Vzzzzzzz"));
+    }
+
+    @Test
+    void afterExtendsTheKeyWhenAllDigitsAreMaximal() {
+        assertEquals("zzzzzzzzV", CardRank.after("zzzzzzzz"));
+    }
+
+    @Test
+    void successiveAppendsStayOrderedWithoutGrowing() {
+        String last = null;
+        for (int i = 0; i < 10_000; i++) {
+            var next = CardRank.after(last);
+            if (last != null) {
+                assertTrue(next.compareTo(last) > 0, () -> "chave fora de ordem após " + next);
+            }
+            assertTrue(next.length() <= 8);
+            last = next;
+        }
+    }
+
+    @Test
+    void betweenReturnsTheMidpoint() {
+        assertEquals("U", CardRank.between("P", "a"));
+        assertEquals("F", CardRank.between(null, "V"));
+        assertEquals("k", CardRank.between("V", null));
+        // Dígitos consecutivos: a chave desce um nível
+        assertEquals("AV", CardRank.between("A", "B"));
+        assertEquals("AzV", CardRank.between("Az", "B"));
+    }
+
+    @Test
+    void betweenAlwaysFindsAKeyStrictlyInside() {
+        var random = new Random(42);
+        List<String> column = new ArrayList<>(List.of(CardRank.after(null)));
+        for (int i = 0; i < 2_000; i++) {
+            var position = random.nextInt(column.size() + 1);
+            var lower = position == 0 ? null : column.get(position - 1);
+            var upper = position == column.size() ? null : column.get(position);
+            var key = CardRank.between(lower, upper);
+            if (lower != null) {
+                assertTrue(key.compareTo(lower) > 0);
+            }
+            if (upper != null) {
+                assertTrue(key.compareTo(upper) < 0);
+            }
+            assertFalse(key.endsWith("0"));
+            column.add(position, key);
+        }
+    }
+
+    @Test
+    void repeatedInsertionsAtTheSameSpotGrowSlowly() {
+        // Sem renumeração: cada inserção no mesmo ponto aumenta a chave em no máximo um dígito
+        var lower = "V";
+        var upper = "W";
+        for (int i = 0; i < 100; i++) {
+            var key = CardRank.between(lower, upper);
+            assertTrue(key.compareTo(lower) > 0 && key.compareTo(upper) < 0);
+            upper = key;
+        }
+        assertTrue(upper.length() <= 101);
+    }
+
+    @Test
+    void rejectsInvalidKeys() {
+        assertThrows(IllegalArgumentException.class, () -> CardRank.between("b", "a"));
+        assertThrows(IllegalArgumentException.class, () -> CardRank.between("a", "a"));
+        assertThrows(IllegalArgumentException.class, () -> CardRank.between("V0", null));
+        assertThrows(IllegalArgumentException.class, () -> CardRank.after("V-"));
+        assertThrows(IllegalArgumentException.class, () -> CardRank.after(""));
+    }
+}
@@ -0,0 +1,153 @@
+package br.com.dio.service;
+
+import br.com.dio.persistence.entity.BoardColumnEntity;
+import br.com.dio.persistence.entity.BoardColumnKindEnum;
+import br.com.dio.persistence.entity.BoardEntity;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static br.com.dio.persistence.entity.BoardColumnKindEnum.CANCEL;
+import static br.com.dio.persistence.entity.BoardColumnKindEnum.FINAL;
+import static br.com.dio.persistence.entity.BoardColumnKindEnum.INITIAL;
+import static br.com.dio.persistence.entity.BoardColumnKindEnum.PENDING;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Validação e leitura dos arquivos de importação. Só registros rejeitados são usados:
+ * nenhum lote chega a ser gravado, então o serviço não precisa de banco de dados.
+ */
+class CardImportServiceTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void rejectsInvalidCsvRecordsWithTheirLines() throws Exception {
+        var file = write("cards.csv", """
+                Title,Description,Column,Block_Reason
+                ,sem título,,
+                Card,"descrição com ""aspas"", vírgula e
+                quebra de linha",Inexistente,
+                Card,,feito,motivo
+                Card,,4,motivo
+                Card,a,b
+                %s,,,
+                """.formatted("x".repeat(256)));
+
+        var listener = new RecordingListener();
+        var result = new CardImportService(null).importCards(board(), file, listener);
+
+        assertEquals(List.of(
+                "2: O título do card é obrigatório",
+                "3: A coluna Inexistente não pertence ao board",
+                "5: O card está em uma coluna do tipo FINAL e não pode ser bloqueado",
+                "6: O card está em uma coluna do tipo CANCEL e não pode ser bloqueado",
+                "7: Esperados 4 campos, encontrados 3",
+                "8: Campos textuais devem ter no máximo 255 caracteres"), listener.rejections);
+        assertEquals(6, result.processed());
+        assertEquals(0, result.imported());
+        assertEquals(6, result.rejected());
+        assertEquals(List.of("6/0/6"), listener.progress);
+    }
+
+    @Test
+    void rejectsMalformedJsonLinesAndContinues() throws Exception {
+        var file = write("cards.jsonl", """
+                {"title": "", "column": "1"}
+                não é json
+
+                {"title":"Card","column":"99"}
+                {"title":"Card","blockReason":"motivo","column":"Cancelado"}
+                {"title":"Card","tags":["a"]}
+                {"title":"Card","description":"sem fim
+                """);
+
+        var listener = new RecordingListener();
+        var result = new CardImportService(null).importCards(board(), file, listener);
+
+        assertEquals(6, listener.rejections.size());
+        assertEquals("1: O título do card é obrigatório", listener.rejections.get(0));
+        assertTrue(listener.rejections.get(1).startsWith("2: JSON inválido"), listener.rejections.get(1));
+        // A linha em branco é ignorada, mas conta na numeração
+        assertEquals("4: A coluna 99 não pertence ao board", listener.rejections.get(2));
+        assertEquals("5: O card está em uma coluna do tipo CANCEL e não pode ser bloqueado", listener.rejections.get(3));
+        assertTrue(listener.rejections.get(4).startsWith("6: JSON inválido"), listener.rejections.get(4));
+        assertTrue(listener.rejections.get(5).startsWith("7: JSON inválido"), listener.rejections.get(5));
+        assertEquals(6, result.processed());
+        assertEquals(6, result.rejected());
+    }
+
+    @Test
+    void emptyFileImportsNothing() throws Exception {
+        var listener = new RecordingListener();
+        var result = new CardImportService(null).importCards(board(), write("vazio.csv", ""), listener);
+
+        assertEquals(0, result.processed());
+        assertEquals(List.of("0/0/0"), listener.progress);
+    }
+
+    @Test
+    void rejectsFilesWithoutTitleColumnOrUnknownFormat() throws IOException {
+        var service = new CardImportService(null);
+        var withoutTitle = write("cards.csv", "description,column\na,b\n");
+        var xml = write("cards.xml", "<cards/>");
+
+        assertThrows(IOException.class, () -> service.importCards(board(), withoutTitle, new RecordingListener()));
+        assertThrows(IllegalArgumentException.class, () -> service.importCards(board(), xml, new RecordingListener()));
+        assertThrows(IllegalArgumentException.class, () -> new CardImportService(null, 0));
+    }
+
+    private Path write(final String name, final String content) throws IOException {
+        return Files.writeString(dir.resolve(name), content, StandardCharsets.UTF_8);
+    }
+
+    private static BoardEntity board() {
+        var board = new BoardEntity();
+        board.setId(1L);
+        board.setName("Board");
+        board.getBoardColumns().add(column(board, 1L, "A fazer", INITIAL));
+        board.getBoardColumns().add(column(board, 2L, "Fazendo", PENDING));
+        board.getBoardColumns().add(column(board, 3L, "Feito", FINAL));
+        board.getBoardColumns().add(column(board, 4L, "Cancelado", CANCEL));
+        return board;
+    }
+
+    private static BoardColumnEntity column(final BoardEntity board, final Long id, final String name,
+                                            final BoardColumnKindEnum kind) {
+        var column = new BoardColumnEntity();
+        column.setId(id);
+        column.setName(name);
+        column.setOrder(id.intValue());
+        column.setKind(kind);
+        column.setBoard(board);
+        return column;
+    }
+
+    /**
+     * Receptor que guarda rejeições como "linha: motivo" e progresso como "lidos/gravados/rejeitados".
+     */
+    private static final class RecordingListener implements CardImportService.Listener {
+
+        private final List<String> rejections = new ArrayList<>();
+        private final List<String> progress = new ArrayList<>();
+
+        @Override
+        public void onProgress(final long processed, final long imported, final long rejected) {
+            progress.add(processed + "/" + imported + "/" + rejected);
+        }
+
+        @Override
+        public void onRejected(final long line, final String reason) {
+            rejections.add(line + ": " + reason);
+        }
+    }
+}
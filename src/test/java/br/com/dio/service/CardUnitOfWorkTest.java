@@ -0,0 +1,214 @@
+package br.com.dio.service;
+
+import br.com.dio.dto.BoardColumnInfoDTO;
+import br.com.dio.exception.CardBlockedException;
+import br.com.dio.exception.OptimisticLockException;
+import br.com.dio.persistence.entity.BoardColumnEntity;
+import br.com.dio.persistence.entity.CardEntity;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static br.com.dio.persistence.entity.BoardColumnKindEnum.CANCEL;
+import static br.com.dio.persistence.entity.BoardColumnKindEnum.FINAL;
+import static br.com.dio.persistence.entity.BoardColumnKindEnum.INITIAL;
+import static br.com.dio.persistence.entity.BoardColumnKindEnum.PENDING;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CardUnitOfWorkTest {
+
+    // Board exclusivo deste teste no cache de fluxos compilados
+    private static final long BOARD_ID = 45_000L;
+
+    private static final List<BoardColumnInfoDTO> COLUMNS = List.of(
+            new BoardColumnInfoDTO(1L, 0, INITIAL, 3),
+            new BoardColumnInfoDTO(2L, 1024, PENDING, 3),
+            new BoardColumnInfoDTO(3L, 2048, FINAL, 3),
+            new BoardColumnInfoDTO(4L, 3072, CANCEL, 3));
+
+    // Comandos que gravam as alterações da sessão
+    private static final String INSERT_CARDS = "INSERT INTO CARDS";
+    private static final String MOVE = "SET c.board_column_id";
+    private static final String INCREMENT_VERSION = "UPDATE CARDS SET version";
+    private static final String INSERT_BLOCKS = "INSERT INTO BLOCKS";
+    private static final String UNBLOCK = "UPDATE BLOCKS SET unblocked_at";
+
+    // Cards existentes: ID -> (coluna, versão, motivo do bloqueio em aberto)
+    private final Map<Long, Object[]> cards = new HashMap<>();
+
+    private RecordingConnection database;
+    private CardUnitOfWork unitOfWork;
+
+    @BeforeEach
+    void setUp() {
+        cards.put(10L, new Object[]{1L, 7, null});
+        cards.put(20L, new Object[]{2L, 1, null});
+        cards.put(30L, new Object[]{2L, 4, null});
+        cards.put(40L, new Object[]{1L, 2, "Aguardando cliente"});
+        database = new RecordingConnection().onQuery("blocks_amount", parameters -> {
+            var card = cards.get((Long) parameters.get(0));
+            if (card == null) {
+                return List.of();
+            }
+            Map<String, Object> row = new HashMap<>();
+            row.put("c.id", parameters.get(0));
+            row.put("c.title", "Card " + parameters.get(0));
+            row.put("c.board_column_id", card[0]);
+            row.put("bc.board_id", BOARD_ID);
+            row.put("c.version", card[1]);
+            row.put("b.block_reason", card[2]);
+            return List.of(row);
+        });
+        unitOfWork = new CardUnitOfWork(database.proxy());
+    }
+
+    @Test
+    void flushWritesEachKindOfChangeInItsOwnBatchInOneTransaction() throws Exception {
+        unitOfWork.create(newCard("Novo 1"));
+        unitOfWork.moveToColumn(30L, 3L, COLUMNS);
+        unitOfWork.block(20L, "Aguardando aprovação", COLUMNS);
+        unitOfWork.moveToNextColumn(10L, COLUMNS);
+        unitOfWork.unblock(40L, "Cliente respondeu");
+        unitOfWork.create(newCard("Novo 2"));
+        database.executions().clear();
+
+        assertEquals(6, unitOfWork.flush());
+
+        assertEquals(List.of(INSERT_CARDS, INSERT_CARDS, MOVE, MOVE, INCREMENT_VERSION, INCREMENT_VERSION,
+                INSERT_BLOCKS, UNBLOCK), sessionWrites());
+        // Movimentações e versões em ordem de ID do card, não de registro
+        var moves = database.executions(MOVE);
+        assertEquals(List.of(10L, 30L), moves.stream().map(CardUnitOfWorkTest::cardId).toList());
+        // As versões conferidas são as lidas no registro
+        assertEquals(List.of(7, 4), moves.stream().map(CardUnitOfWorkTest::cardVersion).toList());
+        assertEquals(List.of(List.of(20L, 1), List.of(40L, 2)),
+                database.executions(INCREMENT_VERSION).stream().map(execution -> execution.parameters()).toList());
+        assertEquals(1, database.commits());
+        assertEquals(0, database.rollbacks());
+        assertTrue(unitOfWork.isEmpty());
+    }
+
+    @Test
+    void versionConflictWritesNothingAndKeepsTheChangesPending() throws Exception {
+        unitOfWork.moveToNextColumn(10L, COLUMNS);
+        unitOfWork.moveToColumn(30L, 3L, COLUMNS);
+        unitOfWork.block(20L, "Aguardando aprovação", COLUMNS);
+        // Outra operação alterou o card 30 depois do registro
+        database.onUpdate(MOVE, parameters -> parameters.contains(30L) ? 0 : 1);
+
+        var ex = assertThrows(OptimisticLockException.class, unitOfWork::flush);
+
+        assertTrue(ex.getMessage().contains("card 30"), ex.getMessage());
+        assertEquals(0, database.commits());
+        assertEquals(1, database.rollbacks());
+        // Nenhum comando depois das movimentações em conflito
+        assertTrue(database.executions(INSERT_BLOCKS).isEmpty());
+        assertEquals(3, unitOfWork.size());
+
+        // Sem o conflito, a mesma sessão pode ser gravada
+        database.onUpdate(MOVE, parameters -> 1);
+        assertEquals(3, unitOfWork.flush());
+        assertEquals(1, database.commits());
+    }
+
+    @Test
+    void blockVersionConflictRollsBackTheMoves() throws Exception {
+        unitOfWork.moveToNextColumn(10L, COLUMNS);
+        unitOfWork.unblock(40L, "Cliente respondeu");
+        database.onUpdate(INCREMENT_VERSION, parameters -> 0);
+
+        var ex = assertThrows(OptimisticLockException.class, unitOfWork::flush);
+
+        assertTrue(ex.getMessage().contains("card 40"), ex.getMessage());
+        assertEquals(1, database.executions(MOVE).size());
+        assertTrue(database.executions(UNBLOCK).isEmpty());
+        assertEquals(1, database.rollbacks());
+        assertEquals(2, unitOfWork.size());
+    }
+
+    @Test
+    void unblockWaitingForDependenciesRollsBackTheSession() throws Exception {
+        unitOfWork.moveToNextColumn(10L, COLUMNS);
+        unitOfWork.unblock(40L, "Cliente respondeu");
+        // Dependência incluída depois do registro do desbloqueio
+        database.onQuery("FROM CARD_DEPENDENCIES d", parameters ->
+                parameters.contains(40L) ? List.of(Map.of("d.depends_on_id", 20L)) : List.of());
+
+        var ex = assertThrows(CardBlockedException.class, unitOfWork::flush);
+
+        assertTrue(ex.getMessage().contains("card 40 aguarda a finalização dos cards [20]"), ex.getMessage());
+        assertTrue(database.executions(UNBLOCK).isEmpty());
+        assertEquals(0, database.commits());
+        assertEquals(1, database.rollbacks());
+        assertEquals(2, unitOfWork.size());
+    }
+
+    @Test
+    void onlyOneChangePerCardIsAccepted() throws Exception {
+        unitOfWork.moveToNextColumn(10L, COLUMNS);
+
+        var ex = assertThrows(IllegalStateException.class, () -> unitOfWork.block(10L, "Motivo", COLUMNS));
+        assertTrue(ex.getMessage().contains("uma movimentação pendente"), ex.getMessage());
+        assertThrows(IllegalStateException.class, () -> unitOfWork.moveToColumn(10L, 2L, COLUMNS));
+        assertEquals(1, unitOfWork.size());
+
+        unitOfWork.discard();
+        unitOfWork.block(10L, "Motivo", COLUMNS);
+        assertEquals(1, unitOfWork.size());
+    }
+
+    @Test
+    void registrationAppliesTheServiceRules() {
+        cards.put(50L, new Object[]{3L, 1, null});
+
+        assertThrows(CardBlockedException.class, () -> unitOfWork.moveToNextColumn(40L, COLUMNS));
+        assertThrows(CardBlockedException.class, () -> unitOfWork.block(40L, "Motivo", COLUMNS));
+        assertThrows(CardBlockedException.class, () -> unitOfWork.unblock(10L, "Motivo"));
+        assertThrows(IllegalStateException.class, () -> unitOfWork.moveToColumn(10L, 3L, COLUMNS));
+        assertThrows(IllegalStateException.class, () -> unitOfWork.block(50L, "Motivo", COLUMNS));
+        assertThrows(IllegalStateException.class, () -> unitOfWork.cancel(10L, 2L, COLUMNS));
+        assertTrue(unitOfWork.isEmpty());
+    }
+
+    @Test
+    void emptySessionDoesNotOpenATransaction() throws Exception {
+        assertEquals(0, unitOfWork.flush());
+        assertTrue(database.executions().isEmpty());
+        assertEquals(0, database.commits());
+    }
+
+    private List<String> sessionWrites() {
+        return database.executions().stream()
+                .map(execution -> List.of(INSERT_CARDS, MOVE, INCREMENT_VERSION, INSERT_BLOCKS, UNBLOCK).stream()
+                        .filter(execution::contains)
+                        .findFirst()
+                        .orElse(null))
+                .filter(kind -> kind != null)
+                .toList();
+    }
+
+    private static CardEntity newCard(final String title) {
+        var column = new BoardColumnEntity();
+        column.setId(1L);
+        column.getBoard().setId(BOARD_ID);
+        var card = new CardEntity();
+        card.setTitle(title);
+        card.setDescription("");
+        card.setBoardColumn(column);
+        return card;
+    }
+
+    // ID e versão do card são os dois últimos parâmetros da movimentação
+    private static Long cardId(final RecordingConnection.Execution move) {
+        return (Long) move.parameters().get(move.parameters().size() - 2);
+    }
+
+    private static Integer cardVersion(final RecordingConnection.Execution move) {
+        return (Integer) move.parameters().get(move.parameters().size() - 1);
+    }
+}
@@ -0,0 +1,244 @@
+package br.com.dio.service;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Conexão JDBC falsa para testes de serviços sem banco de dados.
+ *
+ * <p>Cada comando executado é registrado com seus parâmetros, inclusive cada linha de um
+ * lote. Consultas respondem com as linhas configuradas para o primeiro trecho de SQL
+ * encontrado no comando (nenhuma linha, se não houver); atualizações afetam 1 linha, ou
+ * a quantidade configurada para o trecho. Chaves geradas são sequenciais a partir de 1.</p>
+ */
+final class RecordingConnection {
+
+    /**
+     * Comando executado.
+     * @param sql SQL do comando
+     * @param parameters Parâmetros pela posição (a partir de 0)
+     */
+    record Execution(String sql, List<Object> parameters) {
+
+        boolean contains(final String fragment) {
+            return sql.contains(fragment);
+        }
+    }
+
+    private final Map<String, Function<List<Object>, List<Map<String, Object>>>> queries = new LinkedHashMap<>();
+    private final Map<String, Function<List<Object>, Integer>> updates = new LinkedHashMap<>();
+    private final List<Execution> executions = new ArrayList<>();
+    private long generatedKey;
+    private int commits;
+    private int rollbacks;
+
+    /**
+     * Configura as linhas devolvidas pelas consultas que contêm o trecho.
+     * @param fragment Trecho do SQL
+     * @param rows Linhas (coluna -> valor) em função dos parâmetros da consulta
+     * @return Esta conexão
+     */
+    RecordingConnection onQuery(final String fragment, final Function<List<Object>, List<Map<String, Object>>> rows) {
+        queries.put(fragment, rows);
+        return this;
+    }
+
+    /**
+     * Configura as linhas afetadas pelas atualizações que contêm o trecho.
+     * @param fragment Trecho do SQL
+     * @param rows Linhas afetadas em função dos parâmetros (de cada linha, em lotes)
+     * @return Esta conexão
+     */
+    RecordingConnection onUpdate(final String fragment, final Function<List<Object>, Integer> rows) {
+        updates.put(fragment, rows);
+        return this;
+    }
+
+    /**
+     * @return Comandos executados, na ordem
+     */
+    List<Execution> executions() {
+        return executions;
+    }
+
+    /**
+     * @param fragment Trecho do SQL
+     * @return Comandos executados que contêm o trecho, na ordem
+     */
+    List<Execution> executions(final String fragment) {
+        return executions.stream().filter(execution -> execution.contains(fragment)).toList();
+    }
+
+    int commits() {
+        return commits;
+    }
+
+    int rollbacks() {
+        return rollbacks;
+    }
+
+    Connection proxy() {
+        return proxy(Connection.class, (method, args) -> switch (method.getName()) {
+            case "prepareStatement" -> new Statement((String) args[0]).proxy();
+            case "commit" -> {
+                commits++;
+                yield null;
+            }
+            case "rollback" -> {
+                rollbacks++;
+                yield null;
+            }
+            case "isWrapperFor" -> false;
+            default -> throw new UnsupportedOperationException("Connection." + method.getName());
+        });
+    }
+
+    private <T> T find(final Map<String, T> responses, final String sql) {
+        return responses.entrySet().stream()
+                .filter(entry -> sql.contains(entry.getKey()))
+                .map(Map.Entry::getValue)
+                .findFirst()
+                .orElse(null);
+    }
+
+    @FunctionalInterface
+    private interface Handler {
+        Object invoke(Method method, Object[] args) throws Exception;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(final Class<T> type, final Handler handler) {
+        InvocationHandler invocation = (proxy, method, args) -> {
+            if (method.getName().equals("close") || method.getName().equals("isClosed")) {
+                return method.getReturnType() == boolean.class ? false : null;
+            }
+            return handler.invoke(method, args);
+        };
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, invocation);
+    }
+
+    /**
+     * Comando preparado que registra os parâmetros e as execuções.
+     */
+    private final class Statement {
+
+        private final String sql;
+        private final Map<Integer, Object> parameters = new HashMap<>();
+        private final List<List<Object>> batch = new ArrayList<>();
+        private final List<Map<String, Object>> keys = new ArrayList<>();
+        private ResultSet resultSet;
+
+        private Statement(final String sql) {
+            this.sql = sql;
+        }
+
+        private PreparedStatement proxy() {
+            return RecordingConnection.proxy(PreparedStatement.class, (method, args) -> {
+                var name = method.getName();
+                if (name.startsWith("set") && args.length >= 2 && args[0] instanceof Integer index) {
+                    parameters.put(index, name.equals("setNull") ? null : args[1]);
+                    return null;
+                }
+                return switch (name) {
+                    case "addBatch" -> {
+                        batch.add(current());
+                        yield null;
+                    }
+                    case "executeBatch" -> {
+                        var rows = new int[batch.size()];
+                        for (int i = 0; i < rows.length; i++) {
+                            rows[i] = update(batch.get(i));
+                        }
+                        batch.clear();
+                        yield rows;
+                    }
+                    case "executeUpdate" -> update(current());
+                    case "executeQuery" -> query();
+                    case "getResultSet" -> resultSet;
+                    case "getGeneratedKeys" -> resultSet(keys);
+                    default -> throw new UnsupportedOperationException("PreparedStatement." + name);
+                };
+            });
+        }
+
+        private List<Object> current() {
+            List<Object> values = new ArrayList<>();
+            for (int i = 1; i <= parameters.size(); i++) {
+                values.add(parameters.get(i));
+            }
+            return values;
+        }
+
+        private int update(final List<Object> values) {
+            executions.add(new Execution(sql, values));
+            var response = find(updates, sql);
+            var rows = response == null ? 1 : response.apply(values);
+            if (sql.startsWith("INSERT")) {
+                for (int i = 0; i < rows; i++) {
+                    keys.add(Map.of("GENERATED_KEY", ++generatedKey));
+                }
+            }
+            return rows;
+        }
+
+        private ResultSet query() {
+            var values = current();
+            executions.add(new Execution(sql, values));
+            var response = find(queries, sql);
+            resultSet = resultSet(response == null ? List.of() : response.apply(values));
+            return resultSet;
+        }
+    }
+
+    /**
+     * Resultado sobre as linhas informadas; colunas ausentes são lidas como null.
+     */
+    private static ResultSet resultSet(final List<Map<String, Object>> rows) {
+        var position = new int[]{-1};
+        var lastNull = new boolean[1];
+        return proxy(ResultSet.class, (method, args) -> {
+            var name = method.getName();
+            if (name.equals("next")) {
+                return ++position[0] < rows.size();
+            }
+            if (name.equals("wasNull")) {
+                return lastNull[0];
+            }
+            if (!name.startsWith("get") || args == null || args.length != 1) {
+                throw new UnsupportedOperationException("ResultSet." + name);
+            }
+            var row = rows.get(position[0]);
+            var value = args[0] instanceof Integer index
+                    ? new ArrayList<>(row.values()).get(index - 1)
+                    : row.get((String) args[0]);
+            lastNull[0] = value == null;
+            return convert(value, method.getReturnType());
+        });
+    }
+
+    private static Object convert(final Object value, final Class<?> type) {
+        if (type == long.class) {
+            return value == null ? 0L : ((Number) value).longValue();
+        }
+        if (type == int.class) {
+            return value == null ? 0 : ((Number) value).intValue();
+        }
+        if (type == boolean.class) {
+            return value != null && (Boolean) value;
+        }
+        if (type == String.class) {
+            return value == null ? null : value.toString();
+        }
+        return value;
+    }
+}
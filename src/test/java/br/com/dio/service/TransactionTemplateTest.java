@@ -0,0 +1,226 @@
+package br.com.dio.service;
+
+import br.com.dio.persistence.dao.CardDAO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TransactionTemplateTest {
+
+    private static final int DEADLOCK = 1213;
+    private static final int LOCK_WAIT_TIMEOUT = 1205;
+
+    private FakeConnection connection;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        connection = new FakeConnection(false);
+        // O orçamento de repetições é do processo: garante saldo para os testes de repetição
+        refillBudget(3);
+    }
+
+    @Test
+    void commitsTheWorkResult() throws SQLException {
+        var result = new TransactionTemplate(connection.proxy()).execute("test", () -> "ok");
+
+        assertEquals("ok", result);
+        assertEquals(1, connection.commits);
+        assertEquals(0, connection.rollbacks);
+    }
+
+    @Test
+    void doesNotRetryOtherSqlErrors() {
+        var attempts = new AtomicInteger();
+        var failure = new SQLException("Duplicate entry", "23000", 1062);
+
+        var thrown = assertThrows(SQLException.class, () -> new TransactionTemplate(connection.proxy()).execute("test", () -> {
+            attempts.incrementAndGet();
+            throw failure;
+        }));
+
+        assertSame(failure, thrown);
+        assertEquals(1, attempts.get());
+        assertEquals(1, connection.rollbacks);
+        assertEquals(0, connection.commits);
+    }
+
+    @Test
+    void doesNotRetryRuntimeExceptions() {
+        var attempts = new AtomicInteger();
+
+        assertThrows(IllegalStateException.class, () -> new TransactionTemplate(connection.proxy()).execute("test", () -> {
+            attempts.incrementAndGet();
+            throw new IllegalStateException("conflito");
+        }));
+
+        assertEquals(1, attempts.get());
+        assertEquals(1, connection.rollbacks);
+    }
+
+    @Test
+    void retriesDeadlockAndCommits() throws SQLException {
+        var attempts = new AtomicInteger();
+        var before = TransactionTemplate.metrics();
+
+        var result = new TransactionTemplate(connection.proxy()).execute("test", () -> {
+            if (attempts.incrementAndGet() == 1) {
+                throw new SQLException("Deadlock found", "40001", DEADLOCK);
+            }
+            return attempts.get();
+        });
+
+        assertEquals(2, result);
+        assertEquals(1, connection.rollbacks);
+        assertEquals(1, connection.commits);
+        var after = TransactionTemplate.metrics();
+        assertEquals(1, after.deadlocks() - before.deadlocks());
+        assertEquals(1, after.retries() - before.retries());
+    }
+
+    @Test
+    void retriesLockTimeoutFoundInTheCauseChain() throws SQLException {
+        var attempts = new AtomicInteger();
+        var before = TransactionTemplate.metrics();
+
+        new TransactionTemplate(connection.proxy()).run("test", () -> {
+            if (attempts.incrementAndGet() == 1) {
+                var timeout = new SQLException("Lock wait timeout exceeded", "HY000", LOCK_WAIT_TIMEOUT);
+                throw new SQLException("Falha no lote", timeout);
+            }
+        });
+
+        assertEquals(2, attempts.get());
+        assertEquals(1, TransactionTemplate.metrics().lockTimeouts() - before.lockTimeouts());
+    }
+
+    @Test
+    void retriesDuplicateCardRank() throws SQLException {
+        var attempts = new AtomicInteger();
+        var before = TransactionTemplate.metrics();
+
+        new TransactionTemplate(connection.proxy()).run("test", () -> {
+            if (attempts.incrementAndGet() == 1) {
+                throw new SQLException("Duplicate entry '7-V' for key 'CARDS.%s'".formatted(CardDAO.RANK_INDEX), "23000", 1062);
+            }
+        });
+
+        assertEquals(2, attempts.get());
+        assertEquals(1, connection.commits);
+        assertEquals(1, TransactionTemplate.metrics().rankConflicts() - before.rankConflicts());
+    }
+
+    @Test
+    void givesUpAfterTheMaximumAttempts() {
+        var attempts = new AtomicInteger();
+        var before = TransactionTemplate.metrics();
+
+        assertThrows(SQLException.class, () -> new TransactionTemplate(connection.proxy()).execute("test", () -> {
+            attempts.incrementAndGet();
+            throw new SQLException("Deadlock found", "40001", DEADLOCK);
+        }));
+
+        assertEquals(4, attempts.get());
+        assertEquals(4, connection.rollbacks);
+        assertEquals(1, TransactionTemplate.metrics().exhausted() - before.exhausted());
+    }
+
+    @Test
+    void neverRetriesOnDeferredCommitConnections() {
+        var deferred = new FakeConnection(true);
+        var attempts = new AtomicInteger();
+
+        assertThrows(SQLException.class, () -> new TransactionTemplate(deferred.proxy()).execute("test", () -> {
+            attempts.incrementAndGet();
+            throw new SQLException("Deadlock found", "40001", DEADLOCK);
+        }));
+
+        assertEquals(1, attempts.get());
+    }
+
+    @Test
+    void backoffIsBoundedByTheExponentialCeiling() {
+        for (int attempt = 1; attempt <= 30; attempt++) {
+            var ceiling = Math.min(500, 10L << Math.min(attempt, 20));
+            for (int i = 0; i < 200; i++) {
+                var backoff = TransactionTemplate.backoff(attempt);
+                assertTrue(backoff >= 0 && backoff <= ceiling, "espera %s fora de [0, %s]".formatted(backoff, ceiling));
+            }
+        }
+    }
+
+    @Test
+    void budgetLimitsRetriesToAFractionOfTransactions() {
+        var template = new TransactionTemplate(connection.proxy());
+        var denied = TransactionTemplate.metrics().budgetDenied();
+        // Esgota o orçamento acumulado com transações que sempre falham por deadlock
+        for (int i = 0; i < 1_000 && TransactionTemplate.metrics().budgetDenied() == denied; i++) {
+            alwaysDeadlock(template);
+        }
+        assertTrue(TransactionTemplate.metrics().budgetDenied() > denied);
+
+        // Sem saldo, cada transação deposita 0,1 repetição: 50 transações repetem no máximo 5 vezes
+        var retries = TransactionTemplate.metrics().retries();
+        for (int i = 0; i < 50; i++) {
+            alwaysDeadlock(template);
+        }
+        assertTrue(TransactionTemplate.metrics().retries() - retries <= 5);
+    }
+
+    private static void alwaysDeadlock(final TransactionTemplate template) {
+        assertThrows(SQLException.class, () -> template.run("test", () -> {
+            throw new SQLException("Deadlock found", "40001", DEADLOCK);
+        }));
+    }
+
+    /**
+     * Executa transações bem-sucedidas suficientes para depositar a quantidade de repetições informada.
+     */
+    private static void refillBudget(final int retries) throws SQLException {
+        var template = new TransactionTemplate(new FakeConnection(false).proxy());
+        for (int i = 0; i < retries * 10; i++) {
+            template.run("refill", () -> { });
+        }
+    }
+
+    /**
+     * Conexão falsa que conta commits e rollbacks.
+     */
+    private static final class FakeConnection implements InvocationHandler {
+
+        private final boolean deferredCommits;
+        private int commits;
+        private int rollbacks;
+
+        FakeConnection(final boolean deferredCommits) {
+            this.deferredCommits = deferredCommits;
+        }
+
+        Connection proxy() {
+            return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class}, this);
+        }
+
+        @Override
+        public Object invoke(final Object proxy, final Method method, final Object[] args) {
+            switch (method.getName()) {
+                case "commit" -> commits++;
+                case "rollback" -> rollbacks++;
+                case "isWrapperFor" -> {
+                    return deferredCommits && args[0] == TransactionTemplate.DeferredCommits.class;
+                }
+                default -> throw new UnsupportedOperationException(method.getName());
+            }
+            return null;
+        }
+    }
+}
@@ -0,0 +1,179 @@
+package br.com.dio.tag;
+
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CardBitmapTest {
+
+    @Test
+    void switchesFromArrayToBitmapAboveFourThousandNinetySixValues() {
+        var bitmap = new CardBitmap();
+        for (int i = 0; i < 4096; i++) {
+            bitmap.add(i * 2);
+        }
+        assertEquals(List.of("ArrayContainer"), containerKinds(bitmap));
+
+        assertTrue(bitmap.add(1));
+        assertEquals(List.of("BitmapContainer"), containerKinds(bitmap));
+        assertEquals(4097, bitmap.cardinality());
+        assertTrue(bitmap.contains(1));
+        assertTrue(bitmap.contains(8190));
+        assertFalse(bitmap.contains(3));
+
+        assertTrue(bitmap.remove(1));
+        assertEquals(List.of("ArrayContainer"), containerKinds(bitmap));
+        assertEquals(4096, bitmap.cardinality());
+        assertFalse(bitmap.contains(1));
+    }
+
+    @Test
+    void addAndRemoveReportChanges() {
+        var bitmap = new CardBitmap();
+        assertTrue(bitmap.add(70_000));
+        assertFalse(bitmap.add(70_000));
+        assertFalse(bitmap.remove(5));
+        assertTrue(bitmap.remove(70_000));
+        assertTrue(bitmap.isEmpty());
+        assertEquals(0, bitmap.toArray().length);
+    }
+
+    @Test
+    void unionOfArraysBecomesBitmapAboveTheLimit() {
+        var even = new CardBitmap();
+        var odd = new CardBitmap();
+        for (int i = 0; i < 3000; i++) {
+            even.add(i * 2);
+            odd.add(i * 2 + 1);
+        }
+
+        var union = even.or(odd);
+
+        assertEquals(List.of("BitmapContainer"), containerKinds(union));
+        assertEquals(6000, union.cardinality());
+        // As entradas não são alteradas
+        assertEquals(List.of("ArrayContainer"), containerKinds(even));
+        assertEquals(3000, even.cardinality());
+    }
+
+    @Test
+    void intersectionOfBitmapsBecomesArrayBelowTheLimit() {
+        var a = new CardBitmap();
+        var b = new CardBitmap();
+        for (int i = 0; i < 10_000; i++) {
+            a.add(i);
+            b.add(i + 9_000);
+        }
+
+        var intersection = a.and(b);
+
+        assertEquals(List.of("ArrayContainer"), containerKinds(intersection));
+        assertArrayEquals(range(9_000, 10_000), intersection.toArray());
+        assertEquals(List.of("ArrayContainer"), containerKinds(a.andNot(range(500, 10_000, new CardBitmap()))));
+    }
+
+    @Test
+    void operationsMatchBitSet() {
+        var random = new Random(42);
+        // Densidades dos dois lados do limite, em vários blocos de 65536 valores
+        double[] densities = {0.0005, 0.01, 0.05, 0.2, 0.6};
+        for (var densityA : densities) {
+            for (var densityB : densities) {
+                var expectedA = new BitSet();
+                var expectedB = new BitSet();
+                var a = new CardBitmap();
+                var b = new CardBitmap();
+                fill(random, densityA, expectedA, a, 0, 4);
+                fill(random, densityB, expectedB, b, 2, 6);
+
+                var and = (BitSet) expectedA.clone();
+                and.and(expectedB);
+                var or = (BitSet) expectedA.clone();
+                or.or(expectedB);
+                var andNot = (BitSet) expectedA.clone();
+                andNot.andNot(expectedB);
+
+                assertArrayEquals(expectedA.stream().toArray(), a.toArray());
+                assertArrayEquals(and.stream().toArray(), a.and(b).toArray());
+                assertArrayEquals(or.stream().toArray(), a.or(b).toArray());
+                assertArrayEquals(andNot.stream().toArray(), a.andNot(b).toArray());
+                assertArrayEquals(expectedB.stream().toArray(), b.copy().toArray());
+                assertEquals(expectedA.cardinality(), a.cardinality());
+                // As operações não alteram as entradas
+                assertArrayEquals(expectedB.stream().toArray(), b.toArray());
+            }
+        }
+    }
+
+    @Test
+    void removalsMatchBitSet() {
+        var random = new Random(7);
+        var expected = new BitSet();
+        var bitmap = new CardBitmap();
+        fill(random, 0.3, expected, bitmap, 0, 2);
+        for (int i = 0; i < 40_000; i++) {
+            var value = random.nextInt(2 << 16);
+            assertEquals(expected.get(value), bitmap.remove(value));
+            expected.clear(value);
+        }
+        assertArrayEquals(expected.stream().toArray(), bitmap.toArray());
+        for (int i = 0; i < 2 << 16; i += 97) {
+            assertEquals(expected.get(i), bitmap.contains(i));
+        }
+    }
+
+    private static void fill(final Random random, final double density, final BitSet expected,
+                             final CardBitmap bitmap, final int firstChunk, final int lastChunk) {
+        for (int value = firstChunk << 16; value < lastChunk << 16; value++) {
+            if (random.nextDouble() < density) {
+                expected.set(value);
+                bitmap.add(value);
+            }
+        }
+    }
+
+    private static int[] range(final int from, final int to) {
+        var values = new int[to - from];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = from + i;
+        }
+        return values;
+    }
+
+    private static CardBitmap range(final int from, final int to, final CardBitmap bitmap) {
+        for (int i = from; i < to; i++) {
+            bitmap.add(i);
+        }
+        return bitmap;
+    }
+
+    /**
+     * Forma dos contêineres do bitmap, em ordem de chave.
+     */
+    private static List<String> containerKinds(final CardBitmap bitmap) {
+        try {
+            Field containersField = CardBitmap.class.getDeclaredField("containers");
+            Field sizeField = CardBitmap.class.getDeclaredField("size");
+            containersField.setAccessible(true);
+            sizeField.setAccessible(true);
+            var containers = (Object[]) containersField.get(bitmap);
+            var size = sizeField.getInt(bitmap);
+            List<String> kinds = new ArrayList<>();
+            for (int i = 0; i < size; i++) {
+                kinds.add(containers[i].getClass().getSimpleName());
+            }
+            return kinds;
+        } catch (ReflectiveOperationException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package br.com.dio.tag;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TagFilterTest {
+
+    @Test
+    void parsesRequiredAlternativeAndExcludedTags() {
+        var filter = TagFilter.parse("+bug urgente cliente -bloqueado");
+
+        assertEquals(List.of("bug"), filter.all());
+        assertEquals(List.of("urgente", "cliente"), filter.any());
+        assertEquals(List.of("bloqueado"), filter.none());
+    }
+
+    @Test
+    void normalizesNamesAndIgnoresExtraSpaces() {
+        var filter = TagFilter.parse("   +Bug\t  URGENTE   -Bloqueado  ");
+
+        assertEquals(List.of("bug"), filter.all());
+        assertEquals(List.of("urgente"), filter.any());
+        assertEquals(List.of("bloqueado"), filter.none());
+    }
+
+    @Test
+    void emptyExpressionSelectsEverything() {
+        for (var expression : new String[]{null, "", "   "}) {
+            var filter = TagFilter.parse(expression);
+            assertTrue(filter.all().isEmpty());
+            assertTrue(filter.any().isEmpty());
+            assertTrue(filter.none().isEmpty());
+        }
+    }
+
+    @Test
+    void rejectsInvalidTerms() {
+        assertThrows(IllegalArgumentException.class, () -> TagFilter.parse("+"));
+        assertThrows(IllegalArgumentException.class, () -> TagFilter.parse("bug -"));
+        assertThrows(IllegalArgumentException.class, () -> TagFilter.parse("++bug"));
+        assertThrows(IllegalArgumentException.class, () -> TagFilter.parse("+-bug"));
+        assertThrows(IllegalArgumentException.class, () -> TagFilter.parse("x".repeat(51)));
+    }
+
+    @Test
+    void acceptsNamesUpToFiftyCharacters() {
+        var name = "x".repeat(50);
+        assertEquals(List.of(name), TagFilter.parse("+" + name).all());
+    }
+
+    @Test
+    void textualFormRoundTrips() {
+        var filter = TagFilter.parse("cliente -bloqueado +bug urgente");
+
+        assertEquals("+bug cliente urgente -bloqueado", filter.toString());
+        assertEquals(filter, TagFilter.parse(filter.toString()));
+    }
+}
@@ -0,0 +1,179 @@
+package br.com.dio.transfer;
+
+import br.com.dio.transfer.BoardSnapshotReader.Block;
+import br.com.dio.transfer.BoardSnapshotReader.Board;
+import br.com.dio.transfer.BoardSnapshotReader.Card;
+import br.com.dio.transfer.BoardSnapshotReader.Column;
+import br.com.dio.transfer.BoardSnapshotReader.End;
+import br.com.dio.transfer.BoardSnapshotReader.Record;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static br.com.dio.persistence.entity.BoardColumnKindEnum.CANCEL;
+import static br.com.dio.persistence.entity.BoardColumnKindEnum.FINAL;
+import static br.com.dio.persistence.entity.BoardColumnKindEnum.INITIAL;
+import static java.time.ZoneOffset.UTC;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BoardSnapshotReaderTest {
+
+    private static final OffsetDateTime BLOCKED_AT = OffsetDateTime.of(2026, 10, 19, 9, 30, 15, 123_000_000, UTC);
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void readsBackWhatWasWritten() throws IOException {
+        var file = dir.resolve("board.bsnp");
+        List<Record> expected = List.of(
+                new Board(7, "Board de testes ✓"),
+                new Column(10, "A fazer", 0, INITIAL),
+                new Column(11, "Feito", 1024, FINAL),
+                new Column(12, "Cancelado", 2048, CANCEL),
+                new Card(100, 10, "Primeiro", "descrição\ncom quebra de linha"),
+                new Block(100, BLOCKED_AT, "Aguardando cliente", BLOCKED_AT.plusHours(2), "Cliente respondeu"),
+                // Desbloqueio anterior ao bloqueio: diferença negativa em zigzag
+                new Block(100, BLOCKED_AT, "Aguardando cliente", BLOCKED_AT.minusSeconds(1), "Aguardando cliente"),
+                new Card(105, 11, "Sem descrição", null),
+                new Card(1L << 40, 12, "", ""),
+                new Block(1L << 40, BLOCKED_AT.minusYears(60), "Antes de 1970", null, null),
+                new End(3, 3, 3));
+
+        try (var writer = new BoardSnapshotWriter(file)) {
+            write(writer, expected);
+        }
+
+        assertEquals(expected, readAll(file));
+    }
+
+    @Test
+    void repeatedTextsAreWrittenOnce() throws IOException {
+        var file = dir.resolve("board.bsnp");
+        try (var writer = new BoardSnapshotWriter(file)) {
+            writer.board(1, "Board");
+            for (int id = 1; id <= 1_000; id++) {
+                writer.card(id, 10, "Card", null);
+                writer.block(BLOCKED_AT, "Motivo repetido em todos os bloqueios", BLOCKED_AT, "Desbloqueio repetido");
+            }
+            writer.finish(0, 1_000, 1_000);
+        }
+
+        var content = new String(Files.readAllBytes(file), StandardCharsets.UTF_8);
+        assertEquals(content.indexOf("Motivo repetido"), content.lastIndexOf("Motivo repetido"));
+        assertEquals(content.indexOf("Desbloqueio repetido"), content.lastIndexOf("Desbloqueio repetido"));
+        var records = readAll(file);
+        assertEquals(2_002, records.size());
+        assertEquals(new Block(1_000, BLOCKED_AT, "Motivo repetido em todos os bloqueios", BLOCKED_AT, "Desbloqueio repetido"),
+                records.get(2_000));
+    }
+
+    @Test
+    void cardsMustBeWrittenInIdOrder() throws IOException {
+        try (var writer = new BoardSnapshotWriter(dir.resolve("board.bsnp"))) {
+            writer.card(5, 10, "Card", null);
+            assertThrows(IllegalArgumentException.class, () -> writer.card(4, 10, "Card", null));
+        }
+    }
+
+    @Test
+    void corruptedContentFailsTheChecksum() throws IOException {
+        var file = sample();
+        var bytes = Files.readAllBytes(file);
+        var position = indexOf(bytes, "Card".getBytes(StandardCharsets.UTF_8));
+        bytes[position] = 'X';
+        Files.write(file, bytes);
+
+        var ex = assertThrows(IOException.class, () -> readAll(file));
+        assertTrue(ex.getMessage().contains("CRC32"), ex.getMessage());
+    }
+
+    @Test
+    void truncatedFileIsRejected() throws IOException {
+        var file = sample();
+        var bytes = Files.readAllBytes(file);
+        // Sem o registro END (e em qualquer ponto no meio de um registro)
+        for (var length : new int[]{bytes.length - 9, bytes.length / 2, 6}) {
+            Files.write(file, Arrays.copyOf(bytes, length));
+            var ex = assertThrows(IOException.class, () -> readAll(file), "tamanho " + length);
+            assertFalse(ex.getMessage().isBlank());
+        }
+    }
+
+    @Test
+    void rejectsOtherFilesAndNewerVersions() throws IOException {
+        var other = Files.write(dir.resolve("other.bsnp"), "{\"title\":\"Card\"}".getBytes(StandardCharsets.UTF_8));
+        var newer = Files.write(dir.resolve("newer.bsnp"), new byte[]{'B', 'S', 'N', 'P', BoardSnapshotFormat.VERSION + 1});
+
+        assertThrows(IOException.class, () -> new BoardSnapshotReader(other).close());
+        var ex = assertThrows(IOException.class, () -> new BoardSnapshotReader(newer).close());
+        assertTrue(ex.getMessage().contains("não suportada"), ex.getMessage());
+    }
+
+    @Test
+    void recognizesSnapshotsByExtension() {
+        assertTrue(BoardSnapshotFormat.isSnapshot(Path.of("backup.BSNP")));
+        assertFalse(BoardSnapshotFormat.isSnapshot(Path.of("backup.jsonl")));
+    }
+
+    private Path sample() throws IOException {
+        var file = dir.resolve("sample.bsnp");
+        try (var writer = new BoardSnapshotWriter(file)) {
+            writer.board(1, "Board");
+            writer.column(10, "A fazer", 0, INITIAL);
+            writer.card(1, 10, "Card", "Descrição");
+            writer.block(BLOCKED_AT, "Motivo", null, null);
+            writer.finish(1, 1, 1);
+        }
+        return file;
+    }
+
+    private static void write(final BoardSnapshotWriter writer, final List<Record> records) throws IOException {
+        for (var record : records) {
+            if (record instanceof Board board) {
+                writer.board(board.id(), board.name());
+            } else if (record instanceof Column column) {
+                writer.column(column.id(), column.name(), column.order(), column.kind());
+            } else if (record instanceof Card card) {
+                writer.card(card.id(), card.columnId(), card.title(), card.description());
+            } else if (record instanceof Block block) {
+                writer.block(block.blockedAt(), block.reason(), block.unblockedAt(), block.unblockReason());
+            } else if (record instanceof End end) {
+                writer.finish(end.columns(), end.cards(), end.blocks());
+            }
+        }
+    }
+
+    private static List<Record> readAll(final Path file) throws IOException {
+        List<Record> records = new ArrayList<>();
+        try (var reader = new BoardSnapshotReader(file)) {
+            Record record;
+            while ((record = reader.next()) != null) {
+                records.add(record);
+            }
+            assertNull(reader.next());
+        }
+        return records;
+    }
+
+    private static int indexOf(final byte[] bytes, final byte[] part) {
+        for (int i = 0; i + part.length <= bytes.length; i++) {
+            if (Arrays.equals(bytes, i, i + part.length, part, 0, part.length)) {
+                return i;
+            }
+        }
+        throw new IllegalArgumentException("Trecho não encontrado");
+    }
+}
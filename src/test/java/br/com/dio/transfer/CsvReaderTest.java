@@ -0,0 +1,91 @@
+package br.com.dio.transfer;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CsvReaderTest {
+
+    @Test
+    void readsRecordsWithAnyLineEnding() throws IOException {
+        var records = readAll("a,b\r\nc,d\ne,f\rg,h");
+
+        assertEquals(List.of(List.of("a", "b"), List.of("c", "d"), List.of("e", "f"), List.of("g", "h")), records);
+    }
+
+    @Test
+    void keepsEmptyFields() throws IOException {
+        assertEquals(List.of(List.of("a", "", ""), List.of("", "b")), readAll("a,,\n,b\n"));
+    }
+
+    @Test
+    void skipsBlankLinesBetweenRecords() throws IOException {
+        try (var csv = new CsvReader(new StringReader("a\n\n\r\nb\n\n"))) {
+            assertEquals(List.of("a"), csv.next());
+            assertEquals(1, csv.getRecordLine());
+            assertEquals(List.of("b"), csv.next());
+            assertEquals(4, csv.getRecordLine());
+            assertNull(csv.next());
+        }
+    }
+
+    @Test
+    void quotedFieldsKeepSeparatorsQuotesAndLineBreaks() throws IOException {
+        var text = """
+                title,description
+                "Card, com vírgula","Diz ""olá""
+                em duas linhas\r
+                e uma terceira"
+                "",fim
+                """;
+        try (var csv = new CsvReader(new StringReader(text))) {
+            csv.next();
+            assertEquals(List.of("Card, com vírgula", "Diz \"olá\"\nem duas linhas\r\ne uma terceira"), csv.next());
+            assertEquals(2, csv.getRecordLine());
+            // A linha do registro seguinte considera as quebras de linha dentro das aspas
+            assertEquals(List.of("", "fim"), csv.next());
+            assertEquals(5, csv.getRecordLine());
+            assertNull(csv.next());
+        }
+    }
+
+    @Test
+    void quotesInsideUnquotedFieldsAreLiteral() throws IOException {
+        assertEquals(List.of(List.of("a\"b", "5\" tela")), readAll("a\"b,5\" tela\n"));
+    }
+
+    @Test
+    void usesCustomSeparator() throws IOException {
+        try (var csv = new CsvReader(new StringReader("a;\"b;c\",d\n"), ';')) {
+            assertEquals(List.of("a", "b;c,d"), csv.next());
+        }
+    }
+
+    @Test
+    void unclosedQuoteReportsTheLineWhereTheRecordStarts() throws IOException {
+        try (var csv = new CsvReader(new StringReader("a\nb,\"sem fim\nc\n"))) {
+            csv.next();
+            var ex = assertThrows(IOException.class, csv::next);
+            assertTrue(ex.getMessage().endsWith("linha 2"), ex.getMessage());
+        }
+    }
+
+    private static List<List<String>> readAll(final String text) throws IOException {
+        List<List<String>> records = new ArrayList<>();
+        try (var csv = new CsvReader(new StringReader(text))) {
+            List<String> record;
+            while ((record = csv.next()) != null) {
+                records.add(record);
+            }
+        }
+        return records;
+    }
+}
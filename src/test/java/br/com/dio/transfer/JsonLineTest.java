@@ -0,0 +1,85 @@
+package br.com.dio.transfer;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class JsonLineTest {
+
+    @Test
+    void parsesFlatObjectKeepingFieldOrder() {
+        var fields = JsonLine.parse(" { \"title\" : \"Card\", \"id\":42,\"done\": true ,\"assignee\":null } ");
+
+        assertEquals(List.of("title", "id", "done", "assignee"), new ArrayList<>(fields.keySet()));
+        assertEquals("Card", fields.get("title"));
+        assertEquals("42", fields.get("id"));
+        assertEquals("true", fields.get("done"));
+        assertTrue(fields.containsKey("assignee"));
+        assertNull(fields.get("assignee"));
+        assertEquals(Map.of(), JsonLine.parse("{}"));
+    }
+
+    @Test
+    void decodesEscapes() {
+        var fields = JsonLine.parse("{\"text\":\"linha 1\\nlinha 2\\r\\n\\t\\\"aspas\\\" \\\\ \\/ \\u00e9\\u0001\"}");
+
+        assertEquals("linha 1\nlinha 2\r\n\t\"aspas\" \\ / é\u0001", fields.get("text"));
+    }
+
+    @Test
+    void rejectsMalformedLines() {
+        for (var line : List.of(
+                "",
+                "titulo",
+                "[1, 2]",
+                "{\"title\":\"Card\"",
+                "{\"title\" \"Card\"}",
+                "{\"title\":}",
+                "{\"title\":\"Card\" \"x\":1}",
+                "{\"title\":\"sem fim}",
+                "{\"title\":\"\\x\"}",
+                "{\"title\":\"\\u00",
+                "{\"title\":{\"a\":1}}",
+                "{\"tags\":[\"a\"]}",
+                "{title:\"Card\"}",
+                "{\"title\":\"Card\"} {}")) {
+            var ex = assertThrows(IllegalArgumentException.class, () -> JsonLine.parse(line), line);
+            assertTrue(ex.getMessage().contains("JSON inválido") || ex.getMessage().contains("Conteúdo inesperado"),
+                    ex.getMessage());
+        }
+    }
+
+    @Test
+    void writtenObjectsParseBack() {
+        var control = new String(new char[]{'a', 1, 31, 'b'});
+        var out = new StringBuilder();
+        JsonLine.write(out)
+                .field("title", "Diz \"olá\"\\")
+                .field("description", "linha 1\nlinha 2\r\n\tfim")
+                .field("control", control)
+                .field("id", 7L)
+                .field("missing", (String) null)
+                .field("rank", (Number) null)
+                .end();
+
+        // Uma linha por objeto: quebras de linha e caracteres de controle são escapados
+        assertEquals(-1, out.indexOf("\n"));
+        assertTrue(Arrays.stream(out.toString().split("")).noneMatch(c -> c.charAt(0) < 0x20));
+        var fields = JsonLine.parse(out.toString());
+        assertEquals("Diz \"olá\"\\", fields.get("title"));
+        assertEquals("linha 1\nlinha 2\r\n\tfim", fields.get("description"));
+        assertEquals(control, fields.get("control"));
+        assertEquals("7", fields.get("id"));
+        assertNull(fields.get("missing"));
+        assertNull(fields.get("rank"));
+        assertEquals(6, fields.size());
+    }
+}
@@ -0,0 +1,175 @@
+package br.com.dio.workflow;
+
+import br.com.dio.dto.BoardColumnInfoDTO;
+import br.com.dio.dto.WorkflowTransitionDTO;
+import br.com.dio.persistence.entity.BoardColumnKindEnum;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static br.com.dio.persistence.entity.BoardColumnKindEnum.CANCEL;
+import static br.com.dio.persistence.entity.BoardColumnKindEnum.FINAL;
+import static br.com.dio.persistence.entity.BoardColumnKindEnum.INITIAL;
+import static br.com.dio.persistence.entity.BoardColumnKindEnum.PENDING;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BoardWorkflowTest {
+
+    // Colunas fora de ordem, como podem chegar do chamador
+    private static final List<BoardColumnInfoDTO> COLUMNS = List.of(
+            column(13, 3072, FINAL),
+            column(10, 0, INITIAL),
+            column(12, 2048, PENDING),
+            column(11, 1024, PENDING),
+            column(14, 4096, CANCEL));
+
+    @Test
+    void indexesColumnsInBoardOrder() {
+        var workflow = BoardWorkflow.linear(COLUMNS);
+
+        assertEquals(List.of(10L, 11L, 12L, 13L, 14L), workflow.getColumns().stream().map(BoardColumnInfoDTO::id).toList());
+        for (int i = 0; i < 5; i++) {
+            assertEquals(i, workflow.indexOf(10L + i));
+            assertEquals(10L + i, workflow.columnId(i));
+        }
+        assertEquals(FINAL, workflow.kind(3));
+        assertEquals(-1, workflow.indexOf(99L));
+    }
+
+    @Test
+    void linearWorkflowMovesOpenColumnsToTheNextOne() {
+        var workflow = BoardWorkflow.linear(COLUMNS);
+
+        assertEquals(List.of(transition(10, 11), transition(11, 12), transition(12, 13)), workflow.transitions());
+        assertEquals(1, workflow.next(0));
+        assertEquals(3, workflow.next(2));
+        // FINAL e CANCEL não têm saída
+        assertEquals(-1, workflow.next(3));
+        assertEquals(-1, workflow.next(4));
+        assertFalse(workflow.allows(3, 4));
+        assertFalse(workflow.allows(0, 2));
+        assertEquals(0, workflow.getVersion());
+    }
+
+    @Test
+    void compiledWorkflowIgnoresColumnsOfOtherBoards() {
+        var workflow = BoardWorkflow.compile(5L, 3, COLUMNS, List.of(
+                transition(10, 12), transition(12, 11), transition(11, 13), transition(10, 99), transition(98, 13)));
+
+        assertEquals(5L, workflow.getId());
+        assertEquals(3, workflow.getVersion());
+        assertEquals(List.of(transition(10, 12), transition(11, 13), transition(12, 11)), workflow.transitions());
+        assertTrue(workflow.allows(0, 2));
+        assertFalse(workflow.allows(0, 1));
+    }
+
+    @Test
+    void nextIsTheClosestColumnAheadOrTheOnlyTarget() {
+        var workflow = BoardWorkflow.compile(1L, 1, COLUMNS, List.of(
+                // Duas saídas adiante: a de menor ordem
+                transition(10, 13), transition(10, 12),
+                // Só uma saída, para trás
+                transition(12, 11),
+                // Uma saída para trás e outra adiante: a de adiante
+                transition(11, 10), transition(11, 12)));
+
+        assertEquals(2, workflow.next(0));
+        assertEquals(1, workflow.next(2));
+        assertEquals(2, workflow.next(1));
+
+        // Duas saídas para trás: nenhuma próxima coluna
+        var backwards = BoardWorkflow.compile(1L, 1, COLUMNS, List.of(transition(12, 11), transition(12, 10)));
+        assertEquals(-1, backwards.next(2));
+    }
+
+    @Test
+    void bitsetMatchesTheTransitionsBeyondOneWord() {
+        // Mais de 64 colunas: cada linha da tabela ocupa vários longs
+        var random = new Random(42);
+        List<BoardColumnInfoDTO> columns = new ArrayList<>();
+        columns.add(column(1_000, 0, INITIAL));
+        for (int i = 1; i < 149; i++) {
+            columns.add(column(1_000 + i, i * 10, PENDING));
+        }
+        columns.add(column(1_149, 1_490, FINAL));
+        Set<WorkflowTransitionDTO> expected = new HashSet<>();
+        for (int i = 0; i < 2_000; i++) {
+            var from = random.nextInt(149);
+            var to = random.nextInt(150);
+            expected.add(transition(1_000 + from, 1_000 + to));
+        }
+
+        var workflow = BoardWorkflow.compile(1L, 1, columns, List.copyOf(expected));
+
+        for (int from = 0; from < 150; from++) {
+            for (int to = 0; to < 150; to++) {
+                assertEquals(expected.contains(transition(1_000 + from, 1_000 + to)), workflow.allows(from, to),
+                        "transição %s -> %s".formatted(from, to));
+            }
+        }
+        assertEquals(expected, new HashSet<>(workflow.transitions()));
+    }
+
+    @Test
+    void matchesOnlyTheColumnsUsedInTheCompilation() {
+        var workflow = BoardWorkflow.linear(COLUMNS);
+
+        assertTrue(workflow.matches(COLUMNS));
+        assertTrue(workflow.matches(workflow.getColumns()));
+        // Outra versão da estrutura, ordem, tipo ou conjunto de colunas
+        assertFalse(workflow.matches(COLUMNS.stream()
+                .map(column -> new BoardColumnInfoDTO(column.id(), column.order(), column.kind(), 1)).toList()));
+        assertFalse(workflow.matches(List.of(column(13, 3072, FINAL), column(10, 0, INITIAL),
+                column(12, 2048, PENDING), column(11, 1536, PENDING), column(14, 4096, CANCEL))));
+        assertFalse(workflow.matches(List.of(column(13, 3072, FINAL), column(10, 0, INITIAL),
+                column(12, 2048, PENDING), column(11, 1024, PENDING), column(14, 4096, FINAL))));
+        assertFalse(workflow.matches(COLUMNS.subList(0, 4)));
+        assertFalse(workflow.matches(List.of(column(13, 3072, FINAL), column(10, 0, INITIAL),
+                column(12, 2048, PENDING), column(15, 1024, PENDING), column(14, 4096, CANCEL))));
+    }
+
+    @Test
+    void validateAcceptsAWorkflowThatReachesTheFinalColumn() {
+        BoardWorkflow.validate(COLUMNS, List.of(transition(10, 12), transition(12, 11), transition(11, 13)));
+    }
+
+    @Test
+    void validateRejectsUnusableWorkflows() {
+        assertInvalid("outro board", transition(10, 99), transition(10, 13));
+        assertInvalid("ela mesma", transition(11, 11), transition(10, 13));
+        assertInvalid("não podem ter transições de saída", transition(13, 10), transition(10, 13));
+        assertInvalid("cancelamento", transition(10, 14), transition(10, 13));
+        assertInvalid("até a coluna FINAL", transition(10, 11), transition(12, 13));
+        assertInvalid("até a coluna FINAL");
+    }
+
+    @Test
+    void parsesTextualTransitions() {
+        assertEquals(List.of(transition(10, 11), transition(11, 12), transition(11, 13)),
+                BoardWorkflow.parseTransitions(" 10:11, 11:12\n11:13 "));
+        assertEquals(List.of(), BoardWorkflow.parseTransitions("  "));
+        for (var text : List.of("10", "10:11:12", "a:b", "10-11")) {
+            assertThrows(IllegalArgumentException.class, () -> BoardWorkflow.parseTransitions(text), text);
+        }
+    }
+
+    private static void assertInvalid(final String message, final WorkflowTransitionDTO... transitions) {
+        var ex = assertThrows(IllegalArgumentException.class, () -> BoardWorkflow.validate(COLUMNS, List.of(transitions)));
+        assertTrue(ex.getMessage().contains(message), ex.getMessage());
+    }
+
+    private static BoardColumnInfoDTO column(final long id, final int order, final BoardColumnKindEnum kind) {
+        return new BoardColumnInfoDTO(id, order, kind, 0);
+    }
+
+    private static WorkflowTransitionDTO transition(final long from, final long to) {
+        return new WorkflowTransitionDTO(from, to);
+    }
+}